@@ -1,6 +1,11 @@
 package com.bankoftuc;
 
+import com.bankoftuc.manager.DataGenerator;
+import com.bankoftuc.manager.DataManager;
+import com.bankoftuc.manager.StorageConverter;
 import com.bankoftuc.ui.BankingCLI;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Scanner;
 
 /**
@@ -47,6 +52,15 @@ public class Main {
             } else if (args[0].equalsIgnoreCase("--cli") || args[0].equalsIgnoreCase("-c")) {
                 startCLI();
                 return;
+            } else if (args[0].equalsIgnoreCase("--convert-to-binary")) {
+                StorageConverter.csvToBinary();
+                return;
+            } else if (args[0].equalsIgnoreCase("--convert-to-csv")) {
+                StorageConverter.binaryToCsv();
+                return;
+            } else if (args[0].equalsIgnoreCase("--generate-data")) {
+                generateData(args);
+                return;
             } else if (args[0].equalsIgnoreCase("--help") || args[0].equalsIgnoreCase("-h")) {
                 printHelp();
                 return;
@@ -117,6 +131,17 @@ public class Main {
         System.out.println("  --cli, -c    Start with Command Line Interface");
         System.out.println("  --gui, -g    Start with Graphical User Interface (requires JavaFX)");
         System.out.println("  --help, -h   Show this help message");
+        System.out.println("  --convert-to-binary  Convert the CSV data files to the binary format");
+        System.out.println("  --convert-to-csv     Export the binary data files as CSV");
+        System.out.println("  --generate-data CUSTOMERS TRANSACTIONS [YEARS] [SEED] [--force]");
+        System.out.println("                       Replace the data files with a synthetic dataset");
+        System.out.println();
+        System.out.println("Storage: CSV by default; run with -Dbankoftuc.storage=binary to use the binary");
+        System.out.println("snapshot format (existing CSV data is imported on first start).");
+        System.out.println();
+        System.out.println("Logging: -Dbankoftuc.log.level=DEBUG|INFO|WARN|ERROR|OFF (default INFO),");
+        System.out.println("per area with -Dbankoftuc.log.<area> (transactions, standingOrders, transfers,");
+        System.out.println("commands, auth, persistence, system); -Dbankoftuc.log.quiet=true for batch runs.");
         System.out.println();
         System.out.println("If no option is provided, you will be prompted to choose.");
         System.out.println();
@@ -124,4 +149,40 @@ public class Main {
         System.out.println("  - JavaFX SDK must be installed separately (Java 11+)");
         System.out.println("  - Run with: java --module-path /path/to/javafx/lib --add-modules javafx.controls com.bankoftuc.gui.BankingGUI");
     }
+    
+    /**
+     * Replace the data files with a synthetic dataset:
+     * --generate-data CUSTOMERS TRANSACTIONS [YEARS] [SEED] [--force]
+     */
+    private static void generateData(String[] args) {
+        List<String> values = new ArrayList<>();
+        boolean force = false;
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].equalsIgnoreCase("--force")) {
+                force = true;
+            } else {
+                values.add(args[i]);
+            }
+        }
+        if (values.size() < 2) {
+            System.err.println("Usage: --generate-data CUSTOMERS TRANSACTIONS [YEARS] [SEED] [--force]");
+            return;
+        }
+        if (DataManager.dataExists() && !force) {
+            System.err.println("Data files already exist. Add --force to replace them.");
+            return;
+        }
+        
+        try {
+            DataGenerator generator = new DataGenerator(values.size() > 3 ? Long.parseLong(values.get(3)) : 1L)
+                .customers(Integer.parseInt(values.get(0)))
+                .transactions(Long.parseLong(values.get(1)));
+            if (values.size() > 2) {
+                generator.years(Integer.parseInt(values.get(2)));
+            }
+            generator.generate();
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid number: " + e.getMessage());
+        }
+    }
 }
@@ -0,0 +1,134 @@
+package com.bankoftuc.bench;
+
+import com.bankoftuc.manager.DataManager;
+import com.bankoftuc.model.*;
+import com.bankoftuc.util.Log;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Synthetic in-memory dataset for the benchmarks.
+ * Deterministic for a given size and seed: one customer per account (every tenth
+ * a business with a business account), a transaction history of deposits and
+ * transfers, a bill per 50 customers and a transfer standing order per 100 accounts.
+ */
+public class BenchData {
+    
+    public static final String PASSWORD = "bench-password";
+    public static final LocalDate START_DATE = LocalDate.of(2026, 1, 1);
+    
+    private final List<User> users = new ArrayList<>();
+    private final List<Account> accounts = new ArrayList<>();
+    private final List<Transaction> transactions = new ArrayList<>();
+    private final List<Bill> bills = new ArrayList<>();
+    private final List<StandingOrder> standingOrders = new ArrayList<>();
+    
+    /**
+     * @param accountCount number of accounts (and customers)
+     * @param transactionsPerAccount history length per account
+     * @param seed random seed
+     */
+    public BenchData(int accountCount, int transactionsPerAccount, long seed) {
+        Log.setQuiet(true); // Keep per-operation log lines out of the measurements
+        Random random = new Random(seed);
+        String passwordHash = User.hashPassword(PASSWORD);
+        
+        for (int i = 0; i < accountCount; i++) {
+            BigDecimal balance = BigDecimal.valueOf(100_000 + random.nextInt(10_000_000), 2);
+            if (i % 10 == 9) {
+                BusinessUser owner = new BusinessUser(userId("BUS", i), username(i), passwordHash,
+                    "Business " + i, phone(i), vat(i), 0, false);
+                users.add(owner);
+                accounts.add(new BusinessAccount(iban(i), balance, owner));
+            } else {
+                IndividualUser owner = new IndividualUser(userId("IND", i), username(i), passwordHash,
+                    "Customer " + i, "Street " + i, phone(i), vat(i), 0, false);
+                users.add(owner);
+                accounts.add(new PersonalAccount(iban(i), balance, owner));
+            }
+        }
+        
+        long id = 1;
+        LocalDateTime time = START_DATE.minusYears(1).atStartOfDay();
+        for (int i = 0; i < accountCount; i++) {
+            Account account = accounts.get(i);
+            for (int k = 0; k < transactionsPerAccount; k++) {
+                Transaction t;
+                BigDecimal amount = BigDecimal.valueOf(100 + random.nextInt(100_000), 2);
+                if (k % 2 == 0 || accountCount < 2) {
+                    t = new Transaction(id++, null, account, amount,
+                                        Transaction.TransactionType.DEPOSIT, "Synthetic deposit");
+                } else {
+                    Account other = accounts.get(random.nextInt(accountCount));
+                    t = new Transaction(id++, account, other, amount,
+                                        Transaction.TransactionType.TRANSFER_OUT, "Synthetic transfer");
+                }
+                t.setDateTime(time.plusSeconds(id));
+                t.setBalanceAfter(account.getBalance());
+                transactions.add(t);
+            }
+        }
+        
+        for (int i = 0; i + 9 < accountCount; i += 50) {
+            Customer owner = (Customer) users.get(i);
+            if (owner instanceof IndividualUser) {
+                BusinessUser issuer = (BusinessUser) users.get(i + 9);
+                bills.add(new Bill(String.format("BILL%06d", bills.size() + 1), issuer.getBusinessName(),
+                    BigDecimal.valueOf(1_000 + random.nextInt(20_000), 2),
+                    START_DATE.plusDays(random.nextInt(60)),
+                    String.format("RF%08d", 1000 + bills.size()), (IndividualUser) owner, issuer));
+            }
+        }
+        
+        for (int i = 0; i + 1 < accountCount; i += 100) {
+            Account source = accounts.get(i);
+            standingOrders.add(new StandingOrder(String.format("SO%06d", standingOrders.size() + 1),
+                source, accounts.get(i + 1), BigDecimal.valueOf(5_000, 2), 1, 1 + random.nextInt(28),
+                "Synthetic standing order", source.getPrimaryOwner(), START_DATE));
+        }
+    }
+    
+    /**
+     * Write the dataset to the data directory as the application's CSV files
+     */
+    public void save() {
+        DataManager.ensureDataDirectory();
+        DataManager.saveUsers(users);
+        DataManager.saveAccounts(accounts);
+        DataManager.saveCoOwners(accounts);
+        DataManager.saveTransactions(transactions);
+        DataManager.saveBills(bills);
+        DataManager.saveStandingOrders(standingOrders);
+        DataManager.saveSystemState(START_DATE);
+    }
+    
+    public static String iban(int i) {
+        return String.format("GR%018d", 300_000_000_000_000_000L + i);
+    }
+    
+    public static String username(int i) {
+        return "user" + i;
+    }
+    
+    private static String userId(String prefix, int i) {
+        return prefix + String.format("%06d", i + 1);
+    }
+    
+    private static String phone(int i) {
+        return String.format("69%08d", i % 100_000_000);
+    }
+    
+    private static String vat(int i) {
+        return String.format("%09d", i % 1_000_000_000);
+    }
+    
+    public List<User> getUsers() { return users; }
+    public List<Account> getAccounts() { return accounts; }
+    public List<Transaction> getTransactions() { return transactions; }
+    public List<Bill> getBills() { return bills; }
+    public List<StandingOrder> getStandingOrders() { return standingOrders; }
+}
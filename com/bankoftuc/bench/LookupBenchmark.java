@@ -0,0 +1,45 @@
+package com.bankoftuc.bench;
+
+import com.bankoftuc.manager.AccountManager;
+import com.bankoftuc.manager.AuthManager;
+import com.bankoftuc.manager.UserIndex;
+import com.bankoftuc.model.Account;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Point lookups: account by IBAN and login by username/password.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class LookupBenchmark {
+    
+    @Param({"1000", "100000", "1000000"})
+    public int accounts;
+    
+    private AccountManager accountManager;
+    private AuthManager authManager;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchData data = new BenchData(accounts, 0, 42);
+        accountManager = new AccountManager(data.getAccounts());
+        authManager = new AuthManager(new UserIndex(data.getUsers()));
+    }
+    
+    @Benchmark
+    public Account findByIban() {
+        return accountManager.findByIban(BenchData.iban(ThreadLocalRandom.current().nextInt(accounts)));
+    }
+    
+    @Benchmark
+    public boolean login() {
+        return authManager.login(BenchData.username(ThreadLocalRandom.current().nextInt(accounts)),
+                                 BenchData.PASSWORD);
+    }
+}
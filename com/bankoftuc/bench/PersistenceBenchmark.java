@@ -0,0 +1,70 @@
+package com.bankoftuc.bench;
+
+import com.bankoftuc.manager.DataManager;
+import com.bankoftuc.model.Account;
+import com.bankoftuc.model.Transaction;
+import com.bankoftuc.model.User;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * CSV load and save of the main files. Writes to the data directory of the
+ * working directory, so run it from a scratch directory (make bench does).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class PersistenceBenchmark {
+    
+    @Param({"1000", "100000", "1000000"})
+    public int accounts;
+    
+    @Param({"4"})
+    public int transactionsPerAccount;
+    
+    private BenchData data;
+    private List<User> loadedUsers;
+    private List<Account> loadedAccounts;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        data = new BenchData(accounts, transactionsPerAccount, 42);
+        data.save();
+        loadedUsers = DataManager.loadUsers();
+        loadedAccounts = DataManager.loadAccounts(loadedUsers);
+    }
+    
+    @Benchmark
+    public List<User> loadUsers() {
+        return DataManager.loadUsers();
+    }
+    
+    @Benchmark
+    public List<Account> loadAccounts() {
+        return DataManager.loadAccounts(loadedUsers);
+    }
+    
+    @Benchmark
+    public List<Transaction> loadTransactions() {
+        return DataManager.loadTransactions(loadedAccounts);
+    }
+    
+    @Benchmark
+    public void saveUsers() {
+        DataManager.saveUsers(data.getUsers());
+    }
+    
+    @Benchmark
+    public void saveAccounts() {
+        DataManager.saveAccounts(data.getAccounts());
+    }
+    
+    @Benchmark
+    public void saveTransactions() {
+        DataManager.saveTransactions(data.getTransactions());
+    }
+}
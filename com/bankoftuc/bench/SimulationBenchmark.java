@@ -0,0 +1,50 @@
+package com.bankoftuc.bench;
+
+import com.bankoftuc.manager.BankSystem;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Time simulation (interest, month end, standing orders, bills) over a freshly
+ * loaded dataset. Each measurement loads the dataset and simulates once.
+ * Writes to the data directory of the working directory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class SimulationBenchmark {
+    
+    @Param({"1000", "100000", "1000000"})
+    public int accounts;
+    
+    @Param({"30", "365"})
+    public int days;
+    
+    private BenchData data;
+    private BankSystem bankSystem;
+    
+    @Setup(Level.Trial)
+    public void createData() {
+        data = new BenchData(accounts, 1, 42);
+    }
+    
+    @Setup(Level.Iteration)
+    public void load() {
+        data.save();
+        BankSystem.resetInstance();
+        bankSystem = BankSystem.getInstance();
+    }
+    
+    @TearDown(Level.Iteration)
+    public void close() {
+        BankSystem.resetInstance();
+    }
+    
+    @Benchmark
+    public void simulateTimePassing() {
+        bankSystem.simulateTimePassing(BenchData.START_DATE.plusDays(days));
+    }
+}
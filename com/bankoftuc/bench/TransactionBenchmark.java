@@ -0,0 +1,69 @@
+package com.bankoftuc.bench;
+
+import com.bankoftuc.manager.TransactionManager;
+import com.bankoftuc.model.Account;
+import com.bankoftuc.model.Transaction;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Ledger hot paths: transfers, deposits and per-account history lookups.
+ * Each iteration starts from a fresh manager over a copy of the dataset ledger, so the
+ * ledger size stays at the dataset size and the account index is built outside the
+ * measurement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class TransactionBenchmark {
+    
+    private static final BigDecimal AMOUNT = new BigDecimal("1.00");
+    
+    @Param({"1000", "100000", "1000000"})
+    public int accounts;
+    
+    @Param({"4"})
+    public int transactionsPerAccount;
+    
+    private List<Account> accountList;
+    private List<Transaction> ledger;
+    private TransactionManager transactionManager;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchData data = new BenchData(accounts, transactionsPerAccount, 42);
+        accountList = data.getAccounts();
+        ledger = data.getTransactions();
+    }
+    
+    @Setup(Level.Iteration)
+    public void createManager() {
+        transactionManager = new TransactionManager(new ArrayList<>(ledger));
+    }
+    
+    private Account randomAccount() {
+        return accountList.get(ThreadLocalRandom.current().nextInt(accountList.size()));
+    }
+    
+    @Benchmark
+    public Transaction transfer() {
+        return transactionManager.transfer(randomAccount(), randomAccount(), AMOUNT, "Bench transfer");
+    }
+    
+    @Benchmark
+    public Transaction deposit() {
+        return transactionManager.deposit(randomAccount(), AMOUNT, "Bench deposit");
+    }
+    
+    @Benchmark
+    public List<Transaction> getTransactionsForAccount() {
+        return transactionManager.getTransactionsForAccount(randomAccount());
+    }
+}
@@ -3,6 +3,7 @@ package com.bankoftuc.bridge;
 import com.bankoftuc.model.Account;
 import com.bankoftuc.bridge.TransferImplementor.TransferRequest;
 import com.bankoftuc.bridge.TransferImplementor.TransferResult;
+import com.bankoftuc.util.Log;
 import java.math.BigDecimal;
 
 /**
@@ -48,18 +49,17 @@ public class ExternalTransfer extends TransferAbstraction {
         }
         
         // Execute transfer via implementor
-        System.out.println(String.format("[%s] Processing transfer of %.2f EUR...",
-            implementor.getMechanismName(), request.getAmount()));
+        Log.info(Log.Subsystem.TRANSFERS, "Processing transfer", "network", implementor.getMechanismName(),
+                 "amount", request.getAmount());
         
         TransferResult result = implementor.executeTransfer(request);
         
         // If successful, deduct from account
         if (result.isSuccess()) {
             fromAccount.withdraw(totalAmount);
-            System.out.println(String.format("[%s] Deducted %.2f EUR (%.2f + %.2f fee) from %s",
-                implementor.getMechanismName(),
-                totalAmount, request.getAmount(), implementor.getFee(),
-                fromAccount.getIban()));
+            Log.info(Log.Subsystem.TRANSFERS, "Deducted transfer amount", "network", implementor.getMechanismName(),
+                     "total", totalAmount, "amount", request.getAmount(), "fee", implementor.getFee(),
+                     "from", fromAccount.getIban());
         }
         
         return result;
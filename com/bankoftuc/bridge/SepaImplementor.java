@@ -1,6 +1,8 @@
 package com.bankoftuc.bridge;
 
+import com.bankoftuc.manager.ApiHealthCheck;
 import com.bankoftuc.manager.BankTransferAPI;
+import com.bankoftuc.util.Log;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
@@ -16,7 +18,8 @@ public class SepaImplementor implements TransferImplementor {
     
     @Override
     public TransferResult executeTransfer(TransferRequest request) {
-        System.out.println("[SEPA] Initiating European transfer...");
+        Log.info(Log.Subsystem.TRANSFERS, "Initiating European transfer", "network", MECHANISM_NAME,
+                 "amount", request.getAmount(), "to", request.getRecipientAccount());
         
         try {
             // Call the external SEPA API
@@ -31,13 +34,15 @@ public class SepaImplementor implements TransferImplementor {
             );
             
             if (apiResult.isSuccess()) {
-                System.out.println("[SEPA] Transfer successful. TxID: " + apiResult.getTransactionId());
+                Log.info(Log.Subsystem.TRANSFERS, "Transfer successful", "network", MECHANISM_NAME,
+                         "apiTxId", apiResult.getTransactionId());
                 return TransferResult.success(
                     "SEPA transfer completed successfully",
                     apiResult.getTransactionId()
                 );
             } else {
-                System.out.println("[SEPA] Transfer failed: " + apiResult.getMessage());
+                Log.warn(Log.Subsystem.TRANSFERS, "Transfer failed", "network", MECHANISM_NAME,
+                         "reason", apiResult.getMessage());
                 return TransferResult.failure(
                     apiResult.getMessage(),
                     "SEPA_FAILED"
@@ -45,7 +50,7 @@ public class SepaImplementor implements TransferImplementor {
             }
             
         } catch (Exception e) {
-            System.err.println("[SEPA] Error: " + e.getMessage());
+            Log.error(Log.Subsystem.TRANSFERS, "Transfer error", "network", MECHANISM_NAME, "error", e.getMessage());
             return TransferResult.failure(
                 "SEPA transfer error: " + e.getMessage(),
                 "SEPA_ERROR"
@@ -65,7 +70,7 @@ public class SepaImplementor implements TransferImplementor {
     
     @Override
     public boolean isAvailable() {
-        // Check if API is reachable
-        return BankTransferAPI.testConnection();
+        // Cached by the background health check - no network round-trip here
+        return ApiHealthCheck.isAvailable();
     }
 }
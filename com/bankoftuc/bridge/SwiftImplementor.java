@@ -1,6 +1,8 @@
 package com.bankoftuc.bridge;
 
+import com.bankoftuc.manager.ApiHealthCheck;
 import com.bankoftuc.manager.BankTransferAPI;
+import com.bankoftuc.util.Log;
 import java.math.BigDecimal;
 
 /**
@@ -15,7 +17,8 @@ public class SwiftImplementor implements TransferImplementor {
     
     @Override
     public TransferResult executeTransfer(TransferRequest request) {
-        System.out.println("[SWIFT] Initiating international transfer...");
+        Log.info(Log.Subsystem.TRANSFERS, "Initiating international transfer", "network", MECHANISM_NAME,
+                 "amount", request.getAmount(), "to", request.getRecipientAccount());
         
         try {
             // Call the external SWIFT API
@@ -32,13 +35,15 @@ public class SwiftImplementor implements TransferImplementor {
             );
             
             if (apiResult.isSuccess()) {
-                System.out.println("[SWIFT] Transfer successful. TxID: " + apiResult.getTransactionId());
+                Log.info(Log.Subsystem.TRANSFERS, "Transfer successful", "network", MECHANISM_NAME,
+                         "apiTxId", apiResult.getTransactionId());
                 return TransferResult.success(
                     "SWIFT transfer completed successfully",
                     apiResult.getTransactionId()
                 );
             } else {
-                System.out.println("[SWIFT] Transfer failed: " + apiResult.getMessage());
+                Log.warn(Log.Subsystem.TRANSFERS, "Transfer failed", "network", MECHANISM_NAME,
+                         "reason", apiResult.getMessage());
                 return TransferResult.failure(
                     apiResult.getMessage(),
                     "SWIFT_FAILED"
@@ -46,7 +51,7 @@ public class SwiftImplementor implements TransferImplementor {
             }
             
         } catch (Exception e) {
-            System.err.println("[SWIFT] Error: " + e.getMessage());
+            Log.error(Log.Subsystem.TRANSFERS, "Transfer error", "network", MECHANISM_NAME, "error", e.getMessage());
             return TransferResult.failure(
                 "SWIFT transfer error: " + e.getMessage(),
                 "SWIFT_ERROR"
@@ -66,7 +71,7 @@ public class SwiftImplementor implements TransferImplementor {
     
     @Override
     public boolean isAvailable() {
-        // Check if API is reachable
-        return BankTransferAPI.testConnection();
+        // Cached by the background health check - no network round-trip here
+        return ApiHealthCheck.isAvailable();
     }
 }
@@ -1,5 +1,6 @@
 package com.bankoftuc.command;
 
+import com.bankoftuc.util.Log;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Stack;
@@ -38,9 +39,9 @@ public class CommandInvoker {
                 commandHistory.remove(0);
             }
             
-            System.out.println("[EXECUTED] " + command.getDescription());
+            Log.info(Log.Subsystem.COMMANDS, "Executed", "command", command.getDescription());
         } else {
-            System.out.println("[FAILED] " + command.getDescription());
+            Log.warn(Log.Subsystem.COMMANDS, "Failed", "command", command.getDescription());
         }
         
         return success;
@@ -51,14 +52,14 @@ public class CommandInvoker {
      */
     public boolean undo() {
         if (executedCommands.isEmpty()) {
-            System.out.println("Nothing to undo");
+            Log.info(Log.Subsystem.COMMANDS, "Nothing to undo");
             return false;
         }
         
         Command command = executedCommands.peek();
         
         if (!command.isUndoable()) {
-            System.out.println("Last command cannot be undone: " + command.getDescription());
+            Log.info(Log.Subsystem.COMMANDS, "Last command cannot be undone", "command", command.getDescription());
             return false;
         }
         
@@ -67,9 +68,9 @@ public class CommandInvoker {
         if (success) {
             executedCommands.pop();
             undoneCommands.push(command);
-            System.out.println("[UNDONE] " + command.getDescription());
+            Log.info(Log.Subsystem.COMMANDS, "Undone", "command", command.getDescription());
         } else {
-            System.out.println("[UNDO FAILED] " + command.getDescription());
+            Log.warn(Log.Subsystem.COMMANDS, "Undo failed", "command", command.getDescription());
         }
         
         return success;
@@ -80,7 +81,7 @@ public class CommandInvoker {
      */
     public boolean redo() {
         if (undoneCommands.isEmpty()) {
-            System.out.println("Nothing to redo");
+            Log.info(Log.Subsystem.COMMANDS, "Nothing to redo");
             return false;
         }
         
@@ -89,9 +90,9 @@ public class CommandInvoker {
         
         if (success) {
             executedCommands.push(command);
-            System.out.println("[REDONE] " + command.getDescription());
+            Log.info(Log.Subsystem.COMMANDS, "Redone", "command", command.getDescription());
         } else {
-            System.out.println("[REDO FAILED] " + command.getDescription());
+            Log.warn(Log.Subsystem.COMMANDS, "Redo failed", "command", command.getDescription());
         }
         
         return success;
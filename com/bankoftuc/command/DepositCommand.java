@@ -3,6 +3,7 @@ package com.bankoftuc.command;
 import com.bankoftuc.model.Account;
 import com.bankoftuc.model.Transaction;
 import com.bankoftuc.manager.TransactionManager;
+import com.bankoftuc.util.Log;
 import java.math.BigDecimal;
 
 /**
@@ -38,7 +39,7 @@ public class DepositCommand implements Command {
             executed = true;
             return true;
         } catch (Exception e) {
-            System.err.println("Deposit failed: " + e.getMessage());
+            Log.error(Log.Subsystem.COMMANDS, "Deposit failed", "error", e.getMessage());
             return false;
         }
     }
@@ -55,7 +56,7 @@ public class DepositCommand implements Command {
             executed = false;
             return true;
         } catch (Exception e) {
-            System.err.println("Undo deposit failed: " + e.getMessage());
+            Log.error(Log.Subsystem.COMMANDS, "Undo deposit failed", "error", e.getMessage());
             return false;
         }
     }
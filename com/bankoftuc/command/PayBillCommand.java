@@ -2,6 +2,8 @@ package com.bankoftuc.command;
 
 import com.bankoftuc.model.*;
 import com.bankoftuc.manager.BillManager;
+import com.bankoftuc.manager.TransactionManager;
+import com.bankoftuc.util.Log;
 import java.math.BigDecimal;
 
 /**
@@ -13,16 +15,19 @@ public class PayBillCommand implements Command {
     private Bill bill;
     private Account payerAccount;
     private BillManager billManager;
+    private TransactionManager transactionManager;
     private BigDecimal fee;
     private boolean executed;
     private Bill.BillStatus previousStatus;
     
     private static final BigDecimal BILL_PAYMENT_FEE = new BigDecimal("0.50");
     
-    public PayBillCommand(Bill bill, Account payerAccount, BillManager billManager) {
+    public PayBillCommand(Bill bill, Account payerAccount, BillManager billManager,
+                          TransactionManager transactionManager) {
         this.bill = bill;
         this.payerAccount = payerAccount;
         this.billManager = billManager;
+        this.transactionManager = transactionManager;
         this.fee = BILL_PAYMENT_FEE;
         this.executed = false;
     }
@@ -35,7 +40,7 @@ public class PayBillCommand implements Command {
         
         // Check if bill is already paid
         if (bill.getStatus() == Bill.BillStatus.PAID) {
-            System.err.println("Bill is already paid");
+            Log.warn(Log.Subsystem.COMMANDS, "Bill is already paid");
             return false;
         }
         
@@ -44,23 +49,30 @@ public class PayBillCommand implements Command {
         
         // Check sufficient funds
         if (payerAccount.getBalance().compareTo(totalAmount) < 0) {
-            System.err.println("Insufficient funds for bill payment");
+            Log.warn(Log.Subsystem.COMMANDS, "Insufficient funds for bill payment");
             return false;
         }
         
         try {
-            previousStatus = bill.getStatus();
-            
-            // Withdraw amount from payer's account
-            payerAccount.withdraw(totalAmount);
-            
-            // Mark bill as paid
-            billManager.markBillAsPaid(bill, java.time.LocalDateTime.now());
+            synchronized (bill) {
+                if (bill.getStatus() == Bill.BillStatus.PAID) { // Paid from another session meanwhile
+                    Log.warn(Log.Subsystem.COMMANDS, "Bill is already paid");
+                    return false;
+                }
+                previousStatus = bill.getStatus();
+                
+                // Withdraw amount from payer's account and record it
+                transactionManager.payBill(payerAccount, null, bill.getAmount(), fee,
+                    "Bill payment: " + bill.getProviderName() + " (RF: " + bill.getRfCode() + ")");
+                
+                // Mark bill as paid
+                billManager.markBillAsPaid(bill, java.time.LocalDateTime.now());
+            }
             
             executed = true;
             return true;
         } catch (Exception e) {
-            System.err.println("Bill payment failed: " + e.getMessage());
+            Log.error(Log.Subsystem.COMMANDS, "Bill payment failed", "error", e.getMessage());
             return false;
         }
     }
@@ -74,16 +86,18 @@ public class PayBillCommand implements Command {
         try {
             // Refund the amount
             BigDecimal totalAmount = bill.getAmount().add(fee);
-            payerAccount.deposit(totalAmount);
+            transactionManager.deposit(payerAccount, totalAmount,
+                "Bill payment reversed: " + bill.getProviderName() + " (RF: " + bill.getRfCode() + ")");
             
             // Reset bill status
             bill.setStatus(previousStatus);
             bill.setPaidDate(null);
+            billManager.reindex(bill); // Dropped from the due index when it was paid
             
             executed = false;
             return true;
         } catch (Exception e) {
-            System.err.println("Undo bill payment failed: " + e.getMessage());
+            Log.error(Log.Subsystem.COMMANDS, "Undo bill payment failed", "error", e.getMessage());
             return false;
         }
     }
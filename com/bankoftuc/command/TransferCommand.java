@@ -3,6 +3,7 @@ package com.bankoftuc.command;
 import com.bankoftuc.model.Account;
 import com.bankoftuc.model.Transaction;
 import com.bankoftuc.manager.TransactionManager;
+import com.bankoftuc.util.Log;
 import java.math.BigDecimal;
 
 /**
@@ -37,7 +38,7 @@ public class TransferCommand implements Command {
         
         // Check sufficient funds
         if (fromAccount.getBalance().compareTo(amount) < 0) {
-            System.err.println("Insufficient funds for transfer");
+            Log.warn(Log.Subsystem.COMMANDS, "Insufficient funds for transfer");
             return false;
         }
         
@@ -46,7 +47,7 @@ public class TransferCommand implements Command {
             executed = true;
             return true;
         } catch (Exception e) {
-            System.err.println("Transfer failed: " + e.getMessage());
+            Log.error(Log.Subsystem.COMMANDS, "Transfer failed", "error", e.getMessage());
             return false;
         }
     }
@@ -59,7 +60,7 @@ public class TransferCommand implements Command {
         
         // Check if toAccount has sufficient funds to reverse
         if (toAccount.getBalance().compareTo(amount) < 0) {
-            System.err.println("Cannot undo transfer: destination account has insufficient funds");
+            Log.warn(Log.Subsystem.COMMANDS, "Cannot undo transfer: destination account has insufficient funds");
             return false;
         }
         
@@ -70,7 +71,7 @@ public class TransferCommand implements Command {
             executed = false;
             return true;
         } catch (Exception e) {
-            System.err.println("Undo transfer failed: " + e.getMessage());
+            Log.error(Log.Subsystem.COMMANDS, "Undo transfer failed", "error", e.getMessage());
             return false;
         }
     }
@@ -3,6 +3,7 @@ package com.bankoftuc.command;
 import com.bankoftuc.model.Account;
 import com.bankoftuc.model.Transaction;
 import com.bankoftuc.manager.TransactionManager;
+import com.bankoftuc.util.Log;
 import java.math.BigDecimal;
 
 /**
@@ -35,7 +36,7 @@ public class WithdrawCommand implements Command {
         
         // Check sufficient funds
         if (account.getBalance().compareTo(amount) < 0) {
-            System.err.println("Insufficient funds for withdrawal");
+            Log.warn(Log.Subsystem.COMMANDS, "Insufficient funds for withdrawal");
             return false;
         }
         
@@ -44,7 +45,7 @@ public class WithdrawCommand implements Command {
             executed = true;
             return true;
         } catch (Exception e) {
-            System.err.println("Withdrawal failed: " + e.getMessage());
+            Log.error(Log.Subsystem.COMMANDS, "Withdrawal failed", "error", e.getMessage());
             return false;
         }
     }
@@ -61,7 +62,7 @@ public class WithdrawCommand implements Command {
             executed = false;
             return true;
         } catch (Exception e) {
-            System.err.println("Undo withdrawal failed: " + e.getMessage());
+            Log.error(Log.Subsystem.COMMANDS, "Undo withdrawal failed", "error", e.getMessage());
             return false;
         }
     }
@@ -54,4 +54,10 @@ public interface TransactionDAO extends GenericDAO<Transaction, Long> {
      * @return List of most recent transactions
      */
     List<Transaction> findRecentByAccount(Account account, int limit);
+    
+    /**
+     * Find the highest stored transaction id
+     * @return Last id, or 0 if there are no transactions
+     */
+    long findLastId();
 }
@@ -0,0 +1,815 @@
+package com.bankoftuc.dao;
+
+import com.bankoftuc.manager.SnapshotWriter;
+import com.bankoftuc.model.*;
+import com.bankoftuc.util.CsvAppender;
+import com.bankoftuc.util.Log;
+import java.io.*;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * DAO Pattern - CSV Implementation of Transaction DAO.
+ * Stores transactions in monthly partitions (data/transactions/yyyy-MM.csv),
+ * each with an index file mapping IBANs to row offsets (yyyy-MM.idx).
+ * Queries only read the partitions they need; nothing is kept in memory
+ * except a small catalog and the indexes of partitions already queried.
+ *
+ * The catalog (partitions.csv) records the length of every data and index file and is
+ * the commit point: appends are synced to disk first and count once the catalog that
+ * includes them is committed through SnapshotWriter. Bytes past the recorded lengths
+ * belong to an append that never committed and are cut off on open. Rewritten partitions
+ * are committed in the same snapshot as the catalog, so a crash never loses a month.
+ * Thread-safe.
+ */
+public class TransactionDAOCsv implements TransactionDAO {
+    
+    private static final String DEFAULT_DIRECTORY = "data/transactions";
+    private static final String CATALOG_FILE = "partitions.csv";
+    private static final String CATALOG_HEADER = "month,firstId,lastId,count,dataBytes,indexBytes";
+    private static final String HEADER = "id,dateTime,amount,type,description,balanceAfter,fromAccountIban,toAccountIban,status";
+    private static final DateTimeFormatter DATETIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final DateTimeFormatter MONTH_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM");
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    
+    /**
+     * Catalog entry for one monthly partition
+     */
+    private static class Partition {
+        long firstId;
+        long lastId;
+        long count;
+        long dataBytes;  // Committed length of the data file
+        long indexBytes; // Committed length of the index file
+        
+        Partition() {
+        }
+        
+        Partition(Partition other) {
+            this.firstId = other.firstId;
+            this.lastId = other.lastId;
+            this.count = other.count;
+            this.dataBytes = other.dataBytes;
+            this.indexBytes = other.indexBytes;
+        }
+        
+        void include(long id) {
+            if (count == 0 || id < firstId) firstId = id;
+            if (count == 0 || id > lastId) lastId = id;
+            count++;
+        }
+    }
+    
+    private final File directory;
+    private final Function<String, Account> accountLookup;
+    private TreeMap<YearMonth, Partition> catalog = new TreeMap<>();
+    private final Map<YearMonth, Map<String, List<Long>>> indexCache = new HashMap<>();
+    
+    /**
+     * @param accountLookup resolves the IBANs stored in each row to accounts
+     *        (e.g. AccountManager::findByIban), so accounts opened later are found too
+     */
+    public TransactionDAOCsv(Function<String, Account> accountLookup) {
+        this(DEFAULT_DIRECTORY, accountLookup);
+    }
+    
+    public TransactionDAOCsv(String directory, Function<String, Account> accountLookup) {
+        this.directory = new File(directory);
+        this.accountLookup = accountLookup;
+        SnapshotWriter.recover(directory);
+        loadCatalog();
+    }
+    
+    @Override
+    public Transaction save(Transaction entity) {
+        saveAll(Collections.singletonList(entity));
+        return entity;
+    }
+    
+    /**
+     * Append a batch of transactions, writing each partition and the catalog once.
+     * The batch is all or nothing: if any write fails, none of it is committed.
+     * @return true if the batch is durable on disk
+     */
+    public synchronized boolean saveAll(List<Transaction> transactions) {
+        if (transactions.isEmpty()) return true;
+        
+        Map<YearMonth, List<Transaction>> byMonth = new TreeMap<>();
+        for (Transaction t : transactions) {
+            byMonth.computeIfAbsent(YearMonth.from(t.getDateTime()), k -> new ArrayList<>()).add(t);
+        }
+        
+        TreeMap<YearMonth, Partition> updated = copyCatalog();
+        Map<YearMonth, Map<String, List<Long>>> appended = new HashMap<>();
+        try {
+            for (Map.Entry<YearMonth, List<Transaction>> entry : byMonth.entrySet()) {
+                YearMonth month = entry.getKey();
+                Partition partition = updated.computeIfAbsent(month, k -> new Partition());
+                appendToPartition(month, entry.getValue(), partition,
+                                  appended.computeIfAbsent(month, k -> new HashMap<>()));
+            }
+            commitCatalog(updated, null);
+        } catch (IOException e) {
+            Log.error(Log.Subsystem.PERSISTENCE, "Failed to save transactions", "error", e.getMessage());
+            for (YearMonth month : byMonth.keySet()) {
+                discardUncommitted(month);
+            }
+            return false;
+        }
+        
+        catalog = updated;
+        for (Map.Entry<YearMonth, Map<String, List<Long>>> entry : appended.entrySet()) {
+            Map<String, List<Long>> index = indexCache.get(entry.getKey());
+            if (index == null) continue; // Loaded from the index file on first use
+            for (Map.Entry<String, List<Long>> offsets : entry.getValue().entrySet()) {
+                index.computeIfAbsent(offsets.getKey(), k -> new ArrayList<>()).addAll(offsets.getValue());
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Replace the whole store with the given transactions (an import).
+     * Each month is committed together with the catalog as it is written, and months
+     * missing from the new history are dropped last, so a call that fails part-way
+     * leaves a consistent store and can simply be repeated.
+     * @return true if the store now holds exactly the given transactions
+     */
+    public synchronized boolean replaceAll(List<Transaction> transactions) {
+        Map<YearMonth, List<Transaction>> byMonth = new TreeMap<>();
+        for (Transaction t : transactions) {
+            byMonth.computeIfAbsent(YearMonth.from(t.getDateTime()), k -> new ArrayList<>()).add(t);
+        }
+        try {
+            for (Map.Entry<YearMonth, List<Transaction>> entry : byMonth.entrySet()) {
+                writePartition(entry.getKey(), formatAll(entry.getValue()));
+            }
+            for (YearMonth month : new ArrayList<>(catalog.keySet())) {
+                if (!byMonth.containsKey(month)) {
+                    writePartition(month, Collections.emptyList());
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            Log.error(Log.Subsystem.PERSISTENCE, "Failed to replace transactions", "error", e.getMessage());
+            return false;
+        }
+    }
+    
+    @Override
+    public synchronized Optional<Transaction> findById(Long id) {
+        if (id == null) return Optional.empty();
+        for (Map.Entry<YearMonth, Partition> entry : catalog.entrySet()) {
+            Partition p = entry.getValue();
+            if (id < p.firstId || id > p.lastId) continue;
+            for (Transaction t : readPartition(entry.getKey())) {
+                if (t.getId() == id) return Optional.of(t);
+            }
+        }
+        return Optional.empty();
+    }
+    
+    @Override
+    public synchronized List<Transaction> findAll() {
+        List<Transaction> result = new ArrayList<>();
+        for (YearMonth month : catalog.keySet()) {
+            result.addAll(readPartition(month));
+        }
+        return result;
+    }
+    
+    @Override
+    public synchronized Transaction update(Transaction entity) {
+        YearMonth month = findPartitionOf(entity.getId());
+        if (month == null) {
+            return save(entity);
+        }
+        List<Transaction> rows = readPartition(month);
+        for (int i = 0; i < rows.size(); i++) {
+            if (rows.get(i).getId() == entity.getId()) {
+                rows.set(i, entity);
+            }
+        }
+        rewritePartition(month, rows);
+        return entity;
+    }
+    
+    @Override
+    public synchronized void delete(Transaction entity) {
+        deleteById(entity.getId());
+    }
+    
+    @Override
+    public synchronized void deleteById(Long id) {
+        if (id == null) return;
+        YearMonth month = findPartitionOf(id);
+        if (month == null) return;
+        List<Transaction> rows = readPartition(month);
+        rows.removeIf(t -> t.getId() == id);
+        rewritePartition(month, rows);
+    }
+    
+    @Override
+    public synchronized boolean existsById(Long id) {
+        return findById(id).isPresent();
+    }
+    
+    @Override
+    public synchronized long count() {
+        long total = 0;
+        for (Partition p : catalog.values()) {
+            total += p.count;
+        }
+        return total;
+    }
+    
+    @Override
+    public synchronized long findLastId() {
+        long lastId = 0;
+        for (Partition p : catalog.values()) {
+            lastId = Math.max(lastId, p.lastId);
+        }
+        return lastId;
+    }
+    
+    @Override
+    public synchronized List<Transaction> findByAccount(Account account) {
+        List<Transaction> result = new ArrayList<>();
+        for (YearMonth month : catalog.keySet()) {
+            List<Long> offsets = getIndex(month).get(account.getIban());
+            if (offsets != null) {
+                result.addAll(readRows(month, offsets));
+            }
+        }
+        return result;
+    }
+    
+    @Override
+    public synchronized List<Transaction> findByFromAccount(Account account) {
+        List<Transaction> result = new ArrayList<>();
+        for (Transaction t : findByAccount(account)) {
+            if (t.getFromAccount() != null && t.getFromAccount().getIban().equals(account.getIban())) {
+                result.add(t);
+            }
+        }
+        return result;
+    }
+    
+    @Override
+    public synchronized List<Transaction> findByToAccount(Account account) {
+        List<Transaction> result = new ArrayList<>();
+        for (Transaction t : findByAccount(account)) {
+            if (t.getToAccount() != null && t.getToAccount().getIban().equals(account.getIban())) {
+                result.add(t);
+            }
+        }
+        return result;
+    }
+    
+    @Override
+    public synchronized List<Transaction> findByDateRange(LocalDateTime start, LocalDateTime end) {
+        List<Transaction> result = new ArrayList<>();
+        // Only the months overlapping the range are read
+        for (YearMonth month : catalog.subMap(YearMonth.from(start), true, YearMonth.from(end), true).keySet()) {
+            for (Transaction t : readPartition(month)) {
+                if (!t.getDateTime().isBefore(start) && !t.getDateTime().isAfter(end)) {
+                    result.add(t);
+                }
+            }
+        }
+        return result;
+    }
+    
+    @Override
+    public synchronized List<Transaction> findByType(Transaction.TransactionType type) {
+        List<Transaction> result = new ArrayList<>();
+        for (YearMonth month : catalog.keySet()) {
+            for (Transaction t : readPartition(month)) {
+                if (t.getType() == type) {
+                    result.add(t);
+                }
+            }
+        }
+        return result;
+    }
+    
+    @Override
+    public synchronized List<Transaction> findRecentByAccount(Account account, int limit) {
+        // Walk partitions newest first and stop once enough rows are found
+        LinkedList<Transaction> result = new LinkedList<>();
+        for (YearMonth month : catalog.descendingKeySet()) {
+            if (result.size() >= limit) break;
+            List<Long> offsets = getIndex(month).get(account.getIban());
+            if (offsets == null) continue;
+            
+            int needed = limit - result.size();
+            List<Long> tail = offsets.subList(Math.max(0, offsets.size() - needed), offsets.size());
+            List<Transaction> rows = readRows(month, tail);
+            for (int i = rows.size() - 1; i >= 0; i--) {
+                result.addFirst(rows.get(i));
+            }
+        }
+        return new ArrayList<>(result);
+    }
+    
+    /**
+     * Append rows to a partition and its index file and sync both to disk.
+     * Anything past the committed lengths (a failed or interrupted append) is cut off first.
+     * @param partition catalog entry to update with the new rows and lengths
+     * @param appended receives the index entries of the new rows
+     */
+    private void appendToPartition(YearMonth month, List<Transaction> rows, Partition partition,
+                                   Map<String, List<Long>> appended) throws IOException {
+        try (CsvAppender data = CsvAppender.open(dataFile(month), HEADER, partition.dataBytes);
+             CsvAppender index = CsvAppender.open(indexFile(month), null, partition.indexBytes)) {
+            for (Transaction t : rows) {
+                long offset = data.position();
+                data.println(formatTransaction(t));
+                for (String iban : ibansOf(t)) {
+                    index.println(iban + "," + offset);
+                    appended.computeIfAbsent(iban, k -> new ArrayList<>()).add(offset);
+                }
+                partition.include(t.getId());
+            }
+            data.commit();
+            index.commit();
+            partition.dataBytes = data.position();
+            partition.indexBytes = index.position();
+        }
+    }
+    
+    /**
+     * Cut a partition back to its committed lengths after a failed append (best effort;
+     * the next append or open does the same)
+     */
+    private void discardUncommitted(YearMonth month) {
+        Partition partition = catalog.get(month);
+        try {
+            if (partition == null) {
+                Files.deleteIfExists(dataFile(month).toPath());
+                Files.deleteIfExists(indexFile(month).toPath());
+            } else {
+                truncate(dataFile(month), partition.dataBytes);
+                truncate(indexFile(month), partition.indexBytes);
+            }
+        } catch (IOException e) {
+            Log.error(Log.Subsystem.PERSISTENCE, "Failed to discard uncommitted transactions", "month", month, "error", e.getMessage());
+        }
+        indexCache.remove(month);
+    }
+    
+    private static void truncate(File file, long length) throws IOException {
+        if (file.length() <= length) return;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+            channel.truncate(length);
+        }
+    }
+    
+    /**
+     * Replace the contents of a partition and rebuild its index.
+     * Both files are committed in one snapshot with the updated catalog; the live ones
+     * stay untouched until then. An empty partition is removed.
+     */
+    private void rewritePartition(YearMonth month, List<Transaction> rows) {
+        try {
+            writePartition(month, formatAll(rows));
+        } catch (IOException e) {
+            Log.error(Log.Subsystem.PERSISTENCE, "Failed to rewrite transactions", "month", month, "error", e.getMessage());
+        }
+    }
+    
+    private List<String> formatAll(List<Transaction> rows) {
+        List<String> lines = new ArrayList<>(rows.size());
+        for (Transaction t : rows) {
+            lines.add(formatTransaction(t));
+        }
+        return lines;
+    }
+    
+    /**
+     * Write a partition from formatted rows, committing it together with the catalog
+     */
+    private void writePartition(YearMonth month, List<String> lines) throws IOException {
+        TreeMap<YearMonth, Partition> updated = copyCatalog();
+        Partition partition = new Partition();
+        SnapshotWriter snapshot = new SnapshotWriter(directory.getPath());
+        try {
+            if (lines.isEmpty()) {
+                updated.remove(month);
+            } else {
+                DataOutputStream data = snapshot.stageBinary(dataFile(month).getPath());
+                DataOutputStream index = snapshot.stageBinary(indexFile(month).getPath());
+                writeRows(data, index, lines, partition);
+                updated.put(month, partition);
+            }
+            commitCatalog(updated, snapshot);
+        } catch (IOException e) {
+            snapshot.abort();
+            throw e;
+        }
+        
+        catalog = updated;
+        indexCache.remove(month);
+        if (lines.isEmpty()) {
+            Files.deleteIfExists(dataFile(month).toPath());
+            Files.deleteIfExists(indexFile(month).toPath());
+        }
+    }
+    
+    /**
+     * Write a header and rows to a new data file, with their index lines
+     */
+    private void writeRows(DataOutputStream data, DataOutputStream index, List<String> lines,
+                           Partition partition) throws IOException {
+        data.write((HEADER + "\n").getBytes(StandardCharsets.UTF_8));
+        for (String line : lines) {
+            long offset = data.size();
+            data.write((line + "\n").getBytes(StandardCharsets.UTF_8));
+            String[] fields = parseCsvLine(line);
+            for (String iban : ibansOf(fields[6], fields[7])) {
+                index.write((iban + "," + offset + "\n").getBytes(StandardCharsets.UTF_8));
+            }
+            partition.include(Long.parseLong(fields[0]));
+        }
+        partition.dataBytes = data.size();
+        partition.indexBytes = index.size();
+    }
+    
+    /**
+     * Read every row of a partition
+     */
+    private List<Transaction> readPartition(YearMonth month) {
+        List<Transaction> result = new ArrayList<>();
+        File file = dataFile(month);
+        if (!file.exists()) return result;
+        
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+            String line = reader.readLine(); // Skip header
+            
+            while ((line = reader.readLine()) != null) {
+                Transaction t = parseTransaction(line);
+                if (t != null) {
+                    result.add(t);
+                }
+            }
+        } catch (IOException e) {
+            Log.error(Log.Subsystem.PERSISTENCE, "Failed to load transactions", "month", month, "error", e.getMessage());
+        }
+        return result;
+    }
+    
+    /**
+     * Read the rows at the given byte offsets of a partition.
+     * Offsets are ascending, so nearby rows are served from one buffered read.
+     */
+    private List<Transaction> readRows(YearMonth month, List<Long> offsets) {
+        List<Transaction> result = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(dataFile(month).toPath(), StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+            buffer.limit(0);
+            long bufferStart = 0; // File offset of the first byte in the buffer
+            
+            for (long offset : offsets) {
+                int start = (int) (offset - bufferStart);
+                int end = offset >= bufferStart && start < buffer.limit() ? lineEnd(buffer, start) : -1;
+                
+                while (end < 0) {
+                    if (offset == bufferStart && buffer.limit() == buffer.capacity()) {
+                        buffer = ByteBuffer.allocate(buffer.capacity() * 2); // Row longer than the buffer
+                    }
+                    bufferStart = offset;
+                    buffer.clear();
+                    while (buffer.hasRemaining() && channel.read(buffer, bufferStart + buffer.position()) > 0) {
+                        // Fill the buffer
+                    }
+                    boolean endOfFile = buffer.hasRemaining();
+                    buffer.flip();
+                    start = 0;
+                    end = lineEnd(buffer, 0);
+                    if (end < 0 && endOfFile) {
+                        end = buffer.limit(); // Last row without a newline
+                    }
+                }
+                
+                Transaction t = parseTransaction(new String(buffer.array(), start, end - start, StandardCharsets.UTF_8));
+                if (t != null) {
+                    result.add(t);
+                }
+            }
+        } catch (IOException e) {
+            Log.error(Log.Subsystem.PERSISTENCE, "Failed to read transactions", "month", month, "error", e.getMessage());
+        }
+        return result;
+    }
+    
+    /**
+     * Position of the newline ending the row that starts at from, or -1 if not buffered
+     */
+    private static int lineEnd(ByteBuffer buffer, int from) {
+        byte[] bytes = buffer.array();
+        for (int i = from; i < buffer.limit(); i++) {
+            if (bytes[i] == '\n') return i;
+        }
+        return -1;
+    }
+    
+    /**
+     * Get the IBAN index of a partition, loading it on first use
+     */
+    private Map<String, List<Long>> getIndex(YearMonth month) {
+        Map<String, List<Long>> index = indexCache.get(month);
+        if (index != null) return index;
+        
+        index = new HashMap<>();
+        File file = indexFile(month);
+        if (file.exists()) {
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    int comma = line.lastIndexOf(',');
+                    if (comma <= 0) continue;
+                    index.computeIfAbsent(line.substring(0, comma), k -> new ArrayList<>())
+                         .add(Long.parseLong(line.substring(comma + 1)));
+                }
+            } catch (IOException | NumberFormatException e) {
+                Log.error(Log.Subsystem.PERSISTENCE, "Failed to load transaction index", "month", month, "error", e.getMessage());
+            }
+        }
+        indexCache.put(month, index);
+        return index;
+    }
+    
+    /**
+     * Find the partition holding a transaction id
+     */
+    private YearMonth findPartitionOf(long id) {
+        for (Map.Entry<YearMonth, Partition> entry : catalog.entrySet()) {
+            Partition p = entry.getValue();
+            if (id < p.firstId || id > p.lastId) continue;
+            for (Transaction t : readPartition(entry.getKey())) {
+                if (t.getId() == id) return entry.getKey();
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Load the partition catalog and bring the files in line with it.
+     * Without a usable catalog (missing, unreadable or from before lengths were recorded)
+     * every partition is rebuilt from its data file.
+     */
+    private void loadCatalog() {
+        File file = new File(directory, CATALOG_FILE);
+        if (!file.exists() || !readCatalog(file)) {
+            catalog.clear();
+            rebuildCatalog();
+            return;
+        }
+        
+        for (Map.Entry<YearMonth, Partition> entry : new ArrayList<>(catalog.entrySet())) {
+            YearMonth month = entry.getKey();
+            Partition partition = entry.getValue();
+            if (dataFile(month).length() < partition.dataBytes || indexFile(month).length() < partition.indexBytes) {
+                Log.warn(Log.Subsystem.PERSISTENCE, "Transaction partition shorter than its catalog entry, rebuilding", "month", month);
+                rebuildPartition(month);
+            } else {
+                discardUncommitted(month);
+            }
+        }
+        for (YearMonth month : partitionFiles()) {
+            if (!catalog.containsKey(month)) {
+                discardUncommitted(month); // First append to a new month that never committed
+            }
+        }
+    }
+    
+    /**
+     * Read the catalog file
+     * @return false if it cannot be used
+     */
+    private boolean readCatalog(File file) {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+            String line = reader.readLine(); // Skip header
+            if (!CATALOG_HEADER.equals(line)) return false;
+            
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.split(",");
+                if (parts.length < 6) return false;
+                Partition partition = new Partition();
+                partition.firstId = Long.parseLong(parts[1]);
+                partition.lastId = Long.parseLong(parts[2]);
+                partition.count = Long.parseLong(parts[3]);
+                partition.dataBytes = Long.parseLong(parts[4]);
+                partition.indexBytes = Long.parseLong(parts[5]);
+                catalog.put(YearMonth.parse(parts[0], MONTH_FORMAT), partition);
+            }
+            return true;
+        } catch (IOException | RuntimeException e) {
+            Log.error(Log.Subsystem.PERSISTENCE, "Failed to load transaction catalog", "error", e.getMessage());
+            return false;
+        }
+    }
+    
+    /**
+     * Recreate the catalog (and every index) by scanning the partition files
+     */
+    private void rebuildCatalog() {
+        for (YearMonth month : partitionFiles()) {
+            rebuildPartition(month);
+        }
+    }
+    
+    /**
+     * Rewrite a partition from the complete rows of its data file.
+     * Rows are copied as stored (not re-formatted), so IBANs of accounts that no longer
+     * exist are kept; torn or malformed rows are dropped.
+     */
+    private void rebuildPartition(YearMonth month) {
+        List<String> lines = new ArrayList<>();
+        try {
+            if (dataFile(month).exists()) {
+                try (BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(new FileInputStream(dataFile(month)), StandardCharsets.UTF_8))) {
+                    String line = reader.readLine(); // Skip header
+                    while ((line = reader.readLine()) != null) {
+                        if (parseTransaction(line) != null) {
+                            lines.add(line);
+                        }
+                    }
+                }
+            }
+            writePartition(month, lines); // An index without data is removed
+        } catch (IOException e) {
+            Log.error(Log.Subsystem.PERSISTENCE, "Failed to rebuild transactions", "month", month, "error", e.getMessage());
+        }
+    }
+    
+    /**
+     * Months that have a data or index file in the directory
+     */
+    private SortedSet<YearMonth> partitionFiles() {
+        SortedSet<YearMonth> months = new TreeSet<>();
+        File[] files = directory.listFiles((dir, name) -> name.matches("\\d{4}-\\d{2}\\.(csv|idx)"));
+        if (files != null) {
+            for (File file : files) {
+                months.add(YearMonth.parse(file.getName().substring(0, 7), MONTH_FORMAT));
+            }
+        }
+        return months;
+    }
+    
+    private TreeMap<YearMonth, Partition> copyCatalog() {
+        TreeMap<YearMonth, Partition> copy = new TreeMap<>();
+        for (Map.Entry<YearMonth, Partition> entry : catalog.entrySet()) {
+            copy.put(entry.getKey(), new Partition(entry.getValue()));
+        }
+        return copy;
+    }
+    
+    /**
+     * Commit a catalog through SnapshotWriter (the commit point of every change)
+     * @param snapshot snapshot with the partition files to commit along with it, or null
+     */
+    private void commitCatalog(Map<YearMonth, Partition> partitions, SnapshotWriter snapshot) throws IOException {
+        if (snapshot == null) {
+            snapshot = new SnapshotWriter(directory.getPath());
+        }
+        try {
+            PrintWriter writer = snapshot.stage(new File(directory, CATALOG_FILE).getPath());
+            writer.println(CATALOG_HEADER);
+            for (Map.Entry<YearMonth, Partition> entry : partitions.entrySet()) {
+                Partition p = entry.getValue();
+                writer.println(entry.getKey().format(MONTH_FORMAT) + "," + p.firstId + "," + p.lastId + ","
+                    + p.count + "," + p.dataBytes + "," + p.indexBytes);
+            }
+            snapshot.commit();
+        } catch (IOException e) {
+            snapshot.abort();
+            throw e;
+        }
+    }
+    
+    private File dataFile(YearMonth month) {
+        return new File(directory, month.format(MONTH_FORMAT) + ".csv");
+    }
+    
+    private File indexFile(YearMonth month) {
+        return new File(directory, month.format(MONTH_FORMAT) + ".idx");
+    }
+    
+    /**
+     * IBANs a transaction is indexed under (source and destination)
+     */
+    private static List<String> ibansOf(Transaction t) {
+        return ibansOf(t.getFromAccount() != null ? t.getFromAccount().getIban() : "",
+                       t.getToAccount() != null ? t.getToAccount().getIban() : "");
+    }
+    
+    private static List<String> ibansOf(String fromIban, String toIban) {
+        List<String> ibans = new ArrayList<>(2);
+        if (!fromIban.isEmpty()) ibans.add(fromIban);
+        if (!toIban.isEmpty() && !toIban.equals(fromIban)) ibans.add(toIban);
+        return ibans;
+    }
+    
+    /**
+     * Resolve an IBAN to an account
+     */
+    private Account resolveAccount(String iban) {
+        return iban.isEmpty() ? null : accountLookup.apply(iban);
+    }
+    
+    /**
+     * Parse a CSV line into a Transaction object
+     */
+    private Transaction parseTransaction(String line) {
+        String[] fields = parseCsvLine(line);
+        if (fields.length < 9) return null;
+        
+        try {
+            Transaction t = new Transaction(
+                Long.parseLong(fields[0]),
+                resolveAccount(fields[6]),
+                resolveAccount(fields[7]),
+                new BigDecimal(fields[2]),
+                Transaction.TransactionType.valueOf(fields[3]),
+                fields[4]
+            );
+            t.setDateTime(LocalDateTime.parse(fields[1], DATETIME_FORMAT));
+            t.setBalanceAfter(new BigDecimal(fields[5]));
+            t.setStatus(Transaction.TransactionStatus.valueOf(fields[8]));
+            return t;
+        } catch (RuntimeException e) {
+            Log.warn(Log.Subsystem.PERSISTENCE, "Skipping malformed transaction row", "row", line);
+            return null;
+        }
+    }
+    
+    /**
+     * Format a Transaction object as CSV line
+     */
+    private String formatTransaction(Transaction t) {
+        return t.getId() + "," +
+               t.getDateTime().format(DATETIME_FORMAT) + "," +
+               t.getAmount() + "," +
+               t.getType() + "," +
+               escapeCsv(t.getDescription()) + "," +
+               t.getBalanceAfter() + "," +
+               (t.getFromAccount() != null ? t.getFromAccount().getIban() : "") + "," +
+               (t.getToAccount() != null ? t.getToAccount().getIban() : "") + "," +
+               t.getStatus();
+    }
+    
+    /**
+     * Parse CSV line respecting quotes
+     */
+    private String[] parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean inQuotes = false;
+        
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            
+            if (c == '"') {
+                if (inQuotes && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else {
+                    inQuotes = !inQuotes;
+                }
+            } else if (c == ',' && !inQuotes) {
+                fields.add(current.toString());
+                current = new StringBuilder();
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        
+        return fields.toArray(new String[0]);
+    }
+    
+    /**
+     * Escape CSV special characters
+     */
+    private String escapeCsv(String value) {
+        if (value == null) return "";
+        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+            return "\"" + value.replace("\"", "\"\"").replace("\n", " ") + "\"";
+        }
+        return value;
+    }
+}
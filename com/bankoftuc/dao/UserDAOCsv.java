@@ -1,9 +1,12 @@
 package com.bankoftuc.dao;
 
+import com.bankoftuc.factory.UserFactory;
+import com.bankoftuc.manager.UserIndex;
 import com.bankoftuc.model.*;
+import com.bankoftuc.util.CsvReader;
 import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
-import java.lang.reflect.Field;
 
 /**
  * DAO Pattern - CSV Implementation of User DAO.
@@ -15,14 +18,21 @@ public class UserDAOCsv implements UserDAO {
     private static final String HEADER = "type,id,username,passwordHash,phoneNumber,failedLoginAttempts,locked,fullName,address,vatNumber,businessName,adminLevel";
     
     private List<User> users;
+    private UserIndex userIndex;
     
     public UserDAOCsv() {
         this.users = new ArrayList<>();
         loadFromFile();
+        this.userIndex = new UserIndex(users);
     }
     
     public UserDAOCsv(List<User> users) {
-        this.users = users;
+        this(new UserIndex(users));
+    }
+    
+    public UserDAOCsv(UserIndex userIndex) {
+        this.users = userIndex.getUsers();
+        this.userIndex = userIndex;
     }
     
     @Override
@@ -31,16 +41,14 @@ public class UserDAOCsv implements UserDAO {
         if (findById(entity.getId()).isPresent()) {
             return update(entity);
         }
-        users.add(entity);
+        userIndex.add(entity);
         saveToFile();
         return entity;
     }
     
     @Override
     public Optional<User> findById(String id) {
-        return users.stream()
-            .filter(u -> u.getId().equals(id))
-            .findFirst();
+        return Optional.ofNullable(userIndex.findById(id));
     }
     
     @Override
@@ -50,12 +58,9 @@ public class UserDAOCsv implements UserDAO {
     
     @Override
     public User update(User entity) {
-        for (int i = 0; i < users.size(); i++) {
-            if (users.get(i).getId().equals(entity.getId())) {
-                users.set(i, entity);
-                saveToFile();
-                return entity;
-            }
+        if (userIndex.replace(entity)) {
+            saveToFile();
+            return entity;
         }
         return save(entity);
     }
@@ -67,7 +72,7 @@ public class UserDAOCsv implements UserDAO {
     
     @Override
     public void deleteById(String id) {
-        users.removeIf(u -> u.getId().equals(id));
+        userIndex.remove(id);
         saveToFile();
     }
     
@@ -83,9 +88,7 @@ public class UserDAOCsv implements UserDAO {
     
     @Override
     public Optional<User> findByUsername(String username) {
-        return users.stream()
-            .filter(u -> u.getUsername().equals(username))
-            .findFirst();
+        return Optional.ofNullable(userIndex.findByUsername(username));
     }
     
     @Override
@@ -134,21 +137,16 @@ public class UserDAOCsv implements UserDAO {
      * Load users from CSV file
      */
     private void loadFromFile() {
-        File file = new File(FILE_PATH);
-        if (!file.exists()) {
-            return;
-        }
-        
-        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-            String line = reader.readLine(); // Skip header
+        try (CsvReader row = CsvReader.open(FILE_PATH)) {
+            row.skipRecord(); // Skip header
             
-            while ((line = reader.readLine()) != null) {
-                User user = parseUser(line);
+            while (row.next()) {
+                User user = parseUser(row);
                 if (user != null) {
                     users.add(user);
                 }
             }
-        } catch (IOException e) {
+        } catch (IOException | UncheckedIOException e) {
             System.err.println("Error loading users: " + e.getMessage());
         }
     }
@@ -160,7 +158,7 @@ public class UserDAOCsv implements UserDAO {
         File file = new File(FILE_PATH);
         file.getParentFile().mkdirs();
         
-        try (PrintWriter writer = new PrintWriter(new FileWriter(file))) {
+        try (PrintWriter writer = new PrintWriter(new FileWriter(file, StandardCharsets.UTF_8))) {
             writer.println(HEADER);
             
             for (User user : users) {
@@ -172,71 +170,37 @@ public class UserDAOCsv implements UserDAO {
     }
     
     /**
-     * Parse a CSV line into a User object
+     * Parse a CSV row into a User object
      */
-    private User parseUser(String line) {
-        String[] fields = parseCsvLine(line);
-        if (fields.length < 7) return null;
+    private User parseUser(CsvReader row) {
+        if (row.fieldCount() < 7) return null;
         
-        String type = fields[0];
-        String id = fields[1];
-        String username = fields[2];
-        String passwordHash = fields[3];
-        String phoneNumber = fields[4];
-        int failedAttempts = Integer.parseInt(fields[5]);
-        boolean locked = Boolean.parseBoolean(fields[6]);
+        String id = row.getString(1);
+        String username = row.getString(2);
+        String passwordHash = row.getString(3);
+        String phoneNumber = row.getString(4);
+        int failedAttempts = row.getInt(5);
+        boolean locked = row.getBoolean(6);
         
         User user = null;
         
-        switch (type) {
-            case "INDIVIDUAL":
-                String fullName = fields.length > 7 ? fields[7] : "";
-                String address = fields.length > 8 ? fields[8] : "";
-                String vatNumber = fields.length > 9 ? fields[9] : "";
-                IndividualUser individual = new IndividualUser(id, username, "temp", fullName, address, phoneNumber, vatNumber);
-                user = individual;
-                break;
-                
-            case "BUSINESS":
-                String busVat = fields.length > 9 ? fields[9] : "";
-                String busName = fields.length > 10 ? fields[10] : "";
-                BusinessUser business = new BusinessUser(id, username, "temp", busName, phoneNumber, busVat);
-                user = business;
-                break;
-                
-            case "ADMIN":
-                int adminLevel = 1;
-                if (fields.length > 11) {
-                    try {
-                        adminLevel = Integer.parseInt(fields[11]);
-                    } catch (NumberFormatException e) {
-                        adminLevel = 1;
-                    }
+        if (row.equalsAscii(0, "INDIVIDUAL")) {
+            user = UserFactory.restoreIndividualUser(id, username, passwordHash, phoneNumber,
+                row.getString(7), row.getString(8), row.getString(9), failedAttempts, locked);
+        } else if (row.equalsAscii(0, "BUSINESS")) {
+            user = UserFactory.restoreBusinessUser(id, username, passwordHash, phoneNumber,
+                row.getString(10), row.getString(9), failedAttempts, locked);
+        } else if (row.equalsAscii(0, "ADMIN")) {
+            int adminLevel = 1;
+            if (!row.isEmpty(11)) {
+                try {
+                    adminLevel = row.getInt(11);
+                } catch (NumberFormatException e) {
+                    adminLevel = 1;
                 }
-                AdminUser admin = new AdminUser(id, username, "temp", phoneNumber, adminLevel);
-                user = admin;
-                break;
-        }
-        
-        if (user != null) {
-            // Set password hash directly via reflection
-            try {
-                Field hashField = User.class.getDeclaredField("passwordHash");
-                hashField.setAccessible(true);
-                hashField.set(user, passwordHash);
-            } catch (Exception e) {
-                // Fallback - password will be "temp"
-            }
-            
-            user.setLocked(locked);
-            // Set failed attempts using recordFailedLogin
-            for (int i = 0; i < failedAttempts; i++) {
-                user.recordFailedLogin();
-            }
-            // Reset locked status if needed (since recordFailedLogin might lock)
-            if (!locked) {
-                user.setLocked(false);
             }
+            user = UserFactory.restoreAdminUser(id, username, passwordHash, phoneNumber,
+                adminLevel, failedAttempts, locked);
         }
         
         return user;
@@ -253,20 +217,10 @@ public class UserDAOCsv implements UserDAO {
         else if (user instanceof BusinessUser) type = "BUSINESS";
         else if (user instanceof AdminUser) type = "ADMIN";
         
-        // Get password hash via reflection
-        String passwordHash = "";
-        try {
-            Field hashField = User.class.getDeclaredField("passwordHash");
-            hashField.setAccessible(true);
-            passwordHash = (String) hashField.get(user);
-        } catch (Exception e) {
-            passwordHash = "";
-        }
-        
         sb.append(type).append(",");
         sb.append(escapeCsv(user.getId())).append(",");
         sb.append(escapeCsv(user.getUsername())).append(",");
-        sb.append(escapeCsv(passwordHash)).append(",");
+        sb.append(escapeCsv(user.getPasswordHash())).append(",");
         sb.append(escapeCsv(user.getPhoneNumber())).append(",");
         sb.append(user.getFailedLoginAttempts()).append(",");
         sb.append(user.isLocked()).append(",");
@@ -290,31 +244,6 @@ public class UserDAOCsv implements UserDAO {
         return sb.toString();
     }
     
-    /**
-     * Parse CSV line respecting quotes
-     */
-    private String[] parseCsvLine(String line) {
-        List<String> fields = new ArrayList<>();
-        StringBuilder current = new StringBuilder();
-        boolean inQuotes = false;
-        
-        for (int i = 0; i < line.length(); i++) {
-            char c = line.charAt(i);
-            
-            if (c == '"') {
-                inQuotes = !inQuotes;
-            } else if (c == ',' && !inQuotes) {
-                fields.add(current.toString());
-                current = new StringBuilder();
-            } else {
-                current.append(c);
-            }
-        }
-        fields.add(current.toString());
-        
-        return fields.toArray(new String[0]);
-    }
-    
     /**
      * Escape CSV special characters
      */
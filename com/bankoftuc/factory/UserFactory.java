@@ -67,6 +67,35 @@ public class UserFactory {
         return user;
     }
     
+    /**
+     * Restore a persisted Individual User.
+     * Takes the stored password hash, so no hashing or reflection happens on load.
+     */
+    public static IndividualUser restoreIndividualUser(String id, String username, String passwordHash,
+            String phoneNumber, String fullName, String address, String vatNumber,
+            int failedLoginAttempts, boolean locked) {
+        return new IndividualUser(id, username, passwordHash, fullName, address, phoneNumber, vatNumber,
+                                  failedLoginAttempts, locked);
+    }
+    
+    /**
+     * Restore a persisted Business User
+     */
+    public static BusinessUser restoreBusinessUser(String id, String username, String passwordHash,
+            String phoneNumber, String businessName, String vatNumber,
+            int failedLoginAttempts, boolean locked) {
+        return new BusinessUser(id, username, passwordHash, businessName, phoneNumber, vatNumber,
+                                failedLoginAttempts, locked);
+    }
+    
+    /**
+     * Restore a persisted Admin User
+     */
+    public static AdminUser restoreAdminUser(String id, String username, String passwordHash,
+            String phoneNumber, int adminLevel, int failedLoginAttempts, boolean locked) {
+        return new AdminUser(id, username, passwordHash, phoneNumber, adminLevel, failedLoginAttempts, locked);
+    }
+    
     /**
      * Set counters (used when loading from persistence)
      */
@@ -2,6 +2,7 @@ package com.bankoftuc.gui;
 
 // JavaFX Imports - CORRECT
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
@@ -28,11 +29,14 @@ import javafx.stage.Stage;
 // Project Imports
 import com.bankoftuc.manager.BankSystem;
 import com.bankoftuc.model.*;
+import com.bankoftuc.util.Metrics;
 
 // Java Utility Imports
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Main JavaFX Application for Bank of TUC eBanking System.
@@ -291,11 +295,12 @@ public class BankingGUI extends Application {
         Button btnStandingOrders = createMenuButton("⏰ All Standing Orders");
         Button btnSimulate = createMenuButton("⏩ Time Simulation");
         Button btnSystemInfo = createMenuButton("ℹ️ System Info");
+        Button btnPerformance = createMenuButton("📈 Performance");
         
         menu.getChildren().addAll(btnUsers, btnCreateUser, new Separator(),
             btnAccounts, btnCreateAccount, btnTransactions, new Separator(),
             btnBills, btnStandingOrders,
-            new Separator(), btnSimulate, btnSystemInfo);
+            new Separator(), btnSimulate, btnSystemInfo, btnPerformance);
         
         root.setLeft(menu);
         
@@ -314,6 +319,7 @@ public class BankingGUI extends Application {
         btnStandingOrders.setOnAction(e -> showAllStandingOrders(content));
         btnSimulate.setOnAction(e -> showTimeSimulation(content));
         btnSystemInfo.setOnAction(e -> showSystemInfo(content));
+        btnPerformance.setOnAction(e -> showPerformance(content));
         
         // Show users by default
         showUserManagement(content);
@@ -723,22 +729,43 @@ public class BankingGUI extends Application {
                     
                     resultLabel.setText("Processing " + type + " transfer...");
                     resultLabel.setStyle("-fx-text-fill: blue;");
+                    transferBtn.setDisable(true);
                     
+                    // Run the API call off the FX thread so the window stays responsive
+                    CompletableFuture<Transaction> future;
                     if (type.equals("SEPA")) {
-                        bankSystem.getTransactionManager().sepaTransferFull(
+                        future = bankSystem.getTransactionManager().sepaTransferFullAsync(
                             fromAcc, ibanField.getText(), new BigDecimal(amount),
                             descField.getText(), nameField.getText(), bankCodeField.getText(),
                             bankNameField.getText(), "SHA");
                     } else {
-                        bankSystem.getTransactionManager().swiftTransferFull(
+                        future = bankSystem.getTransactionManager().swiftTransferFullAsync(
                             fromAcc, ibanField.getText(), new BigDecimal(amount),
                             descField.getText(), "EUR", nameField.getText(), "",
                             bankNameField.getText(), bankCodeField.getText(), "", "SHA");
                     }
-                    bankSystem.saveToFile();
                     
-                    resultLabel.setText(String.format("%s transfer of €%.2f completed successfully!", type, amount));
-                    resultLabel.setStyle("-fx-text-fill: green;");
+                    // Make the transfer durable before confirming it, still off the FX thread
+                    future.thenApply(transaction -> bankSystem.flush())
+                    .whenComplete((durable, error) -> Platform.runLater(() -> {
+                        transferBtn.setDisable(false);
+                        if (error != null) {
+                            Throwable cause = error instanceof CompletionException && error.getCause() != null
+                                ? error.getCause() : error;
+                            resultLabel.setText("Transfer failed: " + cause.getMessage());
+                            resultLabel.setStyle("-fx-text-fill: red;");
+                            return;
+                        }
+                        if (!durable) {
+                            // The money has already left the bank; only saving it failed
+                            resultLabel.setText(type + " transfer was sent but could not be saved to disk. "
+                                + "Saving will be retried - do not repeat the transfer.");
+                            resultLabel.setStyle("-fx-text-fill: red;");
+                            return;
+                        }
+                        resultLabel.setText(String.format("%s transfer of €%.2f completed successfully!", type, amount));
+                        resultLabel.setStyle("-fx-text-fill: green;");
+                    }));
                     
                 } catch (NumberFormatException ex) {
                     resultLabel.setText("Invalid amount");
@@ -1007,7 +1034,7 @@ public class BankingGUI extends Application {
                 Button cancelBtn = new Button("Cancel");
                 cancelBtn.setStyle(STYLE_BUTTON_DANGER);
                 cancelBtn.setOnAction(e -> {
-                    order.setStatus(StandingOrder.OrderStatus.CANCELLED);
+                    bankSystem.getStandingOrderManager().cancelOrder(order);
                     bankSystem.saveToFile();
                     showStandingOrders(content, user);
                 });
@@ -1940,10 +1967,6 @@ public class BankingGUI extends Application {
         content.getChildren().add(vbox);
     }
 
-//=====================================================
-//END OF PATCH
-//=====================================================
-    
     private void showTimeSimulation(StackPane content) {
         content.getChildren().clear();
         
@@ -2039,29 +2062,34 @@ public class BankingGUI extends Application {
         Label title = new Label("System Information");
         title.setFont(Font.font("Arial", FontWeight.BOLD, 24));
         
-        List<User> users = bankSystem.getUserManager().getAllUsers();
-        List<Account> accounts = bankSystem.getAccountManager().getAllAccounts();
-        List<Transaction> transactions = bankSystem.getTransactionManager().getAllTransactions();
-        List<Bill> bills = bankSystem.getBillManager().getAllBills();
-        List<StandingOrder> standingOrders = bankSystem.getStandingOrderManager().getAllStandingOrders();
+        // Counts come from the maintained gauges, so no entity list is copied or scanned
+        Metrics.Snapshot stats = Metrics.snapshot();
         
         vbox.getChildren().addAll(title,
             new Label("System Date: " + bankSystem.getCurrentDate()),
             new Separator(),
-            new Label("Total Users: " + users.size()),
-            new Label("Total Accounts: " + accounts.size()),
-            new Label("Total Transactions: " + transactions.size()),
-            new Label("Total Bills: " + bills.size()),
-            new Label("Total Standing Orders: " + standingOrders.size()),
+            new Label("Total Users: " + stats.getGauge("users")),
+            new Label("Total Accounts: " + stats.getGauge("accounts")),
+            new Label("Total Transactions: " + stats.getGauge("transactions")),
+            new Label("Total Bills: " + stats.getGauge("bills")),
+            new Label("Total Standing Orders: " + stats.getGauge("standingOrders")),
             new Separator(),
-            new Label("Individual Users: " + users.stream().filter(u -> u instanceof IndividualUser).count()),
-            new Label("Business Users: " + users.stream().filter(u -> u instanceof BusinessUser).count()),
-            new Label("Admin Users: " + users.stream().filter(u -> u instanceof AdminUser).count())
+            new Label("Individual Users: " + stats.getGauge("users.individual")),
+            new Label("Business Users: " + stats.getGauge("users.business")),
+            new Label("Admin Users: " + stats.getGauge("users.admin"))
         );
         
         content.getChildren().add(vbox);
     }
     
+    /**
+     * Show the live performance dashboard (refreshes itself until another view is opened)
+     */
+    private void showPerformance(StackPane content) {
+        content.getChildren().clear();
+        content.getChildren().add(new PerformanceDashboard());
+    }
+    
     public static void main(String[] args) {
         launch(args);
     }
@@ -0,0 +1,181 @@
+package com.bankoftuc.gui;
+
+import javafx.application.Platform;
+import javafx.geometry.Insets;
+import javafx.scene.control.Label;
+import javafx.scene.control.Separator;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.VBox;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+
+import com.bankoftuc.util.LatencyHistogram;
+import com.bankoftuc.util.Metrics;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admin view of live system performance, read from the metrics registry.
+ * A background thread takes a metrics snapshot every few seconds and hands the
+ * figures to the FX thread, so refreshing never copies entity lists or blocks the UI.
+ * Rates and latencies cover the last refresh interval; the view stops refreshing
+ * once it is removed from the screen.
+ */
+public class PerformanceDashboard extends VBox {
+    
+    private static final long REFRESH_SECONDS = 2;
+    
+    private static final String[] OPERATIONS = {
+        "transactions.transfer", "transactions.deposit", "transactions.withdraw",
+        "transactions.payBill", "transactions.externalDebit"
+    };
+    
+    private final Label throughputLabel = value();
+    private final Label ledgerRateLabel = value();
+    private final Label transferLabel = value();
+    private final Label saveLabel = value();
+    private final Label commitLabel = value();
+    private final Label queueLabel = value();
+    private final Label apiLabel = value();
+    private final Label heapLabel = value();
+    private final Label failedLabel = value();
+    private final Label updatedLabel = new Label();
+    
+    private ScheduledExecutorService refresher;
+    private Metrics.Snapshot previous; // Last snapshot shown (FX thread)
+    
+    public PerformanceDashboard() {
+        super(15);
+        
+        Label title = new Label("Performance");
+        title.setFont(Font.font("Arial", FontWeight.BOLD, 24));
+        updatedLabel.setStyle("-fx-text-fill: gray;");
+        
+        GridPane grid = new GridPane();
+        grid.setHgap(20);
+        grid.setVgap(8);
+        grid.setPadding(new Insets(5, 0, 5, 0));
+        int row = 0;
+        grid.addRow(row++, new Label("Operations / s:"), throughputLabel);
+        grid.addRow(row++, new Label("Ledger rows / s:"), ledgerRateLabel);
+        grid.addRow(row++, new Label("Failed operations:"), failedLabel);
+        grid.addRow(row++, new Separator(), new Separator());
+        grid.addRow(row++, new Label("Transfer latency:"), transferLabel);
+        grid.addRow(row++, new Label("Save latency:"), saveLabel);
+        grid.addRow(row++, new Label("Snapshot commit latency:"), commitLabel);
+        grid.addRow(row++, new Label("Persistence queue:"), queueLabel);
+        grid.addRow(row++, new Separator(), new Separator());
+        grid.addRow(row++, new Label("External API success:"), apiLabel);
+        grid.addRow(row++, new Label("Heap usage:"), heapLabel);
+        
+        getChildren().addAll(title, updatedLabel, new Separator(), grid);
+        
+        // Refresh while shown; stop when the content area is cleared for another view
+        parentProperty().addListener((obs, oldParent, newParent) -> {
+            if (newParent != null) {
+                start();
+            } else {
+                stop();
+            }
+        });
+    }
+    
+    /**
+     * Start the refresh thread (FX thread)
+     */
+    private void start() {
+        if (refresher != null) return;
+        refresher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "bank-dashboard");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refresher.scheduleWithFixedDelay(this::refresh, 0, REFRESH_SECONDS, TimeUnit.SECONDS);
+    }
+    
+    /**
+     * Stop the refresh thread (FX thread)
+     */
+    public void stop() {
+        if (refresher == null) return;
+        refresher.shutdownNow();
+        refresher = null;
+        previous = null;
+    }
+    
+    /**
+     * Take a snapshot (refresh thread) and show it (FX thread)
+     */
+    private void refresh() {
+        Metrics.Snapshot current = Metrics.snapshot();
+        Platform.runLater(() -> {
+            if (refresher == null) return; // Stopped while this update was queued
+            if (getScene() == null || getScene().getWindow() == null) {
+                stop(); // Logged out: the scene was replaced
+                return;
+            }
+            show(current, previous);
+            previous = current;
+        });
+    }
+    
+    private void show(Metrics.Snapshot current, Metrics.Snapshot last) {
+        double seconds = last != null
+            ? Math.max(0.001, Duration.between(last.getTime(), current.getTime()).toMillis() / 1000.0)
+            : 0;
+        
+        long operations = 0;
+        for (String name : OPERATIONS) {
+            operations += interval(current, last, name).getCount();
+        }
+        long ledgerRows = current.getGauge("transactions") - (last != null ? last.getGauge("transactions") : 0);
+        throughputLabel.setText(last != null ? String.format(Locale.ROOT, "%.1f", operations / seconds) : "-");
+        ledgerRateLabel.setText(last != null ? String.format(Locale.ROOT, "%.1f", ledgerRows / seconds) : "-");
+        failedLabel.setText(String.valueOf(current.getCounter("transactions.failed")));
+        
+        transferLabel.setText(latency(interval(current, last, "transactions.transfer")));
+        saveLabel.setText(latency(interval(current, last, "persistence.save")));
+        commitLabel.setText(latency(interval(current, last, "persistence.commit")));
+        queueLabel.setText(current.getGauge("persistence.pending") + " pending change(s)");
+        
+        long approved = current.getCounter("api.approved");
+        long calls = approved + current.getCounter("api.failed");
+        apiLabel.setText(calls == 0 ? "no calls yet"
+            : String.format(Locale.ROOT, "%.1f%% of %d call(s)", 100.0 * approved / calls, calls));
+        
+        long used = current.getGauge("jvm.heap.used");
+        long max = current.getGauge("jvm.heap.max");
+        heapLabel.setText(String.format(Locale.ROOT, "%d MB / %d MB", used >> 20, max >> 20));
+        
+        updatedLabel.setText("Updated " + current.getTime().toLocalTime().withNano(0)
+            + " - rates and latencies over the last " + REFRESH_SECONDS + " s");
+    }
+    
+    /**
+     * Samples of a histogram recorded since the previous refresh
+     */
+    private static LatencyHistogram.Snapshot interval(Metrics.Snapshot current, Metrics.Snapshot last, String name) {
+        LatencyHistogram.Snapshot now = current.getHistogram(name);
+        return last != null ? now.since(last.getHistogram(name)) : now;
+    }
+    
+    private static String latency(LatencyHistogram.Snapshot h) {
+        if (h.getCount() == 0) return "idle";
+        return String.format(Locale.ROOT, "p50 %s  p99 %s  (%d op(s))",
+            millis(h.getPercentile(50)), millis(h.getPercentile(99)), h.getCount());
+    }
+    
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.2f ms", nanos / 1_000_000.0);
+    }
+    
+    private static Label value() {
+        Label label = new Label("-");
+        label.setFont(Font.font("Arial", FontWeight.BOLD, 14));
+        return label;
+    }
+}
@@ -4,8 +4,11 @@ import com.bankoftuc.model.*;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 /**
  * Manages bank accounts - creation, retrieval, and account operations.
@@ -13,7 +16,9 @@ import java.util.concurrent.atomic.AtomicLong;
 public class AccountManager {
     
     private List<Account> accounts;
+    private final Map<String, Account> ibanIndex = new ConcurrentHashMap<>(); // IBAN -> account, first match wins
     private AtomicLong accountCounter;
+    private volatile Consumer<Account> changeListener; // Told when an account is opened or its status changes
     private static final String COUNTRY_CODE = "GR";
     
     public AccountManager() {
@@ -21,9 +26,43 @@ public class AccountManager {
         this.accountCounter = new AtomicLong(1);
     }
     
+    /**
+     * Manage a shared accounts list. Once indexed, accounts must only be added
+     * through this manager, so the IBAN index stays in step with the list.
+     */
     public AccountManager(List<Account> accounts) {
         this.accounts = accounts;
         this.accountCounter = new AtomicLong(accounts.size() + 1);
+        synchronized (accounts) {
+            for (Account account : accounts) {
+                // First match wins, as with the previous linear scan
+                ibanIndex.putIfAbsent(account.getIban(), account);
+            }
+        }
+    }
+    
+    /**
+     * Add an account to the list and the IBAN index under the list's lock
+     */
+    private void addAccount(Account account) {
+        synchronized (accounts) {
+            accounts.add(account);
+            ibanIndex.putIfAbsent(account.getIban(), account);
+        }
+    }
+    
+    /**
+     * Set the listener told about accounts opened or changed in status (null for none)
+     */
+    public void setChangeListener(Consumer<Account> listener) {
+        this.changeListener = listener;
+    }
+    
+    private void changed(Account account) {
+        Consumer<Account> listener = changeListener;
+        if (listener != null) {
+            listener.accept(account);
+        }
     }
     
     /**
@@ -50,7 +89,8 @@ public class AccountManager {
     public PersonalAccount createPersonalAccount(IndividualUser owner, BigDecimal initialBalance) {
         String iban = generatePersonalIBAN();
         PersonalAccount account = new PersonalAccount(iban, initialBalance, owner);
-        accounts.add(account);
+        addAccount(account);
+        changed(account);
         return account;
     }
     
@@ -61,7 +101,8 @@ public class AccountManager {
                                                   BigDecimal monthlyFee) {
         String iban = generateBusinessIBAN();
         BusinessAccount account = new BusinessAccount(iban, initialBalance, owner, monthlyFee);
-        accounts.add(account);
+        addAccount(account);
+        changed(account);
         return account;
     }
     
@@ -76,10 +117,8 @@ public class AccountManager {
      * Find account by IBAN
      */
     public Account findByIban(String iban) {
-        return accounts.stream()
-            .filter(a -> a.getIban().equals(iban))
-            .findFirst()
-            .orElse(null);
+        if (iban == null) return null;
+        return ibanIndex.get(iban);
     }
     
     /**
@@ -132,6 +171,7 @@ public class AccountManager {
      */
     public void closeAccount(Account account) {
         account.setStatus(Account.AccountStatus.CLOSED);
+        changed(account);
     }
     
     /**
@@ -139,6 +179,7 @@ public class AccountManager {
      */
     public void freezeAccount(Account account) {
         account.setStatus(Account.AccountStatus.FROZEN);
+        changed(account);
     }
     
     /**
@@ -146,6 +187,7 @@ public class AccountManager {
      */
     public void activateAccount(Account account) {
         account.setStatus(Account.AccountStatus.ACTIVE);
+        changed(account);
     }
     
     /**
@@ -0,0 +1,103 @@
+package com.bankoftuc.manager;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Cached availability of the Bank Transfer API.
+ * A background task probes the API on a fixed schedule, and every real request
+ * reports its outcome, so isAvailable() is a memory read instead of a round-trip.
+ *
+ * Probe interval and TTL are set with -Dbankoftuc.api.probeIntervalMs (default 15s)
+ * and -Dbankoftuc.api.healthTtlMs (default 60s).
+ */
+public class ApiHealthCheck {
+    
+    private static final long PROBE_INTERVAL_MS = Long.getLong("bankoftuc.api.probeIntervalMs", 15000);
+    private static final long TTL_MS = Long.getLong("bankoftuc.api.healthTtlMs", 60000);
+    
+    private static volatile boolean available = true; // Optimistic until the first observation
+    private static volatile long lastUpdated = 0;
+    private static final AtomicBoolean probing = new AtomicBoolean(false);
+    private static volatile ScheduledExecutorService scheduler;
+    
+    private ApiHealthCheck() {
+    }
+    
+    /**
+     * Check if the API is believed to be reachable.
+     * An expired observation counts as available, so the real request decides and reports back.
+     */
+    public static boolean isAvailable() {
+        if (scheduler == null) start();
+        if (System.currentTimeMillis() - lastUpdated > TTL_MS) {
+            probeAsync();
+            return true;
+        }
+        return available;
+    }
+    
+    /**
+     * Record the outcome of a request or probe
+     * @param reachable true if the server answered (whatever the transfer outcome), false on connect/timeout errors
+     */
+    public static void record(boolean reachable) {
+        available = reachable;
+        lastUpdated = System.currentTimeMillis();
+    }
+    
+    /**
+     * Start the background probe (idempotent)
+     */
+    public static synchronized void start() {
+        if (scheduler != null) return;
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "api-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(ApiHealthCheck::probeIfIdle, 0, PROBE_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * Stop the background probe
+     */
+    public static synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+    
+    /**
+     * Probe unless real traffic already reported within the probe interval
+     */
+    private static void probeIfIdle() {
+        if (System.currentTimeMillis() - lastUpdated >= PROBE_INTERVAL_MS
+                && probing.compareAndSet(false, true)) {
+            probe();
+        }
+    }
+    
+    /**
+     * Queue a probe on the scheduler thread without waiting for it; at most one is pending
+     */
+    private static synchronized void probeAsync() {
+        if (scheduler != null && probing.compareAndSet(false, true)) {
+            scheduler.execute(ApiHealthCheck::probe);
+        }
+    }
+    
+    /**
+     * Probe the API once (caller has set the probing flag)
+     */
+    private static void probe() {
+        try {
+            BankTransferAPI.testConnection(); // Reports its result through record()
+        } finally {
+            probing.set(false);
+        }
+    }
+}
@@ -1,18 +1,29 @@
 package com.bankoftuc.manager;
 
 import com.bankoftuc.model.User;
+import com.bankoftuc.util.LatencyHistogram;
+import com.bankoftuc.util.Log;
+import com.bankoftuc.util.Metrics;
 import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Manages user authentication (login/logout).
  */
 public class AuthManager {
     
+    private static final LatencyHistogram LOGIN_TIME = Metrics.histogram("auth.login");
+    private static final LongAdder LOGIN_FAILED = Metrics.counter("auth.login.failed");
+    
     private User currentUser;
-    private List<User> users;
+    private UserIndex userIndex;
     
     public AuthManager(List<User> users) {
-        this.users = users;
+        this(new UserIndex(users));
+    }
+    
+    public AuthManager(UserIndex userIndex) {
+        this.userIndex = userIndex;
         this.currentUser = null;
     }
     
@@ -21,26 +32,35 @@ public class AuthManager {
      * @return true if login successful, false otherwise
      */
     public boolean login(String username, String password) {
-        for (User user : users) {
-            if (user.getUsername().equals(username)) {
-                if (user.isLocked()) {
-                    System.out.println("Account is locked. Please contact an administrator.");
-                    return false;
-                }
-                if (user.verifyPassword(password)) {
-                    user.resetFailedAttempts();
-                    currentUser = user;
-                    return true;
-                } else {
-                    user.recordFailedLogin();
-                    if (user.isLocked()) {
-                        System.out.println("Too many failed attempts. Account has been locked.");
-                    }
-                    return false;
-                }
+        long start = System.nanoTime();
+        boolean success = attemptLogin(username, password);
+        LOGIN_TIME.recordSince(start);
+        if (!success) {
+            LOGIN_FAILED.increment();
+        }
+        return success;
+    }
+    
+    private boolean attemptLogin(String username, String password) {
+        User user = userIndex.findByUsername(username);
+        if (user == null) {
+            return false;
+        }
+        if (user.isLocked()) {
+            Log.warn(Log.Subsystem.AUTH, "Login refused: account is locked", "user", username);
+            return false;
+        }
+        if (user.verifyPassword(password)) {
+            user.resetFailedAttempts();
+            currentUser = user;
+            return true;
+        } else {
+            user.recordFailedLogin();
+            if (user.isLocked()) {
+                Log.warn(Log.Subsystem.AUTH, "Too many failed attempts, account locked", "user", username);
             }
+            return false;
         }
-        return false;
     }
     
     /**
@@ -68,6 +88,6 @@ public class AuthManager {
      * Update the users list reference
      */
     public void setUsers(List<User> users) {
-        this.users = users;
+        this.userIndex = new UserIndex(users);
     }
 }
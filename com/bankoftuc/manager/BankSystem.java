@@ -1,11 +1,18 @@
 package com.bankoftuc.manager;
 
+import com.bankoftuc.dao.TransactionDAOCsv;
 import com.bankoftuc.model.*;
 import com.bankoftuc.model.Bill.BillStatus;
+import com.bankoftuc.util.LatencyHistogram;
+import com.bankoftuc.util.Log;
+import com.bankoftuc.util.Metrics;
+import com.bankoftuc.util.Money;
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -15,13 +22,15 @@ import java.util.List;
  */
 public class BankSystem {
     
-    private static BankSystem instance;
+    private static volatile BankSystem instance; // Read by the shutdown hook
+    private static boolean shutdownHookRegistered;
     
     private List<User> users;
     private List<Account> accounts;
     private List<Bill> bills;
     private List<StandingOrder> standingOrders;
-    private List<Transaction> transactions;
+    private List<Transaction> transactions; // In memory: the whole ledger, or this session's with a transaction store
+    private TransactionDAOCsv transactionStore; // Transaction history of CSV storage (null for binary storage)
     
     private UserManager userManager;
     private AccountManager accountManager;
@@ -30,26 +39,104 @@ public class BankSystem {
     private StandingOrderManager standingOrderManager;
     private AuthManager authManager;
     
-    private LocalDate currentDate;
+    private volatile LocalDate currentDate; // Read by other sessions during a simulation
+    
+    // State at the last save, used to skip files whose entities did not change
+    private int savedUserCount = -1;
+    private int savedAccountCount = -1;
+    private int savedBillCount = -1;
+    private int savedOrderCount = -1;
+    private LocalDate savedDate;
+    
+    // Storage backend, chosen at startup with -Dbankoftuc.storage=csv|binary (default csv)
+    private static final boolean BINARY_STORAGE = "binary".equalsIgnoreCase(System.getProperty("bankoftuc.storage", "csv"));
+    private final BinaryLedger ledger = new BinaryLedger();
+    
+    // Saves run on a write-behind thread; see saveToCSV(). Only the date is captured per save.
+    private final PersistenceService<LocalDate> persistence =
+        new PersistenceService<>("bank-persistence", date -> writeState(new SaveState(this, date)));
+    private static final LatencyHistogram SAVE_TIME = Metrics.histogram("persistence.save");
+    private static final LatencyHistogram APPEND_TIME = Metrics.histogram("persistence.append");
+    
+    /**
+     * Entity lists captured for a background save.
+     * Copied on the writer thread when the save starts, not by the caller: the entity lists
+     * are synchronized, so each copy is atomic with respect to concurrent appends.
+     */
+    private static class SaveState {
+        final List<User> users;
+        final List<Account> accounts;
+        final List<Bill> bills;
+        final List<StandingOrder> standingOrders;
+        final LocalDate currentDate;
+        
+        SaveState(BankSystem system, LocalDate currentDate) {
+            this.users = new ArrayList<>(system.users);
+            this.accounts = new ArrayList<>(system.accounts);
+            this.bills = new ArrayList<>(system.bills);
+            this.standingOrders = new ArrayList<>(system.standingOrders);
+            this.currentDate = currentDate;
+        }
+    }
     
     private BankSystem() {
-        this.users = new ArrayList<>();
-        this.accounts = new ArrayList<>();
-        this.bills = new ArrayList<>();
-        this.standingOrders = new ArrayList<>();
+        this.users = Collections.synchronizedList(new ArrayList<>());
+        this.accounts = Collections.synchronizedList(new ArrayList<>());
+        this.bills = Collections.synchronizedList(new ArrayList<>());
+        this.standingOrders = Collections.synchronizedList(new ArrayList<>());
         this.transactions = new ArrayList<>();
         this.currentDate = LocalDate.now();
         
         initializeManagers();
+        registerGauges();
+        Metrics.startReporter();
+        registerShutdownHook();
+    }
+    
+    /**
+     * Finish the current instance's pending writes when the JVM exits.
+     * Registered once: a hook per instance would keep every reset instance alive.
+     */
+    private static synchronized void registerShutdownHook() {
+        if (shutdownHookRegistered) return;
+        shutdownHookRegistered = true;
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            BankSystem current = instance;
+            if (current != null) {
+                current.persistence.close();
+            }
+            Metrics.dump();
+        }, "bank-persistence-shutdown"));
+    }
+    
+    /**
+     * Expose sizes and the save backlog as metrics (read when a snapshot is taken)
+     */
+    private void registerGauges() {
+        Metrics.gauge("persistence.pending", persistence::getPendingChanges);
+        Metrics.gauge("jvm.heap.used", () -> Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory());
+        Metrics.gauge("jvm.heap.max", () -> Runtime.getRuntime().maxMemory());
+        Metrics.gauge("users", () -> users.size());
+        Metrics.gauge("users.individual", () -> userManager.countUsers(IndividualUser.class));
+        Metrics.gauge("users.business", () -> userManager.countUsers(BusinessUser.class));
+        Metrics.gauge("users.admin", () -> userManager.countUsers(AdminUser.class));
+        Metrics.gauge("accounts", () -> accounts.size());
+        Metrics.gauge("transactions", () -> transactionStore != null
+            ? transactionStore.count() + transactionManager.getUnjournaledTransactions().size()
+            : transactions.size());
+        Metrics.gauge("bills", () -> bills.size());
+        Metrics.gauge("standingOrders", () -> standingOrders.size());
     }
     
     /**
      * Get the singleton instance
+     * @throws IllegalStateException if the saved data cannot be loaded
      */
     public static synchronized BankSystem getInstance() {
         if (instance == null) {
-            instance = new BankSystem();
-            instance.loadFromCSV();
+            BankSystem system = new BankSystem();
+            system.loadFromCSV(); // Published only once loaded, so a failed load never runs empty
+            instance = system;
         }
         return instance;
     }
@@ -58,6 +145,9 @@ public class BankSystem {
      * Reset the singleton (for testing purposes)
      */
     public static synchronized void resetInstance() {
+        if (instance != null) {
+            instance.persistence.close(); // Finish pending writes before another instance loads
+        }
         instance = null;
     }
     
@@ -65,31 +155,27 @@ public class BankSystem {
      * Initialize all managers with current data
      */
     private void initializeManagers() {
-        this.userManager = new UserManager(users);
+        UserIndex userIndex = new UserIndex(users);
+        this.userManager = new UserManager(userIndex);
         this.accountManager = new AccountManager(accounts);
-        this.transactionManager = new TransactionManager(transactions);
+        this.transactionManager = transactionStore != null
+            ? new TransactionManager(transactions, transactionStore)
+            : new TransactionManager(transactions);
         this.billManager = new BillManager(bills);
         this.standingOrderManager = new StandingOrderManager(standingOrders);
-        this.authManager = new AuthManager(users);
+        this.authManager = new AuthManager(userIndex);
     }
-    
-// =====================================================
-// PATCH FOR BankSystem.java - Replace initDemoData() method
-// =====================================================
-// Find the method: public void initDemoData() { ... }
-// Replace the ENTIRE method with the code below
-// =====================================================
 
     /**
      * Initialize demo data with professor's sample users and rich dataset
      */
     public void initDemoData() {
         if (!users.isEmpty()) {
-            System.out.println("Data already exists. Skipping demo data initialization.");
+            Log.info(Log.Subsystem.SYSTEM, "Data already exists, skipping demo data initialization");
             return;
         }
         
-        System.out.println("Initializing demo data with professor's sample...");
+        Log.info(Log.Subsystem.SYSTEM, "Initializing demo data with professor's sample");
         
         // ==================== ADMIN USERS ====================
         AdminUser admin = userManager.registerAdminUser("admin", "pass123", "6900000000", 1);
@@ -289,6 +375,7 @@ public class BankSystem {
         transactionManager.withdraw(acc15, new BigDecimal("200.00"), "Cash withdrawal");
         
         saveToCSV();
+        Log.flush(); // Keep the log lines above the banner
         System.out.println("Demo data initialized successfully!");
         System.out.println("\n========================================");
         System.out.println("  Demo Users (password: pass123)");
@@ -309,10 +396,6 @@ public class BankSystem {
         System.out.println("========================================");
     }
 
-// =====================================================
-// END OF PATCH
-// =====================================================
-
     /**
      * Advance the system date by exactly one day.
      * Added for GUI compatibility.
@@ -320,7 +403,7 @@ public class BankSystem {
     public void advanceDay() {
         simulateTimePassing(this.currentDate.plusDays(1));
     }
-
+    
     /**
      * Simulate a specific number of days passing.
      * Added for GUI compatibility.
@@ -338,9 +421,9 @@ public class BankSystem {
     public void resetSystemDate() {
         this.currentDate = LocalDate.now();
         saveToCSV(); // Save the reset date immediately
-        System.out.println("Date reset to today: " + this.currentDate);
+        Log.info(Log.Subsystem.SYSTEM, "Date reset to today", "date", currentDate);
     }
-
+    
     /**
      * Simulate time passing (for demo/testing)
      */
@@ -349,40 +432,42 @@ public class BankSystem {
             throw new IllegalArgumentException("Cannot simulate backwards in time");
         }
         
-        System.out.println("Simulating time from " + currentDate + " to " + targetDate);
+        Log.info(Log.Subsystem.SYSTEM, "Simulating time", "from", currentDate, "to", targetDate);
+        
+        // Interest accrues per account in spans between balance changes
+        InterestEngine interestEngine;
+        synchronized (accounts) { // No account is opened between tracking the list and listening
+            interestEngine = new InterestEngine(accounts, currentDate);
+            // Accounts opened, frozen or reactivated by other sessions while the days run
+            accountManager.setChangeListener(account -> interestEngine.accrueThrough(account, currentDate));
+        }
+        try {
+            runSimulatedDays(targetDate, interestEngine);
+        } finally {
+            accountManager.setChangeListener(null);
+        }
         
+        currentDate = targetDate;
+        saveToCSV();
+        Log.info(Log.Subsystem.SYSTEM, "Time simulation complete", "date", currentDate);
+    }
+    
+    private void runSimulatedDays(LocalDate targetDate, InterestEngine interestEngine) {
         while (!currentDate.isAfter(targetDate)) {
-            // Daily interest accrual
-            for (Account account : accounts) {
-                if (account.getStatus() == Account.AccountStatus.ACTIVE) {
-                    account.accrueInterest();
-                }
-            }
+            int ledgerPosition = transactionManager.getTransactionCount();
             
             // Check for month end
             LocalDate nextDay = currentDate.plusDays(1);
             if (nextDay.getMonthValue() != currentDate.getMonthValue() || 
                 currentDate.equals(targetDate)) {
                 
-                // Apply monthly interest
-                for (Account account : accounts) {
-                    if (account.getStatus() == Account.AccountStatus.ACTIVE) {
-                        BigDecimal interest = account.applyMonthlyInterest();
-                        if (interest.compareTo(BigDecimal.ZERO) > 0) {
-                            transactionManager.recordInterest(account, interest, "Monthly interest");
-                        }
-                    }
-                }
-                
-                // Apply maintenance fees for business accounts
-                for (BusinessAccount ba : accountManager.getAllBusinessAccounts()) {
-                    if (ba.getStatus() == Account.AccountStatus.ACTIVE) {
-                        BigDecimal fee = ba.applyMaintenanceFee();
-                        if (fee.compareTo(BigDecimal.ZERO) > 0) {
-                            transactionManager.recordMaintenanceFee(ba, fee);
-                        }
-                    }
-                }
+                // Apply monthly interest and business maintenance fees
+                interestEngine.accrueAllThrough(currentDate);
+                MonthEndBatch.Report report = MonthEndBatch.run(accounts, transactionManager, currentDate);
+                Log.info(Log.Subsystem.SYSTEM, "Month-end batch", "date", report.getDate(),
+                         "accounts", report.getAccounts(), "interest", report.getInterestPostings(),
+                         "fees", report.getFeePostings(), "computeMs", report.getComputeMillis(),
+                         "appendMs", report.getAppendMillis());
             }
             
             // Execute standing orders
@@ -391,68 +476,228 @@ public class BankSystem {
             // Update overdue bills
             billManager.updateOverdueBills(currentDate);
             
+            // Today accrued at the old balances; later days use the new ones
+            interestEngine.accrueChangedThrough(transactionManager.getTransactionsSince(ledgerPosition), currentDate);
+            
             currentDate = currentDate.plusDays(1);
         }
-        
-        currentDate = targetDate;
-        saveToCSV();
-        System.out.println("Time simulation complete. Current date: " + currentDate);
     }
     
     /**
      * Pay a bill
      */
     public Transaction payBill(Bill bill, Account sourceAccount) {
-        if (bill.getStatus() == BillStatus.PAID) {
-            throw new IllegalStateException("Bill is already paid");
-        }
-        
-        BigDecimal totalAmount = bill.getAmount().add(TransactionManager.getBillPaymentFee());
-        
-        if (sourceAccount.getBalance().compareTo(totalAmount) < 0) {
-            throw new IllegalStateException("Insufficient funds");
-        }
-        
-        sourceAccount.withdraw(totalAmount);
-        bill.markAsPaid(LocalDateTime.now());
-        
         // Credit the business account
+        Account issuerAccount = null;
         if (bill.getIssuer() != null) {
             List<BusinessAccount> issuerAccounts = accountManager.getAccountsForBusinessUser(bill.getIssuer());
             if (!issuerAccounts.isEmpty()) {
-                issuerAccounts.get(0).deposit(bill.getAmount());
+                issuerAccount = issuerAccounts.get(0);
             }
         }
         
-        Transaction transaction = new Transaction(
-            transactions.size() + 1,
-            sourceAccount, null,
-            bill.getAmount(),
-            Transaction.TransactionType.BILL_PAYMENT,
-            "Bill payment: " + bill.getProviderName() + " (RF: " + bill.getRfCode() + ")"
-        );
-        transaction.setBalanceAfter(sourceAccount.getBalance());
-        transactions.add(transaction);
+        Transaction transaction;
+        synchronized (bill) { // A bill is paid once, even from concurrent sessions
+            if (bill.getStatus() == BillStatus.PAID) {
+                throw new IllegalStateException("Bill is already paid");
+            }
+            transaction = transactionManager.payBill(sourceAccount, issuerAccount, bill.getAmount(),
+                TransactionManager.getBillPaymentFee(),
+                "Bill payment: " + bill.getProviderName() + " (RF: " + bill.getRfCode() + ")");
+            bill.markAsPaid(LocalDateTime.now());
+        }
         
         saveToCSV();
         return transaction;
     }
     
     /**
-     * Save all data to CSV files
+     * Save changed data to CSV files (write-behind).
+     * Returns immediately: the current state is handed to the persistence thread, which
+     * coalesces consecutive saves. Use flush() when the change must be durable before continuing.
      */
     public void saveToCSV() {
-        DataManager.saveUsers(users);
-        DataManager.saveAccounts(accounts);
-        DataManager.saveCoOwners(accounts);
-        DataManager.saveTransactions(transactions);
-        DataManager.saveBills(bills);
-        DataManager.saveStandingOrders(standingOrders);
-        DataManager.saveSystemState(currentDate);
+        persistence.submit(currentDate);
+    }
+    
+    /**
+     * Save changed data and wait until it is on disk
+     * @return true if the data was written
+     */
+    public boolean flush() {
+        saveToCSV();
+        return awaitDurable();
+    }
+    
+    /**
+     * Wait until every save requested so far is on disk
+     * @return true if the data was written
+     */
+    public boolean awaitDurable() {
+        return persistence.awaitDurable();
+    }
+    
+    /**
+     * Write a captured state to CSV files.
+     * Only files whose entities were added or modified since the last save are rewritten,
+     * and they are committed together as one crash-safe snapshot.
+     * @return false if the snapshot could not be written
+     */
+    private synchronized boolean writeState(SaveState state) {
+        long start = System.nanoTime();
+        try {
+            return BINARY_STORAGE ? writeBinaryState(state) : writeCsvState(state);
+        } finally {
+            SAVE_TIME.recordSince(start);
+        }
+    }
+    
+    private boolean writeCsvState(SaveState state) {
+        if (!appendTransactions()) {
+            return false;
+        }
+        
+        SnapshotWriter snapshot = DataManager.newSnapshot();
+        try {
+            if (takeChanges(state.users, savedUserCount)) {
+                DataManager.writeUsers(state.users, snapshot);
+            }
+            if (takeChanges(state.accounts, savedAccountCount)) {
+                DataManager.writeAccounts(state.accounts, snapshot);
+                DataManager.writeCoOwners(state.accounts, snapshot); // Co-owner changes mark the account dirty
+            }
+            if (takeChanges(state.bills, savedBillCount)) {
+                DataManager.writeBills(state.bills, snapshot);
+            }
+            if (takeChanges(state.standingOrders, savedOrderCount)) {
+                DataManager.writeStandingOrders(state.standingOrders, snapshot);
+            }
+            if (!state.currentDate.equals(savedDate)) {
+                DataManager.writeSystemState(state.currentDate, snapshot);
+            }
+            snapshot.commit();
+        } catch (IOException e) {
+            snapshot.abort();
+            Log.error(Log.Subsystem.PERSISTENCE, "Failed to save data", "error", e.getMessage());
+            forceFullSave(); // Changes were taken from the entities; rewrite everything next time
+            return false;
+        }
+        
+        savedUserCount = state.users.size();
+        savedAccountCount = state.accounts.size();
+        savedBillCount = state.bills.size();
+        savedOrderCount = state.standingOrders.size();
+        savedDate = state.currentDate;
+        return true;
+    }
+    
+    /**
+     * Write a captured state to the binary snapshot and ledger.
+     * The snapshot holds every non-transaction entity, so any change rewrites it;
+     * transactions are appended to the ledger.
+     */
+    private boolean writeBinaryState(SaveState state) {
+        try {
+            if (transactionManager.needsCompaction()) {
+                List<Transaction> ledgerSnapshot = transactionManager.getAllTransactions();
+                ledger.rewrite(ledgerSnapshot);
+                transactionManager.markCompacted(ledgerSnapshot.size());
+            } else {
+                List<Transaction> pending = transactionManager.getUnjournaledTransactions();
+                if (!ledger.append(pending)) return false;
+                transactionManager.markJournaled(pending.size());
+            }
+            
+            // Non-short-circuit so every list is marked clean
+            boolean changed = takeChanges(state.users, savedUserCount)
+                | takeChanges(state.accounts, savedAccountCount)
+                | takeChanges(state.bills, savedBillCount)
+                | takeChanges(state.standingOrders, savedOrderCount)
+                | !state.currentDate.equals(savedDate);
+            if (changed) {
+                SnapshotWriter snapshot = DataManager.newSnapshot();
+                try {
+                    BinarySnapshot.write(state.users, state.accounts, state.bills, state.standingOrders,
+                                         state.currentDate, snapshot);
+                    snapshot.commit();
+                } catch (IOException e) {
+                    snapshot.abort();
+                    throw e;
+                }
+            }
+        } catch (IOException e) {
+            Log.error(Log.Subsystem.PERSISTENCE, "Failed to save data", "error", e.getMessage());
+            forceFullSave();
+            return false;
+        }
+        
+        savedUserCount = state.users.size();
+        savedAccountCount = state.accounts.size();
+        savedBillCount = state.bills.size();
+        savedOrderCount = state.standingOrders.size();
+        savedDate = state.currentDate;
+        return true;
     }
     
     /**
-     * Alias for saveToCSV for compatibility
+     * Make the next save rewrite every file
+     */
+    private void forceFullSave() {
+        savedUserCount = -1;
+        savedAccountCount = -1;
+        savedBillCount = -1;
+        savedOrderCount = -1;
+        savedDate = null;
+    }
+    
+    /**
+     * Check whether a list changed since the last save and mark its entities clean.
+     * Entities are cleaned before writing so changes made during the write are kept for the next save.
+     */
+    private static boolean takeChanges(List<? extends Trackable> entities, int savedCount) {
+        boolean changed = entities.size() != savedCount;
+        for (Trackable entity : entities) {
+            if (entity.isDirty()) {
+                entity.markClean();
+                changed = true;
+            }
+        }
+        return changed;
+    }
+    
+    /**
+     * Record the loaded state as saved
+     */
+    private void markAllSaved() {
+        takeChanges(users, -1);
+        takeChanges(accounts, -1);
+        takeChanges(bills, -1);
+        takeChanges(standingOrders, -1);
+        savedUserCount = users.size();
+        savedAccountCount = accounts.size();
+        savedBillCount = bills.size();
+        savedOrderCount = standingOrders.size();
+        savedDate = currentDate;
+    }
+    
+    /**
+     * Append new transactions to the transaction store
+     */
+    private boolean appendTransactions() {
+        List<Transaction> pending = transactionManager.getUnjournaledTransactions();
+        if (pending.isEmpty()) return true;
+        long start = System.nanoTime();
+        try {
+            if (!transactionStore.saveAll(pending)) return false;
+        } finally {
+            APPEND_TIME.recordSince(start);
+        }
+        transactionManager.markJournaled(pending.size());
+        return true;
+    }
+    
+    /**
+     * Alias for saveToCSV for compatibility (write-behind)
      */
     public void saveToFile() {
         saveToCSV();
@@ -462,30 +707,139 @@ public class BankSystem {
      * Load all data from CSV files
      */
     private void loadFromCSV() {
+        DataManager.recoverSnapshot();
+        if (BINARY_STORAGE && BinarySnapshot.exists()) {
+            loadFromBinary();
+            return;
+        }
+        if (!BINARY_STORAGE) {
+            transactionStore = DataManager.openTransactionStore(iban -> accountManager.findByIban(iban));
+            initializeManagers();
+        }
         if (!DataManager.dataExists()) {
             return;
         }
         
-        // Load in correct order due to dependencies
+        // Read and parse all files in parallel, linking references in dependency order
+        StartupLoader loader = new StartupLoader();
+        loader.load();
+        
         users.clear();
-        users.addAll(DataManager.loadUsers());
+        users.addAll(loader.getUsers());
         
         accounts.clear();
-        accounts.addAll(DataManager.loadAccounts(users));
+        accounts.addAll(loader.getAccounts());
         
         transactions.clear();
-        transactions.addAll(DataManager.loadTransactions(accounts));
+        if (BINARY_STORAGE) {
+            transactions.addAll(loader.loadAllTransactions());
+        } else if (DataManager.transactionFileExists()) {
+            importTransactionFile(loader.getTransactions());
+        }
         
         bills.clear();
-        bills.addAll(DataManager.loadBills(users));
+        bills.addAll(loader.getBills());
         
         standingOrders.clear();
-        standingOrders.addAll(DataManager.loadStandingOrders(accounts, users));
+        standingOrders.addAll(loader.getStandingOrders());
+        
+        Log.info(Log.Subsystem.PERSISTENCE, "Data loaded", "readMs", loader.getReadMillis(),
+                 "splitMs", loader.getSplitMillis(), "linkMs", loader.getLinkMillis(),
+                 "users", loader.getUsers().size(), "accounts", loader.getAccounts().size(),
+                 "transactions", BINARY_STORAGE ? transactions.size() : transactionStore.count());
         
         currentDate = DataManager.loadSystemDate();
         
         // Reinitialize managers with loaded data
         initializeManagers();
+        markAllSaved();
+        
+        // One-time migration of data written before fixed-scale money arithmetic
+        if (DataManager.loadMoneyScale() != Money.SCALE) {
+            migrateMoneyScale();
+        }
+        if (BINARY_STORAGE) {
+            // First start on binary storage: import the CSV data on the next save
+            forceFullSave();
+            transactionManager.requireCompaction();
+        }
+    }
+    
+    /**
+     * Move the rows of transactions.csv into the transaction store, replacing its contents.
+     * The file is deleted only after the store has committed them, so an interrupted
+     * import is simply repeated on the next start.
+     * @throws IllegalStateException if the import fails. Starting without it would assign
+     *         ids that the imported transactions already use.
+     */
+    private void importTransactionFile(List<Transaction> imported) {
+        if (!transactionStore.replaceAll(imported)) {
+            throw new IllegalStateException("Cannot import " + DataManager.TRANSACTIONS_FILE + " into the transaction store");
+        }
+        try {
+            DataManager.deleteTransactionFile();
+        } catch (IOException e) {
+            // Left in place it would be imported again, replacing this session's transactions
+            throw new IllegalStateException("Cannot remove imported " + DataManager.TRANSACTIONS_FILE + ": " + e.getMessage(), e);
+        }
+        Log.info(Log.Subsystem.PERSISTENCE, "Transactions imported into the transaction store", "transactions", imported.size());
+    }
+    
+    /**
+     * Load all data from the binary snapshot and ledger
+     * @throws IllegalStateException if either cannot be read. Starting empty instead would
+     *         overwrite the stored data with the empty state on the first save.
+     */
+    private void loadFromBinary() {
+        long start = System.nanoTime();
+        BinarySnapshot snapshot;
+        List<Transaction> ledgerTransactions;
+        try {
+            snapshot = BinarySnapshot.read();
+            ledgerTransactions = ledger.load(DataManager.mapByIban(snapshot.getAccounts()));
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot load binary data: " + e.getMessage(), e);
+        }
+        
+        users.clear();
+        users.addAll(snapshot.getUsers());
+        accounts.clear();
+        accounts.addAll(snapshot.getAccounts());
+        transactions.clear();
+        transactions.addAll(ledgerTransactions);
+        bills.clear();
+        bills.addAll(snapshot.getBills());
+        standingOrders.clear();
+        standingOrders.addAll(snapshot.getStandingOrders());
+        
+        Log.info(Log.Subsystem.PERSISTENCE, "Binary data loaded", "ms", (System.nanoTime() - start) / 1_000_000,
+                 "users", users.size(), "accounts", accounts.size(), "transactions", transactions.size());
+        
+        if (snapshot.getCurrentDate() != null) {
+            currentDate = snapshot.getCurrentDate();
+        }
+        
+        initializeManagers();
+        markAllSaved();
+        
+        if (snapshot.getMoneyScale() != Money.SCALE) {
+            migrateMoneyScale();
+        }
+    }
+    
+    /**
+     * Rewrite all money values at the fixed money scale.
+     * Values are already rounded while loading; this schedules every file for rewrite.
+     */
+    private void migrateMoneyScale() {
+        Log.info(Log.Subsystem.PERSISTENCE, "Normalizing stored money values", "scale", Money.SCALE);
+        for (Account account : accounts) account.markDirty();
+        for (Bill bill : bills) bill.markDirty();
+        for (StandingOrder order : standingOrders) order.markDirty();
+        if (BINARY_STORAGE) {
+            transactionManager.requireCompaction(); // The transaction store is written at the money scale already
+        }
+        savedDate = null; // Records the new money scale in system.csv
     }
     
     /**
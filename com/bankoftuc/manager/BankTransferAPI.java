@@ -1,11 +1,23 @@
 package com.bankoftuc.manager;
 
-import java.io.*;
-import java.net.HttpURLConnection;
-import java.net.URL;
+import com.bankoftuc.util.LatencyHistogram;
+import com.bankoftuc.util.Metrics;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpConnectTimeoutException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Client for the Bank Transfer Simulation API.
@@ -14,6 +26,11 @@ import java.time.format.DateTimeFormatter;
  * API Base URL: http://147.27.70.44:3020
  * SEPA: 75% success rate, 25% failure rate
  * SWIFT: 75% success rate, 25% failure rate
+ * 
+ * Requests go through one shared HttpClient, so connections are kept alive and
+ * reused between transfers. Callbacks run on a small daemon pool whose size is set
+ * with -Dbankoftuc.api.threads (default 4); the JDK's keep-alive pool can be capped
+ * with -Djdk.httpclient.connectionPoolSize.
  */
 public class BankTransferAPI {
     
@@ -21,6 +38,22 @@ public class BankTransferAPI {
     private static final String SEPA_ENDPOINT = "/transfer/sepa";
     private static final String SWIFT_ENDPOINT = "/transfer/swift";
     private static final int TIMEOUT = 10000; // 10 seconds
+    private static final int PROBE_TIMEOUT = 5000;
+    private static final int POOL_SIZE = Integer.getInteger("bankoftuc.api.threads", 4);
+    
+    private static final LatencyHistogram REQUEST_TIME = Metrics.histogram("api.request");
+    private static final LongAdder REQUESTS_APPROVED = Metrics.counter("api.approved");
+    private static final LongAdder REQUESTS_FAILED = Metrics.counter("api.failed");
+    
+    private static final HttpClient CLIENT = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(Duration.ofMillis(TIMEOUT))
+        .executor(Executors.newFixedThreadPool(POOL_SIZE, runnable -> {
+            Thread thread = new Thread(runnable, "bank-transfer-api");
+            thread.setDaemon(true);
+            return thread;
+        }))
+        .build();
     
     /**
      * Result of an API transfer request
@@ -70,6 +103,22 @@ public class BankTransferAPI {
             String creditorBankName,
             LocalDate executionDate,
             String charges) {
+        return executeSepaTransferAsync(amount, creditorName, creditorIban, creditorBankBic,
+                                        creditorBankName, executionDate, charges).join();
+    }
+    
+    /**
+     * Execute a SEPA transfer without blocking the caller
+     * @return future that always completes normally; failures are reported in the TransferResult
+     */
+    public static CompletableFuture<TransferResult> executeSepaTransferAsync(
+            double amount,
+            String creditorName,
+            String creditorIban,
+            String creditorBankBic,
+            String creditorBankName,
+            LocalDate executionDate,
+            String charges) {
         
         String dateStr = executionDate.format(DateTimeFormatter.ISO_LOCAL_DATE);
         
@@ -100,14 +149,21 @@ public class BankTransferAPI {
             charges
         );
         
-        return sendRequest(BASE_URL + SEPA_ENDPOINT, jsonRequest);
+        return sendRequestAsync(BASE_URL + SEPA_ENDPOINT, jsonRequest);
     }
     
     /**
      * Execute a SEPA transfer with default values
      */
     public static TransferResult executeSepaTransfer(double amount, String creditorIban) {
-        return executeSepaTransfer(
+        return executeSepaTransferAsync(amount, creditorIban).join();
+    }
+    
+    /**
+     * Execute a SEPA transfer with default values without blocking the caller
+     */
+    public static CompletableFuture<TransferResult> executeSepaTransferAsync(double amount, String creditorIban) {
+        return executeSepaTransferAsync(
             amount,
             "Beneficiary",
             creditorIban,
@@ -142,6 +198,25 @@ public class BankTransferAPI {
             String swiftCode,
             String bankCountry,
             String chargingModel) {
+        return executeSwiftTransferAsync(currency, amount, beneficiaryName, beneficiaryAddress,
+                                         beneficiaryAccount, bankName, swiftCode, bankCountry,
+                                         chargingModel).join();
+    }
+    
+    /**
+     * Execute a SWIFT transfer without blocking the caller
+     * @return future that always completes normally; failures are reported in the TransferResult
+     */
+    public static CompletableFuture<TransferResult> executeSwiftTransferAsync(
+            String currency,
+            double amount,
+            String beneficiaryName,
+            String beneficiaryAddress,
+            String beneficiaryAccount,
+            String bankName,
+            String swiftCode,
+            String bankCountry,
+            String chargingModel) {
         
         // Build JSON request - use Locale.US to ensure decimal point
         String jsonRequest = String.format(java.util.Locale.US,
@@ -176,14 +251,22 @@ public class BankTransferAPI {
             chargingModel
         );
         
-        return sendRequest(BASE_URL + SWIFT_ENDPOINT, jsonRequest);
+        return sendRequestAsync(BASE_URL + SWIFT_ENDPOINT, jsonRequest);
     }
     
     /**
      * Execute a SWIFT transfer with default values
      */
     public static TransferResult executeSwiftTransfer(double amount, String beneficiaryAccount, String swiftCode) {
-        return executeSwiftTransfer(
+        return executeSwiftTransferAsync(amount, beneficiaryAccount, swiftCode).join();
+    }
+    
+    /**
+     * Execute a SWIFT transfer with default values without blocking the caller
+     */
+    public static CompletableFuture<TransferResult> executeSwiftTransferAsync(double amount, String beneficiaryAccount,
+                                                                             String swiftCode) {
+        return executeSwiftTransferAsync(
             "EUR",
             amount,
             "Beneficiary",
@@ -197,65 +280,49 @@ public class BankTransferAPI {
     }
     
     /**
-     * Send HTTP POST request to the API
+     * Send HTTP POST request to the API over the shared client
      */
-    private static TransferResult sendRequest(String urlString, String jsonBody) {
-        HttpURLConnection connection = null;
-        
+    private static CompletableFuture<TransferResult> sendRequestAsync(String urlString, String jsonBody) {
+        HttpRequest request;
         try {
-            URL url = new URL(urlString);
-            connection = (HttpURLConnection) url.openConnection();
-            connection.setRequestMethod("POST");
-            connection.setRequestProperty("Content-Type", "application/json");
-            connection.setRequestProperty("Accept", "application/json");
-            connection.setDoOutput(true);
-            connection.setConnectTimeout(TIMEOUT);
-            connection.setReadTimeout(TIMEOUT);
-            
-            // Send request body
-            try (OutputStream os = connection.getOutputStream()) {
-                byte[] input = jsonBody.getBytes(StandardCharsets.UTF_8);
-                os.write(input, 0, input.length);
-            }
-            
-            // Read response
-            int responseCode = connection.getResponseCode();
-            InputStream inputStream = (responseCode >= 200 && responseCode < 300) 
-                ? connection.getInputStream() 
-                : connection.getErrorStream();
-            
-            String response = readStream(inputStream);
-            
-            // Parse response
-            return parseResponse(response, responseCode);
-            
-        } catch (java.net.SocketTimeoutException e) {
-            return new TransferResult(false, "Connection timeout - API server not responding", null, null);
-        } catch (java.net.ConnectException e) {
-            return new TransferResult(false, "Cannot connect to API server at " + BASE_URL, null, null);
-        } catch (IOException e) {
-            return new TransferResult(false, "Network error: " + e.getMessage(), null, null);
-        } finally {
-            if (connection != null) {
-                connection.disconnect();
-            }
+            request = HttpRequest.newBuilder(URI.create(urlString))
+                .timeout(Duration.ofMillis(TIMEOUT))
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(jsonBody, StandardCharsets.UTF_8))
+                .build();
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.completedFuture(
+                new TransferResult(false, "Invalid API URL: " + urlString, null, null));
         }
+        
+        long start = System.nanoTime();
+        return CLIENT.sendAsync(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8))
+            .thenApply(response -> {
+                ApiHealthCheck.record(true); // Server answered, whatever the transfer outcome
+                return parseResponse(response.body(), response.statusCode());
+            })
+            .exceptionally(BankTransferAPI::failureResult)
+            .whenComplete((result, error) -> {
+                REQUEST_TIME.recordSince(start);
+                (result != null && result.isSuccess() ? REQUESTS_APPROVED : REQUESTS_FAILED).increment();
+            });
     }
     
     /**
-     * Read input stream to string
+     * Map a network failure to an unsuccessful TransferResult
      */
-    private static String readStream(InputStream inputStream) throws IOException {
-        if (inputStream == null) return "";
+    private static TransferResult failureResult(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null
+            ? error.getCause() : error;
+        ApiHealthCheck.record(false);
         
-        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
-        StringBuilder response = new StringBuilder();
-        String line;
-        while ((line = reader.readLine()) != null) {
-            response.append(line);
+        if (cause instanceof HttpConnectTimeoutException || cause instanceof HttpTimeoutException) {
+            return new TransferResult(false, "Connection timeout - API server not responding", null, null);
+        } else if (cause instanceof ConnectException) {
+            return new TransferResult(false, "Cannot connect to API server at " + BASE_URL, null, null);
         }
-        reader.close();
-        return response.toString();
+        return new TransferResult(false, "Network error: " + cause.getMessage(), null, null);
     }
     
     /**
@@ -317,19 +384,24 @@ public class BankTransferAPI {
     }
     
     /**
-     * Test the API connection
+     * Test the API connection with a HEAD round-trip.
+     * Transfer code should use ApiHealthCheck.isAvailable() instead.
      */
     public static boolean testConnection() {
         try {
-            URL url = new URL(BASE_URL);
-            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-            connection.setConnectTimeout(5000);
-            connection.setReadTimeout(5000);
-            connection.setRequestMethod("HEAD");
-            int responseCode = connection.getResponseCode();
-            connection.disconnect();
-            return responseCode > 0;
+            HttpRequest request = HttpRequest.newBuilder(URI.create(BASE_URL))
+                .timeout(Duration.ofMillis(PROBE_TIMEOUT))
+                .method("HEAD", HttpRequest.BodyPublishers.noBody())
+                .build();
+            HttpResponse<Void> response = CLIENT.send(request, HttpResponse.BodyHandlers.discarding());
+            boolean reachable = response.statusCode() > 0;
+            ApiHealthCheck.record(reachable);
+            return reachable;
         } catch (IOException e) {
+            ApiHealthCheck.record(false);
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
             return false;
         }
     }
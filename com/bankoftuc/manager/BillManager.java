@@ -7,11 +7,16 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.PriorityQueue;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 /**
  * Manages bills - creation, payment, and retrieval.
+ * Unpaid bills are indexed by due date, so the daily overdue pass only looks at bills
+ * whose due date has just passed. Entries are validated when they come up: bills paid
+ * in the meantime are dropped and bills whose due date moved are re-queued.
+ * Due dates must be moved through changeDueDate (or followed by reindex).
  */
 public class BillManager {
     
@@ -19,6 +24,9 @@ public class BillManager {
     private AtomicInteger billIdCounter;
     private AtomicInteger rfCodeCounter;
     
+    private final PriorityQueue<DueEntry> dueIndex = new PriorityQueue<>();
+    private int indexedCount = 0; // Bills of the list already in the index
+    
     public BillManager() {
         this.bills = new ArrayList<>();
         this.billIdCounter = new AtomicInteger(1);
@@ -128,8 +136,73 @@ public class BillManager {
      * Update bill status to overdue if applicable
      */
     public void updateOverdueBills(LocalDate currentDate) {
-        for (Bill bill : bills) {
-            bill.checkAndUpdateOverdue(currentDate);
+        indexNewBills();
+        while (!dueIndex.isEmpty() && currentDate.isAfter(dueIndex.peek().dueDate)) {
+            DueEntry entry = dueIndex.poll();
+            Bill bill = entry.bill;
+            if (bill.getStatus() != BillStatus.UNPAID) {
+                continue; // Paid (or already overdue) since it was indexed
+            }
+            if (entry.dueDate.equals(bill.getDueDate())) {
+                bill.checkAndUpdateOverdue(currentDate);
+            } else {
+                index(bill); // Due date was changed - queue under the new one
+            }
+        }
+    }
+    
+    /**
+     * Move a bill's due date. An earlier date is queued at once; a date set with
+     * Bill.setDueDate alone is only seen when the old date comes up, too late if it moved earlier.
+     */
+    public void changeDueDate(Bill bill, LocalDate dueDate) {
+        bill.setDueDate(dueDate);
+        reindex(bill);
+    }
+    
+    /**
+     * Re-index a bill after its status or due date was changed directly (e.g. a payment reversed)
+     */
+    public void reindex(Bill bill) {
+        indexNewBills();
+        index(bill);
+    }
+    
+    private void index(Bill bill) {
+        if (bill.getStatus() == BillStatus.UNPAID && bill.getDueDate() != null) {
+            dueIndex.add(new DueEntry(bill.getDueDate(), bill));
+        }
+    }
+    
+    /**
+     * Index bills appended to the list since the last pass (including ones added directly)
+     */
+    private void indexNewBills() {
+        if (bills.size() < indexedCount) {
+            // List was cleared or shrunk - rebuild from scratch
+            dueIndex.clear();
+            indexedCount = 0;
+        }
+        while (indexedCount < bills.size()) {
+            index(bills.get(indexedCount++));
+        }
+    }
+    
+    /**
+     * A bill queued under the due date it had when indexed
+     */
+    private static class DueEntry implements Comparable<DueEntry> {
+        final LocalDate dueDate;
+        final Bill bill;
+        
+        DueEntry(LocalDate dueDate, Bill bill) {
+            this.dueDate = dueDate;
+            this.bill = bill;
+        }
+        
+        @Override
+        public int compareTo(DueEntry other) {
+            return dueDate.compareTo(other.dueDate);
         }
     }
     
@@ -0,0 +1,232 @@
+package com.bankoftuc.manager;
+
+import com.bankoftuc.model.*;
+import com.bankoftuc.util.BinaryCodec;
+import com.bankoftuc.util.BinaryCodec.StringTable;
+import com.bankoftuc.util.CsvReader;
+import com.bankoftuc.util.Log;
+import java.io.*;
+import java.math.BigDecimal;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Append-only binary transaction ledger (binary counterpart of transactions.csv).
+ * After the header, the file is a sequence of length-prefixed records: string definitions
+ * that extend the ledger's string table, and transactions that reference it. New strings
+ * are defined just before the first transaction that uses them, so appends never rewrite
+ * earlier bytes. A record torn by a crash is ignored on load and cut off before the next append.
+ * Appends are refused until an existing ledger has been loaded or rewritten, so a failed
+ * load can never cut the file back to empty.
+ */
+public class BinaryLedger {
+    
+    static final String LEDGER_FILE = "data/transactions.ledger";
+    private static final int MAGIC = 0x4254554C; // "BTUL"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+    
+    private static final byte STRING_RECORD = 'S';
+    private static final byte TRANSACTION_RECORD = 'T';
+    
+    private final String path;
+    private StringTable strings = new StringTable();
+    private long validLength = 0; // End of the last complete record
+    private boolean loaded;       // validLength and strings match the file
+    
+    public BinaryLedger() {
+        this(LEDGER_FILE);
+    }
+    
+    /**
+     * Ledger stored in another file (e.g. for tests)
+     */
+    public BinaryLedger(String path) {
+        this.path = path;
+    }
+    
+    /**
+     * Check if a ledger file exists
+     */
+    public static boolean exists() {
+        return new File(LEDGER_FILE).exists();
+    }
+    
+    /**
+     * Read all transactions
+     * @param accountMap accounts by IBAN
+     */
+    public synchronized List<Transaction> load(Map<String, Account> accountMap) throws IOException {
+        List<Transaction> transactions = new ArrayList<>();
+        strings = new StringTable();
+        validLength = 0;
+        loaded = false;
+        
+        ByteBuffer in = CsvReader.read(path);
+        if (in.remaining() == 0) {
+            loaded = true;
+            return transactions;
+        }
+        if (in.remaining() < HEADER_SIZE || in.getInt() != MAGIC) {
+            throw new IOException("Not a ledger file: " + path);
+        }
+        int version = in.getInt();
+        if (version > FORMAT_VERSION) {
+            throw new IOException("Unsupported ledger version " + version);
+        }
+        validLength = HEADER_SIZE;
+        
+        while (in.remaining() >= 4) {
+            int length = in.getInt();
+            if (length <= 0 || length > in.remaining()) break; // Torn record
+            ByteBuffer record = in.slice();
+            record.limit(length);
+            in.position(in.position() + length);
+            
+            try {
+                byte kind = record.get();
+                if (kind == STRING_RECORD) {
+                    strings.intern(BinaryCodec.readString(record));
+                } else if (kind == TRANSACTION_RECORD) {
+                    transactions.add(readTransaction(record, accountMap));
+                }
+            } catch (BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException e) {
+                Log.error(Log.Subsystem.PERSISTENCE, "Skipping malformed ledger record", "offset", validLength);
+            }
+            validLength = in.position();
+        }
+        loaded = true;
+        return transactions;
+    }
+    
+    private Transaction readTransaction(ByteBuffer in, Map<String, Account> accountMap) {
+        long id = in.getLong();
+        long dateTime = in.getLong();
+        BigDecimal amount = BinaryCodec.readDecimal(in);
+        Transaction.TransactionType type = Transaction.TransactionType.valueOf(strings.get(in.getInt()));
+        String description = strings.get(in.getInt());
+        BigDecimal balanceAfter = BinaryCodec.readDecimal(in);
+        String fromIban = strings.get(in.getInt());
+        String toIban = strings.get(in.getInt());
+        Transaction.TransactionStatus status = Transaction.TransactionStatus.valueOf(strings.get(in.getInt()));
+        
+        Account fromAccount = fromIban != null ? accountMap.get(fromIban) : null;
+        Account toAccount = toIban != null ? accountMap.get(toIban) : null;
+        Transaction t = new Transaction(id, fromAccount, toAccount, amount, type, description);
+        t.setDateTime(BinaryCodec.fromEpochSecond(dateTime));
+        t.setBalanceAfter(balanceAfter);
+        t.setStatus(status);
+        return t;
+    }
+    
+    /**
+     * Append transactions and sync them to disk once (group commit)
+     * @return true if the records are durable on disk
+     */
+    public synchronized boolean append(List<Transaction> transactions) {
+        if (transactions.isEmpty()) return true;
+        Path file = Paths.get(path);
+        file.toAbsolutePath().getParent().toFile().mkdirs();
+        int stringCount = strings.size();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            if (!loaded && channel.size() > 0) {
+                throw new IOException("Ledger was not loaded; refusing to truncate " + path);
+            }
+            long start = channel.size() < HEADER_SIZE ? 0 : validLength;
+            channel.truncate(start); // Drop a record torn by an earlier crash
+            channel.position(start);
+            
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(transactions.size() * 96);
+            DataOutputStream out = new DataOutputStream(bytes);
+            if (start == 0) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+            }
+            writeRecords(out, transactions, strings);
+            out.flush();
+            
+            ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+            validLength = channel.position();
+            loaded = true;
+            return true;
+        } catch (IOException e) {
+            strings.truncate(stringCount); // Definitions did not reach the file
+            Log.error(Log.Subsystem.PERSISTENCE, "Failed to append to ledger", "error", e.getMessage());
+            return false;
+        }
+    }
+    
+    /**
+     * Rewrite the whole ledger from the in-memory history (compaction)
+     */
+    public synchronized void rewrite(List<Transaction> transactions) throws IOException {
+        SnapshotWriter snapshot = new SnapshotWriter(Paths.get(path).toAbsolutePath().getParent().toString());
+        StringTable rewritten = new StringTable();
+        try {
+            DataOutputStream out = snapshot.stageBinary(path);
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            writeRecords(out, transactions, rewritten);
+            snapshot.commit();
+        } catch (IOException e) {
+            snapshot.abort();
+            throw e;
+        }
+        strings = rewritten;
+        validLength = Files.size(Paths.get(path));
+        loaded = true;
+    }
+    
+    /**
+     * Write transaction records, each preceded by definitions of strings new to the table
+     */
+    private static void writeRecords(DataOutputStream out, List<Transaction> transactions,
+                                     StringTable table) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(128);
+        DataOutputStream record = new DataOutputStream(buffer);
+        
+        for (Transaction t : transactions) {
+            String[] refs = {
+                t.getType().name(),
+                t.getDescription(),
+                t.getFromAccount() != null ? t.getFromAccount().getIban() : null,
+                t.getToAccount() != null ? t.getToAccount().getIban() : null,
+                t.getStatus().name()
+            };
+            for (String value : refs) {
+                if (!table.contains(value)) {
+                    table.intern(value);
+                    buffer.reset();
+                    record.writeByte(STRING_RECORD);
+                    BinaryCodec.writeString(record, value);
+                    out.writeInt(buffer.size());
+                    buffer.writeTo(out);
+                }
+            }
+            
+            buffer.reset();
+            record.writeByte(TRANSACTION_RECORD);
+            record.writeLong(t.getId());
+            record.writeLong(BinaryCodec.toEpochSecond(t.getDateTime()));
+            BinaryCodec.writeDecimal(record, t.getAmount());
+            record.writeInt(table.intern(refs[0]));
+            record.writeInt(table.intern(refs[1]));
+            BinaryCodec.writeDecimal(record, t.getBalanceAfter());
+            record.writeInt(table.intern(refs[2]));
+            record.writeInt(table.intern(refs[3]));
+            record.writeInt(table.intern(refs[4]));
+            out.writeInt(buffer.size());
+            buffer.writeTo(out);
+        }
+    }
+}
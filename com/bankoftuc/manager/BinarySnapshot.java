@@ -0,0 +1,389 @@
+package com.bankoftuc.manager;
+
+import com.bankoftuc.factory.UserFactory;
+import com.bankoftuc.model.*;
+import com.bankoftuc.util.BinaryCodec;
+import com.bankoftuc.util.BinaryCodec.StringTable;
+import com.bankoftuc.util.CsvReader;
+import com.bankoftuc.util.Money;
+import java.io.*;
+import java.math.BigDecimal;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Binary snapshot of users, accounts (with co-owners), bills, standing orders and system state.
+ * Transactions live in the separate append-only BinaryLedger.
+ *
+ * Layout: magic, format version, string table, system state, then one section per entity
+ * type (count followed by length-prefixed records). Strings (IBANs, usernames, enum names,
+ * ...) are stored once in the table and referenced by index. Readers skip unknown bytes at
+ * the end of a record, so later versions can append fields.
+ */
+public class BinarySnapshot {
+    
+    static final String SNAPSHOT_FILE = "data/bank.snapshot";
+    private static final int MAGIC = 0x42545553; // "BTUS"
+    private static final int FORMAT_VERSION = 1;
+    
+    private static final byte INDIVIDUAL = 0;
+    private static final byte BUSINESS = 1;
+    private static final byte ADMIN = 2;
+    private static final byte PERSONAL_ACCOUNT = 0;
+    private static final byte BUSINESS_ACCOUNT = 1;
+    
+    private List<User> users = new ArrayList<>();
+    private List<Account> accounts = new ArrayList<>();
+    private List<Bill> bills = new ArrayList<>();
+    private List<StandingOrder> standingOrders = new ArrayList<>();
+    private LocalDate currentDate;
+    private int moneyScale;
+    
+    /**
+     * Check if a binary snapshot exists
+     */
+    public static boolean exists() {
+        return new File(SNAPSHOT_FILE).exists();
+    }
+    
+    // ==================== WRITE ====================
+    
+    /**
+     * Stage a snapshot of the given entities
+     */
+    public static void write(List<User> users, List<Account> accounts, List<Bill> bills,
+                             List<StandingOrder> orders, LocalDate currentDate,
+                             SnapshotWriter snapshot) throws IOException {
+        // Records are encoded first so the string table is complete before it is written
+        StringTable strings = new StringTable();
+        ByteArrayOutputStream body = new ByteArrayOutputStream(64 * 1024);
+        DataOutputStream out = new DataOutputStream(body);
+        RecordWriter record = new RecordWriter();
+        
+        out.writeInt(users.size());
+        for (User user : users) {
+            writeUser(record.start(), user, strings);
+            record.finish(out);
+        }
+        out.writeInt(accounts.size());
+        for (Account account : accounts) {
+            writeAccount(record.start(), account, strings);
+            record.finish(out);
+        }
+        out.writeInt(bills.size());
+        for (Bill bill : bills) {
+            writeBill(record.start(), bill, strings);
+            record.finish(out);
+        }
+        out.writeInt(orders.size());
+        for (StandingOrder order : orders) {
+            writeStandingOrder(record.start(), order, strings);
+            record.finish(out);
+        }
+        out.flush();
+        
+        DataOutputStream file = snapshot.stageBinary(SNAPSHOT_FILE);
+        file.writeInt(MAGIC);
+        file.writeInt(FORMAT_VERSION);
+        file.writeInt(strings.size());
+        for (int i = 0; i < strings.size(); i++) {
+            BinaryCodec.writeString(file, strings.get(i));
+        }
+        file.writeLong(BinaryCodec.toEpochDay(currentDate));
+        file.writeInt(Money.SCALE);
+        body.writeTo(file);
+    }
+    
+    private static void writeUser(DataOutputStream out, User user, StringTable strings) throws IOException {
+        if (user instanceof IndividualUser) {
+            out.writeByte(INDIVIDUAL);
+        } else if (user instanceof BusinessUser) {
+            out.writeByte(BUSINESS);
+        } else {
+            out.writeByte(ADMIN);
+        }
+        out.writeInt(strings.intern(user.getId()));
+        out.writeInt(strings.intern(user.getUsername()));
+        out.writeInt(strings.intern(user.getPasswordHash()));
+        out.writeInt(strings.intern(user.getPhoneNumber()));
+        out.writeInt(user.getFailedLoginAttempts());
+        out.writeBoolean(user.isLocked());
+        
+        if (user instanceof IndividualUser) {
+            IndividualUser iu = (IndividualUser) user;
+            out.writeInt(strings.intern(iu.getFullName()));
+            out.writeInt(strings.intern(iu.getAddress()));
+            out.writeInt(strings.intern(iu.getVatNumber()));
+        } else if (user instanceof BusinessUser) {
+            BusinessUser bu = (BusinessUser) user;
+            out.writeInt(strings.intern(bu.getBusinessName()));
+            out.writeInt(strings.intern(bu.getVatNumber()));
+        } else if (user instanceof AdminUser) {
+            out.writeInt(((AdminUser) user).getAdminLevel());
+        }
+    }
+    
+    private static void writeAccount(DataOutputStream out, Account account, StringTable strings) throws IOException {
+        out.writeByte(account instanceof BusinessAccount ? BUSINESS_ACCOUNT : PERSONAL_ACCOUNT);
+        out.writeInt(strings.intern(account.getIban()));
+        BinaryCodec.writeDecimal(out, account.getBalance());
+        out.writeInt(strings.intern(account.getStatus().name()));
+        BinaryCodec.writeDecimal(out, account.getInterestRate());
+        BinaryCodec.writeDecimal(out, account.getAccruedInterest());
+        
+        if (account instanceof BusinessAccount) {
+            BusinessAccount ba = (BusinessAccount) account;
+            out.writeInt(strings.intern(ba.getOwner().getUsername()));
+            BinaryCodec.writeDecimal(out, ba.getMonthlyMaintenanceFee());
+        } else {
+            PersonalAccount pa = (PersonalAccount) account;
+            out.writeInt(strings.intern(pa.getPrimaryOwner().getUsername()));
+            List<IndividualUser> coOwners = pa.getSecondaryOwners();
+            out.writeInt(coOwners.size());
+            for (IndividualUser coOwner : coOwners) {
+                out.writeInt(strings.intern(coOwner.getUsername()));
+            }
+        }
+    }
+    
+    private static void writeBill(DataOutputStream out, Bill bill, StringTable strings) throws IOException {
+        out.writeInt(strings.intern(bill.getId()));
+        out.writeInt(strings.intern(bill.getProviderName()));
+        BinaryCodec.writeDecimal(out, bill.getAmount());
+        out.writeLong(BinaryCodec.toEpochDay(bill.getDueDate()));
+        out.writeInt(strings.intern(bill.getStatus().name()));
+        out.writeLong(BinaryCodec.toEpochSecond(bill.getPaidDate()));
+        out.writeInt(strings.intern(bill.getRfCode()));
+        out.writeInt(strings.intern(bill.getOwner().getUsername()));
+        out.writeInt(strings.intern(bill.getIssuer().getUsername()));
+    }
+    
+    private static void writeStandingOrder(DataOutputStream out, StandingOrder order, StringTable strings) throws IOException {
+        out.writeInt(strings.intern(order.getId()));
+        out.writeInt(strings.intern(order.getType().name()));
+        BinaryCodec.writeDecimal(out, order.getAmount());
+        out.writeInt(order.getFrequencyMonths());
+        out.writeInt(order.getExecutionDay());
+        out.writeLong(BinaryCodec.toEpochDay(order.getNextExecutionDate()));
+        out.writeInt(strings.intern(order.getStatus().name()));
+        out.writeInt(strings.intern(order.getSourceAccount() != null ? order.getSourceAccount().getIban() : null));
+        out.writeInt(strings.intern(order.getDestinationAccount() != null ? order.getDestinationAccount().getIban() : null));
+        out.writeInt(strings.intern(order.getRfCode()));
+        out.writeInt(strings.intern(order.getProviderName()));
+        out.writeInt(strings.intern(order.getDescription()));
+        out.writeInt(strings.intern(order.getOwner().getUsername()));
+    }
+    
+    /**
+     * Reusable buffer that prefixes each record with its length
+     */
+    private static class RecordWriter {
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(256);
+        private final DataOutputStream out = new DataOutputStream(buffer);
+        
+        DataOutputStream start() {
+            buffer.reset();
+            return out;
+        }
+        
+        void finish(DataOutputStream target) throws IOException {
+            target.writeInt(buffer.size());
+            buffer.writeTo(target);
+        }
+    }
+    
+    // ==================== READ ====================
+    
+    /**
+     * Read the snapshot file
+     * @throws IOException if the file is missing, truncated or not a snapshot
+     */
+    public static BinarySnapshot read() throws IOException {
+        ByteBuffer in = CsvReader.read(SNAPSHOT_FILE);
+        BinarySnapshot snapshot = new BinarySnapshot();
+        try {
+            if (in.getInt() != MAGIC) {
+                throw new IOException("Not a snapshot file: " + SNAPSHOT_FILE);
+            }
+            int version = in.getInt();
+            if (version > FORMAT_VERSION) {
+                throw new IOException("Unsupported snapshot version " + version);
+            }
+            
+            StringTable strings = new StringTable();
+            int stringCount = in.getInt();
+            for (int i = 0; i < stringCount; i++) {
+                strings.intern(BinaryCodec.readString(in));
+            }
+            snapshot.currentDate = BinaryCodec.fromEpochDay(in.getLong());
+            snapshot.moneyScale = in.getInt();
+            snapshot.readEntities(in, strings);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IOException("Truncated snapshot file: " + SNAPSHOT_FILE);
+        }
+        return snapshot;
+    }
+    
+    private void readEntities(ByteBuffer in, StringTable strings) {
+        int count = in.getInt();
+        for (int i = 0; i < count; i++) {
+            User user = readUser(record(in), strings);
+            if (user != null) users.add(user);
+        }
+        Map<String, User> userMap = DataManager.mapByUsername(users);
+        
+        count = in.getInt();
+        for (int i = 0; i < count; i++) {
+            Account account = readAccount(record(in), strings, userMap);
+            if (account != null) accounts.add(account);
+        }
+        Map<String, Account> accountMap = DataManager.mapByIban(accounts);
+        
+        count = in.getInt();
+        for (int i = 0; i < count; i++) {
+            Bill bill = readBill(record(in), strings, userMap);
+            if (bill != null) bills.add(bill);
+        }
+        
+        count = in.getInt();
+        for (int i = 0; i < count; i++) {
+            StandingOrder order = readStandingOrder(record(in), strings, accountMap, userMap);
+            if (order != null) standingOrders.add(order);
+        }
+    }
+    
+    /**
+     * Slice the next length-prefixed record and advance past it
+     */
+    private static ByteBuffer record(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0 || length > in.remaining()) throw new BufferUnderflowException();
+        ByteBuffer record = in.slice();
+        record.limit(length);
+        in.position(in.position() + length);
+        return record;
+    }
+    
+    private static User readUser(ByteBuffer in, StringTable strings) {
+        byte type = in.get();
+        String id = strings.get(in.getInt());
+        String username = strings.get(in.getInt());
+        String passwordHash = strings.get(in.getInt());
+        String phoneNumber = strings.get(in.getInt());
+        int failedAttempts = in.getInt();
+        boolean locked = in.get() != 0;
+        
+        switch (type) {
+            case INDIVIDUAL:
+                return UserFactory.restoreIndividualUser(id, username, passwordHash, phoneNumber,
+                    strings.get(in.getInt()), strings.get(in.getInt()), strings.get(in.getInt()),
+                    failedAttempts, locked);
+            case BUSINESS:
+                return UserFactory.restoreBusinessUser(id, username, passwordHash, phoneNumber,
+                    strings.get(in.getInt()), strings.get(in.getInt()), failedAttempts, locked);
+            case ADMIN:
+                return UserFactory.restoreAdminUser(id, username, passwordHash, phoneNumber,
+                    in.getInt(), failedAttempts, locked);
+            default:
+                return null;
+        }
+    }
+    
+    private static Account readAccount(ByteBuffer in, StringTable strings, Map<String, User> userMap) {
+        byte type = in.get();
+        String iban = strings.get(in.getInt());
+        BigDecimal balance = BinaryCodec.readDecimal(in);
+        Account.AccountStatus status = Account.AccountStatus.valueOf(strings.get(in.getInt()));
+        BigDecimal interestRate = BinaryCodec.readDecimal(in);
+        BigDecimal accruedInterest = BinaryCodec.readDecimal(in);
+        User owner = userMap.get(strings.get(in.getInt()));
+        
+        Account account = null;
+        if (type == BUSINESS_ACCOUNT) {
+            BigDecimal fee = BinaryCodec.readDecimal(in);
+            if (owner instanceof BusinessUser) {
+                account = new BusinessAccount(iban, balance, (BusinessUser) owner, fee);
+            }
+        } else if (owner instanceof IndividualUser) {
+            PersonalAccount personal = new PersonalAccount(iban, balance, (IndividualUser) owner);
+            int coOwnerCount = in.getInt();
+            for (int i = 0; i < coOwnerCount; i++) {
+                User coOwner = userMap.get(strings.get(in.getInt()));
+                if (coOwner instanceof IndividualUser) {
+                    personal.addSecondaryOwner((IndividualUser) coOwner);
+                }
+            }
+            account = personal;
+        }
+        
+        if (account != null) {
+            account.setStatus(status);
+            account.setInterestRate(interestRate);
+            account.setAccruedInterest(accruedInterest);
+        }
+        return account;
+    }
+    
+    private static Bill readBill(ByteBuffer in, StringTable strings, Map<String, User> userMap) {
+        String id = strings.get(in.getInt());
+        String providerName = strings.get(in.getInt());
+        BigDecimal amount = BinaryCodec.readDecimal(in);
+        LocalDate dueDate = BinaryCodec.fromEpochDay(in.getLong());
+        Bill.BillStatus status = Bill.BillStatus.valueOf(strings.get(in.getInt()));
+        long paidDate = in.getLong();
+        String rfCode = strings.get(in.getInt());
+        User owner = userMap.get(strings.get(in.getInt()));
+        User issuer = userMap.get(strings.get(in.getInt()));
+        
+        if (!(owner instanceof IndividualUser) || !(issuer instanceof BusinessUser)) return null;
+        
+        Bill bill = new Bill(id, providerName, amount, dueDate, rfCode, (IndividualUser) owner, (BusinessUser) issuer);
+        bill.setStatus(status);
+        if (paidDate != BinaryCodec.NULL_TIME) {
+            bill.setPaidDate(BinaryCodec.fromEpochSecond(paidDate));
+        }
+        return bill;
+    }
+    
+    private static StandingOrder readStandingOrder(ByteBuffer in, StringTable strings,
+                                                   Map<String, Account> accountMap, Map<String, User> userMap) {
+        String id = strings.get(in.getInt());
+        StandingOrder.OrderType type = StandingOrder.OrderType.valueOf(strings.get(in.getInt()));
+        BigDecimal amount = BinaryCodec.readDecimal(in);
+        int frequencyMonths = in.getInt();
+        int executionDay = in.getInt();
+        LocalDate nextExecutionDate = BinaryCodec.fromEpochDay(in.getLong());
+        StandingOrder.OrderStatus status = StandingOrder.OrderStatus.valueOf(strings.get(in.getInt()));
+        String sourceIban = strings.get(in.getInt());
+        String destIban = strings.get(in.getInt());
+        String rfCode = strings.get(in.getInt());
+        String providerName = strings.get(in.getInt());
+        String description = strings.get(in.getInt());
+        User owner = userMap.get(strings.get(in.getInt()));
+        
+        Account sourceAccount = sourceIban != null ? accountMap.get(sourceIban) : null;
+        Account destAccount = destIban != null ? accountMap.get(destIban) : null;
+        if (sourceAccount == null || !(owner instanceof Customer)) return null;
+        
+        StandingOrder order;
+        if (type == StandingOrder.OrderType.TRANSFER) {
+            order = new StandingOrder(id, sourceAccount, destAccount, amount, frequencyMonths, executionDay, description, (Customer) owner);
+        } else {
+            order = new StandingOrder(id, sourceAccount, rfCode, providerName, (Customer) owner);
+        }
+        order.setStatus(status);
+        if (nextExecutionDate != null) {
+            order.setNextExecutionDate(nextExecutionDate);
+        }
+        return order;
+    }
+    
+    public List<User> getUsers() { return users; }
+    public List<Account> getAccounts() { return accounts; }
+    public List<Bill> getBills() { return bills; }
+    public List<StandingOrder> getStandingOrders() { return standingOrders; }
+    public LocalDate getCurrentDate() { return currentDate; }
+    public int getMoneyScale() { return moneyScale; }
+}
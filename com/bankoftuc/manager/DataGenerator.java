@@ -0,0 +1,316 @@
+package com.bankoftuc.manager;
+
+import com.bankoftuc.model.*;
+import com.bankoftuc.model.Transaction.TransactionType;
+import com.bankoftuc.util.Log;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates large synthetic datasets for load and startup tests.
+ * Output is deterministic for a given seed and settings. Users, accounts, bills and
+ * standing orders are built in memory like initDemoData's, but directly rather than
+ * through UserManager/AccountManager. The transaction history is streamed row by row
+ * into the journal and never held in memory, with balances tracked in cents so every
+ * balanceAfter is consistent with the final account balances.
+ * Everything is written as one snapshot replacing the data directory's CSV files.
+ */
+public class DataGenerator {
+    
+    private static final String PASSWORD = "pass123";
+    private static final String[] PROVIDERS = {"Power", "Water", "Telecom", "Internet", "Insurance"};
+    private static final String[] CITIES = {"Αθήνα", "Θεσσαλονίκη", "Ηράκλειο", "Χανιά", "Βόλος", "Ιωάννινα"};
+    
+    private final long seed;
+    private int customers = 1000;
+    private long transactions = 100_000;
+    private int years = 2;
+    private LocalDate endDate = LocalDate.of(2026, 1, 1);
+    
+    private Random random;
+    private final List<User> users = new ArrayList<>();
+    private final List<IndividualUser> individuals = new ArrayList<>();
+    private final List<BusinessUser> businesses = new ArrayList<>();
+    private final List<Account> accounts = new ArrayList<>();
+    private final List<PersonalAccount> personalAccounts = new ArrayList<>();
+    private final List<BusinessAccount> businessAccounts = new ArrayList<>();
+    private final List<Bill> bills = new ArrayList<>();
+    private final List<StandingOrder> standingOrders = new ArrayList<>();
+    private long[] balances; // Cents, by account index
+    
+    public DataGenerator(long seed) {
+        this.seed = seed;
+    }
+    
+    /**
+     * Number of customers (one in ten is a business)
+     */
+    public DataGenerator customers(int customers) {
+        this.customers = customers;
+        return this;
+    }
+    
+    /**
+     * Number of transaction rows in the history
+     */
+    public DataGenerator transactions(long transactions) {
+        this.transactions = transactions;
+        return this;
+    }
+    
+    /**
+     * Length of the history, ending at the end date
+     */
+    public DataGenerator years(int years) {
+        this.years = years;
+        return this;
+    }
+    
+    /**
+     * System date of the generated dataset
+     */
+    public DataGenerator endDate(LocalDate endDate) {
+        this.endDate = endDate;
+        return this;
+    }
+    
+    /**
+     * Generate the dataset and replace the data files with it
+     * @return true if the snapshot was committed
+     */
+    public boolean generate() {
+        long start = System.nanoTime();
+        random = new Random(seed);
+        createCustomers();
+        createAccounts();
+        
+        DataManager.ensureDataDirectory();
+        SnapshotWriter snapshot = DataManager.newSnapshot();
+        long written;
+        try {
+            // The history moves the balances, so it is written before the accounts
+            written = writeHistory(DataManager.stageTransactions(snapshot));
+            for (int i = 0; i < accounts.size(); i++) {
+                accounts.get(i).setBalance(BigDecimal.valueOf(balances[i], 2));
+            }
+            createBills();
+            createStandingOrders();
+            
+            DataManager.writeUsers(users, snapshot);
+            DataManager.writeAccounts(accounts, snapshot);
+            DataManager.writeCoOwners(accounts, snapshot);
+            DataManager.writeBills(bills, snapshot);
+            DataManager.writeStandingOrders(standingOrders, snapshot);
+            DataManager.writeSystemState(endDate, snapshot);
+            snapshot.commit();
+        } catch (IOException e) {
+            snapshot.abort();
+            Log.error(Log.Subsystem.PERSISTENCE, "Data generation failed", "error", e.getMessage());
+            return false;
+        }
+        
+        // Binary files would shadow the new CSV data; they are rebuilt on the next binary start
+        new File(BinarySnapshot.SNAPSHOT_FILE).delete();
+        new File(BinaryLedger.LEDGER_FILE).delete();
+        
+        Log.info(Log.Subsystem.PERSISTENCE, "Data generated", "users", users.size(), "accounts", accounts.size(),
+                 "transactions", written, "bills", bills.size(), "standingOrders", standingOrders.size(),
+                 "ms", (System.nanoTime() - start) / 1_000_000);
+        return true;
+    }
+    
+    private void createCustomers() {
+        String passwordHash = User.hashPassword(PASSWORD);
+        users.add(new AdminUser("ADM000001", "admin", passwordHash, "6900000000", 1, 0, false));
+        
+        for (int i = 1; i <= customers; i++) {
+            String id = String.format("%06d", i + 1);
+            String phone = String.format("69%08d", i);
+            String vat = String.format("%09d", 100_000_000 + i);
+            if (i % 10 == 0) {
+                BusinessUser business = new BusinessUser("BUS" + id, "business" + i, passwordHash,
+                    PROVIDERS[i % PROVIDERS.length] + " Company " + i, phone, vat, 0, false);
+                businesses.add(business);
+                users.add(business);
+            } else {
+                IndividualUser individual = new IndividualUser("IND" + id, "user" + i, passwordHash,
+                    "Customer " + i, "Οδός " + (1 + random.nextInt(200)) + ", " + CITIES[random.nextInt(CITIES.length)],
+                    phone, vat, 0, false);
+                individuals.add(individual);
+                users.add(individual);
+            }
+        }
+    }
+    
+    /**
+     * One account per customer, a second for one in five individuals, a co-owner on one in ten
+     */
+    private void createAccounts() {
+        long counter = 1; // Shared with AccountManager's IBAN numbering
+        for (IndividualUser owner : individuals) {
+            int count = random.nextInt(5) == 0 ? 2 : 1;
+            for (int k = 0; k < count; k++) {
+                PersonalAccount account = new PersonalAccount(
+                    "GR100" + String.format("%015d", counter++), BigDecimal.ZERO, owner);
+                personalAccounts.add(account);
+                accounts.add(account);
+            }
+        }
+        for (BusinessUser owner : businesses) {
+            BusinessAccount account = new BusinessAccount(
+                "GR200" + String.format("%015d", counter++), BigDecimal.ZERO, owner);
+            businessAccounts.add(account);
+            accounts.add(account);
+        }
+        if (individuals.size() > 1) {
+            for (PersonalAccount account : personalAccounts) {
+                if (random.nextInt(10) == 0) {
+                    IndividualUser coOwner = individuals.get(random.nextInt(individuals.size()));
+                    if (coOwner != account.getPrimaryOwner()) {
+                        account.addSecondaryOwner(coOwner);
+                    }
+                }
+            }
+        }
+        
+        balances = new long[accounts.size()];
+        for (int i = 0; i < balances.length; i++) {
+            balances[i] = 10_000 + random.nextInt(2_000_000); // 100 to 20,100 EUR
+        }
+    }
+    
+    /**
+     * Stream deposits, withdrawals, transfers and bill payments in date order
+     * @return rows written
+     */
+    private long writeHistory(PrintWriter writer) throws IOException {
+        if (accounts.isEmpty()) return 0;
+        
+        LocalDateTime from = endDate.minusYears(years).atStartOfDay();
+        long spanSeconds = ChronoUnit.SECONDS.between(from, endDate.atStartOfDay());
+        Transaction row = new Transaction(0, null, null, BigDecimal.ZERO, TransactionType.DEPOSIT, "");
+        long id = 1;
+        long nextReport = 1_000_000;
+        
+        while (id <= transactions) {
+            if (id > nextReport) {
+                Log.info(Log.Subsystem.PERSISTENCE, "Generating transactions", "written", nextReport);
+                nextReport += 1_000_000;
+            }
+            LocalDateTime time = from.plusSeconds(spanSeconds * (id - 1) / transactions);
+            int index = random.nextInt(accounts.size());
+            Account account = accounts.get(index);
+            int kind = random.nextInt(10);
+            
+            if (kind < 3 && id < transactions && accounts.size() > 1) {
+                // Transfer: outgoing and incoming rows
+                int other = random.nextInt(accounts.size());
+                long amount = 500 + random.nextInt(50_000);
+                if (other != index && balances[index] >= amount) {
+                    Account target = accounts.get(other);
+                    balances[index] -= amount;
+                    balances[other] += amount;
+                    fill(row, id++, time, account, target, amount, TransactionType.TRANSFER_OUT,
+                         "Transfer to " + target.getIban(), balances[index]);
+                    writer.println(DataManager.formatTransaction(row));
+                    fill(row, id++, time, account, target, amount, TransactionType.TRANSFER_IN,
+                         "Transfer from " + account.getIban(), balances[other]);
+                    writer.println(DataManager.formatTransaction(row));
+                    continue;
+                }
+            }
+            if (kind >= 3 && kind < 5) {
+                long amount = 1_000 + random.nextInt(30_000);
+                if (balances[index] >= amount) {
+                    balances[index] -= amount;
+                    fill(row, id++, time, account, null, amount, TransactionType.WITHDRAWAL,
+                         "Cash withdrawal", balances[index]);
+                    writer.println(DataManager.formatTransaction(row));
+                    continue;
+                }
+            }
+            if (kind == 5 && account instanceof PersonalAccount) {
+                long amount = 2_000 + random.nextInt(20_000);
+                if (balances[index] >= amount) {
+                    balances[index] -= amount;
+                    String provider = PROVIDERS[random.nextInt(PROVIDERS.length)];
+                    fill(row, id++, time, account, null, amount, TransactionType.BILL_PAYMENT,
+                         "Bill payment: " + provider, balances[index]);
+                    writer.println(DataManager.formatTransaction(row));
+                    continue;
+                }
+            }
+            // Deposit (also the fallback when funds are short)
+            long amount = 1_000 + random.nextInt(200_000);
+            balances[index] += amount;
+            fill(row, id++, time, null, account, amount, TransactionType.DEPOSIT,
+                 "Cash deposit", balances[index]);
+            writer.println(DataManager.formatTransaction(row));
+        }
+        
+        writer.flush();
+        if (writer.checkError()) {
+            throw new IOException("write failed");
+        }
+        return id - 1;
+    }
+    
+    /**
+     * Reuse one transaction object for every row written
+     */
+    private static void fill(Transaction row, long id, LocalDateTime time, Account from, Account to,
+                             long cents, TransactionType type, String description, long balanceAfter) {
+        row.setId(id);
+        row.setDateTime(time);
+        row.setFromAccount(from);
+        row.setToAccount(to);
+        row.setAmount(BigDecimal.valueOf(cents, 2));
+        row.setType(type);
+        row.setDescription(description);
+        row.setBalanceAfter(BigDecimal.valueOf(balanceAfter, 2));
+    }
+    
+    /**
+     * One bill per four individuals from a random business: most paid, the rest due around the end date
+     */
+    private void createBills() {
+        if (businesses.isEmpty()) return;
+        for (int i = 0; i < individuals.size(); i += 4) {
+            IndividualUser owner = individuals.get(i);
+            BusinessUser issuer = businesses.get(random.nextInt(businesses.size()));
+            LocalDate dueDate = endDate.plusDays(random.nextInt(60) - 30);
+            Bill bill = new Bill(String.format("BILL%06d", bills.size() + 1), issuer.getBusinessName(),
+                BigDecimal.valueOf(1_000 + random.nextInt(30_000), 2), dueDate,
+                "RF" + String.format("%08d", 1000 + bills.size()), owner, issuer);
+            if (random.nextInt(10) < 7) {
+                bill.markAsPaid(dueDate.minusDays(random.nextInt(10)).atTime(12, 0));
+            } else {
+                bill.checkAndUpdateOverdue(endDate);
+            }
+            bills.add(bill);
+        }
+    }
+    
+    /**
+     * A monthly transfer order on one in twenty personal accounts
+     */
+    private void createStandingOrders() {
+        if (accounts.size() < 2) return;
+        for (int i = 0; i < personalAccounts.size(); i += 20) {
+            PersonalAccount source = personalAccounts.get(i);
+            Account destination = accounts.get(random.nextInt(accounts.size()));
+            if (destination == source) continue;
+            standingOrders.add(new StandingOrder(String.format("SO%06d", standingOrders.size() + 1),
+                source, destination, BigDecimal.valueOf(1_000 + random.nextInt(20_000), 2), 1,
+                1 + random.nextInt(28), "Monthly transfer", source.getPrimaryOwner(), endDate));
+        }
+    }
+}
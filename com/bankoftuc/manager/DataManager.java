@@ -1,12 +1,21 @@
 package com.bankoftuc.manager;
 
+import com.bankoftuc.dao.TransactionDAOCsv;
+import com.bankoftuc.factory.UserFactory;
 import com.bankoftuc.model.*;
+import com.bankoftuc.util.CsvReader;
+import com.bankoftuc.util.Log;
+import com.bankoftuc.util.Metrics;
+import com.bankoftuc.util.Money;
 import java.io.*;
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.function.Function;
 
 /**
  * Manages data persistence using CSV files.
@@ -15,13 +24,16 @@ import java.util.*;
 public class DataManager {
     
     private static final String DATA_DIR = "data";
-    private static final String USERS_FILE = DATA_DIR + "/users.csv";
-    private static final String ACCOUNTS_FILE = DATA_DIR + "/accounts.csv";
-    private static final String TRANSACTIONS_FILE = DATA_DIR + "/transactions.csv";
-    private static final String BILLS_FILE = DATA_DIR + "/bills.csv";
-    private static final String STANDING_ORDERS_FILE = DATA_DIR + "/standing_orders.csv";
+    static final String USERS_FILE = DATA_DIR + "/users.csv";
+    static final String ACCOUNTS_FILE = DATA_DIR + "/accounts.csv";
+    static final String TRANSACTIONS_FILE = DATA_DIR + "/transactions.csv";
+    static final String BILLS_FILE = DATA_DIR + "/bills.csv";
+    static final String STANDING_ORDERS_FILE = DATA_DIR + "/standing_orders.csv";
     private static final String SYSTEM_FILE = DATA_DIR + "/system.csv";
-    private static final String CO_OWNERS_FILE = DATA_DIR + "/co_owners.csv";
+    static final String CO_OWNERS_FILE = DATA_DIR + "/co_owners.csv";
+    private static final String TRANSACTION_STORE_DIR = DATA_DIR + "/transactions";
+    
+    private static final String TRANSACTIONS_HEADER = "id,dateTime,amount,type,description,balanceAfter,fromAccountIban,toAccountIban,status";
     
     private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
     private static final DateTimeFormatter DATETIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
@@ -54,70 +66,129 @@ public class DataManager {
         new File(STANDING_ORDERS_FILE).delete();
         new File(SYSTEM_FILE).delete();
         new File(CO_OWNERS_FILE).delete();
+        new File(DATA_DIR, SnapshotWriter.MANIFEST_FILE).delete();
+        new File(BinarySnapshot.SNAPSHOT_FILE).delete();
+        new File(BinaryLedger.LEDGER_FILE).delete();
+        File[] storeFiles = new File(TRANSACTION_STORE_DIR).listFiles();
+        if (storeFiles != null) {
+            for (File file : storeFiles) {
+                file.delete();
+            }
+        }
+        new File(TRANSACTION_STORE_DIR).delete();
+    }
+    
+    /**
+     * Open the transaction store, where CSV storage keeps the transaction history
+     * @param accountLookup resolves the IBANs of stored rows
+     */
+    public static TransactionDAOCsv openTransactionStore(Function<String, Account> accountLookup) {
+        return new TransactionDAOCsv(TRANSACTION_STORE_DIR, accountLookup);
+    }
+    
+    /**
+     * Check if a transactions.csv file is waiting to be imported into the transaction store
+     * (an export from binary storage, generated data or a journal from an older version)
+     */
+    public static boolean transactionFileExists() {
+        return new File(TRANSACTIONS_FILE).exists();
+    }
+    
+    /**
+     * Delete transactions.csv once the transaction store has imported it
+     */
+    public static void deleteTransactionFile() throws IOException {
+        Files.deleteIfExists(new File(TRANSACTIONS_FILE).toPath());
     }
     
     // ==================== SAVE METHODS ====================
+    // Each save* method commits one file as a crash-safe snapshot; the matching
+    // write* method stages it so several files can be committed together.
+    
+    /**
+     * Start a snapshot of the data directory
+     */
+    public static SnapshotWriter newSnapshot() {
+        return new SnapshotWriter(DATA_DIR);
+    }
+    
+    /**
+     * Complete or discard a snapshot interrupted by a crash (call before loading)
+     */
+    public static void recoverSnapshot() {
+        SnapshotWriter.recover(DATA_DIR);
+    }
     
     /**
      * Save all users to CSV
      */
     public static void saveUsers(List<User> users) {
-        ensureDataDirectory();
-        try (PrintWriter writer = new PrintWriter(new FileWriter(USERS_FILE))) {
-            // Header
-            writer.println("type,id,username,passwordHash,phoneNumber,failedLoginAttempts,locked,fullName,address,vatNumber,businessName,adminLevel");
+        SnapshotWriter snapshot = newSnapshot();
+        try {
+            writeUsers(users, snapshot);
+            snapshot.commit();
+        } catch (IOException e) {
+            snapshot.abort();
+            Log.error(Log.Subsystem.PERSISTENCE, "Failed to save users", "error", e.getMessage());
+        }
+    }
+    
+    /**
+     * Stage the users file in a snapshot
+     */
+    public static void writeUsers(List<User> users, SnapshotWriter snapshot) throws IOException {
+        PrintWriter writer = snapshot.stage(USERS_FILE);
+        // Header
+        writer.println("type,id,username,passwordHash,phoneNumber,failedLoginAttempts,locked,fullName,address,vatNumber,businessName,adminLevel");
+        
+        for (User user : users) {
+            StringBuilder sb = new StringBuilder();
             
-            for (User user : users) {
-                StringBuilder sb = new StringBuilder();
-                
-                if (user instanceof IndividualUser) {
-                    IndividualUser iu = (IndividualUser) user;
-                    sb.append("INDIVIDUAL,");
-                    sb.append(escapeCSV(iu.getId())).append(",");
-                    sb.append(escapeCSV(iu.getUsername())).append(",");
-                    sb.append(escapeCSV(getPasswordHash(iu))).append(",");
-                    sb.append(escapeCSV(iu.getPhoneNumber())).append(",");
-                    sb.append(iu.getFailedLoginAttempts()).append(",");
-                    sb.append(iu.isLocked()).append(",");
-                    sb.append(escapeCSV(iu.getFullName())).append(",");
-                    sb.append(escapeCSV(iu.getAddress())).append(",");
-                    sb.append(escapeCSV(iu.getVatNumber())).append(",");
-                    sb.append(","); // businessName empty
-                    sb.append(""); // adminLevel empty
-                } else if (user instanceof BusinessUser) {
-                    BusinessUser bu = (BusinessUser) user;
-                    sb.append("BUSINESS,");
-                    sb.append(escapeCSV(bu.getId())).append(",");
-                    sb.append(escapeCSV(bu.getUsername())).append(",");
-                    sb.append(escapeCSV(getPasswordHash(bu))).append(",");
-                    sb.append(escapeCSV(bu.getPhoneNumber())).append(",");
-                    sb.append(bu.getFailedLoginAttempts()).append(",");
-                    sb.append(bu.isLocked()).append(",");
-                    sb.append(","); // fullName empty
-                    sb.append(","); // address empty
-                    sb.append(escapeCSV(bu.getVatNumber())).append(",");
-                    sb.append(escapeCSV(bu.getBusinessName())).append(",");
-                    sb.append(""); // adminLevel empty
-                } else if (user instanceof AdminUser) {
-                    AdminUser au = (AdminUser) user;
-                    sb.append("ADMIN,");
-                    sb.append(escapeCSV(au.getId())).append(",");
-                    sb.append(escapeCSV(au.getUsername())).append(",");
-                    sb.append(escapeCSV(getPasswordHash(au))).append(",");
-                    sb.append(escapeCSV(au.getPhoneNumber())).append(",");
-                    sb.append(au.getFailedLoginAttempts()).append(",");
-                    sb.append(au.isLocked()).append(",");
-                    sb.append(","); // fullName empty
-                    sb.append(","); // address empty
-                    sb.append(","); // vatNumber empty
-                    sb.append(","); // businessName empty
-                    sb.append(au.getAdminLevel());
-                }
-                
-                writer.println(sb.toString());
+            if (user instanceof IndividualUser) {
+                IndividualUser iu = (IndividualUser) user;
+                sb.append("INDIVIDUAL,");
+                sb.append(escapeCSV(iu.getId())).append(",");
+                sb.append(escapeCSV(iu.getUsername())).append(",");
+                sb.append(escapeCSV(iu.getPasswordHash())).append(",");
+                sb.append(escapeCSV(iu.getPhoneNumber())).append(",");
+                sb.append(iu.getFailedLoginAttempts()).append(",");
+                sb.append(iu.isLocked()).append(",");
+                sb.append(escapeCSV(iu.getFullName())).append(",");
+                sb.append(escapeCSV(iu.getAddress())).append(",");
+                sb.append(escapeCSV(iu.getVatNumber())).append(",");
+                sb.append(","); // businessName empty
+                sb.append(""); // adminLevel empty
+            } else if (user instanceof BusinessUser) {
+                BusinessUser bu = (BusinessUser) user;
+                sb.append("BUSINESS,");
+                sb.append(escapeCSV(bu.getId())).append(",");
+                sb.append(escapeCSV(bu.getUsername())).append(",");
+                sb.append(escapeCSV(bu.getPasswordHash())).append(",");
+                sb.append(escapeCSV(bu.getPhoneNumber())).append(",");
+                sb.append(bu.getFailedLoginAttempts()).append(",");
+                sb.append(bu.isLocked()).append(",");
+                sb.append(","); // fullName empty
+                sb.append(","); // address empty
+                sb.append(escapeCSV(bu.getVatNumber())).append(",");
+                sb.append(escapeCSV(bu.getBusinessName())).append(",");
+                sb.append(""); // adminLevel empty
+            } else if (user instanceof AdminUser) {
+                AdminUser au = (AdminUser) user;
+                sb.append("ADMIN,");
+                sb.append(escapeCSV(au.getId())).append(",");
+                sb.append(escapeCSV(au.getUsername())).append(",");
+                sb.append(escapeCSV(au.getPasswordHash())).append(",");
+                sb.append(escapeCSV(au.getPhoneNumber())).append(",");
+                sb.append(au.getFailedLoginAttempts()).append(",");
+                sb.append(au.isLocked()).append(",");
+                sb.append(","); // fullName empty
+                sb.append(","); // address empty
+                sb.append(","); // vatNumber empty
+                sb.append(","); // businessName empty
+                sb.append(au.getAdminLevel());
             }
-        } catch (IOException e) {
-            System.err.println("Error saving users: " + e.getMessage());
+            
+            writer.println(sb.toString());
         }
     }
     
@@ -125,40 +196,50 @@ public class DataManager {
      * Save all accounts to CSV
      */
     public static void saveAccounts(List<Account> accounts) {
-        ensureDataDirectory();
-        try (PrintWriter writer = new PrintWriter(new FileWriter(ACCOUNTS_FILE))) {
-            // Header
-            writer.println("type,iban,balance,status,interestRate,accruedInterest,ownerUsername,monthlyMaintenanceFee");
+        SnapshotWriter snapshot = newSnapshot();
+        try {
+            writeAccounts(accounts, snapshot);
+            snapshot.commit();
+        } catch (IOException e) {
+            snapshot.abort();
+            Log.error(Log.Subsystem.PERSISTENCE, "Failed to save accounts", "error", e.getMessage());
+        }
+    }
+    
+    /**
+     * Stage the accounts file in a snapshot
+     */
+    public static void writeAccounts(List<Account> accounts, SnapshotWriter snapshot) throws IOException {
+        PrintWriter writer = snapshot.stage(ACCOUNTS_FILE);
+        // Header
+        writer.println("type,iban,balance,status,interestRate,accruedInterest,ownerUsername,monthlyMaintenanceFee");
+        
+        for (Account account : accounts) {
+            StringBuilder sb = new StringBuilder();
             
-            for (Account account : accounts) {
-                StringBuilder sb = new StringBuilder();
-                
-                if (account instanceof PersonalAccount) {
-                    PersonalAccount pa = (PersonalAccount) account;
-                    sb.append("PERSONAL,");
-                    sb.append(escapeCSV(pa.getIban())).append(",");
-                    sb.append(pa.getBalance()).append(",");
-                    sb.append(pa.getStatus()).append(",");
-                    sb.append(pa.getInterestRate()).append(",");
-                    sb.append(pa.getAccruedInterest()).append(",");
-                    sb.append(escapeCSV(pa.getPrimaryOwner().getUsername())).append(",");
-                    sb.append(""); // no maintenance fee
-                } else if (account instanceof BusinessAccount) {
-                    BusinessAccount ba = (BusinessAccount) account;
-                    sb.append("BUSINESS,");
-                    sb.append(escapeCSV(ba.getIban())).append(",");
-                    sb.append(ba.getBalance()).append(",");
-                    sb.append(ba.getStatus()).append(",");
-                    sb.append(ba.getInterestRate()).append(",");
-                    sb.append(ba.getAccruedInterest()).append(",");
-                    sb.append(escapeCSV(ba.getOwner().getUsername())).append(",");
-                    sb.append(ba.getMonthlyMaintenanceFee());
-                }
-                
-                writer.println(sb.toString());
+            if (account instanceof PersonalAccount) {
+                PersonalAccount pa = (PersonalAccount) account;
+                sb.append("PERSONAL,");
+                sb.append(escapeCSV(pa.getIban())).append(",");
+                sb.append(pa.getBalance()).append(",");
+                sb.append(pa.getStatus()).append(",");
+                sb.append(pa.getInterestRate()).append(",");
+                sb.append(pa.getAccruedInterest()).append(",");
+                sb.append(escapeCSV(pa.getPrimaryOwner().getUsername())).append(",");
+                sb.append(""); // no maintenance fee
+            } else if (account instanceof BusinessAccount) {
+                BusinessAccount ba = (BusinessAccount) account;
+                sb.append("BUSINESS,");
+                sb.append(escapeCSV(ba.getIban())).append(",");
+                sb.append(ba.getBalance()).append(",");
+                sb.append(ba.getStatus()).append(",");
+                sb.append(ba.getInterestRate()).append(",");
+                sb.append(ba.getAccruedInterest()).append(",");
+                sb.append(escapeCSV(ba.getOwner().getUsername())).append(",");
+                sb.append(ba.getMonthlyMaintenanceFee());
             }
-        } catch (IOException e) {
-            System.err.println("Error saving accounts: " + e.getMessage());
+            
+            writer.println(sb.toString());
         }
     }
     
@@ -166,77 +247,120 @@ public class DataManager {
      * Save co-owners relationships to CSV
      */
     public static void saveCoOwners(List<Account> accounts) {
-        ensureDataDirectory();
-        try (PrintWriter writer = new PrintWriter(new FileWriter(CO_OWNERS_FILE))) {
-            // Header
-            writer.println("accountIban,coOwnerUsername");
-            
-            for (Account account : accounts) {
-                if (account instanceof PersonalAccount) {
-                    PersonalAccount pa = (PersonalAccount) account;
-                    for (IndividualUser coOwner : pa.getSecondaryOwners()) {
-                        writer.println(escapeCSV(pa.getIban()) + "," + escapeCSV(coOwner.getUsername()));
-                    }
+        SnapshotWriter snapshot = newSnapshot();
+        try {
+            writeCoOwners(accounts, snapshot);
+            snapshot.commit();
+        } catch (IOException e) {
+            snapshot.abort();
+            Log.error(Log.Subsystem.PERSISTENCE, "Failed to save co-owners", "error", e.getMessage());
+        }
+    }
+    
+    /**
+     * Stage the co-owners file in a snapshot
+     */
+    public static void writeCoOwners(List<Account> accounts, SnapshotWriter snapshot) throws IOException {
+        PrintWriter writer = snapshot.stage(CO_OWNERS_FILE);
+        // Header
+        writer.println("accountIban,coOwnerUsername");
+        
+        for (Account account : accounts) {
+            if (account instanceof PersonalAccount) {
+                PersonalAccount pa = (PersonalAccount) account;
+                for (IndividualUser coOwner : pa.getSecondaryOwners()) {
+                    writer.println(escapeCSV(pa.getIban()) + "," + escapeCSV(coOwner.getUsername()));
                 }
             }
-        } catch (IOException e) {
-            System.err.println("Error saving co-owners: " + e.getMessage());
         }
     }
     
     /**
-     * Save all transactions to CSV
+     * Save all transactions to transactions.csv, the import/export form of the history.
+     * CSV storage imports the file into the transaction store on the next start.
      */
     public static void saveTransactions(List<Transaction> transactions) {
-        ensureDataDirectory();
-        try (PrintWriter writer = new PrintWriter(new FileWriter(TRANSACTIONS_FILE))) {
-            // Header
-            writer.println("id,dateTime,amount,type,description,balanceAfter,fromAccountIban,toAccountIban,status");
-            
-            for (Transaction t : transactions) {
-                StringBuilder sb = new StringBuilder();
-                sb.append(t.getId()).append(",");
-                sb.append(t.getDateTime().format(DATETIME_FORMAT)).append(",");
-                sb.append(t.getAmount()).append(",");
-                sb.append(t.getType()).append(",");
-                sb.append(escapeCSV(t.getDescription())).append(",");
-                sb.append(t.getBalanceAfter()).append(",");
-                sb.append(t.getFromAccount() != null ? escapeCSV(t.getFromAccount().getIban()) : "").append(",");
-                sb.append(t.getToAccount() != null ? escapeCSV(t.getToAccount().getIban()) : "").append(",");
-                sb.append(t.getStatus());
-                
-                writer.println(sb.toString());
-            }
+        SnapshotWriter snapshot = newSnapshot();
+        try {
+            writeTransactions(transactions, snapshot);
+            snapshot.commit();
         } catch (IOException e) {
-            System.err.println("Error saving transactions: " + e.getMessage());
+            snapshot.abort();
+            Log.error(Log.Subsystem.PERSISTENCE, "Failed to save transactions", "error", e.getMessage());
+        }
+    }
+    
+    /**
+     * Stage transactions.csv in a snapshot
+     */
+    public static void writeTransactions(List<Transaction> transactions, SnapshotWriter snapshot) throws IOException {
+        PrintWriter writer = stageTransactions(snapshot);
+        for (Transaction t : transactions) {
+            writer.println(formatTransaction(t));
         }
     }
     
+    /**
+     * Stage an empty transactions.csv (header only) for rows streamed in with formatTransaction
+     */
+    static PrintWriter stageTransactions(SnapshotWriter snapshot) throws IOException {
+        PrintWriter writer = snapshot.stage(TRANSACTIONS_FILE);
+        writer.println(TRANSACTIONS_HEADER);
+        return writer;
+    }
+    
+    /**
+     * Format a transaction as a CSV row
+     */
+    static String formatTransaction(Transaction t) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(t.getId()).append(",");
+        sb.append(t.getDateTime().format(DATETIME_FORMAT)).append(",");
+        sb.append(t.getAmount()).append(",");
+        sb.append(t.getType()).append(",");
+        sb.append(escapeCSV(t.getDescription())).append(",");
+        sb.append(t.getBalanceAfter()).append(",");
+        sb.append(t.getFromAccount() != null ? escapeCSV(t.getFromAccount().getIban()) : "").append(",");
+        sb.append(t.getToAccount() != null ? escapeCSV(t.getToAccount().getIban()) : "").append(",");
+        sb.append(t.getStatus());
+        return sb.toString();
+    }
+    
     /**
      * Save all bills to CSV
      */
     public static void saveBills(List<Bill> bills) {
-        ensureDataDirectory();
-        try (PrintWriter writer = new PrintWriter(new FileWriter(BILLS_FILE))) {
-            // Header
-            writer.println("id,providerName,amount,dueDate,status,paidDate,rfCode,ownerUsername,issuerUsername");
-            
-            for (Bill bill : bills) {
-                StringBuilder sb = new StringBuilder();
-                sb.append(escapeCSV(bill.getId())).append(",");
-                sb.append(escapeCSV(bill.getProviderName())).append(",");
-                sb.append(bill.getAmount()).append(",");
-                sb.append(bill.getDueDate().format(DATE_FORMAT)).append(",");
-                sb.append(bill.getStatus()).append(",");
-                sb.append(bill.getPaidDate() != null ? bill.getPaidDate().format(DATETIME_FORMAT) : "").append(",");
-                sb.append(escapeCSV(bill.getRfCode())).append(",");
-                sb.append(escapeCSV(bill.getOwner().getUsername())).append(",");
-                sb.append(escapeCSV(bill.getIssuer().getUsername()));
-                
-                writer.println(sb.toString());
-            }
+        SnapshotWriter snapshot = newSnapshot();
+        try {
+            writeBills(bills, snapshot);
+            snapshot.commit();
         } catch (IOException e) {
-            System.err.println("Error saving bills: " + e.getMessage());
+            snapshot.abort();
+            Log.error(Log.Subsystem.PERSISTENCE, "Failed to save bills", "error", e.getMessage());
+        }
+    }
+    
+    /**
+     * Stage the bills file in a snapshot
+     */
+    public static void writeBills(List<Bill> bills, SnapshotWriter snapshot) throws IOException {
+        PrintWriter writer = snapshot.stage(BILLS_FILE);
+        // Header
+        writer.println("id,providerName,amount,dueDate,status,paidDate,rfCode,ownerUsername,issuerUsername");
+        
+        for (Bill bill : bills) {
+            StringBuilder sb = new StringBuilder();
+            sb.append(escapeCSV(bill.getId())).append(",");
+            sb.append(escapeCSV(bill.getProviderName())).append(",");
+            sb.append(bill.getAmount()).append(",");
+            sb.append(bill.getDueDate().format(DATE_FORMAT)).append(",");
+            sb.append(bill.getStatus()).append(",");
+            sb.append(bill.getPaidDate() != null ? bill.getPaidDate().format(DATETIME_FORMAT) : "").append(",");
+            sb.append(escapeCSV(bill.getRfCode())).append(",");
+            sb.append(escapeCSV(bill.getOwner().getUsername())).append(",");
+            sb.append(escapeCSV(bill.getIssuer().getUsername()));
+            
+            writer.println(sb.toString());
         }
     }
     
@@ -244,31 +368,41 @@ public class DataManager {
      * Save all standing orders to CSV
      */
     public static void saveStandingOrders(List<StandingOrder> orders) {
-        ensureDataDirectory();
-        try (PrintWriter writer = new PrintWriter(new FileWriter(STANDING_ORDERS_FILE))) {
-            // Header
-            writer.println("id,type,amount,frequencyMonths,executionDay,nextExecutionDate,status,sourceAccountIban,destinationAccountIban,rfCode,providerName,description,ownerUsername");
-            
-            for (StandingOrder order : orders) {
-                StringBuilder sb = new StringBuilder();
-                sb.append(escapeCSV(order.getId())).append(",");
-                sb.append(order.getType()).append(",");
-                sb.append(order.getAmount() != null ? order.getAmount() : "").append(",");
-                sb.append(order.getFrequencyMonths()).append(",");
-                sb.append(order.getExecutionDay()).append(",");
-                sb.append(order.getNextExecutionDate() != null ? order.getNextExecutionDate().format(DATE_FORMAT) : "").append(",");
-                sb.append(order.getStatus()).append(",");
-                sb.append(order.getSourceAccount() != null ? escapeCSV(order.getSourceAccount().getIban()) : "").append(",");
-                sb.append(order.getDestinationAccount() != null ? escapeCSV(order.getDestinationAccount().getIban()) : "").append(",");
-                sb.append(order.getRfCode() != null ? escapeCSV(order.getRfCode()) : "").append(",");
-                sb.append(order.getProviderName() != null ? escapeCSV(order.getProviderName()) : "").append(",");
-                sb.append(order.getDescription() != null ? escapeCSV(order.getDescription()) : "").append(",");
-                sb.append(escapeCSV(order.getOwner().getUsername()));
-                
-                writer.println(sb.toString());
-            }
+        SnapshotWriter snapshot = newSnapshot();
+        try {
+            writeStandingOrders(orders, snapshot);
+            snapshot.commit();
         } catch (IOException e) {
-            System.err.println("Error saving standing orders: " + e.getMessage());
+            snapshot.abort();
+            Log.error(Log.Subsystem.PERSISTENCE, "Failed to save standing orders", "error", e.getMessage());
+        }
+    }
+    
+    /**
+     * Stage the standing orders file in a snapshot
+     */
+    public static void writeStandingOrders(List<StandingOrder> orders, SnapshotWriter snapshot) throws IOException {
+        PrintWriter writer = snapshot.stage(STANDING_ORDERS_FILE);
+        // Header
+        writer.println("id,type,amount,frequencyMonths,executionDay,nextExecutionDate,status,sourceAccountIban,destinationAccountIban,rfCode,providerName,description,ownerUsername");
+        
+        for (StandingOrder order : orders) {
+            StringBuilder sb = new StringBuilder();
+            sb.append(escapeCSV(order.getId())).append(",");
+            sb.append(order.getType()).append(",");
+            sb.append(order.getAmount() != null ? order.getAmount() : "").append(",");
+            sb.append(order.getFrequencyMonths()).append(",");
+            sb.append(order.getExecutionDay()).append(",");
+            sb.append(order.getNextExecutionDate() != null ? order.getNextExecutionDate().format(DATE_FORMAT) : "").append(",");
+            sb.append(order.getStatus()).append(",");
+            sb.append(order.getSourceAccount() != null ? escapeCSV(order.getSourceAccount().getIban()) : "").append(",");
+            sb.append(order.getDestinationAccount() != null ? escapeCSV(order.getDestinationAccount().getIban()) : "").append(",");
+            sb.append(order.getRfCode() != null ? escapeCSV(order.getRfCode()) : "").append(",");
+            sb.append(order.getProviderName() != null ? escapeCSV(order.getProviderName()) : "").append(",");
+            sb.append(order.getDescription() != null ? escapeCSV(order.getDescription()) : "").append(",");
+            sb.append(escapeCSV(order.getOwner().getUsername()));
+            
+            writer.println(sb.toString());
         }
     }
     
@@ -276,481 +410,388 @@ public class DataManager {
      * Save system state (current date, counters, etc.)
      */
     public static void saveSystemState(LocalDate currentDate) {
-        ensureDataDirectory();
-        try (PrintWriter writer = new PrintWriter(new FileWriter(SYSTEM_FILE))) {
-            writer.println("key,value");
-            writer.println("currentDate," + currentDate.format(DATE_FORMAT));
+        SnapshotWriter snapshot = newSnapshot();
+        try {
+            writeSystemState(currentDate, snapshot);
+            snapshot.commit();
         } catch (IOException e) {
-            System.err.println("Error saving system state: " + e.getMessage());
+            snapshot.abort();
+            Log.error(Log.Subsystem.PERSISTENCE, "Failed to save system state", "error", e.getMessage());
         }
     }
     
+    /**
+     * Stage the system state file in a snapshot
+     */
+    public static void writeSystemState(LocalDate currentDate, SnapshotWriter snapshot) throws IOException {
+        PrintWriter writer = snapshot.stage(SYSTEM_FILE);
+        writer.println("key,value");
+        writer.println("currentDate," + currentDate.format(DATE_FORMAT));
+        writer.println("moneyScale," + Money.SCALE);
+    }
+    
     // ==================== LOAD METHODS ====================
     
     /**
      * Load all users from CSV
      */
     public static List<User> loadUsers() {
-        List<User> users = new ArrayList<>();
-        File file = new File(USERS_FILE);
-        if (!file.exists()) return users;
-        
-        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-            String line;
-            boolean firstLine = true;
-            
-            while ((line = reader.readLine()) != null) {
-                if (firstLine) {
-                    firstLine = false;
-                    continue; // Skip header
-                }
-                
-                String[] parts = parseCSVLine(line);
-                if (parts.length < 7) continue;
-                
-                String type = parts[0];
-                String id = parts[1];
-                String username = parts[2];
-                String passwordHash = parts[3];
-                String phoneNumber = parts[4];
-                int failedAttempts = Integer.parseInt(parts[5]);
-                boolean locked = Boolean.parseBoolean(parts[6]);
-                
-                User user = null;
-                
-                switch (type) {
-                    case "INDIVIDUAL":
-                        String fullName = parts.length > 7 ? parts[7] : "";
-                        String address = parts.length > 8 ? parts[8] : "";
-                        String vatNumber = parts.length > 9 ? parts[9] : "";
-                        IndividualUser iu = new IndividualUser(id, username, "temp", fullName, address, phoneNumber, vatNumber);
-                        setPasswordHashDirectly(iu, passwordHash);
-                        user = iu;
-                        break;
-                    case "BUSINESS":
-                        String bVatNumber = parts.length > 9 ? parts[9] : "";
-                        String businessName = parts.length > 10 ? parts[10] : "";
-                        BusinessUser bu = new BusinessUser(id, username, "temp", businessName, phoneNumber, bVatNumber);
-                        setPasswordHashDirectly(bu, passwordHash);
-                        user = bu;
-                        break;
-                    case "ADMIN":
-                        int adminLevel = parts.length > 11 && !parts[11].isEmpty() ? Integer.parseInt(parts[11]) : 1;
-                        AdminUser au = new AdminUser(id, username, "temp", phoneNumber, adminLevel);
-                        setPasswordHashDirectly(au, passwordHash);
-                        user = au;
-                        break;
-                }
-                
-                if (user != null) {
-                    user.setLocked(locked);
-                    for (int i = 0; i < failedAttempts; i++) {
-                        user.recordFailedLogin();
-                    }
-                    if (!locked) user.resetFailedAttempts();
-                    users.add(user);
-                }
-            }
-        } catch (IOException e) {
-            System.err.println("Error loading users: " + e.getMessage());
-        }
-        
-        return users;
+        return loadRows(USERS_FILE, "users", DataManager::parseUser);
     }
     
     /**
      * Load all accounts from CSV
      */
     public static List<Account> loadAccounts(List<User> users) {
-        List<Account> accounts = new ArrayList<>();
-        File file = new File(ACCOUNTS_FILE);
-        if (!file.exists()) return accounts;
+        Map<String, User> userMap = mapByUsername(users);
+        List<Account> accounts = loadRows(ACCOUNTS_FILE, "accounts", row -> parseAccount(row, userMap));
         
-        Map<String, User> userMap = new HashMap<>();
-        for (User u : users) {
-            userMap.put(u.getUsername(), u);
+        // Load co-owners
+        try (CsvReader coOwnerRows = openFile(CO_OWNERS_FILE, "co-owners")) {
+            coOwnerRows.skipRecord(); // Skip header
+            linkCoOwners(coOwnerRows, accounts, users);
+        } catch (UncheckedIOException e) {
+            Log.error(Log.Subsystem.PERSISTENCE, "Failed to load co-owners", "error", e.getCause().getMessage());
         }
         
-        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-            String line;
-            boolean firstLine = true;
-            
-            while ((line = reader.readLine()) != null) {
-                if (firstLine) {
-                    firstLine = false;
-                    continue;
-                }
-                
-                String[] parts = parseCSVLine(line);
-                if (parts.length < 7) continue;
-                
-                String type = parts[0];
-                String iban = parts[1];
-                BigDecimal balance = new BigDecimal(parts[2]);
-                Account.AccountStatus status = Account.AccountStatus.valueOf(parts[3]);
-                BigDecimal interestRate = new BigDecimal(parts[4]);
-                BigDecimal accruedInterest = new BigDecimal(parts[5]);
-                String ownerUsername = parts[6];
-                
-                User owner = userMap.get(ownerUsername);
-                if (owner == null) continue;
-                
-                Account account = null;
-                
-                if (type.equals("PERSONAL") && owner instanceof IndividualUser) {
-                    PersonalAccount pa = new PersonalAccount(iban, balance, (IndividualUser) owner);
-                    pa.setStatus(status);
-                    pa.setInterestRate(interestRate);
-                    account = pa;
-                } else if (type.equals("BUSINESS") && owner instanceof BusinessUser) {
-                    BigDecimal fee = parts.length > 7 && !parts[7].isEmpty() ? new BigDecimal(parts[7]) : new BigDecimal("25.00");
-                    BusinessAccount ba = new BusinessAccount(iban, balance, (BusinessUser) owner, fee);
-                    ba.setStatus(status);
-                    ba.setInterestRate(interestRate);
-                    account = ba;
-                }
-                
-                if (account != null) {
-                    accounts.add(account);
-                }
-            }
+        return accounts;
+    }
+    
+    /**
+     * Load all transactions from CSV
+     */
+    public static List<Transaction> loadTransactions(List<Account> accounts) {
+        Map<String, Account> accountMap = mapByIban(accounts);
+        return loadRows(TRANSACTIONS_FILE, "transactions", row -> parseTransactionRow(row, accountMap));
+    }
+    
+    /**
+     * Load all bills from CSV
+     */
+    public static List<Bill> loadBills(List<User> users) {
+        Map<String, User> userMap = mapByUsername(users);
+        return loadRows(BILLS_FILE, "bills", row -> parseBill(row, userMap));
+    }
+    
+    /**
+     * Load all standing orders from CSV
+     */
+    public static List<StandingOrder> loadStandingOrders(List<Account> accounts, List<User> users) {
+        Map<String, Account> accountMap = mapByIban(accounts);
+        Map<String, User> userMap = mapByUsername(users);
+        return loadRows(STANDING_ORDERS_FILE, "standing orders", row -> parseStandingOrder(row, accountMap, userMap));
+    }
+    
+    // ==================== ROW PARSING ====================
+    // Shared by the sequential load* methods above and the parallel StartupLoader.
+    // Rows are read through CsvReader straight from the file bytes; row parsers
+    // only read the lookup maps, so they can run on several threads.
+    
+    /**
+     * Read a CSV file into memory so it can be split between threads
+     * @return the file contents, an empty buffer if it is missing or unreadable,
+     *         or null if it is too large for one buffer (stream it with loadRows instead)
+     */
+    static ByteBuffer readFile(String path, String label) {
+        if (new File(path).length() > CsvReader.MAX_BUFFER_SIZE) {
+            return null;
+        }
+        try {
+            return CsvReader.read(path);
         } catch (IOException e) {
-            System.err.println("Error loading accounts: " + e.getMessage());
+            Log.error(Log.Subsystem.PERSISTENCE, "Failed to load data file", "file", label, "error", e.getMessage());
+            return ByteBuffer.allocate(0);
         }
-        
-        // Load co-owners
-        loadCoOwners(accounts, users);
-        
-        return accounts;
     }
     
     /**
-     * Load co-owners relationships from CSV
+     * Open a streaming reader over a CSV file
+     * @return the reader, or an empty one if the file is missing or unreadable
      */
-    private static void loadCoOwners(List<Account> accounts, List<User> users) {
-        File file = new File(CO_OWNERS_FILE);
-        if (!file.exists()) return;
-        
+    static CsvReader openFile(String path, String label) {
+        try {
+            return CsvReader.open(path);
+        } catch (IOException e) {
+            Log.error(Log.Subsystem.PERSISTENCE, "Failed to load data file", "file", label, "error", e.getMessage());
+            return new CsvReader(ByteBuffer.allocate(0));
+        }
+    }
+    
+    /**
+     * Parse the data rows of a CSV file (header skipped), streaming it from disk
+     */
+    static <T> List<T> loadRows(String path, String label, Function<CsvReader, T> parser) {
+        long start = System.nanoTime();
+        try (CsvReader rows = openFile(path, label)) {
+            rows.skipRecord(); // Skip header
+            List<T> result = parseRows(rows, parser);
+            Metrics.histogram("persistence.load." + label).recordSince(start);
+            return result;
+        } catch (UncheckedIOException e) {
+            Log.error(Log.Subsystem.PERSISTENCE, "Failed to load data file", "file", label, "error", e.getCause().getMessage());
+            return new ArrayList<>();
+        }
+    }
+    
+    /**
+     * Parse every remaining row of a reader, dropping rejected rows
+     */
+    static <T> List<T> parseRows(CsvReader rows, Function<CsvReader, T> parser) {
+        List<T> result = new ArrayList<>();
+        while (rows.next()) {
+            T item = parser.apply(rows);
+            if (item != null) {
+                result.add(item);
+            }
+        }
+        return result;
+    }
+    
+    static Map<String, User> mapByUsername(List<User> users) {
+        Map<String, User> userMap = new HashMap<>();
+        for (User u : users) {
+            userMap.put(u.getUsername(), u);
+        }
+        return userMap;
+    }
+    
+    static Map<String, Account> mapByIban(List<Account> accounts) {
         Map<String, Account> accountMap = new HashMap<>();
         for (Account a : accounts) {
             accountMap.put(a.getIban(), a);
         }
+        return accountMap;
+    }
+    
+    /**
+     * Build a user from a users.csv row
+     * @return the user, or null for an incomplete row
+     */
+    static User parseUser(CsvReader row) {
+        if (row.fieldCount() < 7) return null;
         
-        Map<String, IndividualUser> individualMap = new HashMap<>();
-        for (User u : users) {
-            if (u instanceof IndividualUser) {
-                individualMap.put(u.getUsername(), (IndividualUser) u);
-            }
-        }
+        String id = row.getString(1);
+        String username = row.getString(2);
+        String passwordHash = row.getString(3);
+        String phoneNumber = row.getString(4);
+        int failedAttempts = row.getInt(5);
+        boolean locked = row.getBoolean(6);
         
-        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-            String line;
-            boolean firstLine = true;
-            
-            while ((line = reader.readLine()) != null) {
-                if (firstLine) {
-                    firstLine = false;
-                    continue;
-                }
-                
-                String[] parts = parseCSVLine(line);
-                if (parts.length < 2) continue;
-                
-                String iban = parts[0];
-                String coOwnerUsername = parts[1];
-                
-                Account account = accountMap.get(iban);
-                IndividualUser coOwner = individualMap.get(coOwnerUsername);
-                
-                if (account instanceof PersonalAccount && coOwner != null) {
-                    ((PersonalAccount) account).addSecondaryOwner(coOwner);
-                }
-            }
-        } catch (IOException e) {
-            System.err.println("Error loading co-owners: " + e.getMessage());
+        if (row.equalsAscii(0, "INDIVIDUAL")) {
+            return UserFactory.restoreIndividualUser(id, username, passwordHash, phoneNumber,
+                row.getString(7), row.getString(8), row.getString(9), failedAttempts, locked);
+        } else if (row.equalsAscii(0, "BUSINESS")) {
+            return UserFactory.restoreBusinessUser(id, username, passwordHash, phoneNumber,
+                row.getString(10), row.getString(9), failedAttempts, locked);
+        } else if (row.equalsAscii(0, "ADMIN")) {
+            int adminLevel = !row.isEmpty(11) ? row.getInt(11) : 1;
+            return UserFactory.restoreAdminUser(id, username, passwordHash, phoneNumber,
+                adminLevel, failedAttempts, locked);
         }
+        return null;
     }
     
     /**
-     * Load all transactions from CSV
+     * Build an account from an accounts.csv row
+     * @return the account, or null if the row is incomplete or its owner is unknown
      */
-    public static List<Transaction> loadTransactions(List<Account> accounts) {
-        List<Transaction> transactions = new ArrayList<>();
-        File file = new File(TRANSACTIONS_FILE);
-        if (!file.exists()) return transactions;
+    static Account parseAccount(CsvReader row, Map<String, User> userMap) {
+        if (row.fieldCount() < 7) return null;
         
-        Map<String, Account> accountMap = new HashMap<>();
-        for (Account a : accounts) {
-            accountMap.put(a.getIban(), a);
-        }
+        String iban = row.getString(1);
+        BigDecimal balance = row.getDecimal(2);
+        Account.AccountStatus status = row.getEnum(3, Account.AccountStatus.class);
+        BigDecimal interestRate = row.getDecimal(4);
+        BigDecimal accruedInterest = row.getDecimal(5);
         
-        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-            String line;
-            boolean firstLine = true;
-            
-            while ((line = reader.readLine()) != null) {
-                if (firstLine) {
-                    firstLine = false;
-                    continue;
-                }
-                
-                String[] parts = parseCSVLine(line);
-                if (parts.length < 9) continue;
-                
-                long id = Long.parseLong(parts[0]);
-                LocalDateTime dateTime = LocalDateTime.parse(parts[1], DATETIME_FORMAT);
-                BigDecimal amount = new BigDecimal(parts[2]);
-                Transaction.TransactionType type = Transaction.TransactionType.valueOf(parts[3]);
-                String description = parts[4];
-                BigDecimal balanceAfter = new BigDecimal(parts[5]);
-                Account fromAccount = !parts[6].isEmpty() ? accountMap.get(parts[6]) : null;
-                Account toAccount = !parts[7].isEmpty() ? accountMap.get(parts[7]) : null;
-                Transaction.TransactionStatus status = Transaction.TransactionStatus.valueOf(parts[8]);
-                
-                Transaction t = new Transaction(id, fromAccount, toAccount, amount, type, description);
-                t.setDateTime(dateTime);
-                t.setBalanceAfter(balanceAfter);
-                t.setStatus(status);
-                
-                transactions.add(t);
-            }
-        } catch (IOException e) {
-            System.err.println("Error loading transactions: " + e.getMessage());
+        User owner = userMap.get(row.getString(6));
+        if (owner == null) return null;
+        
+        Account account = null;
+        
+        if (row.equalsAscii(0, "PERSONAL") && owner instanceof IndividualUser) {
+            account = new PersonalAccount(iban, balance, (IndividualUser) owner);
+        } else if (row.equalsAscii(0, "BUSINESS") && owner instanceof BusinessUser) {
+            BigDecimal fee = !row.isEmpty(7) ? row.getDecimal(7) : new BigDecimal("25.00");
+            account = new BusinessAccount(iban, balance, (BusinessUser) owner, fee);
         }
         
-        return transactions;
+        if (account != null) {
+            account.setStatus(status);
+            account.setInterestRate(interestRate);
+            account.setAccruedInterest(accruedInterest);
+        }
+        return account;
     }
     
     /**
-     * Load all bills from CSV
+     * Attach co-owners from the remaining co_owners.csv rows to their personal accounts
      */
-    public static List<Bill> loadBills(List<User> users) {
-        List<Bill> bills = new ArrayList<>();
-        File file = new File(BILLS_FILE);
-        if (!file.exists()) return bills;
+    static void linkCoOwners(CsvReader rows, List<Account> accounts, List<User> users) {
+        Map<String, Account> accountMap = null;
+        Map<String, User> userMap = null;
         
-        Map<String, IndividualUser> individualMap = new HashMap<>();
-        Map<String, BusinessUser> businessMap = new HashMap<>();
-        for (User u : users) {
-            if (u instanceof IndividualUser) {
-                individualMap.put(u.getUsername(), (IndividualUser) u);
-            } else if (u instanceof BusinessUser) {
-                businessMap.put(u.getUsername(), (BusinessUser) u);
+        while (rows.next()) {
+            if (rows.fieldCount() < 2) continue;
+            if (accountMap == null) {
+                accountMap = mapByIban(accounts);
+                userMap = mapByUsername(users);
             }
-        }
-        
-        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-            String line;
-            boolean firstLine = true;
             
-            while ((line = reader.readLine()) != null) {
-                if (firstLine) {
-                    firstLine = false;
-                    continue;
-                }
-                
-                String[] parts = parseCSVLine(line);
-                if (parts.length < 9) continue;
-                
-                String id = parts[0];
-                String providerName = parts[1];
-                BigDecimal amount = new BigDecimal(parts[2]);
-                LocalDate dueDate = LocalDate.parse(parts[3], DATE_FORMAT);
-                Bill.BillStatus status = Bill.BillStatus.valueOf(parts[4]);
-                LocalDateTime paidDate = !parts[5].isEmpty() ? LocalDateTime.parse(parts[5], DATETIME_FORMAT) : null;
-                String rfCode = parts[6];
-                IndividualUser owner = individualMap.get(parts[7]);
-                BusinessUser issuer = businessMap.get(parts[8]);
-                
-                if (owner == null || issuer == null) continue;
-                
-                Bill bill = new Bill(id, providerName, amount, dueDate, rfCode, owner, issuer);
-                bill.setStatus(status);
-                if (paidDate != null) {
-                    bill.setPaidDate(paidDate);
-                }
-                
-                bills.add(bill);
+            Account account = accountMap.get(rows.getString(0));
+            User coOwner = userMap.get(rows.getString(1));
+            
+            if (account instanceof PersonalAccount && coOwner instanceof IndividualUser) {
+                ((PersonalAccount) account).addSecondaryOwner((IndividualUser) coOwner);
             }
-        } catch (IOException e) {
-            System.err.println("Error loading bills: " + e.getMessage());
         }
+    }
+    
+    /**
+     * Build a transaction from a transactions.csv row, skipping malformed rows
+     * @return the transaction, or null for an incomplete or malformed row
+     */
+    static Transaction parseTransactionRow(CsvReader row, Map<String, Account> accountMap) {
+        if (row.fieldCount() < 9) return null;
+        try {
+            return parseTransaction(row, accountMap);
+        } catch (RuntimeException e) {
+            // Torn row at the end of the journal (crash during append)
+            Log.error(Log.Subsystem.PERSISTENCE, "Skipping malformed transaction row", "row", row.recordText());
+            return null;
+        }
+    }
+    
+    /**
+     * Build a transaction from a CSV row
+     */
+    private static Transaction parseTransaction(CsvReader row, Map<String, Account> accountMap) {
+        long id = row.getLong(0);
+        LocalDateTime dateTime = row.getDateTime(1);
+        BigDecimal amount = row.getDecimal(2);
+        Transaction.TransactionType type = row.getEnum(3, Transaction.TransactionType.class);
+        String description = row.getString(4);
+        BigDecimal balanceAfter = row.getDecimal(5);
+        Account fromAccount = !row.isEmpty(6) ? accountMap.get(row.getString(6)) : null;
+        Account toAccount = !row.isEmpty(7) ? accountMap.get(row.getString(7)) : null;
+        Transaction.TransactionStatus status = row.getEnum(8, Transaction.TransactionStatus.class);
         
-        return bills;
+        Transaction t = new Transaction(id, fromAccount, toAccount, amount, type, description);
+        t.setDateTime(dateTime);
+        t.setBalanceAfter(balanceAfter);
+        t.setStatus(status);
+        return t;
     }
     
     /**
-     * Load all standing orders from CSV
+     * Build a bill from a bills.csv row
+     * @return the bill, or null if the row is incomplete or its owner/issuer is unknown
      */
-    public static List<StandingOrder> loadStandingOrders(List<Account> accounts, List<User> users) {
-        List<StandingOrder> orders = new ArrayList<>();
-        File file = new File(STANDING_ORDERS_FILE);
-        if (!file.exists()) return orders;
+    static Bill parseBill(CsvReader row, Map<String, User> userMap) {
+        if (row.fieldCount() < 9) return null;
         
-        Map<String, Account> accountMap = new HashMap<>();
-        for (Account a : accounts) {
-            accountMap.put(a.getIban(), a);
-        }
+        String id = row.getString(0);
+        String providerName = row.getString(1);
+        BigDecimal amount = row.getDecimal(2);
+        LocalDate dueDate = row.getDate(3);
+        Bill.BillStatus status = row.getEnum(4, Bill.BillStatus.class);
+        LocalDateTime paidDate = !row.isEmpty(5) ? row.getDateTime(5) : null;
+        String rfCode = row.getString(6);
+        User owner = userMap.get(row.getString(7));
+        User issuer = userMap.get(row.getString(8));
         
-        Map<String, Customer> customerMap = new HashMap<>();
-        for (User u : users) {
-            if (u instanceof Customer) {
-                customerMap.put(u.getUsername(), (Customer) u);
-            }
-        }
+        if (!(owner instanceof IndividualUser) || !(issuer instanceof BusinessUser)) return null;
         
-        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-            String line;
-            boolean firstLine = true;
-            
-            while ((line = reader.readLine()) != null) {
-                if (firstLine) {
-                    firstLine = false;
-                    continue;
-                }
-                
-                String[] parts = parseCSVLine(line);
-                if (parts.length < 13) continue;
-                
-                String id = parts[0];
-                StandingOrder.OrderType type = StandingOrder.OrderType.valueOf(parts[1]);
-                BigDecimal amount = !parts[2].isEmpty() ? new BigDecimal(parts[2]) : null;
-                int frequencyMonths = !parts[3].isEmpty() ? Integer.parseInt(parts[3]) : 0;
-                int executionDay = !parts[4].isEmpty() ? Integer.parseInt(parts[4]) : 0;
-                LocalDate nextExecutionDate = !parts[5].isEmpty() ? LocalDate.parse(parts[5], DATE_FORMAT) : null;
-                StandingOrder.OrderStatus status = StandingOrder.OrderStatus.valueOf(parts[6]);
-                Account sourceAccount = !parts[7].isEmpty() ? accountMap.get(parts[7]) : null;
-                Account destAccount = !parts[8].isEmpty() ? accountMap.get(parts[8]) : null;
-                String rfCode = parts[9];
-                String providerName = parts[10];
-                String description = parts[11];
-                Customer owner = customerMap.get(parts[12]);
-                
-                if (sourceAccount == null || owner == null) continue;
-                
-                StandingOrder order;
-                if (type == StandingOrder.OrderType.TRANSFER) {
-                    order = new StandingOrder(id, sourceAccount, destAccount, amount, frequencyMonths, executionDay, description, owner);
-                } else {
-                    order = new StandingOrder(id, sourceAccount, rfCode, providerName, owner);
-                }
-                order.setStatus(status);
-                if (nextExecutionDate != null) {
-                    order.setNextExecutionDate(nextExecutionDate);
-                }
-                
-                orders.add(order);
-            }
-        } catch (IOException e) {
-            System.err.println("Error loading standing orders: " + e.getMessage());
+        Bill bill = new Bill(id, providerName, amount, dueDate, rfCode, (IndividualUser) owner, (BusinessUser) issuer);
+        bill.setStatus(status);
+        if (paidDate != null) {
+            bill.setPaidDate(paidDate);
         }
-        
-        return orders;
+        return bill;
     }
     
     /**
-     * Load system state from CSV
+     * Build a standing order from a standing_orders.csv row
+     * @return the order, or null if the row is incomplete or its account/owner is unknown
      */
-    public static LocalDate loadSystemDate() {
-        File file = new File(SYSTEM_FILE);
-        if (!file.exists()) return LocalDate.now();
+    static StandingOrder parseStandingOrder(CsvReader row, Map<String, Account> accountMap,
+                                            Map<String, User> userMap) {
+        if (row.fieldCount() < 13) return null;
         
-        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-            String line;
-            boolean firstLine = true;
-            
-            while ((line = reader.readLine()) != null) {
-                if (firstLine) {
-                    firstLine = false;
-                    continue;
-                }
-                
-                String[] parts = parseCSVLine(line);
-                if (parts.length >= 2 && parts[0].equals("currentDate")) {
-                    return LocalDate.parse(parts[1], DATE_FORMAT);
-                }
-            }
-        } catch (IOException e) {
-            System.err.println("Error loading system state: " + e.getMessage());
-        }
+        String id = row.getString(0);
+        StandingOrder.OrderType type = row.getEnum(1, StandingOrder.OrderType.class);
+        BigDecimal amount = !row.isEmpty(2) ? row.getDecimal(2) : null;
+        int frequencyMonths = !row.isEmpty(3) ? row.getInt(3) : 0;
+        int executionDay = !row.isEmpty(4) ? row.getInt(4) : 0;
+        LocalDate nextExecutionDate = !row.isEmpty(5) ? row.getDate(5) : null;
+        StandingOrder.OrderStatus status = row.getEnum(6, StandingOrder.OrderStatus.class);
+        Account sourceAccount = !row.isEmpty(7) ? accountMap.get(row.getString(7)) : null;
+        Account destAccount = !row.isEmpty(8) ? accountMap.get(row.getString(8)) : null;
+        String rfCode = row.getString(9);
+        String providerName = row.getString(10);
+        String description = row.getString(11);
+        User owner = userMap.get(row.getString(12));
+        
+        if (sourceAccount == null || !(owner instanceof Customer)) return null;
         
-        return LocalDate.now();
+        StandingOrder order;
+        if (type == StandingOrder.OrderType.TRANSFER) {
+            order = new StandingOrder(id, sourceAccount, destAccount, amount, frequencyMonths, executionDay, description, (Customer) owner);
+        } else {
+            order = new StandingOrder(id, sourceAccount, rfCode, providerName, (Customer) owner);
+        }
+        order.setStatus(status);
+        if (nextExecutionDate != null) {
+            order.setNextExecutionDate(nextExecutionDate);
+        }
+        return order;
     }
     
-    // ==================== UTILITY METHODS ====================
+    /**
+     * Load system state from CSV
+     */
+    public static LocalDate loadSystemDate() {
+        String value = loadSystemValue("currentDate");
+        return value != null ? LocalDate.parse(value, DATE_FORMAT) : LocalDate.now();
+    }
     
     /**
-     * Escape a value for CSV (handle commas, quotes, newlines)
+     * Load the money scale the data was written with
+     * @return the scale, or -1 for data written before fixed-scale money
      */
-    private static String escapeCSV(String value) {
-        if (value == null) return "";
-        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
-            return "\"" + value.replace("\"", "\"\"") + "\"";
-        }
-        return value;
+    public static int loadMoneyScale() {
+        String value = loadSystemValue("moneyScale");
+        return value != null ? Integer.parseInt(value) : -1;
     }
     
     /**
-     * Parse a CSV line handling quoted values
+     * Read a single key from the system state CSV
      */
-    private static String[] parseCSVLine(String line) {
-        List<String> result = new ArrayList<>();
-        StringBuilder current = new StringBuilder();
-        boolean inQuotes = false;
-        
-        for (int i = 0; i < line.length(); i++) {
-            char c = line.charAt(i);
+    private static String loadSystemValue(String key) {
+        try (CsvReader rows = openFile(SYSTEM_FILE, "system state")) {
+            rows.skipRecord(); // Skip header
             
-            if (inQuotes) {
-                if (c == '"') {
-                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
-                        current.append('"');
-                        i++; // Skip next quote
-                    } else {
-                        inQuotes = false;
-                    }
-                } else {
-                    current.append(c);
-                }
-            } else {
-                if (c == '"') {
-                    inQuotes = true;
-                } else if (c == ',') {
-                    result.add(current.toString());
-                    current = new StringBuilder();
-                } else {
-                    current.append(c);
+            while (rows.next()) {
+                if (rows.fieldCount() >= 2 && rows.equalsAscii(0, key)) {
+                    return rows.getString(1);
                 }
             }
+        } catch (UncheckedIOException e) {
+            Log.error(Log.Subsystem.PERSISTENCE, "Failed to load system state", "error", e.getCause().getMessage());
         }
-        result.add(current.toString());
-        
-        return result.toArray(new String[0]);
+        return null;
     }
     
-    /**
-     * Get password hash from user using reflection
-     */
-    private static String getPasswordHash(User user) {
-        try {
-            java.lang.reflect.Field field = User.class.getDeclaredField("passwordHash");
-            field.setAccessible(true);
-            return (String) field.get(user);
-        } catch (Exception e) {
-            return "";
-        }
-    }
+    // ==================== UTILITY METHODS ====================
     
     /**
-     * Set password hash directly using reflection
+     * Escape a value for CSV (handle commas, quotes, newlines)
      */
-    private static void setPasswordHashDirectly(User user, String hash) {
-        try {
-            java.lang.reflect.Field field = User.class.getDeclaredField("passwordHash");
-            field.setAccessible(true);
-            field.set(user, hash);
-        } catch (Exception e) {
-            System.err.println("Error setting password hash: " + e.getMessage());
+    private static String escapeCSV(String value) {
+        if (value == null) return "";
+        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
         }
+        return value;
     }
 }
@@ -0,0 +1,111 @@
+package com.bankoftuc.manager;
+
+import com.bankoftuc.model.Account;
+import com.bankoftuc.model.Transaction;
+import com.bankoftuc.util.Money;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Daily interest accrual over a span of simulated days, computed per account in one step.
+ * While an account's balance does not change, every day accrues the same rounded amount,
+ * so n days accrue n times that amount - exactly what day-by-day accrual produces.
+ * Each account is only brought up to date when its balance changes (a transaction touches
+ * it) or when interest is applied at month end, so a simulation costs
+ * O(accounts x month ends + events) instead of O(accounts x days).
+ * Any other change to an account (opening it, a new status, a balance change without a
+ * transaction) must be reported through accrueThrough on the day it happens.
+ * Thread-safe, so changes made by other sessions during a simulation can be reported.
+ */
+public class InterestEngine {
+    
+    private final Map<Account, AccrualState> states = new IdentityHashMap<>();
+    
+    /**
+     * Start tracking accounts; accrual begins with the given day
+     */
+    public InterestEngine(List<Account> accounts, LocalDate startDate) {
+        long startDay = startDate.toEpochDay();
+        for (Account account : accounts) {
+            states.put(account, new AccrualState(account, startDay));
+        }
+    }
+    
+    /**
+     * Accrue interest for an account up to and including the given day.
+     * The days not yet accrued are charged at the balance and status seen when the account
+     * was last brought up to date, i.e. the ones they actually had. An account not tracked
+     * yet was opened during the simulation, after that day's accrual; it starts the next day.
+     */
+    public synchronized void accrueThrough(Account account, LocalDate day) {
+        AccrualState state = states.get(account);
+        if (state == null) {
+            states.put(account, new AccrualState(account, day.toEpochDay() + 1));
+            return;
+        }
+        
+        long days = day.toEpochDay() + 1 - state.accruedUntil;
+        if (days > 0) {
+            if (state.active) {
+                BigDecimal perDay = Money.accrual(state.balance.multiply(state.dailyRate));
+                if (perDay.signum() != 0) {
+                    account.addAccruedInterest(perDay.multiply(BigDecimal.valueOf(days)));
+                }
+            }
+            state.accruedUntil += days;
+        }
+        state.refresh(account);
+    }
+    
+    /**
+     * Bring every account up to date (before month-end interest is applied)
+     */
+    public synchronized void accrueAllThrough(LocalDate day) {
+        for (Account account : states.keySet()) {
+            accrueThrough(account, day);
+        }
+    }
+    
+    /**
+     * Bring the accounts touched by the given transactions up to date.
+     * Called after a day's events, so that day still accrued at the old balance.
+     */
+    public synchronized void accrueChangedThrough(List<Transaction> transactions, LocalDate day) {
+        for (Transaction t : transactions) {
+            if (t.getFromAccount() != null) {
+                accrueThrough(t.getFromAccount(), day);
+            }
+            if (t.getToAccount() != null) {
+                accrueThrough(t.getToAccount(), day);
+            }
+        }
+    }
+    
+    /**
+     * Per-account accrual progress, with the balance, status and daily rate in effect since then
+     */
+    private static class AccrualState {
+        long accruedUntil;          // First epoch day not yet accrued
+        BigDecimal balance;
+        boolean active;
+        BigDecimal interestRate;
+        BigDecimal dailyRate;
+        
+        AccrualState(Account account, long startDay) {
+            this.accruedUntil = startDay;
+            refresh(account);
+        }
+        
+        void refresh(Account account) {
+            balance = account.getBalance();
+            active = account.getStatus() == Account.AccountStatus.ACTIVE;
+            if (account.getInterestRate() != interestRate) {
+                interestRate = account.getInterestRate();
+                dailyRate = Money.dailyRate(interestRate);
+            }
+        }
+    }
+}
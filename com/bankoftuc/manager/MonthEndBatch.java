@@ -0,0 +1,167 @@
+package com.bankoftuc.manager;
+
+import com.bankoftuc.model.Account;
+import com.bankoftuc.model.BusinessAccount;
+import com.bankoftuc.model.Transaction;
+import com.bankoftuc.model.Transaction.TransactionType;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Month-end batch job: monthly interest for every active account and the maintenance
+ * fee for business accounts. Accounts are split into ranges processed on a fork-join
+ * pool; each task applies the postings of its accounts and prepares the transactions.
+ * The transactions are then appended to the ledger in one bulk operation, interest
+ * first and fees second, each in account order - the order (and ids) of a serial run.
+ */
+public class MonthEndBatch {
+    
+    private static final int ACCOUNTS_PER_TASK = 256;
+    
+    private MonthEndBatch() {
+    }
+    
+    /**
+     * Run month-end processing on the common fork-join pool
+     */
+    public static Report run(List<Account> accounts, TransactionManager transactionManager, LocalDate date) {
+        return run(accounts, transactionManager, date, ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Run month-end processing on the given pool
+     */
+    public static Report run(List<Account> accounts, TransactionManager transactionManager,
+                             LocalDate date, ForkJoinPool pool) {
+        long start = System.nanoTime();
+        Account[] batch = accounts.toArray(new Account[0]);
+        Transaction[] interest = new Transaction[batch.length];
+        Transaction[] fees = new Transaction[batch.length];
+        
+        pool.invoke(new PostingTask(batch, interest, fees, 0, batch.length));
+        long computed = System.nanoTime();
+        
+        List<Transaction> postings = new ArrayList<>();
+        int interestCount = collect(interest, postings);
+        int feeCount = collect(fees, postings);
+        transactionManager.recordBatch(postings);
+        long appended = System.nanoTime();
+        
+        return new Report(date, batch.length, interestCount, feeCount,
+                          pool.getParallelism(), computed - start, appended - computed);
+    }
+    
+    private static int collect(Transaction[] slots, List<Transaction> into) {
+        int count = 0;
+        for (Transaction t : slots) {
+            if (t != null) {
+                into.add(t);
+                count++;
+            }
+        }
+        return count;
+    }
+    
+    /**
+     * Posts interest and fees for a range of accounts, splitting large ranges
+     */
+    private static class PostingTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        
+        private final Account[] accounts;
+        private final Transaction[] interest;
+        private final Transaction[] fees;
+        private final int from;
+        private final int to;
+        
+        PostingTask(Account[] accounts, Transaction[] interest, Transaction[] fees, int from, int to) {
+            this.accounts = accounts;
+            this.interest = interest;
+            this.fees = fees;
+            this.from = from;
+            this.to = to;
+        }
+        
+        @Override
+        protected void compute() {
+            if (to - from > ACCOUNTS_PER_TASK) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new PostingTask(accounts, interest, fees, from, mid),
+                          new PostingTask(accounts, interest, fees, mid, to));
+                return;
+            }
+            for (int i = from; i < to; i++) {
+                post(i);
+            }
+        }
+        
+        /**
+         * Apply one account's postings; ids are assigned later by the bulk append
+         */
+        private void post(int i) {
+            Account account = accounts[i];
+            if (account.getStatus() != Account.AccountStatus.ACTIVE) return;
+            
+            BigDecimal amount = account.applyMonthlyInterest();
+            if (amount.compareTo(BigDecimal.ZERO) > 0) {
+                Transaction t = new Transaction(0, null, account, amount,
+                                                TransactionType.INTEREST, "Monthly interest");
+                t.setBalanceAfter(account.getBalance());
+                interest[i] = t;
+            }
+            
+            if (account instanceof BusinessAccount) {
+                BigDecimal fee = ((BusinessAccount) account).applyMaintenanceFee();
+                if (fee.compareTo(BigDecimal.ZERO) > 0) {
+                    Transaction t = new Transaction(0, account, null, fee,
+                                                    TransactionType.MAINTENANCE_FEE, "Monthly maintenance fee");
+                    t.setBalanceAfter(account.getBalance());
+                    fees[i] = t;
+                }
+            }
+        }
+    }
+    
+    /**
+     * Counts and timings of one month-end run
+     */
+    public static class Report {
+        private final LocalDate date;
+        private final int accounts;
+        private final int interestPostings;
+        private final int feePostings;
+        private final int parallelism;
+        private final long computeNanos;
+        private final long appendNanos;
+        
+        Report(LocalDate date, int accounts, int interestPostings, int feePostings,
+               int parallelism, long computeNanos, long appendNanos) {
+            this.date = date;
+            this.accounts = accounts;
+            this.interestPostings = interestPostings;
+            this.feePostings = feePostings;
+            this.parallelism = parallelism;
+            this.computeNanos = computeNanos;
+            this.appendNanos = appendNanos;
+        }
+        
+        public LocalDate getDate() { return date; }
+        public int getAccounts() { return accounts; }
+        public int getInterestPostings() { return interestPostings; }
+        public int getFeePostings() { return feePostings; }
+        public long getComputeMillis() { return computeNanos / 1_000_000; }
+        public long getAppendMillis() { return appendNanos / 1_000_000; }
+        
+        @Override
+        public String toString() {
+            return String.format("Month-end %s: %d accounts, %d interest and %d fee postings "
+                + "(compute %.1f ms on %d threads, append %.1f ms)",
+                date, accounts, interestPostings, feePostings,
+                computeNanos / 1e6, parallelism, appendNanos / 1e6);
+        }
+    }
+}
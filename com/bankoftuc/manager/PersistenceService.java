@@ -0,0 +1,203 @@
+package com.bankoftuc.manager;
+
+import com.bankoftuc.util.Log;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+/**
+ * Write-behind persistence on a dedicated thread.
+ * Callers submit the state to save and return immediately; the writer thread coalesces
+ * submissions (only the latest state is written) and saves once the flush interval has
+ * passed since the first unsaved change, or earlier when enough changes have piled up.
+ * awaitDurable() blocks until everything submitted so far is on disk.
+ *
+ * Interval and threshold are set with -Dbankoftuc.persist.intervalMs (default 500)
+ * and -Dbankoftuc.persist.maxPending (default 64).
+ */
+public class PersistenceService<T> {
+    
+    private static final long INTERVAL_MS = Long.getLong("bankoftuc.persist.intervalMs", 500);
+    private static final int MAX_PENDING = Integer.getInteger("bankoftuc.persist.maxPending", 64);
+    
+    private final String name;
+    private final Predicate<T> writer;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final Condition written = lock.newCondition();
+    
+    private T pending;              // Latest unsaved state
+    private int pendingChanges;     // Submissions coalesced into it
+    private long firstPendingAt;    // When the oldest of them arrived
+    private long submittedSeq;      // Sequence number of the latest submission
+    private long attemptedSeq;      // Latest submission a write has finished for
+    private long durableSeq;        // Latest submission known to be on disk
+    private boolean flushRequested;
+    private boolean running;
+    private boolean stopped;
+    private Thread thread;
+    
+    /**
+     * @param name thread name
+     * @param writer saves a state, returning false if it could not be written (it is retried)
+     */
+    public PersistenceService(String name, Predicate<T> writer) {
+        this.name = name;
+        this.writer = writer;
+    }
+    
+    /**
+     * Queue a state for saving, replacing any state not yet written
+     */
+    public void submit(T state) {
+        lock.lock();
+        try {
+            start();
+            if (pending == null) {
+                firstPendingAt = System.nanoTime();
+            }
+            pending = state;
+            pendingChanges++;
+            submittedSeq++;
+            if (pendingChanges >= MAX_PENDING) {
+                flushRequested = true;
+            }
+            changed.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Write pending changes now and wait until everything submitted before this call is on disk
+     * @return true if it was written, false if the write failed or the service stopped
+     */
+    public boolean awaitDurable() {
+        lock.lock();
+        try {
+            long target = submittedSeq;
+            if (durableSeq >= target) return true;
+            if (Thread.currentThread() == thread) {
+                throw new IllegalStateException("awaitDurable called from the writer thread");
+            }
+            
+            flushRequested = true;
+            changed.signal();
+            while (attemptedSeq < target && !stopped) {
+                written.awaitUninterruptibly();
+            }
+            return durableSeq >= target;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Number of submissions waiting to be written
+     */
+    public int getPendingChanges() {
+        lock.lock();
+        try {
+            return pendingChanges;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Write pending changes and stop the writer thread
+     */
+    public void close() {
+        Thread stopping;
+        lock.lock();
+        try {
+            if (!running) return;
+            running = false;
+            changed.signal();
+            stopping = thread;
+        } finally {
+            lock.unlock();
+        }
+        if (stopping != Thread.currentThread()) {
+            try {
+                stopping.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+    
+    /**
+     * Start the writer thread on first use (caller holds the lock)
+     */
+    private void start() {
+        if (running) return;
+        running = true;
+        stopped = false;
+        thread = new Thread(this::run, name);
+        thread.setDaemon(true);
+        thread.start();
+    }
+    
+    private void run() {
+        while (true) {
+            T state;
+            long seq;
+            lock.lock();
+            try {
+                // Wait for a change, then until the interval passes or a flush is requested
+                while (running && (pending == null || (!flushRequested && remainingNanos() > 0))) {
+                    if (pending == null) {
+                        changed.awaitUninterruptibly();
+                    } else {
+                        try {
+                            changed.awaitNanos(remainingNanos());
+                        } catch (InterruptedException e) {
+                            // Keep the thread alive; close() stops it
+                        }
+                    }
+                }
+                if (pending == null) {
+                    stopped = true;
+                    written.signalAll();
+                    return; // Stopped with nothing left to write
+                }
+                state = pending;
+                seq = submittedSeq;
+                pending = null;
+                pendingChanges = 0;
+                flushRequested = false;
+            } finally {
+                lock.unlock();
+            }
+            
+            boolean ok;
+            try {
+                ok = writer.test(state);
+            } catch (RuntimeException e) {
+                Log.error(Log.Subsystem.PERSISTENCE, "Failed to save data", "error", e.getMessage());
+                ok = false;
+            }
+            
+            lock.lock();
+            try {
+                attemptedSeq = seq;
+                if (ok) {
+                    durableSeq = seq;
+                } else if (pending == null && running) {
+                    // Retry the failed state after the next interval
+                    pending = state;
+                    firstPendingAt = System.nanoTime();
+                }
+                written.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+    
+    private long remainingNanos() {
+        return TimeUnit.MILLISECONDS.toNanos(INTERVAL_MS) - (System.nanoTime() - firstPendingAt);
+    }
+}
@@ -0,0 +1,317 @@
+package com.bankoftuc.manager;
+
+import com.bankoftuc.util.CsvReader;
+import com.bankoftuc.util.LatencyHistogram;
+import com.bankoftuc.util.Log;
+import com.bankoftuc.util.Metrics;
+import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Crash-safe writer for the CSV data files.
+ * Files are staged as temp files through a large buffer and fsynced; commit() then
+ * records them in a versioned manifest (the atomic commit point) and renames each
+ * temp file over its live file. A live file is therefore never truncated in place:
+ * a crash before the manifest is written leaves the previous snapshot intact, and
+ * a crash after it is rolled forward by recover() on the next start.
+ *
+ * One instance is one snapshot and is used by one thread; commits are serialized,
+ * so snapshots can be written from a background thread while others are staged.
+ */
+public class SnapshotWriter {
+    
+    private static final LatencyHistogram COMMIT_TIME = Metrics.histogram("persistence.commit");
+    
+    static final String MANIFEST_FILE = "manifest.csv";
+    private static final String MANIFEST_HEADER = "file,version,bytes,crc32";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final Object COMMIT_LOCK = new Object();
+    
+    private final Path directory;
+    private final Map<String, StagedFile> staged = new LinkedHashMap<>();
+    
+    /**
+     * A temp file being written for one data file
+     */
+    private static class StagedFile {
+        final Path temp;
+        final FileChannel channel;
+        final CRC32 crc = new CRC32();
+        final DataOutputStream out;
+        PrintWriter writer; // Set for text files
+        
+        StagedFile(Path temp) throws IOException {
+            this.temp = temp;
+            this.channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            OutputStream buffered = new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE);
+            this.out = new DataOutputStream(new CheckedOutputStream(buffered, crc));
+        }
+        
+        void flush() throws IOException {
+            if (writer != null) {
+                writer.flush();
+                if (writer.checkError()) {
+                    throw new IOException("write failed");
+                }
+            }
+            out.flush();
+        }
+        
+        void close() {
+            try {
+                out.close();
+            } catch (IOException e) {
+                // Closing a discarded temp file
+            }
+        }
+    }
+    
+    /**
+     * A manifest row: the version, size and checksum a file was committed with
+     */
+    private static class Entry {
+        final long version;
+        final long bytes;
+        final long crc32;
+        
+        Entry(long version, long bytes, long crc32) {
+            this.version = version;
+            this.bytes = bytes;
+            this.crc32 = crc32;
+        }
+    }
+    
+    public SnapshotWriter(String directory) {
+        this.directory = Paths.get(directory);
+    }
+    
+    /**
+     * Start writing a text file of this snapshot
+     * @param path path of the file in the data directory (e.g. "data/users.csv")
+     * @return writer for the file contents; do not close it, commit() does
+     */
+    public PrintWriter stage(String path) throws IOException {
+        StagedFile file = stageFile(path);
+        file.writer = new PrintWriter(new OutputStreamWriter(file.out, StandardCharsets.UTF_8));
+        return file.writer;
+    }
+    
+    /**
+     * Start writing a binary file of this snapshot
+     * @return stream for the file contents; do not close it, commit() does
+     */
+    public DataOutputStream stageBinary(String path) throws IOException {
+        return stageFile(path).out;
+    }
+    
+    private StagedFile stageFile(String path) throws IOException {
+        String fileName = Paths.get(path).getFileName().toString();
+        if (staged.containsKey(fileName)) {
+            throw new IllegalStateException("File already staged: " + fileName);
+        }
+        Files.createDirectories(directory);
+        // Unique temp name, so snapshots staged on different threads never share a file
+        Path temp = Files.createTempFile(directory, fileName + ".", TEMP_SUFFIX);
+        StagedFile file = new StagedFile(temp);
+        staged.put(fileName, file);
+        return file;
+    }
+    
+    /**
+     * Check if the snapshot has any files
+     */
+    public boolean isEmpty() {
+        return staged.isEmpty();
+    }
+    
+    /**
+     * Make all staged files durable and replace the live files with them as one snapshot
+     * @return the committed snapshot version, or 0 if nothing was staged
+     */
+    public long commit() throws IOException {
+        if (staged.isEmpty()) return 0;
+        long start = System.nanoTime();
+        try {
+            return writeAndPublish();
+        } finally {
+            COMMIT_TIME.recordSince(start);
+        }
+    }
+    
+    private long writeAndPublish() throws IOException {
+        Map<String, Entry> written = new LinkedHashMap<>();
+        try {
+            for (Map.Entry<String, StagedFile> e : staged.entrySet()) {
+                StagedFile file = e.getValue();
+                try {
+                    file.flush();
+                } catch (IOException ex) {
+                    throw new IOException("Error writing " + e.getKey() + ": " + ex.getMessage(), ex);
+                }
+                file.channel.force(true);
+                written.put(e.getKey(), new Entry(0, file.channel.size(), file.crc.getValue()));
+                file.channel.close();
+            }
+        } catch (IOException e) {
+            abort();
+            throw e;
+        }
+        
+        synchronized (COMMIT_LOCK) {
+            Map<String, Entry> manifest = readManifest(directory);
+            long version = 1;
+            for (Entry entry : manifest.values()) {
+                version = Math.max(version, entry.version + 1);
+            }
+            for (Map.Entry<String, Entry> e : written.entrySet()) {
+                manifest.put(e.getKey(), new Entry(version, e.getValue().bytes, e.getValue().crc32));
+            }
+            
+            try {
+                writeManifest(directory, manifest); // Commit point
+            } catch (IOException e) {
+                abort();
+                throw e;
+            }
+            
+            try {
+                for (Map.Entry<String, StagedFile> e : staged.entrySet()) {
+                    Files.move(e.getValue().temp, directory.resolve(e.getKey()), StandardCopyOption.ATOMIC_MOVE);
+                }
+            } finally {
+                // Committed temp files are kept on failure; recover() moves them into place
+                staged.clear();
+            }
+            syncDirectory(directory);
+            return version;
+        }
+    }
+    
+    /**
+     * Discard all staged files
+     */
+    public void abort() {
+        for (StagedFile file : staged.values()) {
+            file.close();
+            try {
+                Files.deleteIfExists(file.temp);
+            } catch (IOException e) {
+                // Left for recover() to clean up
+            }
+        }
+        staged.clear();
+    }
+    
+    /**
+     * Finish or discard snapshots interrupted by a crash. Call before reading the data files.
+     * Temp files that match their manifest entry were committed and are moved into place;
+     * any other temp file belongs to an uncommitted snapshot and is deleted.
+     */
+    public static void recover(String directoryName) {
+        Path directory = Paths.get(directoryName);
+        if (!Files.isDirectory(directory)) return;
+        
+        synchronized (COMMIT_LOCK) {
+            Map<String, Entry> manifest = readManifest(directory);
+            try (DirectoryStream<Path> temps = Files.newDirectoryStream(directory, "*" + TEMP_SUFFIX)) {
+                for (Path temp : temps) {
+                    String name = temp.getFileName().toString();
+                    int dot = name.lastIndexOf('.', name.length() - TEMP_SUFFIX.length() - 1);
+                    String target = dot > 0 ? name.substring(0, dot) : "";
+                    Entry entry = manifest.get(target);
+                    
+                    if (entry != null && matches(temp, entry)) {
+                        Files.move(temp, directory.resolve(target), StandardCopyOption.ATOMIC_MOVE);
+                        Log.info(Log.Subsystem.PERSISTENCE, "Recovered file from snapshot", "file", target, "version", entry.version);
+                    } else {
+                        Files.delete(temp);
+                    }
+                }
+                syncDirectory(directory);
+            } catch (IOException e) {
+                Log.error(Log.Subsystem.PERSISTENCE, "Failed to recover snapshot", "error", e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * Version of the last committed snapshot (0 if none)
+     */
+    public static long currentVersion(String directoryName) {
+        long version = 0;
+        for (Entry entry : readManifest(Paths.get(directoryName)).values()) {
+            version = Math.max(version, entry.version);
+        }
+        return version;
+    }
+    
+    /**
+     * Check if a file has the size and checksum recorded in the manifest
+     */
+    private static boolean matches(Path file, Entry entry) throws IOException {
+        if (Files.size(file) != entry.bytes) return false;
+        CRC32 crc = new CRC32();
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE)) {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                crc.update(buffer, 0, read);
+            }
+        }
+        return crc.getValue() == entry.crc32;
+    }
+    
+    private static Map<String, Entry> readManifest(Path directory) {
+        Map<String, Entry> manifest = new LinkedHashMap<>();
+        try (CsvReader row = CsvReader.open(directory.resolve(MANIFEST_FILE).toString())) {
+            row.skipRecord(); // Skip header
+            while (row.next()) {
+                if (row.fieldCount() < 4) continue;
+                manifest.put(row.getString(0), new Entry(row.getLong(1), row.getLong(2), row.getLong(3)));
+            }
+        } catch (IOException | UncheckedIOException e) {
+            Log.error(Log.Subsystem.PERSISTENCE, "Failed to read snapshot manifest", "error", e.getMessage());
+        }
+        return manifest;
+    }
+    
+    /**
+     * Write the manifest through its own temp file and atomic rename
+     */
+    private static void writeManifest(Path directory, Map<String, Entry> manifest) throws IOException {
+        Path temp = directory.resolve(MANIFEST_FILE + TEMP_SUFFIX);
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            PrintWriter writer = new PrintWriter(new OutputStreamWriter(Channels.newOutputStream(channel), StandardCharsets.UTF_8));
+            writer.println(MANIFEST_HEADER);
+            for (Map.Entry<String, Entry> e : manifest.entrySet()) {
+                Entry entry = e.getValue();
+                writer.println(e.getKey() + "," + entry.version + "," + entry.bytes + "," + entry.crc32);
+            }
+            writer.flush();
+            if (writer.checkError()) {
+                throw new IOException("Error writing " + MANIFEST_FILE);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, directory.resolve(MANIFEST_FILE), StandardCopyOption.ATOMIC_MOVE);
+    }
+    
+    /**
+     * Flush directory entries (renames) to disk where the platform allows it
+     */
+    private static void syncDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Not supported on every platform (e.g. Windows); the renames are still atomic
+        }
+    }
+}
@@ -3,21 +3,39 @@ package com.bankoftuc.manager;
 import com.bankoftuc.model.*;
 import com.bankoftuc.model.StandingOrder.OrderStatus;
 import com.bankoftuc.model.StandingOrder.OrderType;
+import com.bankoftuc.util.LatencyHistogram;
+import com.bankoftuc.util.Log;
+import com.bankoftuc.util.Metrics;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 
 /**
  * Manages standing orders - creation, execution, and management.
+ * Due orders are found through a schedule queue keyed by next execution date, so a simulated
+ * day only touches the orders due that day. Queue entries are validated lazily when they come
+ * due: entries for paused, cancelled or rescheduled orders are dropped or re-queued then.
  */
 public class StandingOrderManager {
     
+    private static final LatencyHistogram EXECUTE_TIME = Metrics.histogram("standingOrders.executeDue");
+    private static final LongAdder EXECUTED = Metrics.counter("standingOrders.executed");
+    
     private List<StandingOrder> standingOrders;
     private AtomicInteger orderIdCounter;
     
+    private final PriorityQueue<ScheduleEntry> schedule = new PriorityQueue<>();
+    private final Map<StandingOrder, ScheduledOrder> scheduled = new IdentityHashMap<>();
+    private int indexedCount = 0; // Orders of the list already in the schedule
+    
     public StandingOrderManager() {
         this.standingOrders = new ArrayList<>();
         this.orderIdCounter = new AtomicInteger(1);
@@ -159,6 +177,7 @@ public class StandingOrderManager {
     public void resumeOrder(StandingOrder order) {
         if (order.getStatus() == OrderStatus.PAUSED) {
             order.setStatus(OrderStatus.ACTIVE);
+            reschedule(order);
         }
     }
     
@@ -171,6 +190,18 @@ public class StandingOrderManager {
         }
     }
     
+    /**
+     * Re-queue an order after its status or next execution date was changed directly.
+     * Pausing and cancelling need no call: stale entries are dropped when they come due.
+     */
+    public void reschedule(StandingOrder order) {
+        indexNewOrders();
+        ScheduledOrder slot = scheduled.get(order);
+        if (slot != null) {
+            schedule(slot);
+        }
+    }
+    
     /**
      * Execute due orders (called during time simulation)
      * @param currentDate The simulated current date
@@ -181,99 +212,218 @@ public class StandingOrderManager {
     public List<StandingOrder> executeDueOrders(LocalDate currentDate, 
                                                  TransactionManager transactionManager,
                                                  BillManager billManager) {
+        long start = System.nanoTime();
         List<StandingOrder> executedOrders = new ArrayList<>();
+        List<ScheduledOrder> due = pollDueOrders(currentDate);
         
-        // Execute transfer standing orders
-        for (StandingOrder order : getDueTransferOrders(currentDate)) {
-            try {
-                Account source = order.getSourceAccount();
-                Account dest = order.getDestinationAccount();
-                BigDecimal amount = order.getAmount();
-                
-                if (source.getBalance().compareTo(amount) >= 0) {
-                    transactionManager.transfer(source, dest, amount, 
-                        "Standing Order: " + order.getDescription());
-                    order.recordExecution();
-                    executedOrders.add(order);
-                    System.out.println("[OK] Executed transfer standing order " + order.getId() + 
-                                       " - " + amount + " EUR");
-                } else {
-                    System.out.println("[WARN] Insufficient funds for standing order " + order.getId());
-                }
-            } catch (Exception e) {
-                System.err.println("Failed to execute standing order " + order.getId() + ": " + e.getMessage());
+        // Transfers first, then bill payments, each in creation order
+        due.sort(Comparator.comparing((ScheduledOrder slot) -> slot.order.getType() != OrderType.TRANSFER)
+                           .thenComparingInt(slot -> slot.rank));
+        
+        for (ScheduledOrder slot : due) {
+            if (slot.order.getType() == OrderType.TRANSFER) {
+                executeTransferOrder(slot.order, transactionManager, executedOrders);
+            } else {
+                executeBillPaymentOrder(slot.order, currentDate, transactionManager, billManager, executedOrders);
             }
         }
         
-        // Execute bill payment standing orders
-        for (StandingOrder order : getDueBillPaymentOrders(currentDate)) {
-            try {
-                // First try to find bill by RF code
-                List<Bill> matchingBills = billManager.findUnpaidByRfCode(order.getRfCode());
-                
-                // If no bills found by RF code, try by provider name for the order owner
-                if (matchingBills.isEmpty()) {
-                    List<Bill> providerBills = billManager.findUnpaidByProvider(order.getProviderName());
-                    // Filter to only bills belonging to the order owner
-                    for (Bill bill : providerBills) {
-                        if (bill.getOwner().getId().equals(order.getOwner().getId())) {
-                            matchingBills.add(bill);
-                        }
+        // Executed orders move to their next date; unpaid ones stay due and are retried tomorrow
+        for (ScheduledOrder slot : due) {
+            schedule(slot);
+        }
+        
+        EXECUTED.add(executedOrders.size());
+        EXECUTE_TIME.recordSince(start);
+        return executedOrders;
+    }
+    
+    private void executeTransferOrder(StandingOrder order, TransactionManager transactionManager,
+                                      List<StandingOrder> executedOrders) {
+        try {
+            Account source = order.getSourceAccount();
+            Account dest = order.getDestinationAccount();
+            BigDecimal amount = order.getAmount();
+            
+            if (source.getBalance().compareTo(amount) >= 0) {
+                transactionManager.transfer(source, dest, amount, 
+                    "Standing Order: " + order.getDescription());
+                order.recordExecution();
+                executedOrders.add(order);
+                Log.info(Log.Subsystem.STANDING_ORDERS, "Executed transfer standing order",
+                         "order", order.getId(), "amount", amount);
+            } else {
+                Log.warn(Log.Subsystem.STANDING_ORDERS, "Insufficient funds for standing order",
+                         "order", order.getId(), "amount", amount);
+            }
+        } catch (Exception e) {
+            Log.error(Log.Subsystem.STANDING_ORDERS, "Failed to execute standing order",
+                      "order", order.getId(), "error", e.getMessage());
+        }
+    }
+    
+    private void executeBillPaymentOrder(StandingOrder order, LocalDate currentDate,
+                                         TransactionManager transactionManager, BillManager billManager,
+                                         List<StandingOrder> executedOrders) {
+        try {
+            // First try to find bill by RF code
+            List<Bill> matchingBills = billManager.findUnpaidByRfCode(order.getRfCode());
+            
+            // If no bills found by RF code, try by provider name for the order owner
+            if (matchingBills.isEmpty()) {
+                List<Bill> providerBills = billManager.findUnpaidByProvider(order.getProviderName());
+                // Filter to only bills belonging to the order owner
+                for (Bill bill : providerBills) {
+                    if (bill.getOwner().getId().equals(order.getOwner().getId())) {
+                        matchingBills.add(bill);
                     }
                 }
-                
-                if (matchingBills.isEmpty()) {
-                    // No unpaid bills found - use the standing order amount if set
-                    BigDecimal amount = order.getAmount();
-                    if (amount != null && amount.compareTo(BigDecimal.ZERO) > 0) {
-                        Account source = order.getSourceAccount();
-                        if (source.getBalance().compareTo(amount) >= 0) {
-                            // Create a bill payment transaction without an actual bill
-                            transactionManager.recordBillPayment(source, amount, 
-                                "Auto-pay " + order.getProviderName() + " (Standing Order)");
-                            order.recordExecution();
-                            executedOrders.add(order);
-                            System.out.println("[OK] Executed bill payment standing order " + order.getId() + 
-                                               " - " + amount + " EUR to " + order.getProviderName());
-                        } else {
-                            System.out.println("[WARN] Insufficient funds for bill payment order " + order.getId());
-                        }
+            }
+            
+            if (matchingBills.isEmpty()) {
+                // No unpaid bills found - use the standing order amount if set
+                BigDecimal amount = order.getAmount();
+                if (amount != null && amount.compareTo(BigDecimal.ZERO) > 0) {
+                    Account source = order.getSourceAccount();
+                    if (source.getBalance().compareTo(amount) >= 0) {
+                        // Create a bill payment transaction without an actual bill
+                        transactionManager.payBill(source, amount, 
+                            "Auto-pay " + order.getProviderName() + " (Standing Order)");
+                        order.recordExecution();
+                        executedOrders.add(order);
+                        Log.info(Log.Subsystem.STANDING_ORDERS, "Executed bill payment standing order",
+                                 "order", order.getId(), "amount", amount, "provider", order.getProviderName());
                     } else {
-                        System.out.println("[INFO] No unpaid bills found for standing order " + order.getId() + 
-                                           " (Provider: " + order.getProviderName() + ", RF: " + order.getRfCode() + ")");
+                        Log.warn(Log.Subsystem.STANDING_ORDERS, "Insufficient funds for bill payment order",
+                                 "order", order.getId(), "amount", amount);
                     }
                 } else {
-                    // Pay all matching unpaid bills
-                    for (Bill bill : matchingBills) {
-                        Account source = order.getSourceAccount();
-                        BigDecimal amount = bill.getAmount();
-                        
-                        if (source.getBalance().compareTo(amount) >= 0) {
-                            // Withdraw from source account
-                            source.withdraw(amount);
-                            
-                            // Mark bill as paid
-                            bill.markAsPaid(currentDate.atStartOfDay());
-                            
-                            // Record the transaction properly
-                            transactionManager.recordBillPayment(source, amount, 
+                    Log.info(Log.Subsystem.STANDING_ORDERS, "No unpaid bills found for standing order",
+                             "order", order.getId(), "provider", order.getProviderName(), "rf", order.getRfCode());
+                }
+            } else {
+                // Pay all matching unpaid bills
+                for (Bill bill : matchingBills) {
+                    Account source = order.getSourceAccount();
+                    BigDecimal amount = bill.getAmount();
+                    
+                    if (source.getBalance().compareTo(amount) >= 0) {
+                        synchronized (bill) {
+                            if (bill.getStatus() == Bill.BillStatus.PAID) {
+                                continue; // Paid from another session meanwhile
+                            }
+                            // Withdraw and record under the account lock, then mark the bill paid
+                            transactionManager.payBill(source, amount, 
                                 "Bill payment: " + bill.getProviderName() + " (RF: " + bill.getRfCode() + ")");
-                            
-                            order.recordExecution();
-                            executedOrders.add(order);
-                            System.out.println("[OK] Paid bill " + bill.getId() + " - " + amount + 
-                                               " EUR to " + bill.getProviderName());
-                        } else {
-                            System.out.println("[WARN] Insufficient funds to pay bill " + bill.getId());
+                            bill.markAsPaid(currentDate.atStartOfDay());
                         }
+                        
+                        order.recordExecution();
+                        executedOrders.add(order);
+                        Log.info(Log.Subsystem.STANDING_ORDERS, "Paid bill", "order", order.getId(),
+                                 "bill", bill.getId(), "amount", amount, "provider", bill.getProviderName());
+                    } else {
+                        Log.warn(Log.Subsystem.STANDING_ORDERS, "Insufficient funds to pay bill",
+                                 "order", order.getId(), "bill", bill.getId(), "amount", amount);
                     }
                 }
-            } catch (Exception e) {
-                System.err.println("Failed to execute bill payment order " + order.getId() + ": " + e.getMessage());
             }
+        } catch (Exception e) {
+            Log.error(Log.Subsystem.STANDING_ORDERS, "Failed to execute bill payment order",
+                      "order", order.getId(), "error", e.getMessage());
+        }
+    }
+    
+    // ==================== SCHEDULE ====================
+    
+    /**
+     * Remove and return the orders due on or before the given date
+     */
+    private List<ScheduledOrder> pollDueOrders(LocalDate currentDate) {
+        indexNewOrders();
+        List<ScheduledOrder> due = new ArrayList<>();
+        while (!schedule.isEmpty() && !schedule.peek().date.isAfter(currentDate)) {
+            ScheduleEntry entry = schedule.poll();
+            ScheduledOrder slot = entry.slot;
+            if (!entry.date.equals(slot.queuedDate)) {
+                continue; // Superseded by a later reschedule
+            }
+            slot.queuedDate = null;
+            if (slot.order.shouldExecute(currentDate)) {
+                due.add(slot);
+            } else {
+                schedule(slot); // Paused/cancelled orders are dropped, moved dates re-queued
+            }
+        }
+        return due;
+    }
+    
+    /**
+     * Queue an order under its next execution date if it is active and not already queued there
+     */
+    private void schedule(ScheduledOrder slot) {
+        StandingOrder order = slot.order;
+        if (order.getStatus() != OrderStatus.ACTIVE) {
+            slot.queuedDate = null;
+            return;
         }
+        if (order.getNextExecutionDate() == null && order.getType() == OrderType.TRANSFER) {
+            slot.queuedDate = null; // Never due without a date; reschedule() queues it once it has one
+            return;
+        }
+        // Bill payment orders without a date are checked every day
+        LocalDate date = order.getNextExecutionDate() != null ? order.getNextExecutionDate() : LocalDate.MIN;
+        if (date.equals(slot.queuedDate)) return;
+        slot.queuedDate = date;
+        schedule.add(new ScheduleEntry(date, slot));
+    }
+    
+    /**
+     * Add orders appended to the list since the last pass (including ones added directly)
+     */
+    private void indexNewOrders() {
+        if (standingOrders.size() < indexedCount) {
+            // List was cleared or shrunk - rebuild from scratch
+            schedule.clear();
+            scheduled.clear();
+            indexedCount = 0;
+        }
+        while (indexedCount < standingOrders.size()) {
+            StandingOrder order = standingOrders.get(indexedCount);
+            ScheduledOrder slot = new ScheduledOrder(order, indexedCount++);
+            scheduled.put(order, slot);
+            schedule(slot);
+        }
+    }
+    
+    /**
+     * Schedule state of one order
+     */
+    private static class ScheduledOrder {
+        final StandingOrder order;
+        final int rank;             // Position in the list, keeps execution order stable
+        LocalDate queuedDate;       // Date of its live queue entry, null if not queued
         
-        return executedOrders;
+        ScheduledOrder(StandingOrder order, int rank) {
+            this.order = order;
+            this.rank = rank;
+        }
+    }
+    
+    private static class ScheduleEntry implements Comparable<ScheduleEntry> {
+        final LocalDate date;
+        final ScheduledOrder slot;
+        
+        ScheduleEntry(LocalDate date, ScheduledOrder slot) {
+            this.date = date;
+            this.slot = slot;
+        }
+        
+        @Override
+        public int compareTo(ScheduleEntry other) {
+            int cmp = date.compareTo(other.date);
+            return cmp != 0 ? cmp : Integer.compare(slot.rank, other.slot.rank);
+        }
     }
     
     /**
@@ -0,0 +1,151 @@
+package com.bankoftuc.manager;
+
+import com.bankoftuc.model.*;
+import com.bankoftuc.util.CsvReader;
+import com.bankoftuc.util.Log;
+import java.nio.ByteBuffer;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Parallel startup pipeline for the CSV data files.
+ * 1. Read: every file is read into a heap buffer on its own thread.
+ * 2. Split: each file is cut into record-aligned byte ranges (one quote-aware byte scan).
+ * 3. Link: entities are parsed straight from the buffered bytes, one CsvReader per range
+ *    (fork-join), in dependency order (users, accounts, then transactions, bills and
+ *    standing orders side by side), resolving usernames and IBANs through read-only maps.
+ * Row parsing is shared with DataManager, so both paths build identical objects.
+ * A file too large for one buffer is streamed and parsed on a single thread instead.
+ */
+public class StartupLoader {
+    
+    private static final int CHUNKS_PER_FILE = Runtime.getRuntime().availableProcessors() * 4;
+    
+    private List<User> users;
+    private List<Account> accounts;
+    private List<Transaction> transactions;
+    private List<Bill> bills;
+    private List<StandingOrder> standingOrders;
+    
+    private long readMillis;
+    private long splitMillis;
+    private long linkMillis;
+    
+    /**
+     * Load all data files
+     */
+    public void load() {
+        long start = System.nanoTime();
+        
+        // Phase 1: read all files concurrently
+        CompletableFuture<ByteBuffer> userFile = read(DataManager.USERS_FILE, "users");
+        CompletableFuture<ByteBuffer> accountFile = read(DataManager.ACCOUNTS_FILE, "accounts");
+        CompletableFuture<ByteBuffer> coOwnerFile = read(DataManager.CO_OWNERS_FILE, "co-owners");
+        CompletableFuture<ByteBuffer> transactionFile = read(DataManager.TRANSACTIONS_FILE, "transactions");
+        CompletableFuture<ByteBuffer> billFile = read(DataManager.BILLS_FILE, "bills");
+        CompletableFuture<ByteBuffer> orderFile = read(DataManager.STANDING_ORDERS_FILE, "standing orders");
+        CompletableFuture.allOf(userFile, accountFile, coOwnerFile, transactionFile, billFile, orderFile).join();
+        long read = System.nanoTime();
+        
+        // Phase 2: split each file into record-aligned ranges
+        List<int[]> userRanges = split(userFile.join());
+        List<int[]> accountRanges = split(accountFile.join());
+        List<int[]> transactionRanges = split(transactionFile.join());
+        List<int[]> billRanges = split(billFile.join());
+        List<int[]> orderRanges = split(orderFile.join());
+        long split = System.nanoTime();
+        
+        // Phase 3: parse and link entities in dependency order
+        users = build(DataManager.USERS_FILE, "users", userFile.join(), userRanges, DataManager::parseUser);
+        Map<String, User> userMap = DataManager.mapByUsername(users);
+        
+        accounts = build(DataManager.ACCOUNTS_FILE, "accounts", accountFile.join(), accountRanges,
+            row -> DataManager.parseAccount(row, userMap));
+        try (CsvReader coOwnerRows = coOwnerFile.join() != null ? new CsvReader(coOwnerFile.join())
+                : DataManager.openFile(DataManager.CO_OWNERS_FILE, "co-owners")) {
+            coOwnerRows.skipRecord(); // Skip header
+            DataManager.linkCoOwners(coOwnerRows, accounts, users);
+        } catch (UncheckedIOException e) {
+            Log.error(Log.Subsystem.PERSISTENCE, "Failed to load co-owners", "error", e.getCause().getMessage());
+        }
+        Map<String, Account> accountMap = DataManager.mapByIban(accounts);
+        
+        CompletableFuture<List<Transaction>> transactionsFuture = CompletableFuture.supplyAsync(
+            () -> build(DataManager.TRANSACTIONS_FILE, "transactions", transactionFile.join(), transactionRanges,
+                row -> DataManager.parseTransactionRow(row, accountMap)));
+        CompletableFuture<List<Bill>> billsFuture = CompletableFuture.supplyAsync(
+            () -> build(DataManager.BILLS_FILE, "bills", billFile.join(), billRanges,
+                row -> DataManager.parseBill(row, userMap)));
+        standingOrders = build(DataManager.STANDING_ORDERS_FILE, "standing orders", orderFile.join(), orderRanges,
+            row -> DataManager.parseStandingOrder(row, accountMap, userMap));
+        transactions = transactionsFuture.join();
+        bills = billsFuture.join();
+        long linked = System.nanoTime();
+        
+        readMillis = (read - start) / 1_000_000;
+        splitMillis = (split - read) / 1_000_000;
+        linkMillis = (linked - split) / 1_000_000;
+    }
+    
+    private static CompletableFuture<ByteBuffer> read(String path, String label) {
+        return CompletableFuture.supplyAsync(() -> DataManager.readFile(path, label));
+    }
+    
+    private static List<int[]> split(ByteBuffer file) {
+        if (file == null) return new ArrayList<>(); // Streamed instead
+        return CsvReader.splitRecords(file, true, CHUNKS_PER_FILE);
+    }
+    
+    /**
+     * Build entities from byte ranges in parallel, keeping file order and dropping rejected rows
+     * @param file the file contents, or null to stream a file too large for one buffer
+     */
+    private static <T> List<T> build(String path, String label, ByteBuffer file, List<int[]> ranges,
+                                     Function<CsvReader, T> parser) {
+        if (file == null) {
+            return DataManager.loadRows(path, label, parser);
+        }
+        List<List<T>> chunks = ranges.parallelStream()
+            .map(range -> DataManager.parseRows(new CsvReader(file.duplicate(), range[0], range[1]), parser))
+            .collect(Collectors.toList());
+        
+        List<T> result = new ArrayList<>();
+        for (List<T> chunk : chunks) {
+            result.addAll(chunk);
+        }
+        return result;
+    }
+    
+    /**
+     * One-line timing summary of the last load
+     */
+    public String getTimingSummary() {
+        return String.format("read %d ms, split %d ms, parse/link %d ms (%d users, %d accounts, %d transactions)",
+            readMillis, splitMillis, linkMillis, users.size(), accounts.size(), transactions.size());
+    }
+    
+    /**
+     * Every saved transaction: the rows of transactions.csv while it waits to be imported,
+     * otherwise the contents of the transaction store (read in full)
+     */
+    public List<Transaction> loadAllTransactions() {
+        if (DataManager.transactionFileExists()) {
+            return transactions;
+        }
+        return DataManager.openTransactionStore(DataManager.mapByIban(accounts)::get).findAll();
+    }
+    
+    public List<User> getUsers() { return users; }
+    public List<Account> getAccounts() { return accounts; }
+    public List<Transaction> getTransactions() { return transactions; }
+    public List<Bill> getBills() { return bills; }
+    public List<StandingOrder> getStandingOrders() { return standingOrders; }
+    public long getReadMillis() { return readMillis; }
+    public long getSplitMillis() { return splitMillis; }
+    public long getLinkMillis() { return linkMillis; }
+}
@@ -0,0 +1,89 @@
+package com.bankoftuc.manager;
+
+import com.bankoftuc.model.*;
+import com.bankoftuc.util.Log;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Converts the data directory between the CSV files and the binary snapshot + ledger.
+ * CSV stays the import/export format; the binary files are used when the application
+ * runs with -Dbankoftuc.storage=binary. The source files are left in place.
+ */
+public class StorageConverter {
+    
+    private StorageConverter() {
+    }
+    
+    /**
+     * Write the CSV data as a binary snapshot and ledger
+     * @return true if the conversion succeeded
+     */
+    public static boolean csvToBinary() {
+        DataManager.recoverSnapshot();
+        if (!DataManager.dataExists()) {
+            Log.error(Log.Subsystem.PERSISTENCE, "No CSV data to convert");
+            return false;
+        }
+        
+        StartupLoader loader = new StartupLoader();
+        loader.load();
+        List<Transaction> transactions = loader.loadAllTransactions();
+        LocalDate currentDate = DataManager.loadSystemDate();
+        
+        SnapshotWriter snapshot = DataManager.newSnapshot();
+        try {
+            new BinaryLedger().rewrite(transactions);
+            BinarySnapshot.write(loader.getUsers(), loader.getAccounts(), loader.getBills(),
+                                 loader.getStandingOrders(), currentDate, snapshot);
+            snapshot.commit();
+        } catch (IOException e) {
+            snapshot.abort();
+            Log.error(Log.Subsystem.PERSISTENCE, "Failed to convert to binary", "error", e.getMessage());
+            return false;
+        }
+        
+        System.out.println("[OK] Converted " + loader.getUsers().size() + " users, "
+            + loader.getAccounts().size() + " accounts and " + transactions.size()
+            + " transactions to binary");
+        return true;
+    }
+    
+    /**
+     * Export the binary snapshot and ledger as CSV files
+     * @return true if the conversion succeeded
+     */
+    public static boolean binaryToCsv() {
+        DataManager.recoverSnapshot();
+        if (!BinarySnapshot.exists()) {
+            Log.error(Log.Subsystem.PERSISTENCE, "No binary data to convert");
+            return false;
+        }
+        
+        SnapshotWriter snapshot = DataManager.newSnapshot();
+        try {
+            BinarySnapshot data = BinarySnapshot.read();
+            List<Transaction> transactions = new BinaryLedger().load(DataManager.mapByIban(data.getAccounts()));
+            LocalDate currentDate = data.getCurrentDate() != null ? data.getCurrentDate() : LocalDate.now();
+            
+            DataManager.writeUsers(data.getUsers(), snapshot);
+            DataManager.writeAccounts(data.getAccounts(), snapshot);
+            DataManager.writeCoOwners(data.getAccounts(), snapshot);
+            DataManager.writeTransactions(transactions, snapshot);
+            DataManager.writeBills(data.getBills(), snapshot);
+            DataManager.writeStandingOrders(data.getStandingOrders(), snapshot);
+            DataManager.writeSystemState(currentDate, snapshot);
+            snapshot.commit();
+            
+            System.out.println("[OK] Exported " + data.getUsers().size() + " users, "
+                + data.getAccounts().size() + " accounts and " + transactions.size()
+                + " transactions to CSV");
+            return true;
+        } catch (IOException e) {
+            snapshot.abort();
+            Log.error(Log.Subsystem.PERSISTENCE, "Failed to convert to CSV", "error", e.getMessage());
+            return false;
+        }
+    }
+}
@@ -1,70 +1,206 @@
 package com.bankoftuc.manager;
 
+import com.bankoftuc.dao.TransactionDAO;
 import com.bankoftuc.model.*;
 import com.bankoftuc.model.Transaction.TransactionType;
+import com.bankoftuc.util.LatencyHistogram;
+import com.bankoftuc.util.Log;
+import com.bankoftuc.util.Metrics;
+import com.bankoftuc.util.Money;
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Manages all transactions including deposits, withdrawals, and transfers.
+ * Safe for concurrent sessions: balance changes run under per-account locks
+ * (taken in IBAN order) and ledger appends are serialized on the ledger list.
+ * With a transaction store, only this session's transactions are kept in memory
+ * and history queries read the earlier ones from the store.
  */
 public class TransactionManager {
     
     private List<Transaction> transactions;
+    private final TransactionDAO history; // Transactions from before this session, or null if all are in memory
+    private final long firstSessionId;    // Lower ids are read from history
     private AtomicLong transactionIdCounter;
+    private int journaledCount; // Transactions already written to the journal
+    private boolean compactionRequired;
+    private Map<String, List<Transaction>> accountIndex; // IBAN -> transactions in ledger order
+    private int indexedCount; // Transactions already in accountIndex
+    private final Map<String, ReentrantLock> accountLocks = new ConcurrentHashMap<>();
     
     // Fee configurations
     private static final BigDecimal SEPA_FEE = new BigDecimal("1.50");
     private static final BigDecimal SWIFT_FEE = new BigDecimal("25.00");
     private static final BigDecimal BILL_PAYMENT_FEE = new BigDecimal("0.50");
     
+    // Latency of each operation (its count is the number of calls) and failed calls
+    private static final LatencyHistogram DEPOSIT_TIME = Metrics.histogram("transactions.deposit");
+    private static final LatencyHistogram WITHDRAW_TIME = Metrics.histogram("transactions.withdraw");
+    private static final LatencyHistogram TRANSFER_TIME = Metrics.histogram("transactions.transfer");
+    private static final LatencyHistogram BILL_PAYMENT_TIME = Metrics.histogram("transactions.payBill");
+    private static final LatencyHistogram EXTERNAL_DEBIT_TIME = Metrics.histogram("transactions.externalDebit");
+    private static final LongAdder FAILED = Metrics.counter("transactions.failed");
+    
     public TransactionManager() {
-        this.transactions = new ArrayList<>();
-        this.transactionIdCounter = new AtomicLong(1);
+        this(new ArrayList<>());
     }
     
     public TransactionManager(List<Transaction> transactions) {
         this.transactions = transactions;
+        this.history = null;
+        this.firstSessionId = 1;
         this.transactionIdCounter = new AtomicLong(transactions.size() + 1);
+        this.journaledCount = transactions.size(); // Loaded from the journal
+        this.accountIndex = new HashMap<>();
+        indexNewTransactions();
+    }
+    
+    /**
+     * Ledger over a transaction store that holds every saved transaction
+     * @param transactions empty list that collects this session's transactions
+     */
+    public TransactionManager(List<Transaction> transactions, TransactionDAO history) {
+        this.transactions = transactions;
+        this.history = history;
+        this.firstSessionId = history.findLastId() + 1;
+        this.transactionIdCounter = new AtomicLong(firstSessionId);
+        this.journaledCount = 0;
+        this.accountIndex = new HashMap<>();
+    }
+    
+    /**
+     * Append transactions to the ledger and the account index as one unit.
+     * Ids are assigned under the ledger lock, so ledger order is always id order.
+     */
+    private void addTransaction(Transaction... newTransactions) {
+        synchronized (transactions) {
+            for (Transaction transaction : newTransactions) {
+                transaction.setId(transactionIdCounter.getAndIncrement());
+                transactions.add(transaction);
+            }
+            indexNewTransactions();
+        }
+    }
+    
+    /**
+     * Lock accounts in IBAN order so concurrent transfers cannot deadlock
+     * @return the locks taken, to be passed to unlockAccounts
+     */
+    private List<ReentrantLock> lockAccounts(Account... accounts) {
+        TreeMap<String, ReentrantLock> ordered = new TreeMap<>();
+        for (Account account : accounts) {
+            ordered.computeIfAbsent(account.getIban(),
+                iban -> accountLocks.computeIfAbsent(iban, k -> new ReentrantLock()));
+        }
+        List<ReentrantLock> locks = new ArrayList<>(ordered.values());
+        for (ReentrantLock lock : locks) {
+            lock.lock();
+        }
+        return locks;
+    }
+    
+    /**
+     * Release locks taken by lockAccounts
+     */
+    private void unlockAccounts(List<ReentrantLock> locks) {
+        for (int i = locks.size() - 1; i >= 0; i--) {
+            locks.get(i).unlock();
+        }
+    }
+    
+    /**
+     * Index transactions appended since the last call.
+     * Also picks up transactions added directly to the shared list.
+     * Callers must hold the ledger lock.
+     */
+    private void indexNewTransactions() {
+        if (indexedCount > transactions.size()) {
+            // List was replaced or truncated - start over
+            accountIndex.clear();
+            indexedCount = 0;
+        }
+        while (indexedCount < transactions.size()) {
+            Transaction t = transactions.get(indexedCount++);
+            String fromIban = t.getFromAccount() != null ? t.getFromAccount().getIban() : null;
+            String toIban = t.getToAccount() != null ? t.getToAccount().getIban() : null;
+            if (fromIban != null) {
+                accountIndex.computeIfAbsent(fromIban, k -> new ArrayList<>()).add(t);
+            }
+            if (toIban != null && !toIban.equals(fromIban)) {
+                accountIndex.computeIfAbsent(toIban, k -> new ArrayList<>()).add(t);
+            }
+        }
     }
     
     /**
      * Deposit money into an account
      */
     public Transaction deposit(Account account, BigDecimal amount, String description) {
-        account.deposit(amount);
-        
-        Transaction transaction = new Transaction(
-            transactionIdCounter.getAndIncrement(),
-            null, account,
-            amount,
-            TransactionType.DEPOSIT,
-            description != null ? description : "Cash deposit"
-        );
-        transaction.setBalanceAfter(account.getBalance());
-        transactions.add(transaction);
-        return transaction;
+        long start = System.nanoTime();
+        amount = Money.of(amount);
+        List<ReentrantLock> locks = lockAccounts(account);
+        try {
+            account.deposit(amount);
+            
+            Transaction transaction = new Transaction(
+                0, // Assigned by addTransaction
+                null, account,
+                amount,
+                TransactionType.DEPOSIT,
+                description != null ? description : "Cash deposit"
+            );
+            transaction.setBalanceAfter(account.getBalance());
+            addTransaction(transaction);
+            return transaction;
+        } catch (RuntimeException e) {
+            FAILED.increment();
+            throw e;
+        } finally {
+            unlockAccounts(locks);
+            DEPOSIT_TIME.recordSince(start);
+        }
     }
     
     /**
      * Withdraw money from an account
      */
     public Transaction withdraw(Account account, BigDecimal amount, String description) {
-        account.withdraw(amount);
-        
-        Transaction transaction = new Transaction(
-            transactionIdCounter.getAndIncrement(),
-            account, null,
-            amount,
-            TransactionType.WITHDRAWAL,
-            description != null ? description : "Cash withdrawal"
-        );
-        transaction.setBalanceAfter(account.getBalance());
-        transactions.add(transaction);
-        return transaction;
+        long start = System.nanoTime();
+        amount = Money.of(amount);
+        List<ReentrantLock> locks = lockAccounts(account);
+        try {
+            account.withdraw(amount);
+            
+            Transaction transaction = new Transaction(
+                0, // Assigned by addTransaction
+                account, null,
+                amount,
+                TransactionType.WITHDRAWAL,
+                description != null ? description : "Cash withdrawal"
+            );
+            transaction.setBalanceAfter(account.getBalance());
+            addTransaction(transaction);
+            return transaction;
+        } catch (RuntimeException e) {
+            FAILED.increment();
+            throw e;
+        } finally {
+            unlockAccounts(locks);
+            WITHDRAW_TIME.recordSince(start);
+        }
     }
     
     /**
@@ -72,55 +208,71 @@ public class TransactionManager {
      */
     public Transaction transfer(Account fromAccount, Account toAccount, 
                                 BigDecimal amount, String description) {
-        // Validate
-        if (fromAccount.getBalance().compareTo(amount) < 0) {
-            throw new IllegalStateException("Insufficient funds");
+        long start = System.nanoTime();
+        amount = Money.of(amount);
+        List<ReentrantLock> locks = lockAccounts(fromAccount, toAccount);
+        try {
+            // Validate
+            if (fromAccount.getBalance().compareTo(amount) < 0) {
+                throw new IllegalStateException("Insufficient funds");
+            }
+            
+            // Perform transfer
+            fromAccount.withdraw(amount);
+            try {
+                toAccount.deposit(amount);
+            } catch (RuntimeException e) {
+                fromAccount.deposit(amount); // Destination rejected the money - refund
+                throw e;
+            }
+            
+            // Create outgoing transaction
+            Transaction outgoing = new Transaction(
+                0, // Assigned by addTransaction
+                fromAccount, toAccount,
+                amount,
+                TransactionType.TRANSFER_OUT,
+                description != null ? description : "Transfer to " + toAccount.getIban()
+            );
+            outgoing.setBalanceAfter(fromAccount.getBalance());
+            
+            // Create incoming transaction
+            Transaction incoming = new Transaction(
+                0, // Assigned by addTransaction
+                fromAccount, toAccount,
+                amount,
+                TransactionType.TRANSFER_IN,
+                description != null ? description : "Transfer from " + fromAccount.getIban()
+            );
+            incoming.setBalanceAfter(toAccount.getBalance());
+            addTransaction(outgoing, incoming);
+            
+            return outgoing;
+        } catch (RuntimeException e) {
+            FAILED.increment();
+            throw e;
+        } finally {
+            unlockAccounts(locks);
+            TRANSFER_TIME.recordSince(start);
         }
-        
-        // Perform transfer
-        fromAccount.withdraw(amount);
-        toAccount.deposit(amount);
-        
-        // Create outgoing transaction
-        Transaction outgoing = new Transaction(
-            transactionIdCounter.getAndIncrement(),
-            fromAccount, toAccount,
-            amount,
-            TransactionType.TRANSFER_OUT,
-            description != null ? description : "Transfer to " + toAccount.getIban()
-        );
-        outgoing.setBalanceAfter(fromAccount.getBalance());
-        transactions.add(outgoing);
-        
-        // Create incoming transaction
-        Transaction incoming = new Transaction(
-            transactionIdCounter.getAndIncrement(),
-            fromAccount, toAccount,
-            amount,
-            TransactionType.TRANSFER_IN,
-            description != null ? description : "Transfer from " + fromAccount.getIban()
-        );
-        incoming.setBalanceAfter(toAccount.getBalance());
-        transactions.add(incoming);
-        
-        return outgoing;
     }
     /**
      * Record a bill payment transaction
      * This is used for standing order bill payments and manual bill payments
      */
     public Transaction recordBillPayment(Account fromAccount, BigDecimal amount, String description) {
+        amount = Money.of(amount);
         // Note: The actual withdrawal should already be done before calling this
         // This method just records the transaction
         Transaction transaction = new Transaction(
-            transactionIdCounter.getAndIncrement(),
+            0, // Assigned by addTransaction
             fromAccount, null,
             amount,
             TransactionType.BILL_PAYMENT,
             description != null ? description : "Bill payment"
         );
         transaction.setBalanceAfter(fromAccount.getBalance());
-        transactions.add(transaction);
+        addTransaction(transaction);
         return transaction;
     }
     
@@ -128,24 +280,68 @@ public class TransactionManager {
      * Pay a bill - withdraws from account and records transaction
      */
     public Transaction payBill(Account fromAccount, BigDecimal amount, String description) {
-        if (fromAccount.getBalance().compareTo(amount) < 0) {
-            throw new IllegalStateException("Insufficient funds");
+        return payBill(fromAccount, null, amount, BigDecimal.ZERO, description);
+    }
+    
+    /**
+     * Pay a bill: debit the amount plus fee and credit the amount to the issuer's account
+     * (if any), under both account locks. Like a transfer, the payment is recorded on the
+     * payer's side and as an incoming transaction on the issuer's side.
+     */
+    public Transaction payBill(Account fromAccount, Account issuerAccount, BigDecimal amount,
+                               BigDecimal fee, String description) {
+        long start = System.nanoTime();
+        amount = Money.of(amount);
+        BigDecimal totalAmount = amount.add(Money.of(fee));
+        List<ReentrantLock> locks = issuerAccount != null
+            ? lockAccounts(fromAccount, issuerAccount) : lockAccounts(fromAccount);
+        try {
+            if (fromAccount.getBalance().compareTo(totalAmount) < 0) {
+                throw new IllegalStateException("Insufficient funds");
+            }
+            
+            fromAccount.withdraw(totalAmount);
+            if (issuerAccount != null) {
+                try {
+                    issuerAccount.deposit(amount);
+                } catch (RuntimeException e) {
+                    fromAccount.deposit(totalAmount); // Issuer rejected the money - refund
+                    throw e;
+                }
+            }
+            
+            Transaction payment = new Transaction(
+                0, // Assigned by addTransaction
+                fromAccount, issuerAccount,
+                amount,
+                TransactionType.BILL_PAYMENT,
+                description != null ? description : "Bill payment"
+            );
+            payment.setBalanceAfter(fromAccount.getBalance());
+            if (issuerAccount == null) {
+                addTransaction(payment);
+                return payment;
+            }
+            
+            Transaction received = new Transaction(
+                0, // Assigned by addTransaction
+                fromAccount, issuerAccount,
+                amount,
+                TransactionType.TRANSFER_IN,
+                "Bill payment from " + fromAccount.getIban()
+            );
+            received.setBalanceAfter(issuerAccount.getBalance());
+            addTransaction(payment, received);
+            return payment;
+        } catch (RuntimeException e) {
+            FAILED.increment();
+            throw e;
+        } finally {
+            unlockAccounts(locks);
+            BILL_PAYMENT_TIME.recordSince(start);
         }
-        
-        fromAccount.withdraw(amount);
-        
-        Transaction transaction = new Transaction(
-            transactionIdCounter.getAndIncrement(),
-            fromAccount, null,
-            amount,
-            TransactionType.BILL_PAYMENT,
-            description != null ? description : "Bill payment"
-        );
-        transaction.setBalanceAfter(fromAccount.getBalance());
-        transactions.add(transaction);
-        return transaction;
     }
-
+    
     
     /**
      * Execute a SEPA transfer using the Bank Transfer API
@@ -153,40 +349,23 @@ public class TransactionManager {
      */
     public Transaction sepaTransfer(Account fromAccount, String toIban, 
                                      BigDecimal amount, String description) {
-        BigDecimal totalAmount = amount.add(SEPA_FEE);
-        
-        if (fromAccount.getBalance().compareTo(totalAmount) < 0) {
-            throw new IllegalStateException("Insufficient funds (including SEPA fee of " + SEPA_FEE + "€)");
-        }
+        return await(sepaTransferAsync(fromAccount, toIban, amount, description));
+    }
+    
+    /**
+     * Execute a SEPA transfer without blocking on the API round-trip
+     * @return future completing with the recorded transaction, or failing with IllegalStateException
+     */
+    public CompletableFuture<Transaction> sepaTransferAsync(Account fromAccount, String toIban,
+                                                            BigDecimal amount, String description) {
+        BigDecimal scaled = Money.of(amount);
         
         // Call the external SEPA API
-        System.out.println("[INFO] Connecting to SEPA transfer API...");
-        BankTransferAPI.TransferResult result = BankTransferAPI.executeSepaTransfer(
-            amount.doubleValue(),
-            toIban
-        );
-        
-        if (!result.isSuccess()) {
-            // API returned failure - do not withdraw money
-            throw new IllegalStateException("SEPA transfer failed: " + result.getMessage());
-        }
-        
-        // API success - withdraw money and record transaction
-        System.out.println("[OK] SEPA transfer approved. Transaction ID: " + result.getTransactionId());
-        fromAccount.withdraw(totalAmount);
-        
-        Transaction transaction = new Transaction(
-            transactionIdCounter.getAndIncrement(),
-            fromAccount, null,
-            amount,
-            TransactionType.SEPA_TRANSFER,
-            String.format("SEPA transfer to %s - %s (Fee: %.2f€) [API TxID: %s]", 
-                toIban, description != null ? description : "", SEPA_FEE, result.getTransactionId())
-        );
-        transaction.setBalanceAfter(fromAccount.getBalance());
-        transactions.add(transaction);
-        
-        return transaction;
+        Log.info(Log.Subsystem.TRANSACTIONS, "Connecting to SEPA transfer API", "amount", scaled, "to", toIban);
+        return externalTransfer(fromAccount, scaled, SEPA_FEE, "SEPA", TransactionType.SEPA_TRANSFER,
+            () -> BankTransferAPI.executeSepaTransferAsync(scaled.doubleValue(), toIban),
+            result -> String.format("SEPA transfer to %s - %s (Fee: %.2f€) [API TxID: %s]", 
+                toIban, description != null ? description : "", SEPA_FEE, result.getTransactionId()));
     }
     
     /**
@@ -196,43 +375,32 @@ public class TransactionManager {
                                          BigDecimal amount, String description,
                                          String creditorName, String creditorBankBic,
                                          String creditorBankName, String charges) {
-        BigDecimal totalAmount = amount.add(SEPA_FEE);
-        
-        if (fromAccount.getBalance().compareTo(totalAmount) < 0) {
-            throw new IllegalStateException("Insufficient funds (including SEPA fee of " + SEPA_FEE + "€)");
-        }
+        return await(sepaTransferFullAsync(fromAccount, toIban, amount, description,
+                                           creditorName, creditorBankBic, creditorBankName, charges));
+    }
+    
+    /**
+     * Execute a SEPA transfer with full details without blocking on the API round-trip
+     */
+    public CompletableFuture<Transaction> sepaTransferFullAsync(Account fromAccount, String toIban,
+                                                                BigDecimal amount, String description,
+                                                                String creditorName, String creditorBankBic,
+                                                                String creditorBankName, String charges) {
+        BigDecimal scaled = Money.of(amount);
         
         // Call the external SEPA API with full details
-        System.out.println("[INFO] Connecting to SEPA transfer API...");
-        BankTransferAPI.TransferResult result = BankTransferAPI.executeSepaTransfer(
-            amount.doubleValue(),
-            creditorName,
-            toIban,
-            creditorBankBic,
-            creditorBankName,
-            java.time.LocalDate.now(),
-            charges
-        );
-        
-        if (!result.isSuccess()) {
-            throw new IllegalStateException("SEPA transfer failed: " + result.getMessage());
-        }
-        
-        System.out.println("[OK] SEPA transfer approved. Transaction ID: " + result.getTransactionId());
-        fromAccount.withdraw(totalAmount);
-        
-        Transaction transaction = new Transaction(
-            transactionIdCounter.getAndIncrement(),
-            fromAccount, null,
-            amount,
-            TransactionType.SEPA_TRANSFER,
-            String.format("SEPA transfer to %s (%s) - %s (Fee: %.2f€) [API TxID: %s]", 
-                creditorName, toIban, description != null ? description : "", SEPA_FEE, result.getTransactionId())
-        );
-        transaction.setBalanceAfter(fromAccount.getBalance());
-        transactions.add(transaction);
-        
-        return transaction;
+        Log.info(Log.Subsystem.TRANSACTIONS, "Connecting to SEPA transfer API", "amount", scaled, "to", toIban);
+        return externalTransfer(fromAccount, scaled, SEPA_FEE, "SEPA", TransactionType.SEPA_TRANSFER,
+            () -> BankTransferAPI.executeSepaTransferAsync(
+                scaled.doubleValue(),
+                creditorName,
+                toIban,
+                creditorBankBic,
+                creditorBankName,
+                java.time.LocalDate.now(),
+                charges),
+            result -> String.format("SEPA transfer to %s (%s) - %s (Fee: %.2f€) [API TxID: %s]", 
+                creditorName, toIban, description != null ? description : "", SEPA_FEE, result.getTransactionId()));
     }
     
     /**
@@ -241,41 +409,26 @@ public class TransactionManager {
      */
     public Transaction swiftTransfer(Account fromAccount, String toAccount, 
                                       BigDecimal amount, String description) {
-        BigDecimal totalAmount = amount.add(SWIFT_FEE);
-        
-        if (fromAccount.getBalance().compareTo(totalAmount) < 0) {
-            throw new IllegalStateException("Insufficient funds (including SWIFT fee of " + SWIFT_FEE + "€)");
-        }
+        return await(swiftTransferAsync(fromAccount, toAccount, amount, description));
+    }
+    
+    /**
+     * Execute a SWIFT transfer without blocking on the API round-trip
+     * @return future completing with the recorded transaction, or failing with IllegalStateException
+     */
+    public CompletableFuture<Transaction> swiftTransferAsync(Account fromAccount, String toAccount,
+                                                             BigDecimal amount, String description) {
+        BigDecimal scaled = Money.of(amount);
         
         // Call the external SWIFT API
-        System.out.println("[INFO] Connecting to SWIFT transfer API...");
-        BankTransferAPI.TransferResult result = BankTransferAPI.executeSwiftTransfer(
-            amount.doubleValue(),
-            toAccount,
-            "UNKNOWN" // Default SWIFT code when not provided
-        );
-        
-        if (!result.isSuccess()) {
-            // API returned failure - do not withdraw money
-            throw new IllegalStateException("SWIFT transfer failed: " + result.getMessage());
-        }
-        
-        // API success - withdraw money and record transaction
-        System.out.println("[OK] SWIFT transfer approved. Transaction ID: " + result.getTransactionId());
-        fromAccount.withdraw(totalAmount);
-        
-        Transaction transaction = new Transaction(
-            transactionIdCounter.getAndIncrement(),
-            fromAccount, null,
-            amount,
-            TransactionType.SWIFT_TRANSFER,
-            String.format("SWIFT transfer to %s - %s (Fee: %.2f€) [API TxID: %s]", 
-                toAccount, description != null ? description : "", SWIFT_FEE, result.getTransactionId())
-        );
-        transaction.setBalanceAfter(fromAccount.getBalance());
-        transactions.add(transaction);
-        
-        return transaction;
+        Log.info(Log.Subsystem.TRANSACTIONS, "Connecting to SWIFT transfer API", "amount", scaled, "to", toAccount);
+        return externalTransfer(fromAccount, scaled, SWIFT_FEE, "SWIFT", TransactionType.SWIFT_TRANSFER,
+            () -> BankTransferAPI.executeSwiftTransferAsync(
+                scaled.doubleValue(),
+                toAccount,
+                "UNKNOWN"), // Default SWIFT code when not provided
+            result -> String.format("SWIFT transfer to %s - %s (Fee: %.2f€) [API TxID: %s]", 
+                toAccount, description != null ? description : "", SWIFT_FEE, result.getTransactionId()));
     }
     
     /**
@@ -287,45 +440,136 @@ public class TransactionManager {
                                           String beneficiaryAddress, String bankName,
                                           String swiftCode, String bankCountry,
                                           String chargingModel) {
-        BigDecimal totalAmount = amount.add(SWIFT_FEE);
-        
-        if (fromAccount.getBalance().compareTo(totalAmount) < 0) {
-            throw new IllegalStateException("Insufficient funds (including SWIFT fee of " + SWIFT_FEE + "€)");
-        }
+        return await(swiftTransferFullAsync(fromAccount, beneficiaryAccount, amount, description,
+                                            currency, beneficiaryName, beneficiaryAddress, bankName,
+                                            swiftCode, bankCountry, chargingModel));
+    }
+    
+    /**
+     * Execute a SWIFT transfer with full details without blocking on the API round-trip
+     */
+    public CompletableFuture<Transaction> swiftTransferFullAsync(Account fromAccount, String beneficiaryAccount,
+                                                                 BigDecimal amount, String description,
+                                                                 String currency, String beneficiaryName,
+                                                                 String beneficiaryAddress, String bankName,
+                                                                 String swiftCode, String bankCountry,
+                                                                 String chargingModel) {
+        BigDecimal scaled = Money.of(amount);
         
         // Call the external SWIFT API with full details
-        System.out.println("[INFO] Connecting to SWIFT transfer API...");
-        BankTransferAPI.TransferResult result = BankTransferAPI.executeSwiftTransfer(
-            currency,
-            amount.doubleValue(),
-            beneficiaryName,
-            beneficiaryAddress,
-            beneficiaryAccount,
-            bankName,
-            swiftCode,
-            bankCountry,
-            chargingModel
-        );
-        
-        if (!result.isSuccess()) {
-            throw new IllegalStateException("SWIFT transfer failed: " + result.getMessage());
+        Log.info(Log.Subsystem.TRANSACTIONS, "Connecting to SWIFT transfer API", "amount", scaled,
+                 "currency", currency, "to", beneficiaryAccount);
+        return externalTransfer(fromAccount, scaled, SWIFT_FEE, "SWIFT", TransactionType.SWIFT_TRANSFER,
+            () -> BankTransferAPI.executeSwiftTransferAsync(
+                currency,
+                scaled.doubleValue(),
+                beneficiaryName,
+                beneficiaryAddress,
+                beneficiaryAccount,
+                bankName,
+                swiftCode,
+                bankCountry,
+                chargingModel),
+            result -> String.format("SWIFT transfer to %s (%s) - %s (Fee: %.2f€) [API TxID: %s]", 
+                beneficiaryName, beneficiaryAccount, description != null ? description : "", SWIFT_FEE, result.getTransactionId()));
+    }
+    
+    /**
+     * Run an external transfer: debit the amount plus fee under the account lock,
+     * call the API, then record the approved transfer or refund a rejected one.
+     * The money is held before the request is sent, so a concurrent debit can never
+     * leave an approved transfer without the funds to cover it.
+     */
+    private CompletableFuture<Transaction> externalTransfer(Account fromAccount, BigDecimal amount, BigDecimal fee,
+                                                            String network, TransactionType type,
+                                                            Supplier<CompletableFuture<BankTransferAPI.TransferResult>> request,
+                                                            Function<BankTransferAPI.TransferResult, String> description) {
+        BigDecimal totalAmount = amount.add(fee);
+        List<ReentrantLock> locks = lockAccounts(fromAccount);
+        try {
+            if (fromAccount.getBalance().compareTo(totalAmount) < 0) {
+                return CompletableFuture.failedFuture(new IllegalStateException(
+                    "Insufficient funds (including " + network + " fee of " + fee + "€)"));
+            }
+            fromAccount.withdraw(totalAmount);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        } finally {
+            unlockAccounts(locks);
         }
         
-        System.out.println("[OK] SWIFT transfer approved. Transaction ID: " + result.getTransactionId());
-        fromAccount.withdraw(totalAmount);
-        
-        Transaction transaction = new Transaction(
-            transactionIdCounter.getAndIncrement(),
-            fromAccount, null,
-            amount,
-            TransactionType.SWIFT_TRANSFER,
-            String.format("SWIFT transfer to %s (%s) - %s (Fee: %.2f€) [API TxID: %s]", 
-                beneficiaryName, beneficiaryAccount, description != null ? description : "", SWIFT_FEE, result.getTransactionId())
-        );
-        transaction.setBalanceAfter(fromAccount.getBalance());
-        transactions.add(transaction);
+        CompletableFuture<BankTransferAPI.TransferResult> response;
+        try {
+            response = request.get();
+        } catch (RuntimeException e) {
+            refundExternalTransfer(fromAccount, totalAmount);
+            return CompletableFuture.failedFuture(e);
+        }
         
-        return transaction;
+        return response.handle((result, error) -> {
+            if (error != null || !result.isSuccess()) {
+                refundExternalTransfer(fromAccount, totalAmount);
+                if (error != null) {
+                    throw error instanceof CompletionException ? (CompletionException) error : new CompletionException(error);
+                }
+                throw new IllegalStateException(network + " transfer failed: " + result.getMessage());
+            }
+            Log.info(Log.Subsystem.TRANSACTIONS, "External transfer approved", "network", network,
+                     "apiTxId", result.getTransactionId());
+            return recordExternalTransfer(fromAccount, amount, type, description.apply(result));
+        });
+    }
+    
+    /**
+     * Record an approved external transfer whose money was already debited
+     */
+    private Transaction recordExternalTransfer(Account fromAccount, BigDecimal amount,
+                                               TransactionType type, String description) {
+        long start = System.nanoTime();
+        List<ReentrantLock> locks = lockAccounts(fromAccount);
+        try {
+            Transaction transaction = new Transaction(
+                0, // Assigned by addTransaction
+                fromAccount, null,
+                amount,
+                type,
+                description
+            );
+            transaction.setBalanceAfter(fromAccount.getBalance());
+            addTransaction(transaction);
+            return transaction;
+        } finally {
+            unlockAccounts(locks);
+            EXTERNAL_DEBIT_TIME.recordSince(start);
+        }
+    }
+    
+    /**
+     * Return the money held for an external transfer the API rejected or never completed.
+     * Credited even if the account was frozen meanwhile, since it never left the bank.
+     */
+    private void refundExternalTransfer(Account fromAccount, BigDecimal totalAmount) {
+        FAILED.increment();
+        List<ReentrantLock> locks = lockAccounts(fromAccount);
+        try {
+            fromAccount.credit(totalAmount);
+        } finally {
+            unlockAccounts(locks);
+        }
+    }
+    
+    /**
+     * Wait for an async transfer, rethrowing its failure as thrown by the synchronous API
+     */
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
     }
     
     /**
@@ -333,14 +577,14 @@ public class TransactionManager {
      */
     public Transaction recordInterest(Account account, BigDecimal amount, String description) {
         Transaction transaction = new Transaction(
-            transactionIdCounter.getAndIncrement(),
+            0, // Assigned by addTransaction
             null, account,
             amount,
             TransactionType.INTEREST,
             description != null ? description : "Monthly interest"
         );
         transaction.setBalanceAfter(account.getBalance());
-        transactions.add(transaction);
+        addTransaction(transaction);
         return transaction;
     }
     
@@ -349,41 +593,106 @@ public class TransactionManager {
      */
     public Transaction recordMaintenanceFee(Account account, BigDecimal amount) {
         Transaction transaction = new Transaction(
-            transactionIdCounter.getAndIncrement(),
+            0, // Assigned by addTransaction
             account, null,
             amount,
             TransactionType.MAINTENANCE_FEE,
             "Monthly maintenance fee"
         );
         transaction.setBalanceAfter(account.getBalance());
-        transactions.add(transaction);
+        addTransaction(transaction);
         return transaction;
     }
     
+    /**
+     * Append prepared transactions as one bulk operation.
+     * Ids are assigned here, contiguously and in list order, so a batch computed
+     * in parallel gets the same ids as the equivalent serial run.
+     */
+    public void recordBatch(List<Transaction> batch) {
+        if (batch.isEmpty()) return;
+        synchronized (transactions) {
+            long id = transactionIdCounter.getAndAdd(batch.size());
+            for (Transaction transaction : batch) {
+                transaction.setId(id++);
+            }
+            transactions.addAll(batch);
+            indexNewTransactions();
+        }
+    }
+    
     /**
      * Get all transactions for an account
      */
     public List<Transaction> getTransactionsForAccount(Account account) {
-        return transactions.stream()
-            .filter(t -> (t.getFromAccount() != null && t.getFromAccount().getIban().equals(account.getIban())) ||
-                        (t.getToAccount() != null && t.getToAccount().getIban().equals(account.getIban())))
-            .collect(Collectors.toList());
+        List<Transaction> result = history != null ? stored(history.findByAccount(account)) : new ArrayList<>();
+        synchronized (transactions) {
+            indexNewTransactions();
+            List<Transaction> session = accountIndex.get(account.getIban());
+            if (session != null) {
+                result.addAll(session);
+            }
+        }
+        return result;
     }
     
     /**
      * Get recent transactions for an account
      */
     public List<Transaction> getRecentTransactions(Account account, int limit) {
-        List<Transaction> accountTransactions = getTransactionsForAccount(account);
-        int startIndex = Math.max(0, accountTransactions.size() - limit);
-        return accountTransactions.subList(startIndex, accountTransactions.size());
+        List<Transaction> recent;
+        synchronized (transactions) {
+            indexNewTransactions();
+            List<Transaction> session = accountIndex.get(account.getIban());
+            if (session == null) session = new ArrayList<>();
+            int startIndex = Math.max(0, session.size() - limit);
+            recent = new ArrayList<>(session.subList(startIndex, session.size()));
+        }
+        if (history != null && recent.size() < limit) {
+            // The last limit stored rows hold at most recent.size() from this session, so enough older ones remain
+            List<Transaction> older = stored(history.findRecentByAccount(account, limit));
+            int needed = limit - recent.size();
+            recent.addAll(0, older.subList(Math.max(0, older.size() - needed), older.size()));
+        }
+        return recent;
     }
     
     /**
-     * Get all transactions
+     * Get all transactions. With a transaction store this reads the whole history from disk.
      */
     public List<Transaction> getAllTransactions() {
-        return new ArrayList<>(transactions);
+        List<Transaction> all = history != null ? stored(history.findAll()) : new ArrayList<>();
+        synchronized (transactions) {
+            all.addAll(transactions);
+        }
+        return all;
+    }
+    
+    /**
+     * Keep the transactions from before this session (the store also has the ones saved since)
+     */
+    private List<Transaction> stored(List<Transaction> fromHistory) {
+        fromHistory.removeIf(t -> t.getId() >= firstSessionId);
+        return fromHistory;
+    }
+    
+    /**
+     * Get the number of transactions in memory (this session's with a transaction store).
+     * Used as a position for getTransactionsSince.
+     */
+    public int getTransactionCount() {
+        synchronized (transactions) {
+            return transactions.size();
+        }
+    }
+    
+    /**
+     * Get transactions appended after the given ledger position
+     */
+    public List<Transaction> getTransactionsSince(int index) {
+        synchronized (transactions) {
+            return new ArrayList<>(transactions.subList(Math.min(index, transactions.size()), transactions.size()));
+        }
     }
     
     /**
@@ -393,6 +702,51 @@ public class TransactionManager {
         return transactions;
     }
     
+    /**
+     * Get transactions created since the last journal write
+     */
+    public List<Transaction> getUnjournaledTransactions() {
+        synchronized (transactions) {
+            return new ArrayList<>(transactions.subList(journaledCount, transactions.size()));
+        }
+    }
+    
+    /**
+     * Mark transactions as written to the journal
+     * @param count Number of transactions (from the oldest unjournaled) now on disk
+     */
+    public void markJournaled(int count) {
+        synchronized (transactions) {
+            journaledCount = Math.min(journaledCount + count, transactions.size());
+        }
+    }
+    
+    /**
+     * Mark the ledger as written after a full rewrite (compaction)
+     * @param count Number of transactions (from the start of the ledger) in the rewritten file
+     */
+    public void markCompacted(int count) {
+        synchronized (transactions) {
+            journaledCount = Math.min(count, transactions.size());
+            compactionRequired = false;
+        }
+    }
+    
+    /**
+     * Request a full rewrite of the journal on the next save
+     */
+    public void requireCompaction() {
+        compactionRequired = true;
+    }
+    
+    /**
+     * Check if the next save must rewrite the journal instead of appending.
+     * True when requested or when nothing has been written yet in this session.
+     */
+    public boolean needsCompaction() {
+        return compactionRequired || journaledCount == 0;
+    }
+    
     /**
      * Get fee for SEPA transfer
      */
@@ -0,0 +1,165 @@
+package com.bankoftuc.manager;
+
+import com.bankoftuc.model.User;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Username and ID lookup tables over a users list.
+ * Shared by UserManager, AuthManager and UserDAOCsv so every lookup is O(1).
+ * Once indexed, the list must only be changed through add(), replace(), remove() and
+ * rename(); they update the list and the tables together under the list's lock.
+ * Lookups read the concurrent tables without taking the lock.
+ * When users share a username or ID, the first one in the list wins.
+ */
+public class UserIndex {
+    
+    private final List<User> users;
+    private final Map<String, User> byUsername = new ConcurrentHashMap<>();
+    private final Map<String, User> byId = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Integer> typeCounts = new ConcurrentHashMap<>(); // Read by the metrics thread
+    
+    public UserIndex(List<User> users) {
+        this.users = users;
+        rebuild();
+    }
+    
+    /**
+     * Add a user to the list and the index
+     */
+    public void add(User user) {
+        synchronized (users) {
+            users.add(user);
+            index(user);
+        }
+    }
+    
+    /**
+     * Replace the user that has the same ID with another instance
+     * @return false if no user has that ID
+     */
+    public boolean replace(User user) {
+        synchronized (users) {
+            for (int i = 0; i < users.size(); i++) {
+                User old = users.get(i);
+                if (old.getId().equals(user.getId())) {
+                    users.set(i, user);
+                    unindex(old);
+                    index(user);
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+    
+    /**
+     * Remove the users with an ID from the list and the index
+     */
+    public void remove(String id) {
+        synchronized (users) {
+            List<User> removed = new ArrayList<>();
+            users.removeIf(u -> u.getId().equals(id) && removed.add(u));
+            for (User user : removed) {
+                unindex(user);
+            }
+        }
+    }
+    
+    /**
+     * Change a user's username, moving its lookup entry to the new name
+     */
+    public void rename(User user, String username) {
+        synchronized (users) {
+            String previous = user.getUsername();
+            user.setUsername(username);
+            if (byUsername.remove(previous, user)) {
+                promoteUsername(previous); // A later user with the old name becomes the match
+            }
+            promoteUsername(username); // Still the first user with the new name in list order
+        }
+    }
+    
+    /**
+     * Find user by username
+     */
+    public User findByUsername(String username) {
+        if (username == null) return null;
+        return byUsername.get(username);
+    }
+    
+    /**
+     * Find user by ID
+     */
+    public User findById(String id) {
+        if (id == null) return null;
+        return byId.get(id);
+    }
+    
+    /**
+     * Number of indexed users of a type, kept up to date by the list changes above.
+     * Does not scan the list, so it is cheap enough for periodic statistics.
+     */
+    public int countByType(Class<? extends User> type) {
+        return typeCounts.getOrDefault(type, 0);
+    }
+    
+    /**
+     * Rebuild the index from the users list
+     */
+    public void rebuild() {
+        synchronized (users) {
+            byUsername.clear();
+            byId.clear();
+            typeCounts.clear();
+            for (User user : users) {
+                index(user);
+            }
+        }
+    }
+    
+    private void index(User user) {
+        byUsername.putIfAbsent(user.getUsername(), user);
+        byId.putIfAbsent(user.getId(), user);
+        typeCounts.merge(user.getClass(), 1, Integer::sum);
+    }
+    
+    /**
+     * Drop a user that has left the list, letting the next user with its keys take over
+     */
+    private void unindex(User user) {
+        typeCounts.merge(user.getClass(), -1, Integer::sum);
+        if (byId.remove(user.getId(), user)) {
+            for (User other : users) {
+                if (other.getId().equals(user.getId())) {
+                    byId.put(other.getId(), other);
+                    break;
+                }
+            }
+        }
+        if (byUsername.remove(user.getUsername(), user)) {
+            promoteUsername(user.getUsername());
+        }
+    }
+    
+    /**
+     * Point a username at the first user in the list that has it
+     */
+    private void promoteUsername(String username) {
+        for (User other : users) {
+            if (username.equals(other.getUsername())) {
+                byUsername.put(username, other);
+                return;
+            }
+        }
+    }
+    
+    /**
+     * Get the users list reference
+     */
+    public List<User> getUsers() {
+        return users;
+    }
+}
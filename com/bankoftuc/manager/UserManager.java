@@ -11,15 +11,22 @@ import java.util.concurrent.atomic.AtomicInteger;
 public class UserManager {
     
     private List<User> users;
+    private UserIndex userIndex;
     private AtomicInteger userIdCounter;
     
     public UserManager() {
         this.users = new ArrayList<>();
+        this.userIndex = new UserIndex(users);
         this.userIdCounter = new AtomicInteger(1);
     }
     
     public UserManager(List<User> users) {
-        this.users = users;
+        this(new UserIndex(users));
+    }
+    
+    public UserManager(UserIndex userIndex) {
+        this.users = userIndex.getUsers();
+        this.userIndex = userIndex;
         // Find the highest ID to continue from there
         int maxId = users.stream()
             .mapToInt(u -> {
@@ -47,7 +54,7 @@ public class UserManager {
         String id = "IND" + String.format("%06d", userIdCounter.getAndIncrement());
         IndividualUser user = new IndividualUser(id, username, password, fullName, 
                                                   address, phoneNumber, vatNumber);
-        users.add(user);
+        userIndex.add(user);
         return user;
     }
     
@@ -64,7 +71,7 @@ public class UserManager {
         String id = "BUS" + String.format("%06d", userIdCounter.getAndIncrement());
         BusinessUser user = new BusinessUser(id, username, password, businessName, 
                                               phoneNumber, vatNumber);
-        users.add(user);
+        userIndex.add(user);
         return user;
     }
     
@@ -79,7 +86,7 @@ public class UserManager {
         
         String id = "ADM" + String.format("%06d", userIdCounter.getAndIncrement());
         AdminUser user = new AdminUser(id, username, password, phoneNumber, adminLevel);
-        users.add(user);
+        userIndex.add(user);
         return user;
     }
     
@@ -87,20 +94,14 @@ public class UserManager {
      * Find user by username
      */
     public User findByUsername(String username) {
-        return users.stream()
-            .filter(u -> u.getUsername().equals(username))
-            .findFirst()
-            .orElse(null);
+        return userIndex.findByUsername(username);
     }
     
     /**
      * Find user by ID
      */
     public User findById(String id) {
-        return users.stream()
-            .filter(u -> u.getId().equals(id))
-            .findFirst()
-            .orElse(null);
+        return userIndex.findById(id);
     }
     
     /**
@@ -125,6 +126,13 @@ public class UserManager {
         return new ArrayList<>(users);
     }
     
+    /**
+     * Count users of a type without copying the list
+     */
+    public int countUsers(Class<? extends User> type) {
+        return userIndex.countByType(type);
+    }
+    
     /**
      * Get all individual users
      */
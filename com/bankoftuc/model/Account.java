@@ -1,13 +1,15 @@
 package com.bankoftuc.model;
 
+import com.bankoftuc.util.Money;
 import java.io.Serializable;
 import java.math.BigDecimal;
 
 /**
  * Abstract base class for bank accounts.
  * Supports both Personal and Business accounts.
+ * Balances are kept at the fixed money scale (see Money).
  */
-public abstract class Account implements Serializable {
+public abstract class Account implements Serializable, Trackable {
     private static final long serialVersionUID = 1L;
     
     public enum AccountStatus {
@@ -15,23 +17,25 @@ public abstract class Account implements Serializable {
     }
     
     protected String iban;
-    protected BigDecimal balance;
+    protected volatile BigDecimal balance;
     protected AccountStatus status;
     protected BigDecimal interestRate;
     protected BigDecimal accruedInterest;
+    protected transient boolean dirty = true; // New accounts are unsaved
     
     public Account(String iban, BigDecimal balance) {
         this.iban = iban;
-        this.balance = balance;
+        this.balance = Money.of(balance);
         this.status = AccountStatus.ACTIVE;
         this.interestRate = new BigDecimal("0.01"); // 1% default interest rate
-        this.accruedInterest = BigDecimal.ZERO;
+        this.accruedInterest = Money.ZERO_ACCRUAL;
     }
     
     /**
      * Deposit money into the account
      */
-    public void deposit(BigDecimal amount) {
+    public synchronized void deposit(BigDecimal amount) {
+        amount = Money.of(amount);
         if (amount.compareTo(BigDecimal.ZERO) <= 0) {
             throw new IllegalArgumentException("Deposit amount must be positive");
         }
@@ -39,12 +43,14 @@ public abstract class Account implements Serializable {
             throw new IllegalStateException("Account is not active");
         }
         balance = balance.add(amount);
+        dirty = true;
     }
     
     /**
      * Withdraw money from the account
      */
-    public void withdraw(BigDecimal amount) {
+    public synchronized void withdraw(BigDecimal amount) {
+        amount = Money.of(amount);
         if (amount.compareTo(BigDecimal.ZERO) <= 0) {
             throw new IllegalArgumentException("Withdrawal amount must be positive");
         }
@@ -55,24 +61,49 @@ public abstract class Account implements Serializable {
             throw new IllegalStateException("Insufficient funds");
         }
         balance = balance.subtract(amount);
+        dirty = true;
     }
     
     /**
-     * Calculate daily interest
+     * Return money to the account regardless of its status (e.g. a refunded debit).
+     * Atomic with deposit and withdraw, unlike a getBalance/setBalance pair.
      */
-    public void accrueInterest() {
-        BigDecimal dailyRate = interestRate.divide(new BigDecimal("365"), 10, java.math.RoundingMode.HALF_UP);
-        BigDecimal interest = balance.multiply(dailyRate);
+    public synchronized void credit(BigDecimal amount) {
+        amount = Money.of(amount);
+        if (amount.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("Credit amount must be positive");
+        }
+        balance = balance.add(amount);
+        dirty = true;
+    }
+    
+    /**
+     * Calculate daily interest (rounded to the accrual scale)
+     */
+    public synchronized void accrueInterest() {
+        BigDecimal dailyRate = Money.dailyRate(interestRate);
+        BigDecimal interest = Money.accrual(balance.multiply(dailyRate));
         accruedInterest = accruedInterest.add(interest);
+        dirty = true;
+    }
+    
+    /**
+     * Add interest accrued elsewhere (e.g. for several days at once)
+     */
+    public synchronized void addAccruedInterest(BigDecimal interest) {
+        accruedInterest = accruedInterest.add(Money.accrual(interest));
+        dirty = true;
     }
     
     /**
-     * Apply monthly interest to balance
+     * Apply monthly interest to balance.
+     * Whole cents are credited; the sub-cent remainder carries over to next month.
      */
-    public BigDecimal applyMonthlyInterest() {
-        BigDecimal interestToApply = accruedInterest;
-        balance = balance.add(accruedInterest);
-        accruedInterest = BigDecimal.ZERO;
+    public synchronized BigDecimal applyMonthlyInterest() {
+        BigDecimal interestToApply = Money.of(accruedInterest);
+        balance = balance.add(interestToApply);
+        accruedInterest = accruedInterest.subtract(interestToApply);
+        dirty = true;
         return interestToApply;
     }
     
@@ -90,15 +121,28 @@ public abstract class Account implements Serializable {
     public String getIban() { return iban; }
     
     public BigDecimal getBalance() { return balance; }
-    public void setBalance(BigDecimal balance) { this.balance = balance; }
+    public synchronized void setBalance(BigDecimal balance) { this.balance = Money.of(balance); dirty = true; }
     
     public AccountStatus getStatus() { return status; }
-    public void setStatus(AccountStatus status) { this.status = status; }
+    public void setStatus(AccountStatus status) { this.status = status; dirty = true; }
     
     public BigDecimal getInterestRate() { return interestRate; }
-    public void setInterestRate(BigDecimal interestRate) { this.interestRate = interestRate; }
+    public void setInterestRate(BigDecimal interestRate) { this.interestRate = interestRate; dirty = true; }
     
     public BigDecimal getAccruedInterest() { return accruedInterest; }
+    public void setAccruedInterest(BigDecimal accruedInterest) { 
+        this.accruedInterest = Money.accrual(accruedInterest); 
+        dirty = true;
+    }
+
+    @Override
+    public boolean isDirty() { return dirty; }
+    
+    @Override
+    public void markDirty() { dirty = true; }
+    
+    @Override
+    public void markClean() { dirty = false; }
     
     @Override
     public String toString() {
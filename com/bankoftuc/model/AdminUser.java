@@ -14,13 +14,23 @@ public class AdminUser extends User {
         this.adminLevel = adminLevel;
     }
     
+    /**
+     * Restore a persisted user from its stored hash and login state (see UserFactory)
+     */
+    public AdminUser(String id, String username, String passwordHash, 
+                     String phoneNumber, int adminLevel,
+                     int failedLoginAttempts, boolean locked) {
+        super(id, username, passwordHash, phoneNumber, failedLoginAttempts, locked);
+        this.adminLevel = adminLevel;
+    }
+    
     @Override
     public String getRole() {
         return "ADMIN";
     }
     
     public int getAdminLevel() { return adminLevel; }
-    public void setAdminLevel(int adminLevel) { this.adminLevel = adminLevel; }
+    public void setAdminLevel(int adminLevel) { this.adminLevel = adminLevel; dirty = true; }
     
     @Override
     public String toString() {
@@ -1,5 +1,6 @@
 package com.bankoftuc.model;
 
+import com.bankoftuc.util.Money;
 import java.io.Serializable;
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -9,7 +10,7 @@ import java.time.format.DateTimeFormatter;
 /**
  * Represents a bill issued by a business to an individual customer.
  */
-public class Bill implements Serializable {
+public class Bill implements Serializable, Trackable {
     private static final long serialVersionUID = 1L;
     
     public enum BillStatus {
@@ -25,12 +26,13 @@ public class Bill implements Serializable {
     private String rfCode;  // Reference code for payment
     private IndividualUser owner;  // The customer who owes this bill
     private BusinessUser issuer;  // The business that issued the bill
+    private transient boolean dirty = true; // New entities are unsaved
     
     public Bill(String id, String providerName, BigDecimal amount, LocalDate dueDate, 
                 String rfCode, IndividualUser owner, BusinessUser issuer) {
         this.id = id;
         this.providerName = providerName;
-        this.amount = amount;
+        this.amount = Money.of(amount);
         this.dueDate = dueDate;
         this.status = BillStatus.UNPAID;
         this.rfCode = rfCode;
@@ -44,6 +46,7 @@ public class Bill implements Serializable {
     public void markAsPaid(LocalDateTime paidDate) {
         this.status = BillStatus.PAID;
         this.paidDate = paidDate;
+        this.dirty = true;
     }
     
     /**
@@ -59,36 +62,46 @@ public class Bill implements Serializable {
     public void checkAndUpdateOverdue(LocalDate currentDate) {
         if (isOverdue(currentDate)) {
             status = BillStatus.OVERDUE;
+            dirty = true;
         }
     }
     
     // Getters and Setters
     public String getId() { return id; }
-    public void setId(String id) { this.id = id; }
+    public void setId(String id) { this.id = id; dirty = true; }
     
     public String getProviderName() { return providerName; }
-    public void setProviderName(String providerName) { this.providerName = providerName; }
+    public void setProviderName(String providerName) { this.providerName = providerName; dirty = true; }
     
     public BigDecimal getAmount() { return amount; }
-    public void setAmount(BigDecimal amount) { this.amount = amount; }
+    public void setAmount(BigDecimal amount) { this.amount = Money.of(amount); dirty = true; }
     
     public LocalDate getDueDate() { return dueDate; }
-    public void setDueDate(LocalDate dueDate) { this.dueDate = dueDate; }
+    public void setDueDate(LocalDate dueDate) { this.dueDate = dueDate; dirty = true; } // Managed bills: BillManager.changeDueDate
     
     public BillStatus getStatus() { return status; }
-    public void setStatus(BillStatus status) { this.status = status; }
+    public void setStatus(BillStatus status) { this.status = status; dirty = true; }
     
     public LocalDateTime getPaidDate() { return paidDate; }
-    public void setPaidDate(LocalDateTime paidDate) { this.paidDate = paidDate; }
+    public void setPaidDate(LocalDateTime paidDate) { this.paidDate = paidDate; dirty = true; }
     
     public String getRfCode() { return rfCode; }
-    public void setRfCode(String rfCode) { this.rfCode = rfCode; }
+    public void setRfCode(String rfCode) { this.rfCode = rfCode; dirty = true; }
     
     public IndividualUser getOwner() { return owner; }
-    public void setOwner(IndividualUser owner) { this.owner = owner; }
+    public void setOwner(IndividualUser owner) { this.owner = owner; dirty = true; }
     
     public BusinessUser getIssuer() { return issuer; }
-    public void setIssuer(BusinessUser issuer) { this.issuer = issuer; }
+    public void setIssuer(BusinessUser issuer) { this.issuer = issuer; dirty = true; }
+    
+    @Override
+    public boolean isDirty() { return dirty; }
+    
+    @Override
+    public void markDirty() { dirty = true; }
+    
+    @Override
+    public void markClean() { dirty = false; }
     
     @Override
     public String toString() {
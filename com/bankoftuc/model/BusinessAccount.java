@@ -1,5 +1,6 @@
 package com.bankoftuc.model;
 
+import com.bankoftuc.util.Money;
 import java.math.BigDecimal;
 
 /**
@@ -16,7 +17,7 @@ public class BusinessAccount extends Account {
                            BigDecimal monthlyMaintenanceFee) {
         super(iban, balance);
         this.owner = owner;
-        this.monthlyMaintenanceFee = monthlyMaintenanceFee;
+        this.monthlyMaintenanceFee = Money.of(monthlyMaintenanceFee);
     }
     
     public BusinessAccount(String iban, BigDecimal balance, BusinessUser owner) {
@@ -37,15 +38,17 @@ public class BusinessAccount extends Account {
      * Apply monthly maintenance fee to the account
      * @return the fee amount that was charged
      */
-    public BigDecimal applyMaintenanceFee() {
+    public synchronized BigDecimal applyMaintenanceFee() {
         if (status == AccountStatus.ACTIVE) {
             if (balance.compareTo(monthlyMaintenanceFee) >= 0) {
                 balance = balance.subtract(monthlyMaintenanceFee);
+                dirty = true;
                 return monthlyMaintenanceFee;
             } else {
                 // If not enough balance, take what's available
                 BigDecimal charged = balance;
-                balance = BigDecimal.ZERO;
+                balance = Money.ZERO;
+                dirty = true;
                 return charged;
             }
         }
@@ -60,11 +63,12 @@ public class BusinessAccount extends Account {
     }
     
     public BusinessUser getOwner() { return owner; }
-    public void setOwner(BusinessUser owner) { this.owner = owner; }
+    public void setOwner(BusinessUser owner) { this.owner = owner; dirty = true; }
     
     public BigDecimal getMonthlyMaintenanceFee() { return monthlyMaintenanceFee; }
     public void setMonthlyMaintenanceFee(BigDecimal monthlyMaintenanceFee) { 
-        this.monthlyMaintenanceFee = monthlyMaintenanceFee; 
+        this.monthlyMaintenanceFee = Money.of(monthlyMaintenanceFee); 
+        dirty = true;
     }
     
     @Override
@@ -14,13 +14,23 @@ public class BusinessUser extends Customer {
         this.businessName = businessName;
     }
     
+    /**
+     * Restore a persisted user from its stored hash and login state (see UserFactory)
+     */
+    public BusinessUser(String id, String username, String passwordHash, 
+                        String businessName, String phoneNumber, String vatNumber,
+                        int failedLoginAttempts, boolean locked) {
+        super(id, username, passwordHash, phoneNumber, vatNumber, failedLoginAttempts, locked);
+        this.businessName = businessName;
+    }
+    
     @Override
     public String getRole() {
         return "BUSINESS";
     }
     
     public String getBusinessName() { return businessName; }
-    public void setBusinessName(String businessName) { this.businessName = businessName; }
+    public void setBusinessName(String businessName) { this.businessName = businessName; dirty = true; }
     
     @Override
     public String toString() {
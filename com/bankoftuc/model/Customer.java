@@ -13,6 +13,15 @@ public abstract class Customer extends User {
         this.vatNumber = vatNumber;
     }
     
+    /**
+     * Restore a persisted customer from its stored hash and login state
+     */
+    protected Customer(String id, String username, String passwordHash, String phoneNumber, String vatNumber,
+                       int failedLoginAttempts, boolean locked) {
+        super(id, username, passwordHash, phoneNumber, failedLoginAttempts, locked);
+        this.vatNumber = vatNumber;
+    }
+    
     public String getVatNumber() { return vatNumber; }
-    public void setVatNumber(String vatNumber) { this.vatNumber = vatNumber; }
+    public void setVatNumber(String vatNumber) { this.vatNumber = vatNumber; dirty = true; }
 }
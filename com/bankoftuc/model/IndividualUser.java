@@ -16,16 +16,27 @@ public class IndividualUser extends Customer {
         this.address = address;
     }
     
+    /**
+     * Restore a persisted user from its stored hash and login state (see UserFactory)
+     */
+    public IndividualUser(String id, String username, String passwordHash, 
+                          String fullName, String address, String phoneNumber, String vatNumber,
+                          int failedLoginAttempts, boolean locked) {
+        super(id, username, passwordHash, phoneNumber, vatNumber, failedLoginAttempts, locked);
+        this.fullName = fullName;
+        this.address = address;
+    }
+    
     @Override
     public String getRole() {
         return "INDIVIDUAL";
     }
     
     public String getFullName() { return fullName; }
-    public void setFullName(String fullName) { this.fullName = fullName; }
+    public void setFullName(String fullName) { this.fullName = fullName; dirty = true; }
     
     public String getAddress() { return address; }
-    public void setAddress(String address) { this.address = address; }
+    public void setAddress(String address) { this.address = address; dirty = true; }
     
     @Override
     public String toString() {
@@ -36,6 +36,7 @@ public class PersonalAccount extends Account {
     public void addSecondaryOwner(IndividualUser owner) {
         if (!secondaryOwners.contains(owner) && !owner.equals(primaryOwner)) {
             secondaryOwners.add(owner);
+            dirty = true;
         }
     }
     
@@ -43,7 +44,9 @@ public class PersonalAccount extends Account {
      * Remove a secondary owner from the account
      */
     public void removeSecondaryOwner(IndividualUser owner) {
-        secondaryOwners.remove(owner);
+        if (secondaryOwners.remove(owner)) {
+            dirty = true;
+        }
     }
     
     /**
@@ -70,6 +73,7 @@ public class PersonalAccount extends Account {
     
     public void setPrimaryOwner(IndividualUser primaryOwner) {
         this.primaryOwner = primaryOwner;
+        dirty = true;
     }
     
     public List<IndividualUser> getSecondaryOwners() {
@@ -1,5 +1,6 @@
 package com.bankoftuc.model;
 
+import com.bankoftuc.util.Money;
 import java.io.Serializable;
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -10,7 +11,7 @@ import java.time.format.DateTimeFormatter;
  * Represents a standing order (recurring payment or transfer).
  * Can be either a Transfer Standing Order or a Payment Standing Order (for bills).
  */
-public class StandingOrder implements Serializable {
+public class StandingOrder implements Serializable, Trackable {
     private static final long serialVersionUID = 1L;
     
     public enum OrderType {
@@ -41,6 +42,7 @@ public class StandingOrder implements Serializable {
     private String description;
     private LocalDateTime createdAt;
     private Customer owner;  // The customer who created this standing order
+    private transient boolean dirty = true; // New entities are unsaved
     
     // ==================== CONSTRUCTORS WITH systemDate PARAMETER ====================
     // Use these when creating standing orders during time simulation
@@ -55,7 +57,7 @@ public class StandingOrder implements Serializable {
         this.id = id;
         this.sourceAccount = sourceAccount;
         this.destinationAccount = destinationAccount;
-        this.amount = amount;
+        this.amount = Money.of(amount);
         this.frequencyMonths = frequencyMonths;
         this.executionDay = executionDay;
         this.description = description;
@@ -161,6 +163,7 @@ public class StandingOrder implements Serializable {
         }
         
         this.nextExecutionDate = next;
+        this.dirty = true;
     }
     
     /**
@@ -189,54 +192,66 @@ public class StandingOrder implements Serializable {
             nextExecutionDate = nextExecutionDate.plusMonths(months);
             nextExecutionDate = nextExecutionDate.withDayOfMonth(
                 Math.min(executionDay, nextExecutionDate.lengthOfMonth()));
+            dirty = true;
         }
     }
     
     // Getters and Setters
     public String getId() { return id; }
-    public void setId(String id) { this.id = id; }
+    public void setId(String id) { this.id = id; dirty = true; }
     
     public BigDecimal getAmount() { return amount; }
-    public void setAmount(BigDecimal amount) { this.amount = amount; }
+    public void setAmount(BigDecimal amount) { this.amount = Money.of(amount); dirty = true; }
     
     public int getFrequencyMonths() { return frequencyMonths; }
-    public void setFrequencyMonths(int frequencyMonths) { this.frequencyMonths = frequencyMonths; }
+    public void setFrequencyMonths(int frequencyMonths) { this.frequencyMonths = frequencyMonths; dirty = true; }
     
     public int getExecutionDay() { return executionDay; }
-    public void setExecutionDay(int executionDay) { this.executionDay = executionDay; }
+    public void setExecutionDay(int executionDay) { this.executionDay = executionDay; dirty = true; }
     
     public LocalDate getNextExecutionDate() { return nextExecutionDate; }
     public void setNextExecutionDate(LocalDate nextExecutionDate) { 
         this.nextExecutionDate = nextExecutionDate; 
+        dirty = true;
     }
     
     public OrderStatus getStatus() { return status; }
-    public void setStatus(OrderStatus status) { this.status = status; }
+    public void setStatus(OrderStatus status) { this.status = status; dirty = true; }
     
     public OrderType getType() { return type; }
-    public void setType(OrderType type) { this.type = type; }
+    public void setType(OrderType type) { this.type = type; dirty = true; }
     
     public Account getSourceAccount() { return sourceAccount; }
-    public void setSourceAccount(Account sourceAccount) { this.sourceAccount = sourceAccount; }
+    public void setSourceAccount(Account sourceAccount) { this.sourceAccount = sourceAccount; dirty = true; }
     
     public Account getDestinationAccount() { return destinationAccount; }
     public void setDestinationAccount(Account destinationAccount) { 
         this.destinationAccount = destinationAccount; 
+        dirty = true;
     }
     
     public String getRfCode() { return rfCode; }
-    public void setRfCode(String rfCode) { this.rfCode = rfCode; }
+    public void setRfCode(String rfCode) { this.rfCode = rfCode; dirty = true; }
     
     public String getProviderName() { return providerName; }
-    public void setProviderName(String providerName) { this.providerName = providerName; }
+    public void setProviderName(String providerName) { this.providerName = providerName; dirty = true; }
     
     public String getDescription() { return description; }
-    public void setDescription(String description) { this.description = description; }
+    public void setDescription(String description) { this.description = description; dirty = true; }
     
     public LocalDateTime getCreatedAt() { return createdAt; }
     
     public Customer getOwner() { return owner; }
-    public void setOwner(Customer owner) { this.owner = owner; }
+    public void setOwner(Customer owner) { this.owner = owner; dirty = true; }
+    
+    @Override
+    public boolean isDirty() { return dirty; }
+    
+    @Override
+    public void markDirty() { dirty = true; }
+    
+    @Override
+    public void markClean() { dirty = false; }
     
     @Override
     public String toString() {
@@ -0,0 +1,23 @@
+package com.bankoftuc.model;
+
+/**
+ * Implemented by persisted entities that track unsaved changes.
+ * Lets the persistence layer rewrite only the files whose entities changed.
+ */
+public interface Trackable {
+    
+    /**
+     * Check if the entity changed since it was last saved
+     */
+    boolean isDirty();
+    
+    /**
+     * Flag the entity as changed
+     */
+    void markDirty();
+    
+    /**
+     * Flag the entity as saved
+     */
+    void markClean();
+}
@@ -1,5 +1,6 @@
 package com.bankoftuc.model;
 
+import com.bankoftuc.util.Money;
 import java.io.Serializable;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -41,7 +42,7 @@ public class Transaction implements Serializable {
                        BigDecimal amount, TransactionType type, String description) {
         this.id = id;
         this.dateTime = LocalDateTime.now();
-        this.amount = amount;
+        this.amount = Money.of(amount);
         this.type = type;
         this.description = description;
         this.fromAccount = fromAccount;
@@ -64,7 +65,7 @@ public class Transaction implements Serializable {
     public void setDateTime(LocalDateTime dateTime) { this.dateTime = dateTime; }
     
     public BigDecimal getAmount() { return amount; }
-    public void setAmount(BigDecimal amount) { this.amount = amount; }
+    public void setAmount(BigDecimal amount) { this.amount = Money.of(amount); }
     
     public TransactionType getType() { return type; }
     public void setType(TransactionType type) { this.type = type; }
@@ -73,7 +74,7 @@ public class Transaction implements Serializable {
     public void setDescription(String description) { this.description = description; }
     
     public BigDecimal getBalanceAfter() { return balanceAfter; }
-    public void setBalanceAfter(BigDecimal balanceAfter) { this.balanceAfter = balanceAfter; }
+    public void setBalanceAfter(BigDecimal balanceAfter) { this.balanceAfter = Money.of(balanceAfter); }
     
     public Account getFromAccount() { return fromAccount; }
     public void setFromAccount(Account fromAccount) { this.fromAccount = fromAccount; }
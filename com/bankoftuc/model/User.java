@@ -9,7 +9,7 @@ import java.util.Base64;
  * Abstract base class for all users in the Bank of TUC system.
  * Implements common authentication and user management functionality.
  */
-public abstract class User implements Serializable {
+public abstract class User implements Serializable, Trackable {
     private static final long serialVersionUID = 1L;
     
     protected String id;
@@ -18,6 +18,7 @@ public abstract class User implements Serializable {
     protected String phoneNumber;
     protected int failedLoginAttempts;
     protected boolean locked;
+    protected transient boolean dirty = true; // New users are unsaved
     
     public User(String id, String username, String password, String phoneNumber) {
         this.id = id;
@@ -28,6 +29,19 @@ public abstract class User implements Serializable {
         this.locked = false;
     }
     
+    /**
+     * Restore a persisted user from its stored hash and login state (no hashing)
+     */
+    protected User(String id, String username, String passwordHash, String phoneNumber,
+                   int failedLoginAttempts, boolean locked) {
+        this.id = id;
+        this.username = username;
+        this.passwordHash = passwordHash;
+        this.phoneNumber = phoneNumber;
+        this.failedLoginAttempts = failedLoginAttempts;
+        this.locked = locked;
+    }
+    
     /**
      * Hash password using SHA-256
      */
@@ -54,6 +68,7 @@ public abstract class User implements Serializable {
     public void changePassword(String oldPassword, String newPassword) {
         if (verifyPassword(oldPassword)) {
             this.passwordHash = hashPassword(newPassword);
+            dirty = true;
         } else {
             throw new IllegalArgumentException("Old password is incorrect");
         }
@@ -67,13 +82,17 @@ public abstract class User implements Serializable {
         if (failedLoginAttempts >= 5) {
             locked = true;
         }
+        dirty = true;
     }
     
     /**
      * Reset failed login attempts after successful login
      */
     public void resetFailedAttempts() {
-        failedLoginAttempts = 0;
+        if (failedLoginAttempts != 0) {
+            failedLoginAttempts = 0;
+            dirty = true;
+        }
     }
     
     /**
@@ -83,18 +102,29 @@ public abstract class User implements Serializable {
     
     // Getters and Setters
     public String getId() { return id; }
-    public void setId(String id) { this.id = id; }
+    public void setId(String id) { this.id = id; dirty = true; }
     
     public String getUsername() { return username; }
-    public void setUsername(String username) { this.username = username; }
+    public void setUsername(String username) { this.username = username; dirty = true; }
+    
+    public String getPasswordHash() { return passwordHash; }
     
     public String getPhoneNumber() { return phoneNumber; }
-    public void setPhoneNumber(String phoneNumber) { this.phoneNumber = phoneNumber; }
+    public void setPhoneNumber(String phoneNumber) { this.phoneNumber = phoneNumber; dirty = true; }
     
     public int getFailedLoginAttempts() { return failedLoginAttempts; }
     
     public boolean isLocked() { return locked; }
-    public void setLocked(boolean locked) { this.locked = locked; }
+    public void setLocked(boolean locked) { this.locked = locked; dirty = true; }
+
+    @Override
+    public boolean isDirty() { return dirty; }
+    
+    @Override
+    public void markDirty() { dirty = true; }
+    
+    @Override
+    public void markClean() { dirty = false; }
     
     @Override
     public String toString() {
@@ -0,0 +1,138 @@
+package com.bankoftuc.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.bankoftuc.command.PayBillCommand;
+import com.bankoftuc.manager.BillManager;
+import com.bankoftuc.manager.TransactionManager;
+import com.bankoftuc.model.Account;
+import com.bankoftuc.model.Bill;
+import com.bankoftuc.model.PersonalAccount;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that the due-date index marks the same bills overdue as a full daily scan,
+ * also after due dates are moved
+ */
+public class BillManagerTest {
+
+    private static final long SEED = 11;
+    private static final int DAYS = 400;
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+
+    @Test
+    public void indexedPassMatchesFullScan() {
+        World scan = new World();
+        World indexed = new World();
+        LocalDate day = START;
+        for (int i = 0; i < DAYS; i++, day = day.plusDays(1)) {
+            scan.runEvents(day);
+            indexed.runEvents(day);
+
+            for (Bill bill : scan.billManager.getBills()) {
+                bill.checkAndUpdateOverdue(day);
+            }
+            indexed.billManager.updateOverdueBills(day);
+
+            for (int b = 0; b < scan.billManager.getBills().size(); b++) {
+                Bill expected = scan.billManager.getBills().get(b);
+                Bill actual = indexed.billManager.getBills().get(b);
+                assertEquals(expected.getStatus(), actual.getStatus(), expected.getId() + " on " + day);
+            }
+        }
+    }
+
+    @Test
+    public void undoneEarlyPaymentBecomesOverdue() {
+        BillManager billManager = new BillManager();
+        Bill bill = billManager.createBill(null, null, "Power", new BigDecimal("40.00"), START.plusDays(5));
+        billManager.updateOverdueBills(START);
+
+        PayBillCommand payment = new PayBillCommand(bill, account(), billManager, new TransactionManager());
+        assertTrue(payment.execute());
+        billManager.updateOverdueBills(START.plusDays(10)); // Drops the paid bill from the index
+        assertEquals(Bill.BillStatus.PAID, bill.getStatus());
+
+        assertTrue(payment.undo());
+        billManager.updateOverdueBills(START.plusDays(11));
+        assertEquals(Bill.BillStatus.OVERDUE, bill.getStatus());
+    }
+
+    @Test
+    public void dueDateMovedLaterIsRequeued() {
+        BillManager billManager = new BillManager();
+        Bill bill = billManager.createBill(null, null, "Water", new BigDecimal("25.00"), START.plusDays(5));
+        billManager.updateOverdueBills(START);
+
+        bill.setDueDate(START.plusDays(20)); // Without reindex
+        billManager.updateOverdueBills(START.plusDays(10));
+        assertEquals(Bill.BillStatus.UNPAID, bill.getStatus());
+        billManager.updateOverdueBills(START.plusDays(21));
+        assertEquals(Bill.BillStatus.OVERDUE, bill.getStatus());
+    }
+
+    @Test
+    public void dueDateMovedEarlierBecomesOverdueOnTime() {
+        BillManager billManager = new BillManager();
+        Bill bill = billManager.createBill(null, null, "Water", new BigDecimal("25.00"), START.plusDays(30));
+        billManager.updateOverdueBills(START);
+
+        billManager.changeDueDate(bill, START.plusDays(5));
+        billManager.updateOverdueBills(START.plusDays(5));
+        assertEquals(Bill.BillStatus.UNPAID, bill.getStatus());
+        billManager.updateOverdueBills(START.plusDays(6));
+        assertEquals(Bill.BillStatus.OVERDUE, bill.getStatus()); // Not only after day 30
+    }
+
+    private static Account account() {
+        return new PersonalAccount("GR00000000000000000001", new BigDecimal("1000000.00"), null);
+    }
+
+    /**
+     * One copy of the simulated bills, driven by its own (identically seeded) random
+     */
+    private static class World {
+        final BillManager billManager = new BillManager();
+        final Account payer = account();
+        final TransactionManager transactionManager = new TransactionManager();
+        final List<PayBillCommand> payments = new ArrayList<>();
+        final Random random = new Random(SEED);
+
+        /**
+         * New bills, payments (some made early), undone payments (some after the due date)
+         * and moved due dates
+         */
+        void runEvents(LocalDate day) {
+            int created = random.nextInt(4);
+            for (int i = 0; i < created; i++) {
+                billManager.createBill(null, null, "Provider", BigDecimal.valueOf(1 + random.nextInt(20_000), 2),
+                                       day.plusDays(random.nextInt(60)));
+            }
+
+            List<Bill> bills = billManager.getBills();
+            int paid = random.nextInt(3);
+            for (int i = 0; i < paid && !bills.isEmpty(); i++) {
+                Bill bill = bills.get(random.nextInt(bills.size()));
+                PayBillCommand payment = new PayBillCommand(bill, payer, billManager, transactionManager);
+                if (payment.execute()) {
+                    payments.add(payment);
+                }
+            }
+
+            if (!payments.isEmpty() && random.nextInt(4) == 0) {
+                payments.remove(random.nextInt(payments.size())).undo();
+            }
+
+            if (!bills.isEmpty() && random.nextInt(3) == 0) {
+                Bill bill = bills.get(random.nextInt(bills.size()));
+                billManager.changeDueDate(bill, day.plusDays(random.nextInt(30) - 10)); // Earlier or later
+            }
+        }
+    }
+}
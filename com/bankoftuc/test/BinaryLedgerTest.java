@@ -0,0 +1,122 @@
+package com.bankoftuc.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.bankoftuc.manager.BinaryLedger;
+import com.bankoftuc.model.Account;
+import com.bankoftuc.model.PersonalAccount;
+import com.bankoftuc.model.Transaction;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Binary ledger appends: a record torn by a crash is skipped and cut off, and a
+ * ledger that failed to load is never truncated
+ */
+public class BinaryLedgerTest {
+
+    @TempDir
+    Path directory;
+
+    private final Map<String, Account> accounts = new HashMap<>();
+    private final Account alice = account(1);
+    private final Account bob = account(2);
+
+    @Test
+    public void tornRecordIsSkippedAndCutOffBeforeTheNextAppend() throws IOException {
+        BinaryLedger ledger = open();
+        ledger.load(accounts);
+        assertTrue(ledger.append(List.of(transaction(1, alice, bob), transaction(2, null, alice))));
+        byte[] committed = Files.readAllBytes(file());
+
+        // Crash in the middle of the next append: a length prefix and part of a record
+        Files.write(file(), new byte[] { 0, 0, 0, 40, 'T', 0, 0 }, StandardOpenOption.APPEND);
+
+        BinaryLedger reopened = open();
+        assertEquals(List.of(1L, 2L), ids(reopened.load(accounts)));
+        assertTrue(reopened.append(List.of(transaction(3, bob, alice))));
+
+        List<Transaction> loaded = open().load(accounts);
+        assertEquals(List.of(1L, 2L, 3L), ids(loaded));
+        assertEquals(bob, loaded.get(2).getFromAccount());
+        assertEquals("Rent", loaded.get(2).getDescription());
+        byte[] after = Files.readAllBytes(file());
+        assertEquals(new String(committed, StandardCharsets.ISO_8859_1),
+                     new String(after, 0, committed.length, StandardCharsets.ISO_8859_1)); // Appended right after it
+    }
+
+    @Test
+    public void unloadedLedgerIsNotTruncated() throws IOException {
+        BinaryLedger ledger = open();
+        ledger.load(accounts);
+        assertTrue(ledger.append(List.of(transaction(1, alice, bob))));
+        byte[] before = Files.readAllBytes(file());
+
+        assertFalse(open().append(List.of(transaction(2, alice, bob)))); // Never loaded
+
+        assertEquals(new String(before, StandardCharsets.ISO_8859_1),
+                     new String(Files.readAllBytes(file()), StandardCharsets.ISO_8859_1));
+    }
+
+    @Test
+    public void foreignFileFailsToLoad() throws IOException {
+        Files.write(file(), "id,dateTime\n".getBytes(StandardCharsets.UTF_8));
+        assertThrows(IOException.class, () -> open().load(accounts));
+    }
+
+    @Test
+    public void rewriteReplacesTheLedger() throws IOException {
+        BinaryLedger ledger = open();
+        ledger.load(accounts);
+        assertTrue(ledger.append(List.of(transaction(1, alice, bob), transaction(2, bob, alice))));
+
+        ledger.rewrite(List.of(transaction(2, bob, alice)));
+        assertTrue(ledger.append(List.of(transaction(3, alice, bob))));
+
+        assertEquals(List.of(2L, 3L), ids(open().load(accounts)));
+    }
+
+    private BinaryLedger open() {
+        return new BinaryLedger(file().toString());
+    }
+
+    private Path file() {
+        return directory.resolve("transactions.ledger");
+    }
+
+    private Account account(int number) {
+        Account account = new PersonalAccount(String.format("GR%020d", number), new BigDecimal("100.00"), null);
+        accounts.put(account.getIban(), account);
+        return account;
+    }
+
+    private static Transaction transaction(long id, Account from, Account to) {
+        Transaction t = new Transaction(id, from, to, new BigDecimal("10.00"),
+            from == null ? Transaction.TransactionType.DEPOSIT : Transaction.TransactionType.TRANSFER_OUT, "Rent");
+        t.setDateTime(LocalDateTime.of(2024, 1, 10, 9, 0).plusHours(id));
+        t.setBalanceAfter(new BigDecimal("90.00"));
+        return t;
+    }
+
+    private static List<Long> ids(List<Transaction> transactions) {
+        List<Long> ids = new ArrayList<>();
+        for (Transaction t : transactions) {
+            ids.add(t.getId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,120 @@
+package com.bankoftuc.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.bankoftuc.util.CsvAppender;
+import com.bankoftuc.util.CsvReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * In-place CSV appends: header on a new file, repair of a row torn by a crash,
+ * and no half-written batch left behind
+ */
+public class CsvAppenderTest {
+
+    private static final String HEADER = "id,name";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void newFileGetsHeaderAndRows() throws IOException {
+        File file = directory.resolve("sub/rows.csv").toFile();
+        try (CsvAppender appender = CsvAppender.open(file, HEADER)) {
+            assertEquals(HEADER.length() + 1, appender.position()); // Rows start after the header
+            appender.println("1,Ανна");
+            appender.commit();
+        }
+        try (CsvAppender appender = CsvAppender.open(file, HEADER)) {
+            appender.println("2,Bob");
+            appender.commit();
+        }
+        assertEquals("id,name\n1,Ανна\n2,Bob\n", read(file));
+    }
+
+    @Test
+    public void rowTornByCrashIsTerminatedAndSkipped() throws IOException {
+        File file = directory.resolve("rows.csv").toFile();
+        write(file, "id,name\n1,Alice\n2,Bo"); // Crash in the middle of row 2
+
+        try (CsvAppender appender = CsvAppender.open(file, HEADER)) {
+            appender.println("3,Carol");
+            appender.commit();
+        }
+
+        assertEquals("id,name\n1,Alice\n2,Bo\n3,Carol\n", read(file));
+        assertEquals(List.of("1", "2", "3"), firstFields(file)); // Row 3 is not glued onto the torn row
+    }
+
+    @Test
+    public void positionsAreByteOffsetsOfRows() throws IOException {
+        File file = directory.resolve("rows.csv").toFile();
+        long first;
+        long second;
+        try (CsvAppender appender = CsvAppender.open(file, HEADER)) {
+            first = appender.position();
+            appender.println("1,Ελένη");
+            second = appender.position();
+            appender.println("2,Bob");
+            appender.commit();
+        }
+        byte[] bytes = Files.readAllBytes(file.toPath());
+        assertEquals("1,Ελένη", new String(bytes, (int) first, (int) (second - first) - 1, StandardCharsets.UTF_8));
+        assertEquals('2', bytes[(int) second]);
+    }
+
+    @Test
+    public void batchClosedWithoutCommitIsCutOff() throws IOException {
+        File file = directory.resolve("rows.csv").toFile();
+        write(file, "id,name\n1,Alice\n");
+
+        try (CsvAppender appender = CsvAppender.open(file, HEADER)) {
+            appender.println("2,Bob");
+            appender.commit();
+            appender.println("3,Carol"); // Write fails before commit
+        }
+
+        assertEquals("id,name\n1,Alice\n2,Bob\n", read(file));
+    }
+
+    @Test
+    public void bytesPastValidLengthAreDropped() throws IOException {
+        File file = directory.resolve("rows.csv").toFile();
+        String committed = "id,name\n1,Alice\n";
+        write(file, committed + "2,Bob\n3,Ca");
+
+        try (CsvAppender appender = CsvAppender.open(file, HEADER, committed.length())) {
+            appender.println("2,Dave");
+            appender.commit();
+        }
+
+        assertEquals("id,name\n1,Alice\n2,Dave\n", read(file));
+    }
+
+    private static List<String> firstFields(File file) throws IOException {
+        List<String> ids = new ArrayList<>();
+        try (CsvReader reader = CsvReader.open(file.getPath())) {
+            reader.skipRecord();
+            while (reader.next()) {
+                ids.add(reader.getString(0));
+            }
+        }
+        return ids;
+    }
+
+    private static void write(File file, String content) throws IOException {
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String read(File file) throws IOException {
+        return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,113 @@
+package com.bankoftuc.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.bankoftuc.util.CsvReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Quoted fields, CRLF line endings and multibyte text read the same from a buffer,
+ * from split ranges and streamed through the read window
+ */
+public class CsvReaderTest {
+
+    private static final String HEADER = "id,name,amount,date\r\n";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void quotedFieldsAndCrlfAreDecoded() {
+        String csv = "\uFEFF" + HEADER // Byte order mark
+            + "1,\"Smith, John\",12.50,2024-03-01\r\n"
+            + "2,\"Say \"\"hi\"\"\",-0.05,2024-03-02\r\n"
+            + "3,\"Line one\r\nLine two\",7,2024-03-03\r\n"
+            + "4,Ελένη Παπαδοπούλου 😀,0.10,2024-03-04"; // No final line break
+        CsvReader reader = new CsvReader(ByteBuffer.wrap(csv.getBytes(StandardCharsets.UTF_8)));
+        reader.skipRecord();
+
+        assertTrue(reader.next());
+        assertEquals("Smith, John", reader.getString(1));
+        assertEquals(new BigDecimal("12.50"), reader.getDecimal(2));
+        assertEquals(LocalDate.of(2024, 3, 1), reader.getDate(3)); // Not followed by the \r
+
+        assertTrue(reader.next());
+        assertEquals("Say \"hi\"", reader.getString(1));
+        assertEquals(new BigDecimal("-0.05"), reader.getDecimal(2));
+
+        assertTrue(reader.next());
+        assertEquals(4, reader.fieldCount());
+        assertEquals("Line one\r\nLine two", reader.getString(1));
+        assertEquals(7, reader.getInt(2));
+
+        assertTrue(reader.next());
+        assertEquals("Ελένη Παπαδοπούλου 😀", reader.getString(1));
+        assertEquals(LocalDate.of(2024, 3, 4), reader.getDate(3));
+        assertFalse(reader.next());
+    }
+
+    @Test
+    public void splitAndStreamedReadsMatchWholeBuffer() throws IOException {
+        // Larger than the 1 MB stream window, so records straddle window boundaries
+        StringBuilder csv = new StringBuilder(HEADER);
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 40_000; i++) {
+            String name = i % 3 == 0 ? "Όνομα " + i + ", \"quoted\"\r\nnext line"
+                        : i % 3 == 1 ? "Name " + i + " ✓"
+                        : "plain" + i;
+            names.add(i + ":" + name);
+            csv.append(i).append(',').append(quote(name)).append(',').append(i).append(".25,2024-01-01\r\n");
+        }
+        byte[] bytes = csv.toString().getBytes(StandardCharsets.UTF_8);
+        Path file = directory.resolve("rows.csv");
+        Files.write(file, bytes);
+
+        CsvReader whole = new CsvReader(ByteBuffer.wrap(bytes));
+        whole.skipRecord();
+        assertEquals(names, readNames(whole));
+
+        ByteBuffer buffer = CsvReader.read(file.toString());
+        List<String> split = new ArrayList<>();
+        for (int[] range : CsvReader.splitRecords(buffer, true, 37)) {
+            split.addAll(readNames(new CsvReader(buffer.duplicate(), range[0], range[1])));
+        }
+        assertEquals(names, split);
+
+        try (CsvReader streamed = CsvReader.open(file.toString())) {
+            streamed.skipRecord();
+            assertEquals(names, readNames(streamed));
+        }
+    }
+
+    /**
+     * Each record as "id:name", checking its amount on the way
+     */
+    private static List<String> readNames(CsvReader reader) {
+        List<String> names = new ArrayList<>();
+        while (reader.next()) {
+            int id = reader.getInt(0);
+            assertEquals(new BigDecimal(id + ".25"), reader.getDecimal(2));
+            names.add(id + ":" + reader.getString(1));
+        }
+        return names;
+    }
+
+    private static String quote(String value) {
+        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+}
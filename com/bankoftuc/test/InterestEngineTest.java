@@ -0,0 +1,236 @@
+package com.bankoftuc.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.bankoftuc.manager.InterestEngine;
+import com.bankoftuc.manager.TransactionManager;
+import com.bankoftuc.model.Account;
+import com.bankoftuc.model.PersonalAccount;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.BiFunction;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that span-based accrual (InterestEngine) matches day-by-day accrual,
+ * including accounts opened, frozen or credited outside the ledger mid-simulation
+ */
+public class InterestEngineTest {
+
+    private static final long SEED = 42;
+    private static final int ACCOUNTS = 50;
+    private static final int DAYS = 400;
+    private static final LocalDate START = LocalDate.of(2024, 1, 15);
+    private static final String[] RATES = { "0.01", "0.025", "0.035" };
+
+    @Test
+    public void spanAccrualMatchesDailyAccrual() {
+        List<Account> daily = createAccounts();
+        List<Account> spans = createAccounts();
+
+        simulateDaily(daily);
+        simulateSpans(spans);
+
+        for (int i = 0; i < ACCOUNTS; i++) {
+            Account expected = daily.get(i);
+            Account actual = spans.get(i);
+            assertEquals(expected.getBalance(), actual.getBalance(), "balance of " + expected.getIban());
+            assertEquals(expected.getAccruedInterest(), actual.getAccruedInterest(),
+                         "accrued interest of " + expected.getIban());
+        }
+    }
+
+    @Test
+    public void accountOpenedMidSimulationAccruesFromTheNextDay() {
+        assertSameAccrual((day, accounts) -> {
+            if (day != 10) return List.of();
+            Account opened = account(99, "2500.00", "0.035");
+            accounts.add(opened);
+            return List.of(opened);
+        });
+    }
+
+    @Test
+    public void frozenDaysDoNotAccrue() {
+        assertSameAccrual((day, accounts) -> {
+            Account account = accounts.get(1);
+            if (day == 5) {
+                account.setStatus(Account.AccountStatus.FROZEN); // Mid-month: the days before still accrue
+            } else if (day == 40) {
+                account.setStatus(Account.AccountStatus.ACTIVE);
+            } else {
+                return List.of();
+            }
+            return List.of(account);
+        });
+    }
+
+    @Test
+    public void balanceChangedWithoutTransactionAccruesAtTheNewBalance() {
+        assertSameAccrual((day, accounts) -> {
+            if (day != 20) return List.of();
+            Account account = accounts.get(0);
+            account.credit(new BigDecimal("1000.00")); // No ledger row, reported directly
+            return List.of(account);
+        });
+    }
+
+    /**
+     * Run one scenario day by day and with the engine, and compare the results
+     * @param events applied after each day's accrual; returns the accounts it changed
+     *        outside the ledger, which the engine is told about
+     */
+    private static void assertSameAccrual(BiFunction<Integer, List<Account>, List<Account>> events) {
+        int days = 70;
+        List<Account> daily = new ArrayList<>(List.of(account(1, "1200.00", "0.025"), account(2, "800.00", "0.01")));
+        LocalDate day = START;
+        for (int i = 0; i < days; i++, day = day.plusDays(1)) {
+            for (Account account : daily) {
+                if (account.getStatus() == Account.AccountStatus.ACTIVE) {
+                    account.accrueInterest();
+                }
+            }
+            if (isMonthEnd(day)) {
+                applyMonthlyInterest(daily, new TransactionManager());
+            }
+            events.apply(i, daily);
+        }
+
+        List<Account> spans = new ArrayList<>(List.of(account(1, "1200.00", "0.025"), account(2, "800.00", "0.01")));
+        TransactionManager transactionManager = new TransactionManager();
+        InterestEngine engine = new InterestEngine(spans, START);
+        day = START;
+        for (int i = 0; i < days; i++, day = day.plusDays(1)) {
+            int ledgerPosition = transactionManager.getTransactionCount();
+            if (isMonthEnd(day)) {
+                engine.accrueAllThrough(day);
+                applyMonthlyInterest(spans, transactionManager);
+            }
+            for (Account changed : events.apply(i, spans)) {
+                engine.accrueThrough(changed, day);
+            }
+            engine.accrueChangedThrough(transactionManager.getTransactionsSince(ledgerPosition), day);
+        }
+        engine.accrueAllThrough(day.minusDays(1));
+
+        assertEquals(daily.size(), spans.size());
+        for (int i = 0; i < daily.size(); i++) {
+            assertEquals(daily.get(i).getBalance(), spans.get(i).getBalance(), "balance of " + daily.get(i).getIban());
+            assertEquals(daily.get(i).getAccruedInterest(), spans.get(i).getAccruedInterest(),
+                         "accrued interest of " + daily.get(i).getIban());
+        }
+    }
+
+    private static Account account(int number, String balance, String rate) {
+        Account account = new PersonalAccount(String.format("GR%020d", number), new BigDecimal(balance), null);
+        account.setInterestRate(new BigDecimal(rate));
+        return account;
+    }
+
+    /**
+     * Reference: every active account accrues every day, before that day's events
+     */
+    private static void simulateDaily(List<Account> accounts) {
+        TransactionManager transactionManager = new TransactionManager();
+        Random random = new Random(SEED);
+        LocalDate day = START;
+        for (int i = 0; i < DAYS; i++, day = day.plusDays(1)) {
+            for (Account account : accounts) {
+                if (account.getStatus() == Account.AccountStatus.ACTIVE) {
+                    account.accrueInterest();
+                }
+            }
+            if (isMonthEnd(day)) {
+                applyMonthlyInterest(accounts, transactionManager);
+            }
+            runEvents(accounts, transactionManager, random);
+        }
+    }
+
+    /**
+     * Engine: accounts catch up at month end and after their balance changes
+     */
+    private static void simulateSpans(List<Account> accounts) {
+        TransactionManager transactionManager = new TransactionManager();
+        InterestEngine engine = new InterestEngine(accounts, START);
+        Random random = new Random(SEED);
+        LocalDate day = START;
+        for (int i = 0; i < DAYS; i++, day = day.plusDays(1)) {
+            int ledgerPosition = transactionManager.getTransactionCount();
+            if (isMonthEnd(day)) {
+                engine.accrueAllThrough(day);
+                applyMonthlyInterest(accounts, transactionManager);
+            }
+            runEvents(accounts, transactionManager, random);
+            engine.accrueChangedThrough(transactionManager.getTransactionsSince(ledgerPosition), day);
+        }
+        // Bring the accounts not touched since the last month end up to date
+        engine.accrueAllThrough(day.minusDays(1));
+    }
+
+    private static List<Account> createAccounts() {
+        Random random = new Random(SEED);
+        List<Account> accounts = new ArrayList<>();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            Account account = new PersonalAccount(String.format("GR%020d", i),
+                BigDecimal.valueOf(random.nextInt(5_000_000), 2), null);
+            account.setInterestRate(new BigDecimal(RATES[random.nextInt(RATES.length)]));
+            if (i % 10 == 0) {
+                account.setStatus(Account.AccountStatus.FROZEN);
+            }
+            accounts.add(account);
+        }
+        return accounts;
+    }
+
+    /**
+     * A few random deposits, withdrawals and transfers between active accounts
+     */
+    private static void runEvents(List<Account> accounts, TransactionManager transactionManager, Random random) {
+        int events = random.nextInt(6);
+        for (int e = 0; e < events; e++) {
+            Account account = accounts.get(random.nextInt(accounts.size()));
+            Account other = accounts.get(random.nextInt(accounts.size()));
+            BigDecimal amount = BigDecimal.valueOf(1 + random.nextInt(100_000), 2);
+            if (account.getStatus() != Account.AccountStatus.ACTIVE) continue;
+
+            switch (random.nextInt(3)) {
+                case 0:
+                    transactionManager.deposit(account, amount, null);
+                    break;
+                case 1:
+                    if (account.getBalance().compareTo(amount) >= 0) {
+                        transactionManager.withdraw(account, amount, null);
+                    }
+                    break;
+                default:
+                    if (other != account && other.getStatus() == Account.AccountStatus.ACTIVE
+                            && account.getBalance().compareTo(amount) >= 0) {
+                        transactionManager.transfer(account, other, amount, null);
+                    }
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Posted to the ledger, so the engine sees the new balance like any other change
+     */
+    private static void applyMonthlyInterest(List<Account> accounts, TransactionManager transactionManager) {
+        for (Account account : accounts) {
+            if (account.getStatus() == Account.AccountStatus.ACTIVE) {
+                BigDecimal interest = account.applyMonthlyInterest();
+                if (interest.compareTo(BigDecimal.ZERO) > 0) {
+                    transactionManager.recordInterest(account, interest, null);
+                }
+            }
+        }
+    }
+
+    private static boolean isMonthEnd(LocalDate day) {
+        return day.plusDays(1).getMonthValue() != day.getMonthValue();
+    }
+}
@@ -0,0 +1,64 @@
+package com.bankoftuc.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.bankoftuc.manager.TransactionManager;
+import com.bankoftuc.model.Account;
+import com.bankoftuc.model.PersonalAccount;
+import com.bankoftuc.model.Transaction;
+import com.bankoftuc.util.Money;
+import java.math.BigDecimal;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Money values keep a fixed scale however long the arithmetic runs, and interest
+ * carries its sub-cent remainder instead of losing or inventing it
+ */
+public class MoneyTest {
+
+    @Test
+    public void amountsAreRoundedToCentsHalfUp() {
+        assertEquals(new BigDecimal("0.01"), Money.of("0.005"));
+        assertEquals(new BigDecimal("-0.01"), Money.of("-0.005"));
+        assertEquals(new BigDecimal("3.00"), Money.of("3"));
+        assertEquals(new BigDecimal("12.35"), Money.of("12.3456"));
+    }
+
+    @Test
+    public void balanceScaleDoesNotGrowWithRepeatedArithmetic() {
+        Account account = new PersonalAccount("GR00000000000000000001", new BigDecimal("100"), null);
+        TransactionManager transactionManager = new TransactionManager();
+        for (int i = 0; i < 10_000; i++) {
+            transactionManager.deposit(account, new BigDecimal("0.333"), null); // Credited as 0.33
+            Transaction t = transactionManager.withdraw(account, new BigDecimal("0.1"), null);
+            assertEquals(Money.SCALE, t.getAmount().scale());
+            assertEquals(Money.SCALE, t.getBalanceAfter().scale());
+        }
+        assertEquals(new BigDecimal("2400.00"), account.getBalance());
+    }
+
+    @Test
+    public void interestCarriesTheSubCentRemainder() {
+        Account account = new PersonalAccount("GR00000000000000000001", new BigDecimal("1234.56"), null);
+        account.setInterestRate(new BigDecimal("0.035"));
+        BigDecimal daily = Money.accrual(new BigDecimal("1234.56").multiply(Money.dailyRate(new BigDecimal("0.035"))));
+
+        BigDecimal applied = BigDecimal.ZERO;
+        int days = 0;
+        for (int month = 0; month < 120; month++) {
+            for (int day = 0; day < 30; day++, days++) {
+                account.setBalance(new BigDecimal("1234.56")); // Same balance every day, so accrual is exact
+                account.accrueInterest();
+            }
+            BigDecimal interest = account.applyMonthlyInterest();
+            assertEquals(Money.SCALE, interest.scale());
+            applied = applied.add(interest);
+        }
+
+        assertEquals(Money.ACCRUAL_SCALE, account.getAccruedInterest().scale());
+        assertEquals(daily.multiply(BigDecimal.valueOf(days)), applied.add(account.getAccruedInterest()),
+                     "applied plus carried interest equals everything accrued");
+        assertEquals(-1, account.getAccruedInterest().abs().compareTo(new BigDecimal("0.005")),
+                     "at most half a cent is carried");
+    }
+}
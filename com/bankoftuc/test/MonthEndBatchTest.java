@@ -0,0 +1,160 @@
+package com.bankoftuc.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.bankoftuc.manager.MonthEndBatch;
+import com.bankoftuc.manager.TransactionManager;
+import com.bankoftuc.model.Account;
+import com.bankoftuc.model.BusinessAccount;
+import com.bankoftuc.model.PersonalAccount;
+import com.bankoftuc.model.Transaction;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that the parallel month-end batch posts exactly what the serial loop posts,
+ * as one contiguous id range even while other postings run
+ */
+public class MonthEndBatchTest {
+
+    private static final long SEED = 7;
+    private static final int ACCOUNTS = 2000; // Several fork-join tasks
+    private static final LocalDate DATE = LocalDate.of(2024, 1, 31);
+
+    @Test
+    public void batchMatchesSerialRun() {
+        List<Account> serialAccounts = createAccounts();
+        List<Account> batchAccounts = createAccounts();
+        TransactionManager serial = new TransactionManager();
+        TransactionManager batch = new TransactionManager();
+
+        // A few earlier transactions, so ids do not start at 1
+        serial.deposit(serialAccounts.get(1), new BigDecimal("10.00"), null);
+        batch.deposit(batchAccounts.get(1), new BigDecimal("10.00"), null);
+
+        runSerial(serialAccounts, serial);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            MonthEndBatch.run(batchAccounts, batch, DATE, pool);
+        } finally {
+            pool.shutdown();
+        }
+
+        List<Transaction> expected = serial.getAllTransactions();
+        List<Transaction> actual = batch.getAllTransactions();
+        assertEquals(expected.size(), actual.size(), "transaction count");
+        for (int i = 0; i < expected.size(); i++) {
+            Transaction e = expected.get(i);
+            Transaction a = actual.get(i);
+            assertEquals(e.getId(), a.getId(), "id at " + i);
+            assertEquals(e.getType(), a.getType(), "type of " + e.getId());
+            assertEquals(e.getAmount(), a.getAmount(), "amount of " + e.getId());
+            assertEquals(iban(e.getFromAccount()), iban(a.getFromAccount()), "from account of " + e.getId());
+            assertEquals(iban(e.getToAccount()), iban(a.getToAccount()), "to account of " + e.getId());
+            assertEquals(e.getBalanceAfter(), a.getBalanceAfter(), "balance after " + e.getId());
+        }
+        for (int i = 0; i < ACCOUNTS; i++) {
+            assertEquals(serialAccounts.get(i).getBalance(), batchAccounts.get(i).getBalance(),
+                         "balance of " + serialAccounts.get(i).getIban());
+            assertEquals(serialAccounts.get(i).getAccruedInterest(), batchAccounts.get(i).getAccruedInterest(),
+                         "accrued interest of " + serialAccounts.get(i).getIban());
+        }
+    }
+
+    @Test
+    public void batchTakesContiguousIdsWhileOtherPostingsRun() throws Exception {
+        List<Account> accounts = createAccounts();
+        Account other = new PersonalAccount("GR99999999999999999999", new BigDecimal("100.00"), null);
+        TransactionManager transactionManager = new TransactionManager();
+
+        ExecutorService depositors = Executors.newFixedThreadPool(4);
+        List<Future<?>> deposits = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            deposits.add(depositors.submit(() -> {
+                for (int i = 0; i < 2000; i++) {
+                    transactionManager.deposit(other, new BigDecimal("1.00"), null);
+                }
+            }));
+        }
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            MonthEndBatch.run(accounts, transactionManager, DATE, pool);
+        } finally {
+            pool.shutdown();
+        }
+        for (Future<?> deposit : deposits) {
+            deposit.get();
+        }
+        depositors.shutdown();
+
+        List<Transaction> ledger = transactionManager.getAllTransactions();
+        List<Long> batchIds = new ArrayList<>();
+        for (int i = 0; i < ledger.size(); i++) {
+            Transaction t = ledger.get(i);
+            assertEquals(i + 1, t.getId(), "ledger is in id order without gaps");
+            if (t.getType() != Transaction.TransactionType.DEPOSIT) {
+                batchIds.add(t.getId());
+            }
+        }
+        assertTrue(batchIds.size() > 1, "batch posted");
+        assertEquals(batchIds.size() - 1, batchIds.get(batchIds.size() - 1) - batchIds.get(0),
+                     "no other posting inside the batch's id range");
+    }
+
+    /**
+     * The month-end loops as they ran before the batch: interest, then fees
+     */
+    private static void runSerial(List<Account> accounts, TransactionManager transactionManager) {
+        for (Account account : accounts) {
+            if (account.getStatus() == Account.AccountStatus.ACTIVE) {
+                BigDecimal interest = account.applyMonthlyInterest();
+                if (interest.compareTo(BigDecimal.ZERO) > 0) {
+                    transactionManager.recordInterest(account, interest, "Monthly interest");
+                }
+            }
+        }
+        for (Account account : accounts) {
+            if (account instanceof BusinessAccount && account.getStatus() == Account.AccountStatus.ACTIVE) {
+                BigDecimal fee = ((BusinessAccount) account).applyMaintenanceFee();
+                if (fee.compareTo(BigDecimal.ZERO) > 0) {
+                    transactionManager.recordMaintenanceFee(account, fee);
+                }
+            }
+        }
+    }
+
+    /**
+     * Personal and business accounts with some accrued interest; some frozen, some
+     * business balances below the fee
+     */
+    private static List<Account> createAccounts() {
+        Random random = new Random(SEED);
+        List<Account> accounts = new ArrayList<>();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            String iban = String.format("GR%020d", i);
+            BigDecimal balance = BigDecimal.valueOf(random.nextInt(200_000), 2);
+            Account account = random.nextInt(3) == 0
+                ? new BusinessAccount(iban, balance, null)
+                : new PersonalAccount(iban, balance, null);
+            account.setAccruedInterest(BigDecimal.valueOf(random.nextInt(5_000_000), 8));
+            if (random.nextInt(20) == 0) {
+                account.setStatus(Account.AccountStatus.FROZEN);
+            }
+            accounts.add(account);
+        }
+        return accounts;
+    }
+
+    private static String iban(Account account) {
+        return account != null ? account.getIban() : null;
+    }
+}
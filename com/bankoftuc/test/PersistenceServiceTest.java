@@ -0,0 +1,77 @@
+package com.bankoftuc.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.bankoftuc.manager.PersistenceService;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Write-behind saves: submissions are coalesced, and a failed write is kept and
+ * retried instead of being lost
+ */
+public class PersistenceServiceTest {
+
+    private final List<Integer> written = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger attempts = new AtomicInteger();
+
+    @Test
+    public void failedWriteIsRetriedAfterTheInterval() throws InterruptedException {
+        PersistenceService<Integer> service = new PersistenceService<>("test-writer", state -> {
+            if (attempts.incrementAndGet() == 1) return false; // Disk full, say
+            written.add(state);
+            return true;
+        });
+        try {
+            service.submit(1);
+            assertFalse(service.awaitDurable());
+
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (written.isEmpty() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(20);
+            }
+            assertEquals(List.of(1), written);
+            assertTrue(service.awaitDurable());
+        } finally {
+            service.close();
+        }
+    }
+
+    @Test
+    public void stateFromAThrowingWriteIsWrittenOnClose() {
+        PersistenceService<Integer> service = new PersistenceService<>("test-writer", state -> {
+            if (attempts.incrementAndGet() == 1) throw new IllegalStateException("write failed");
+            written.add(state);
+            return true;
+        });
+        service.submit(1);
+        assertFalse(service.awaitDurable());
+        service.close();
+
+        assertEquals(List.of(1), written);
+    }
+
+    @Test
+    public void submissionsAreCoalescedIntoTheLatestState() {
+        PersistenceService<Integer> service = new PersistenceService<>("test-writer", state -> {
+            written.add(state);
+            return true;
+        });
+        try {
+            for (int i = 1; i <= 100; i++) {
+                service.submit(i);
+            }
+            assertTrue(service.awaitDurable());
+        } finally {
+            service.close();
+        }
+
+        assertEquals(100, written.get(written.size() - 1));
+        assertTrue(written.size() < 100, "coalesced into " + written.size() + " writes");
+    }
+}
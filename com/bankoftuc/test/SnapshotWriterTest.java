@@ -0,0 +1,92 @@
+package com.bankoftuc.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.bankoftuc.manager.SnapshotWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Crash recovery of snapshots: one interrupted after its manifest was written is
+ * rolled forward, one interrupted before it is discarded
+ */
+public class SnapshotWriterTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void crashBetweenManifestAndRenameIsRolledForward() throws IOException {
+        commit("old a", "old b");
+
+        // The rename of b.csv fails after the manifest was written and a.csv was renamed
+        Files.delete(directory.resolve("b.csv"));
+        Files.createDirectories(directory.resolve("b.csv/blocker"));
+        SnapshotWriter snapshot = new SnapshotWriter(directory.toString());
+        snapshot.stage(file("a.csv")).print("new a");
+        snapshot.stage(file("b.csv")).print("new b");
+        assertThrows(IOException.class, snapshot::commit);
+        assertEquals("new a", read("a.csv"));
+        assertEquals(1, temps().size());
+
+        Files.delete(directory.resolve("b.csv/blocker"));
+        Files.delete(directory.resolve("b.csv"));
+        SnapshotWriter.recover(directory.toString());
+
+        assertEquals("new a", read("a.csv"));
+        assertEquals("new b", read("b.csv"));
+        assertEquals(List.of(), temps());
+        assertEquals(2, SnapshotWriter.currentVersion(directory.toString()));
+    }
+
+    @Test
+    public void crashBeforeManifestKeepsPreviousSnapshot() throws IOException {
+        commit("old a", "old b");
+
+        SnapshotWriter snapshot = new SnapshotWriter(directory.toString());
+        PrintWriter a = snapshot.stage(file("a.csv"));
+        a.print("half-written a");
+        a.flush();
+        snapshot.stage(file("b.csv")); // Process dies here, before commit()
+        Files.write(directory.resolve("manifest.csv.tmp"), "file,ver".getBytes(StandardCharsets.UTF_8));
+
+        SnapshotWriter.recover(directory.toString());
+
+        assertEquals("old a", read("a.csv"));
+        assertEquals("old b", read("b.csv"));
+        assertEquals(List.of(), temps());
+        assertEquals(1, SnapshotWriter.currentVersion(directory.toString()));
+    }
+
+    private void commit(String a, String b) throws IOException {
+        SnapshotWriter snapshot = new SnapshotWriter(directory.toString());
+        snapshot.stage(file("a.csv")).print(a);
+        snapshot.stage(file("b.csv")).print(b);
+        snapshot.commit();
+    }
+
+    private String file(String name) {
+        return directory.resolve(name).toString();
+    }
+
+    private String read(String name) throws IOException {
+        return new String(Files.readAllBytes(directory.resolve(name)), StandardCharsets.UTF_8);
+    }
+
+    private List<Path> temps() throws IOException {
+        List<Path> temps = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(p -> p.getFileName().toString().endsWith(".tmp")).forEach(temps::add);
+        }
+        return temps;
+    }
+}
@@ -0,0 +1,72 @@
+package com.bankoftuc.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.bankoftuc.manager.BillManager;
+import com.bankoftuc.manager.StandingOrderManager;
+import com.bankoftuc.manager.TransactionManager;
+import com.bankoftuc.model.Account;
+import com.bankoftuc.model.PersonalAccount;
+import com.bankoftuc.model.StandingOrder;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Standing order schedule: orders run on their dates, and orders without a date
+ * never stall the daily pass
+ */
+public class StandingOrderManagerTest {
+
+    private static final LocalDate START = LocalDate.of(2024, 3, 1);
+
+    @Test
+    public void transferOrderRunsOnItsExecutionDay() {
+        Account source = account(1, "500.00");
+        Account destination = account(2, "0.00");
+        StandingOrderManager manager = new StandingOrderManager();
+        TransactionManager transactionManager = new TransactionManager();
+        StandingOrder order = manager.createTransferStandingOrder(source, destination, new BigDecimal("100.00"),
+                                                                   1, 10, "Rent", null);
+        order.setNextExecutionDate(START.withDayOfMonth(10));
+
+        for (LocalDate day = START; day.isBefore(START.plusMonths(2)); day = day.plusDays(1)) {
+            List<StandingOrder> executed = manager.executeDueOrders(day, transactionManager, new BillManager());
+            assertEquals(day.getDayOfMonth() == 10 ? 1 : 0, executed.size(), "orders executed on " + day);
+        }
+        assertEquals(new BigDecimal("200.00"), destination.getBalance());
+        assertEquals(START.plusMonths(2).withDayOfMonth(10), order.getNextExecutionDate());
+    }
+
+    @Test
+    public void transferOrderWithoutDateDoesNotStallTheDailyPass() {
+        Account source = account(1, "500.00");
+        Account destination = account(2, "0.00");
+        StandingOrderManager manager = new StandingOrderManager();
+        TransactionManager transactionManager = new TransactionManager();
+        StandingOrder order = manager.createTransferStandingOrder(source, destination, new BigDecimal("100.00"),
+                                                                   1, 10, "Rent", null);
+        order.setNextExecutionDate(null);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            for (LocalDate day = START; day.isBefore(START.plusDays(40)); day = day.plusDays(1)) {
+                assertTrue(manager.executeDueOrders(day, transactionManager, new BillManager()).isEmpty());
+            }
+        });
+        assertEquals(0, transactionManager.getTransactionCount());
+
+        // Once it has a date again it is picked up
+        order.setNextExecutionDate(START.plusDays(45));
+        manager.reschedule(order);
+        assertEquals(1, manager.executeDueOrders(START.plusDays(45), transactionManager, new BillManager()).size());
+        assertEquals(new BigDecimal("100.00"), destination.getBalance());
+    }
+
+    private static Account account(int number, String balance) {
+        return new PersonalAccount(String.format("GR%020d", number), new BigDecimal(balance), null);
+    }
+}
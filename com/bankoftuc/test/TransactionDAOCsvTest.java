@@ -0,0 +1,152 @@
+package com.bankoftuc.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.bankoftuc.dao.TransactionDAOCsv;
+import com.bankoftuc.manager.TransactionManager;
+import com.bankoftuc.model.Account;
+import com.bankoftuc.model.PersonalAccount;
+import com.bankoftuc.model.Transaction;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Partitioned transaction store: queries across months, recovery from appends
+ * that were interrupted before the catalog committed them, and a ledger served from it
+ */
+public class TransactionDAOCsvTest {
+
+    private static final LocalDateTime JANUARY = LocalDateTime.of(2024, 1, 10, 9, 0);
+    private static final LocalDateTime FEBRUARY = LocalDateTime.of(2024, 2, 10, 9, 0);
+
+    @TempDir
+    Path directory;
+
+    private final Map<String, Account> accounts = new HashMap<>();
+    private final Account alice = account(1);
+    private final Account bob = account(2);
+
+    @Test
+    public void queriesReadRowsAcrossPartitions() {
+        TransactionDAOCsv store = open();
+        assertTrue(store.saveAll(List.of(
+            transaction(1, alice, bob, JANUARY),
+            transaction(2, null, alice, JANUARY.plusDays(1)),
+            transaction(3, bob, alice, FEBRUARY))));
+
+        TransactionDAOCsv reopened = open();
+        assertEquals(3, reopened.count());
+        assertEquals(List.of(1L, 2L, 3L), ids(reopened.findByAccount(alice)));
+        assertEquals(List.of(1L, 3L), ids(reopened.findByAccount(bob)));
+        assertEquals(List.of(2L, 3L), ids(reopened.findRecentByAccount(alice, 2)));
+        assertEquals(List.of(3L), ids(reopened.findByDateRange(FEBRUARY.minusDays(1), FEBRUARY.plusDays(1))));
+        assertEquals(List.of(2L, 3L), ids(reopened.findByToAccount(alice)));
+        assertEquals(alice, reopened.findById(2L).get().getToAccount());
+    }
+
+    @Test
+    public void appendNotCommittedByTheCatalogIsCutOff() throws IOException {
+        TransactionDAOCsv store = open();
+        assertTrue(store.saveAll(List.of(transaction(1, alice, bob, JANUARY))));
+
+        // Crash after appending rows (one of them torn) but before the catalog commit
+        append("2024-01.csv", "2,2024-01-11 09:00:00,5.00,TRANSFER_OUT,Lost,0.00,"
+            + alice.getIban() + "," + bob.getIban() + ",COMPLETED\n3,2024-01-12 09:0");
+        append("2024-01.idx", alice.getIban() + ",999\n");
+        append("2024-03.csv", "id,dateTime\n"); // First append to a new month
+
+        TransactionDAOCsv reopened = open();
+        assertEquals(List.of(1L), ids(reopened.findAll()));
+        assertEquals(List.of(1L), ids(reopened.findByAccount(alice)));
+        assertTrue(Files.notExists(directory.resolve("2024-03.csv")));
+
+        assertTrue(reopened.saveAll(List.of(transaction(2, bob, alice, JANUARY.plusDays(2)))));
+        assertEquals(List.of(1L, 2L), ids(open().findByAccount(alice)));
+    }
+
+    @Test
+    public void missingCatalogIsRebuiltFromPartitions() throws IOException {
+        TransactionDAOCsv store = open();
+        assertTrue(store.saveAll(List.of(
+            transaction(1, alice, bob, JANUARY),
+            transaction(2, bob, alice, FEBRUARY))));
+        Files.delete(directory.resolve("partitions.csv"));
+        Files.delete(directory.resolve("2024-02.idx"));
+        append("2024-02.csv", "3,2024-02-11"); // Torn row
+
+        TransactionDAOCsv reopened = open();
+        assertEquals(2, reopened.count());
+        assertEquals(List.of(1L, 2L), ids(reopened.findByAccount(bob)));
+        assertTrue(reopened.saveAll(List.of(transaction(3, alice, bob, FEBRUARY.plusDays(1)))));
+        assertEquals(List.of(1L, 2L, 3L), ids(open().findByAccount(bob)));
+    }
+
+    @Test
+    public void ledgerMergesStoredAndSessionTransactions() {
+        TransactionDAOCsv store = open();
+        assertTrue(store.saveAll(List.of(
+            transaction(1, alice, bob, JANUARY),
+            transaction(2, null, alice, FEBRUARY))));
+
+        TransactionManager ledger = new TransactionManager(new ArrayList<>(), store);
+        assertEquals(3L, ledger.deposit(alice, new BigDecimal("5.00"), null).getId());
+        assertEquals(List.of(1L, 2L, 3L), ids(ledger.getTransactionsForAccount(alice)));
+
+        // Saved rows are in both the store and memory, but are returned once
+        List<Transaction> pending = ledger.getUnjournaledTransactions();
+        assertTrue(store.saveAll(pending));
+        ledger.markJournaled(pending.size());
+        assertEquals(List.of(1L, 2L, 3L), ids(ledger.getTransactionsForAccount(alice)));
+        assertEquals(List.of(2L, 3L), ids(ledger.getRecentTransactions(alice, 2)));
+        assertEquals(List.of(1L, 2L, 3L), ids(ledger.getRecentTransactions(alice, 5)));
+        assertEquals(List.of(1L, 2L, 3L), ids(ledger.getAllTransactions()));
+
+        TransactionManager restarted = new TransactionManager(new ArrayList<>(), open());
+        assertEquals(4L, restarted.deposit(bob, new BigDecimal("5.00"), null).getId());
+        assertEquals(List.of(1L, 4L), ids(restarted.getTransactionsForAccount(bob)));
+    }
+
+    private TransactionDAOCsv open() {
+        return new TransactionDAOCsv(directory.toString(), accounts::get);
+    }
+
+    private Account account(int number) {
+        Account account = new PersonalAccount(String.format("GR%020d", number), new BigDecimal("100.00"), null);
+        accounts.put(account.getIban(), account);
+        return account;
+    }
+
+    private static Transaction transaction(long id, Account from, Account to, LocalDateTime dateTime) {
+        Transaction t = new Transaction(id, from, to, new BigDecimal("10.00"),
+            from == null ? Transaction.TransactionType.DEPOSIT : Transaction.TransactionType.TRANSFER_OUT,
+            "Rent, March");
+        t.setDateTime(dateTime);
+        t.setBalanceAfter(new BigDecimal("90.00"));
+        return t;
+    }
+
+    private void append(String file, String content) throws IOException {
+        Files.write(directory.resolve(file), content.getBytes(StandardCharsets.UTF_8),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private static List<Long> ids(List<Transaction> transactions) {
+        List<Long> ids = new ArrayList<>();
+        for (Transaction t : transactions) {
+            ids.add(t.getId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,140 @@
+package com.bankoftuc.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.bankoftuc.manager.TransactionManager;
+import com.bankoftuc.model.Account;
+import com.bankoftuc.model.BusinessAccount;
+import com.bankoftuc.model.PersonalAccount;
+import com.bankoftuc.model.Transaction;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Runs transfers, deposits, withdrawals and bill payments from several threads on
+ * overlapping accounts, then replays the ledger to check that no update was lost
+ */
+public class TransactionManagerConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int OPERATIONS_PER_THREAD = 20_000;
+    private static final int ACCOUNTS = 20; // Few accounts, so threads contend
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("1000.00");
+    private static final BigDecimal FEE = TransactionManager.getBillPaymentFee();
+
+    @Test
+    public void concurrentOperationsKeepLedgerAndBalancesConsistent() throws Exception {
+        List<Account> accounts = new ArrayList<>();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            String iban = String.format("GR%020d", i);
+            accounts.add(i % 5 == 0
+                ? new BusinessAccount(iban, INITIAL_BALANCE, null)
+                : new PersonalAccount(iban, INITIAL_BALANCE, null));
+        }
+        TransactionManager transactionManager = new TransactionManager();
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            long seed = t;
+            workers.add(pool.submit(() -> run(accounts, transactionManager, new Random(seed))));
+        }
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+        pool.shutdown();
+
+        List<Transaction> ledger = transactionManager.getAllTransactions();
+        for (int i = 0; i < ledger.size(); i++) {
+            assertEquals(i + 1, ledger.get(i).getId(), "ledger is in id order without gaps");
+        }
+
+        // Replay each account's own side of the ledger from its opening balance
+        Map<Account, BigDecimal> replayed = new HashMap<>();
+        for (Account account : accounts) {
+            replayed.put(account, INITIAL_BALANCE);
+        }
+        BigDecimal moneyIn = BigDecimal.ZERO;
+        for (Transaction t : ledger) {
+            Account side;
+            BigDecimal delta;
+            switch (t.getType()) {
+                case DEPOSIT:
+                    side = t.getToAccount();
+                    delta = t.getAmount();
+                    moneyIn = moneyIn.add(delta);
+                    break;
+                case WITHDRAWAL:
+                    side = t.getFromAccount();
+                    delta = t.getAmount().negate();
+                    moneyIn = moneyIn.add(delta);
+                    break;
+                case TRANSFER_IN:
+                    side = t.getToAccount();
+                    delta = t.getAmount();
+                    break;
+                case TRANSFER_OUT:
+                    side = t.getFromAccount();
+                    delta = t.getAmount().negate();
+                    break;
+                case BILL_PAYMENT:
+                    side = t.getFromAccount();
+                    delta = t.getAmount().add(FEE).negate();
+                    moneyIn = moneyIn.subtract(t.getToAccount() != null ? FEE : t.getAmount().add(FEE));
+                    break;
+                default:
+                    throw new AssertionError("Unexpected transaction type " + t.getType());
+            }
+            BigDecimal balance = replayed.get(side).add(delta);
+            assertEquals(balance, t.getBalanceAfter(), "balance after transaction " + t.getId());
+            replayed.put(side, balance);
+        }
+
+        BigDecimal total = BigDecimal.ZERO;
+        for (Account account : accounts) {
+            assertEquals(replayed.get(account), account.getBalance(), "balance of " + account.getIban());
+            assertTrue(account.getBalance().signum() >= 0, "no overdraft on " + account.getIban());
+            total = total.add(account.getBalance());
+        }
+        assertEquals(INITIAL_BALANCE.multiply(BigDecimal.valueOf(ACCOUNTS)).add(moneyIn), total,
+                     "money only enters or leaves through deposits, withdrawals and bill payments");
+    }
+
+    private static void run(List<Account> accounts, TransactionManager transactionManager, Random random) {
+        for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+            Account from = accounts.get(random.nextInt(accounts.size()));
+            Account to = accounts.get(random.nextInt(accounts.size()));
+            BigDecimal amount = BigDecimal.valueOf(1 + random.nextInt(20_000), 2);
+            try {
+                switch (random.nextInt(10)) {
+                    case 0:
+                        transactionManager.deposit(from, amount, null);
+                        break;
+                    case 1:
+                        transactionManager.withdraw(from, amount, null);
+                        break;
+                    case 2:
+                        Account issuer = to instanceof BusinessAccount && to != from ? to : null;
+                        transactionManager.payBill(from, issuer, amount, FEE, null);
+                        break;
+                    default:
+                        if (from != to) {
+                            transactionManager.transfer(from, to, amount, null);
+                        }
+                        break;
+                }
+            } catch (IllegalStateException e) {
+                // Insufficient funds - nothing was changed or recorded
+            }
+        }
+    }
+}
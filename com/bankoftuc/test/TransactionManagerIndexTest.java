@@ -0,0 +1,92 @@
+package com.bankoftuc.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.bankoftuc.manager.TransactionManager;
+import com.bankoftuc.model.Account;
+import com.bankoftuc.model.PersonalAccount;
+import com.bankoftuc.model.Transaction;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks the per-account transaction index against a scan of the whole ledger,
+ * including rows appended straight to the shared list
+ */
+public class TransactionManagerIndexTest {
+
+    private static final long SEED = 5;
+    private static final int ACCOUNTS = 15;
+    private static final int OPERATIONS = 5000;
+
+    @Test
+    public void historyAndRecentTailMatchLedgerScan() {
+        List<Account> accounts = new ArrayList<>();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            accounts.add(new PersonalAccount(String.format("GR%020d", i), new BigDecimal("500.00"), null));
+        }
+        List<Transaction> ledger = new ArrayList<>();
+        TransactionManager transactionManager = new TransactionManager(ledger);
+        Random random = new Random(SEED);
+
+        for (int i = 0; i < OPERATIONS; i++) {
+            Account from = accounts.get(random.nextInt(ACCOUNTS));
+            Account to = accounts.get(random.nextInt(ACCOUNTS));
+            BigDecimal amount = BigDecimal.valueOf(1 + random.nextInt(5_000), 2);
+            try {
+                switch (random.nextInt(4)) {
+                    case 0:
+                        transactionManager.deposit(from, amount, null);
+                        break;
+                    case 1:
+                        transactionManager.withdraw(from, amount, null);
+                        break;
+                    case 2:
+                        synchronized (ledger) { // A row added without going through the manager
+                            ledger.add(new Transaction(ledger.size() + 1, null, to, amount,
+                                                       Transaction.TransactionType.DEPOSIT, "Direct"));
+                        }
+                        to.deposit(amount);
+                        break;
+                    default:
+                        if (from != to) {
+                            transactionManager.transfer(from, to, amount, null);
+                        }
+                        break;
+                }
+            } catch (IllegalStateException e) {
+                // Insufficient funds
+            }
+
+            if (i % 500 == 0) {
+                assertIndexMatchesScan(accounts, transactionManager);
+            }
+        }
+        assertIndexMatchesScan(accounts, transactionManager);
+    }
+
+    private static void assertIndexMatchesScan(List<Account> accounts, TransactionManager transactionManager) {
+        List<Transaction> all = transactionManager.getAllTransactions();
+        for (Account account : accounts) {
+            List<Transaction> expected = new ArrayList<>();
+            for (Transaction t : all) {
+                if (touches(t.getFromAccount(), account) || touches(t.getToAccount(), account)) {
+                    expected.add(t);
+                }
+            }
+            assertEquals(expected, transactionManager.getTransactionsForAccount(account), "history of " + account.getIban());
+            for (int limit : new int[] { 0, 1, 10, expected.size(), expected.size() + 5 }) {
+                List<Transaction> tail = expected.subList(Math.max(0, expected.size() - limit), expected.size());
+                assertEquals(tail, transactionManager.getRecentTransactions(account, limit),
+                             limit + " recent of " + account.getIban());
+            }
+        }
+    }
+
+    private static boolean touches(Account side, Account account) {
+        return side != null && side.getIban().equals(account.getIban());
+    }
+}
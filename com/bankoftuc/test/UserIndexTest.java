@@ -0,0 +1,112 @@
+package com.bankoftuc.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.bankoftuc.manager.UserIndex;
+import com.bankoftuc.model.AdminUser;
+import com.bankoftuc.model.IndividualUser;
+import com.bankoftuc.model.User;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+/**
+ * User lookup tables stay in step with the users list through removals, replacements,
+ * renames and concurrent registrations
+ */
+public class UserIndexTest {
+
+    @Test
+    public void removeThenAddKeepsBothLookupsCurrent() {
+        UserIndex index = new UserIndex(new ArrayList<>());
+        User alice = user("IND000001", "alice");
+        index.add(alice);
+
+        index.remove("IND000001");
+        User bob = user("IND000002", "bob"); // Same list size as before the removal
+        index.add(bob);
+
+        assertNull(index.findByUsername("alice"));
+        assertNull(index.findById("IND000001"));
+        assertSame(bob, index.findByUsername("bob"));
+        assertSame(bob, index.findById("IND000002"));
+        assertEquals(1, index.countByType(IndividualUser.class));
+    }
+
+    @Test
+    public void renameMovesTheUsernameEntry() {
+        UserIndex index = new UserIndex(new ArrayList<>());
+        User alice = user("IND000001", "alice");
+        index.add(alice);
+
+        index.rename(alice, "alicia");
+
+        assertNull(index.findByUsername("alice"));
+        assertSame(alice, index.findByUsername("alicia"));
+    }
+
+    @Test
+    public void firstUserWithAUsernameWinsAfterEveryChange() {
+        List<User> users = new ArrayList<>();
+        User first = user("IND000001", "shared");
+        User second = user("IND000002", "shared");
+        users.add(first);
+        users.add(second);
+        UserIndex index = new UserIndex(users);
+        assertSame(first, index.findByUsername("shared"));
+
+        User third = user("IND000003", "shared");
+        index.add(third);
+        assertSame(first, index.findByUsername("shared")); // add() does not take over the name
+
+        index.remove("IND000001");
+        assertSame(second, index.findByUsername("shared"));
+
+        User replacement = new AdminUser("IND000002", "shared", "secret", "6900000000", 1);
+        index.replace(replacement);
+        assertSame(replacement, index.findByUsername("shared"));
+        assertSame(replacement, index.findById("IND000002"));
+        assertEquals(1, index.countByType(IndividualUser.class));
+        assertEquals(1, index.countByType(AdminUser.class));
+    }
+
+    @Test
+    public void concurrentRegistrationsAreAllFound() throws Exception {
+        List<User> users = Collections.synchronizedList(new ArrayList<>());
+        UserIndex index = new UserIndex(users);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<?>> tasks = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            int thread = t;
+            tasks.add(pool.submit(() -> {
+                for (int i = 0; i < 500; i++) {
+                    String id = String.format("IND%06d", thread * 1000 + i);
+                    index.add(user(id, "user" + id));
+                    assertSame(id, index.findByUsername("user" + id).getId());
+                }
+            }));
+        }
+        for (Future<?> task : tasks) {
+            task.get();
+        }
+        pool.shutdown();
+        pool.awaitTermination(10, TimeUnit.SECONDS);
+
+        assertEquals(4000, users.size());
+        assertEquals(4000, index.countByType(IndividualUser.class));
+        for (User user : users) {
+            assertSame(user, index.findById(user.getId()));
+        }
+    }
+
+    private static User user(String id, String username) {
+        return new IndividualUser(id, username, "secret", "Test User", "Main St 1", "6900000000", "123456789");
+    }
+}
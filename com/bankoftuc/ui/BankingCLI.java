@@ -433,8 +433,7 @@ public class BankingCLI {
             bankSystem.getTransactionManager().sepaTransferFull(
                 fromAccount, creditorIban, new BigDecimal(amount), description,
                 creditorName, creditorBankBic, creditorBankName, charges);
-            bankSystem.saveToFile();
-            ui.printSuccess(String.format("SEPA transfer of %.2f EUR completed to %s", amount, creditorName));
+            confirmDurable(String.format("SEPA transfer of %.2f EUR completed to %s", amount, creditorName));
         } catch (Exception e) {
             ui.printError(e.getMessage());
         }
@@ -497,8 +496,7 @@ public class BankingCLI {
                 fromAccount, beneficiaryAccount, new BigDecimal(amount), description,
                 currency, beneficiaryName, beneficiaryAddress, bankName,
                 swiftCode, bankCountry, chargingModel);
-            bankSystem.saveToFile();
-            ui.printSuccess(String.format("SWIFT transfer of %.2f %s completed to %s", amount, currency, beneficiaryName));
+            confirmDurable(String.format("SWIFT transfer of %.2f %s completed to %s", amount, currency, beneficiaryName));
         } catch (Exception e) {
             ui.printError(e.getMessage());
         }
@@ -633,11 +631,6 @@ public class BankingCLI {
         ui.waitForEnter();
     }
     
-// =====================================================
-// PATCH FOR BankingCLI.java
-// =====================================================
-// push it to github reminder
-
     private void createBillPaymentStandingOrder(Customer user) {
         List<Account> accounts = bankSystem.getAccountManager().getAccountsForCustomer(user);
         
@@ -722,10 +715,6 @@ public class BankingCLI {
         ui.waitForEnter();
     }
 
-// =====================================================
-// END OF PATCH
-// =====================================================
-    
     private void cancelStandingOrder(Customer user) {
         List<StandingOrder> orders = bankSystem.getStandingOrderManager().getStandingOrdersForCustomer(user);
         
@@ -1053,8 +1042,7 @@ public class BankingCLI {
             bankSystem.getTransactionManager().sepaTransferFull(
                 fromAccount, creditorIban, new BigDecimal(amount), description,
                 creditorName, creditorBankBic, creditorBankName, charges);
-            bankSystem.saveToFile();
-            ui.printSuccess(String.format("SEPA transfer of %.2f EUR completed to %s", amount, creditorName));
+            confirmDurable(String.format("SEPA transfer of %.2f EUR completed to %s", amount, creditorName));
         } catch (Exception e) {
             ui.printError(e.getMessage());
         }
@@ -1117,8 +1105,7 @@ public class BankingCLI {
                 fromAccount, beneficiaryAccount, new BigDecimal(amount), description,
                 currency, beneficiaryName, beneficiaryAddress, bankName,
                 swiftCode, bankCountry, chargingModel);
-            bankSystem.saveToFile();
-            ui.printSuccess(String.format("SWIFT transfer of %.2f %s completed to %s", amount, currency, beneficiaryName));
+            confirmDurable(String.format("SWIFT transfer of %.2f %s completed to %s", amount, currency, beneficiaryName));
         } catch (Exception e) {
             ui.printError(e.getMessage());
         }
@@ -1476,6 +1463,18 @@ public class BankingCLI {
     
     // ==================== Helper Methods ====================
     
+    /**
+     * Confirm an external transfer once it is saved to disk.
+     * The money has already left the bank, so a failed save is reported instead of the confirmation.
+     */
+    private void confirmDurable(String message) {
+        if (bankSystem.flush()) {
+            ui.printSuccess(message);
+        } else {
+            ui.printError("The transfer was sent but could not be saved to disk. Saving will be retried - do not repeat the transfer.");
+        }
+    }
+    
     private PersonalAccount selectAccount(List<PersonalAccount> accounts) {
         for (int i = 0; i < accounts.size(); i++) {
             System.out.printf("[%d] %s (%.2f EUR)%n", i + 1, 
@@ -0,0 +1,140 @@
+package com.bankoftuc.util;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Field encodings shared by the binary snapshot and ledger files.
+ * Amounts are a scale byte plus an unscaled long, dates are epoch days, timestamps
+ * are epoch seconds (UTC, no zone conversion) and strings are length-prefixed UTF-8.
+ * Null is -1 for strings and references, and Long.MIN_VALUE for dates and timestamps.
+ */
+public final class BinaryCodec {
+    
+    public static final long NULL_TIME = Long.MIN_VALUE;
+    
+    private BinaryCodec() {
+    }
+    
+    /**
+     * Write an amount as scale + unscaled long
+     * @throws IOException if the amount has more than 18 digits
+     */
+    public static void writeDecimal(DataOutput out, BigDecimal value) throws IOException {
+        if (value == null) {
+            out.writeByte(-1);
+            return;
+        }
+        try {
+            long unscaled = value.unscaledValue().longValueExact();
+            out.writeByte(value.scale());
+            out.writeLong(unscaled);
+        } catch (ArithmeticException e) {
+            throw new IOException("Amount too large for binary format: " + value);
+        }
+    }
+    
+    public static BigDecimal readDecimal(ByteBuffer in) {
+        byte scale = in.get();
+        if (scale == -1) return null;
+        return BigDecimal.valueOf(in.getLong(), scale);
+    }
+    
+    public static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+    
+    public static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) return null;
+        if (length > in.remaining()) throw new BufferUnderflowException();
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    
+    public static long toEpochDay(LocalDate date) {
+        return date != null ? date.toEpochDay() : NULL_TIME;
+    }
+    
+    public static LocalDate fromEpochDay(long day) {
+        return day != NULL_TIME ? LocalDate.ofEpochDay(day) : null;
+    }
+    
+    public static long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.toEpochSecond(ZoneOffset.UTC) : NULL_TIME;
+    }
+    
+    public static LocalDateTime fromEpochSecond(long seconds) {
+        return seconds != NULL_TIME ? LocalDateTime.ofEpochSecond(seconds, 0, ZoneOffset.UTC) : null;
+    }
+    
+    /**
+     * Interned strings referenced by index, so repeated IBANs, usernames
+     * and enum names are stored once per file
+     */
+    public static class StringTable {
+        
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+        
+        /**
+         * Index of a string, adding it if new
+         * @return the index, or -1 for null
+         */
+        public int intern(String value) {
+            if (value == null) return -1;
+            Integer index = indexes.get(value);
+            if (index == null) {
+                index = values.size();
+                values.add(value);
+                indexes.put(value, index);
+            }
+            return index;
+        }
+        
+        /**
+         * Check if a string is already in the table
+         */
+        public boolean contains(String value) {
+            return value == null || indexes.containsKey(value);
+        }
+        
+        /**
+         * String at an index (null for -1)
+         */
+        public String get(int index) {
+            return index >= 0 ? values.get(index) : null;
+        }
+        
+        public int size() {
+            return values.size();
+        }
+        
+        /**
+         * Drop strings added after the table had the given size
+         */
+        public void truncate(int size) {
+            while (values.size() > size) {
+                indexes.remove(values.remove(values.size() - 1));
+            }
+        }
+    }
+}
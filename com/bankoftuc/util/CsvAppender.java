@@ -0,0 +1,128 @@
+package com.bankoftuc.util;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends rows to a UTF-8 CSV file that is written in place rather than through a snapshot
+ * (the transaction store partitions).
+ * New rows always start on a fresh line: a row torn by an earlier crash is terminated
+ * first, so readers skip it instead of joining it to the next row. commit() syncs a whole
+ * batch to disk at once (group commit); a batch closed without commit() is cut off again,
+ * so retrying it does not store its rows twice.
+ * Not thread-safe.
+ */
+public class CsvAppender implements Closeable {
+    
+    private static final int BUFFER_SIZE = 64 * 1024;
+    
+    private final FileChannel channel;
+    private final OutputStream out;
+    private long position;
+    private long committedLength; // End of the last committed row
+    
+    private CsvAppender(FileChannel channel, long length) throws IOException {
+        this.channel = channel;
+        this.position = length;
+        this.committedLength = length;
+        channel.position(length);
+        this.out = new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE);
+    }
+    
+    /**
+     * Open a file for appending after its last row, creating it (and its directory) if needed
+     * @param header row written first when the file is new or empty, or null for none
+     */
+    public static CsvAppender open(File file, String header) throws IOException {
+        return open(file, header, -1);
+    }
+    
+    /**
+     * Open a file for appending, first cutting it back to a length known to be complete
+     * @param validLength length of the file after its last committed row; bytes past it
+     *        (an append that was never committed) are dropped. -1 keeps the whole file.
+     */
+    public static CsvAppender open(File file, String header, long validLength) throws IOException {
+        File directory = file.getAbsoluteFile().getParentFile();
+        if (directory != null) {
+            Files.createDirectories(directory.toPath());
+        }
+        FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                               StandardOpenOption.READ);
+        try {
+            long length = channel.size();
+            if (validLength >= 0 && length > validLength) {
+                channel.truncate(validLength);
+                length = validLength;
+            }
+            boolean tornRow = length > 0 && lastByte(channel, length) != '\n';
+            CsvAppender appender = new CsvAppender(channel, length);
+            if (length == 0 && header != null) {
+                appender.println(header);
+            } else if (tornRow) {
+                appender.write(new byte[] { '\n' }); // Terminate a row torn by an earlier crash
+            }
+            return appender;
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+    
+    private static int lastByte(FileChannel channel, long length) throws IOException {
+        ByteBuffer last = ByteBuffer.allocate(1);
+        channel.read(last, length - 1);
+        return last.get(0);
+    }
+    
+    /**
+     * File offset at which the next row starts
+     */
+    public long position() {
+        return position;
+    }
+    
+    /**
+     * Append one row (without its line terminator)
+     */
+    public void println(String row) throws IOException {
+        write((row + "\n").getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private void write(byte[] bytes) throws IOException {
+        out.write(bytes);
+        position += bytes.length;
+    }
+    
+    /**
+     * Write all appended rows and sync them to disk
+     */
+    public void commit() throws IOException {
+        out.flush();
+        channel.force(false);
+        committedLength = position;
+    }
+    
+    /**
+     * Close the file. Rows appended since the last commit() are dropped.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (position != committedLength) {
+                channel.truncate(committedLength);
+            }
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,575 @@
+package com.bankoftuc.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Zero-copy UTF-8 CSV reader over a byte buffer.
+ * next() only records field offsets; values are parsed straight from the bytes
+ * (numbers, dates, enums) and a String is created only when getString() is called.
+ * Quoted fields may contain commas, escaped quotes ("") and line breaks.
+ *
+ * A reader covers a byte range, so a file read with read() can be split with
+ * splitRecords() and read by several threads, each with its own reader over a
+ * shared buffer. open() instead streams a file of any size through a small window.
+ * Files are never memory-mapped: a mapping keeps the file locked on Windows until
+ * it is garbage collected, and the data files are replaced on every save.
+ * Not thread-safe itself.
+ */
+public class CsvReader implements Closeable {
+    
+    /** Largest file read() loads into one buffer; open() reads larger files */
+    public static final long MAX_BUFFER_SIZE = Integer.MAX_VALUE - 8;
+    private static final int STREAM_WINDOW = 1 << 20;
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final DateTimeFormatter DATETIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final ClassValue<Enum<?>[]> ENUM_VALUES = new ClassValue<Enum<?>[]>() {
+        @Override
+        protected Enum<?>[] computeValue(Class<?> type) {
+            return (Enum<?>[]) type.getEnumConstants();
+        }
+    };
+    
+    private ByteBuffer buffer;
+    private int end;
+    private FileChannel channel; // Set while streaming a file that has more bytes to read
+    private int position;
+    private int recordStart;
+    private int fieldCount;
+    private int[] fieldStart = new int[16];
+    private int[] fieldEnd = new int[16];
+    private boolean[] fieldQuoted = new boolean[16];
+    private byte[] scratch = new byte[256];
+    
+    /**
+     * Reader over a byte range of a buffer. The range must start at a record boundary.
+     */
+    public CsvReader(ByteBuffer buffer, int start, int end) {
+        this.buffer = buffer;
+        this.position = start;
+        this.end = end;
+    }
+    
+    /**
+     * Reader over a whole buffer
+     */
+    public CsvReader(ByteBuffer buffer) {
+        this(buffer, dataStart(buffer), buffer.limit());
+    }
+    
+    /**
+     * Read a whole file into a heap buffer. Returns an empty buffer if the file does not exist.
+     * @throws IOException if the file is larger than MAX_BUFFER_SIZE (use open() instead)
+     */
+    public static ByteBuffer read(String path) throws IOException {
+        Path file = Paths.get(path);
+        if (!Files.exists(file)) {
+            return ByteBuffer.allocate(0);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > MAX_BUFFER_SIZE) {
+                throw new IOException("File too large for one buffer: " + path);
+            }
+            ByteBuffer heap = ByteBuffer.allocate((int) size);
+            while (heap.hasRemaining() && channel.read(heap) >= 0) {
+                // Keep reading until full
+            }
+            heap.flip();
+            return heap;
+        }
+    }
+    
+    /**
+     * Open a streaming reader over a whole file, of any size.
+     * The file stays open until the last record is read or close() is called.
+     * A missing file reads as empty.
+     */
+    public static CsvReader open(String path) throws IOException {
+        Path file = Paths.get(path);
+        if (!Files.exists(file)) {
+            return new CsvReader(ByteBuffer.allocate(0));
+        }
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            int window = (int) Math.max(1, Math.min(channel.size(), STREAM_WINDOW));
+            CsvReader reader = new CsvReader(ByteBuffer.allocate(window), 0, 0);
+            reader.channel = channel;
+            reader.fill();
+            reader.position = dataStart(reader.buffer, reader.end);
+            return reader;
+        } catch (IOException | UncheckedIOException e) {
+            channel.close();
+            throw e instanceof UncheckedIOException ? ((UncheckedIOException) e).getCause() : (IOException) e;
+        }
+    }
+    
+    /**
+     * Read more of a streamed file into the buffer, keeping the unread bytes from position.
+     * The buffer grows when a single record does not fit. Closes the file at its end.
+     */
+    private void fill() {
+        if (channel == null) return;
+        try {
+            int remaining = end - position;
+            if (position == 0 && end == buffer.capacity()) {
+                ByteBuffer larger = ByteBuffer.allocate(buffer.capacity() * 2); // Record longer than the window
+                larger.put(buffer.array(), 0, remaining);
+                buffer = larger;
+            } else {
+                System.arraycopy(buffer.array(), position, buffer.array(), 0, remaining);
+                buffer.clear();
+                buffer.position(remaining);
+            }
+            position = 0;
+            
+            int read = 0;
+            while (buffer.hasRemaining() && (read = channel.read(buffer)) >= 0) {
+                // Keep reading until full
+            }
+            end = buffer.position();
+            buffer.clear(); // Absolute reads only; the limit stays at capacity
+            if (read < 0) {
+                close();
+            }
+        } catch (IOException e) {
+            close();
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    /**
+     * Close the file of a streaming reader. Readers over a buffer have nothing to close.
+     */
+    @Override
+    public void close() {
+        if (channel == null) return;
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // Read-only; nothing was lost
+        } finally {
+            channel = null;
+        }
+    }
+    
+    /**
+     * Offset of the first byte after a UTF-8 byte order mark, if any
+     */
+    private static int dataStart(ByteBuffer buffer) {
+        return dataStart(buffer, buffer.limit());
+    }
+    
+    private static int dataStart(ByteBuffer buffer, int limit) {
+        if (limit >= 3 && (buffer.get(0) & 0xFF) == 0xEF
+                && (buffer.get(1) & 0xFF) == 0xBB && (buffer.get(2) & 0xFF) == 0xBF) {
+            return 3;
+        }
+        return 0;
+    }
+    
+    /**
+     * Split a buffer into about the given number of record-aligned ranges.
+     * @param skipHeader true to leave the first record out of all ranges
+     * @return list of {start, end} byte ranges in file order
+     */
+    public static List<int[]> splitRecords(ByteBuffer buffer, boolean skipHeader, int parts) {
+        int start = dataStart(buffer);
+        int limit = buffer.limit();
+        if (skipHeader) {
+            start = nextRecordStart(buffer, start, limit);
+        }
+        
+        List<int[]> ranges = new ArrayList<>();
+        int chunkSize = Math.max(1, (limit - start) / Math.max(1, parts));
+        int chunkStart = start;
+        boolean inQuotes = false;
+        
+        // Quote-aware scan so a line break inside a quoted field never ends a chunk
+        for (int i = start; i < limit; i++) {
+            byte b = buffer.get(i);
+            if (b == '"') {
+                inQuotes = !inQuotes;
+            } else if (b == '\n' && !inQuotes && i + 1 - chunkStart >= chunkSize) {
+                ranges.add(new int[] {chunkStart, i + 1});
+                chunkStart = i + 1;
+            }
+        }
+        if (chunkStart < limit) {
+            ranges.add(new int[] {chunkStart, limit});
+        }
+        return ranges;
+    }
+    
+    /**
+     * Offset just past the record that starts at the given offset
+     */
+    private static int nextRecordStart(ByteBuffer buffer, int from, int limit) {
+        boolean inQuotes = false;
+        for (int i = from; i < limit; i++) {
+            byte b = buffer.get(i);
+            if (b == '"') {
+                inQuotes = !inQuotes;
+            } else if (b == '\n' && !inQuotes) {
+                return i + 1;
+            }
+        }
+        return limit;
+    }
+    
+    /**
+     * Skip one record (e.g. the header)
+     */
+    public void skipRecord() {
+        if (channel != null) {
+            next(); // The record may continue past the buffered bytes
+            return;
+        }
+        position = nextRecordStart(buffer, position, end);
+    }
+    
+    /**
+     * Advance to the next record
+     * @return false at the end of the range
+     * @throws UncheckedIOException if reading a streamed file fails
+     */
+    public boolean next() {
+        if (position >= end) {
+            fill();
+            if (position >= end) {
+                return false;
+            }
+        }
+        while (!scanRecord(channel == null)) {
+            fill();
+        }
+        return true;
+    }
+    
+    /**
+     * Record the fields of the record at position and move past it
+     * @param atEnd true if no more bytes follow the buffered ones
+     * @return false, without moving position, if the record continues past the buffered bytes
+     */
+    private boolean scanRecord(boolean atEnd) {
+        recordStart = position;
+        fieldCount = 0;
+        int fieldBegin = position;
+        boolean quoted = false;
+        boolean inQuotes = false;
+        int i = position;
+        
+        while (i < end) {
+            byte b = buffer.get(i);
+            if (inQuotes) {
+                if (b == '"') {
+                    if (i + 1 == end && !atEnd) {
+                        return false; // Cannot tell a closing quote from an escaped one yet
+                    }
+                    if (i + 1 < end && buffer.get(i + 1) == '"') {
+                        i++; // Escaped quote, unescaped in getString
+                    } else {
+                        inQuotes = false;
+                    }
+                }
+            } else if (b == '"') {
+                inQuotes = true;
+                quoted = true;
+            } else if (b == ',') {
+                addField(fieldBegin, i, quoted);
+                fieldBegin = i + 1;
+                quoted = false;
+            } else if (b == '\n') {
+                break;
+            }
+            i++;
+        }
+        if (i == end && !atEnd) {
+            return false;
+        }
+        
+        int recordEnd = i;
+        if (recordEnd > fieldBegin && buffer.get(recordEnd - 1) == '\r') {
+            recordEnd--; // Windows line ending
+        }
+        addField(fieldBegin, recordEnd, quoted);
+        position = i < end ? i + 1 : end;
+        return true;
+    }
+    
+    private void addField(int start, int stop, boolean quoted) {
+        if (fieldCount == fieldStart.length) {
+            fieldStart = Arrays.copyOf(fieldStart, fieldCount * 2);
+            fieldEnd = Arrays.copyOf(fieldEnd, fieldCount * 2);
+            fieldQuoted = Arrays.copyOf(fieldQuoted, fieldCount * 2);
+        }
+        fieldStart[fieldCount] = start;
+        fieldEnd[fieldCount] = stop;
+        fieldQuoted[fieldCount] = quoted;
+        fieldCount++;
+    }
+    
+    /**
+     * Number of fields in the current record
+     */
+    public int fieldCount() {
+        return fieldCount;
+    }
+    
+    /**
+     * Check if a field is empty (or missing)
+     */
+    public boolean isEmpty(int field) {
+        if (field >= fieldCount) return true;
+        int length = fieldEnd[field] - fieldStart[field];
+        return length == 0 || (fieldQuoted[field] && length == 2);
+    }
+    
+    /**
+     * Decode a field as a String, removing quotes
+     */
+    public String getString(int field) {
+        if (field >= fieldCount) return "";
+        int start = fieldStart[field];
+        int stop = fieldEnd[field];
+        if (stop - start > scratch.length) {
+            scratch = new byte[Math.max(stop - start, scratch.length * 2)];
+        }
+        
+        int length = 0;
+        if (!fieldQuoted[field]) {
+            for (int i = start; i < stop; i++) {
+                scratch[length++] = buffer.get(i);
+            }
+        } else {
+            boolean inQuotes = false;
+            for (int i = start; i < stop; i++) {
+                byte b = buffer.get(i);
+                if (b == '"') {
+                    if (inQuotes && i + 1 < stop && buffer.get(i + 1) == '"') {
+                        scratch[length++] = '"';
+                        i++;
+                    } else {
+                        inQuotes = !inQuotes;
+                    }
+                } else {
+                    scratch[length++] = b;
+                }
+            }
+        }
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+    
+    /**
+     * Parse a field as a long
+     * @throws NumberFormatException if the field is not an integer
+     */
+    public long getLong(int field) {
+        int i = unquotedStart(field);
+        int stop = unquotedEnd(field);
+        if (i >= stop) throw new NumberFormatException("Empty number in field " + field);
+        
+        boolean negative = false;
+        byte first = buffer.get(i);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            i++;
+            if (i >= stop) throw new NumberFormatException("For input string: \"" + getString(field) + "\"");
+        }
+        if (stop - i > 18) {
+            return Long.parseLong(getString(field).trim());
+        }
+        
+        long value = 0;
+        for (; i < stop; i++) {
+            int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new NumberFormatException("For input string: \"" + getString(field) + "\"");
+            }
+            value = value * 10 + digit;
+        }
+        return negative ? -value : value;
+    }
+    
+    /**
+     * Parse a field as an int
+     */
+    public int getInt(int field) {
+        long value = getLong(field);
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new NumberFormatException("Value out of int range: " + value);
+        }
+        return (int) value;
+    }
+    
+    /**
+     * Parse a field as a boolean ("true" in any case, like Boolean.parseBoolean)
+     */
+    public boolean getBoolean(int field) {
+        int start = unquotedStart(field);
+        if (unquotedEnd(field) - start != 4) return false;
+        return (buffer.get(start) | 0x20) == 't' && (buffer.get(start + 1) | 0x20) == 'r'
+            && (buffer.get(start + 2) | 0x20) == 'u' && (buffer.get(start + 3) | 0x20) == 'e';
+    }
+    
+    /**
+     * Parse a field as a decimal, keeping its scale (same result as new BigDecimal(text))
+     */
+    public BigDecimal getDecimal(int field) {
+        int i = unquotedStart(field);
+        int stop = unquotedEnd(field);
+        if (i >= stop) throw new NumberFormatException("Empty decimal in field " + field);
+        
+        boolean negative = false;
+        byte first = buffer.get(i);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            i++;
+        }
+        
+        long unscaled = 0;
+        int digits = 0;
+        int scale = -1;
+        for (; i < stop; i++) {
+            byte b = buffer.get(i);
+            if (b == '.' && scale < 0) {
+                scale = 0;
+                continue;
+            }
+            int digit = b - '0';
+            if (digit < 0 || digit > 9 || digits >= 18) {
+                // Exponent, overflow or bad input - let BigDecimal handle or reject it
+                return new BigDecimal(getString(field).trim());
+            }
+            unscaled = unscaled * 10 + digit;
+            digits++;
+            if (scale >= 0) scale++;
+        }
+        if (digits == 0) {
+            throw new NumberFormatException("For input string: \"" + getString(field) + "\"");
+        }
+        return BigDecimal.valueOf(negative ? -unscaled : unscaled, Math.max(scale, 0));
+    }
+    
+    /**
+     * Parse a yyyy-MM-dd field
+     */
+    public LocalDate getDate(int field) {
+        int start = unquotedStart(field);
+        if (unquotedEnd(field) - start == 10 && buffer.get(start + 4) == '-' && buffer.get(start + 7) == '-') {
+            int year = digits(start, 4);
+            int month = digits(start + 5, 2);
+            int day = digits(start + 8, 2);
+            if (year >= 0 && month >= 0 && day >= 0) {
+                return LocalDate.of(year, month, day);
+            }
+        }
+        return LocalDate.parse(getString(field), DATE_FORMAT);
+    }
+    
+    /**
+     * Parse a yyyy-MM-dd HH:mm:ss field
+     */
+    public LocalDateTime getDateTime(int field) {
+        int start = unquotedStart(field);
+        if (unquotedEnd(field) - start == 19 && buffer.get(start + 4) == '-' && buffer.get(start + 7) == '-'
+                && buffer.get(start + 10) == ' ' && buffer.get(start + 13) == ':' && buffer.get(start + 16) == ':') {
+            int year = digits(start, 4);
+            int month = digits(start + 5, 2);
+            int day = digits(start + 8, 2);
+            int hour = digits(start + 11, 2);
+            int minute = digits(start + 14, 2);
+            int second = digits(start + 17, 2);
+            if (year >= 0 && month >= 0 && day >= 0 && hour >= 0 && minute >= 0 && second >= 0) {
+                return LocalDateTime.of(year, month, day, hour, minute, second);
+            }
+        }
+        return LocalDateTime.parse(getString(field), DATETIME_FORMAT);
+    }
+    
+    /**
+     * Parse a field as an enum constant by comparing bytes with the constant names
+     * @throws IllegalArgumentException if no constant matches (like Enum.valueOf)
+     */
+    @SuppressWarnings("unchecked")
+    public <E extends Enum<E>> E getEnum(int field, Class<E> type) {
+        int start = unquotedStart(field);
+        int length = unquotedEnd(field) - start;
+        
+        for (Enum<?> constant : ENUM_VALUES.get(type)) {
+            String name = constant.name();
+            if (name.length() != length) continue;
+            boolean match = true;
+            for (int i = 0; i < length && match; i++) {
+                match = buffer.get(start + i) == name.charAt(i);
+            }
+            if (match) return (E) constant;
+        }
+        throw new IllegalArgumentException("No enum constant " + type.getCanonicalName() + "." + getString(field));
+    }
+    
+    /**
+     * Check if a field equals an ASCII string without decoding it
+     */
+    public boolean equalsAscii(int field, String value) {
+        int start = unquotedStart(field);
+        if (unquotedEnd(field) - start != value.length()) return false;
+        for (int i = 0; i < value.length(); i++) {
+            if (buffer.get(start + i) != value.charAt(i)) return false;
+        }
+        return true;
+    }
+    
+    /**
+     * The current record as text (for error messages)
+     */
+    public String recordText() {
+        int stop = position;
+        while (stop > recordStart && (buffer.get(stop - 1) == '\n' || buffer.get(stop - 1) == '\r')) {
+            stop--;
+        }
+        byte[] bytes = new byte[stop - recordStart];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = buffer.get(recordStart + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    
+    /**
+     * Parse a fixed number of ASCII digits, or -1 if any byte is not a digit
+     */
+    private int digits(int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9) return -1;
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+    
+    private int unquotedStart(int field) {
+        if (field >= fieldCount) return 0;
+        return fieldQuoted[field] && fieldEnd[field] - fieldStart[field] >= 2 ? fieldStart[field] + 1 : fieldStart[field];
+    }
+    
+    private int unquotedEnd(int field) {
+        if (field >= fieldCount) return 0;
+        return fieldQuoted[field] && fieldEnd[field] - fieldStart[field] >= 2 ? fieldEnd[field] - 1 : fieldEnd[field];
+    }
+}
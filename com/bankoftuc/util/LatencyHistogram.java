@@ -0,0 +1,149 @@
+package com.bankoftuc.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram with log-linear buckets (HdrHistogram style, about 3% precision).
+ * Values below 64 ns get a bucket each; above that every power of two is split into
+ * 32 buckets. Recording only increments preallocated counters, so it never allocates
+ * and is safe from any thread. Percentiles are computed from a snapshot.
+ */
+public class LatencyHistogram {
+    
+    private static final int SUB_BITS = 6;
+    private static final int LINEAR = 1 << SUB_BITS;       // 64 exact buckets
+    private static final int HALF = LINEAR / 2;            // 32 buckets per power of two
+    private static final int BUCKETS = LINEAR + (64 - SUB_BITS) * HALF;
+    
+    private final String name;
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder total = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+    
+    public LatencyHistogram(String name) {
+        this.name = name;
+    }
+    
+    /**
+     * Record a latency in nanoseconds
+     */
+    public void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+        buckets.incrementAndGet(bucketOf(nanos));
+        count.increment();
+        total.add(nanos);
+        long current = max.get();
+        while (nanos > current && !max.compareAndSet(current, nanos)) {
+            current = max.get();
+        }
+    }
+    
+    /**
+     * Record the time elapsed since a System.nanoTime() reading
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public long getCount() {
+        return count.sum();
+    }
+    
+    private static int bucketOf(long value) {
+        if (value < LINEAR) return (int) value;
+        int shift = 64 - Long.numberOfLeadingZeros(value) - SUB_BITS; // >= 1
+        int top = (int) (value >>> shift);                              // HALF..LINEAR-1
+        return LINEAR + (shift - 1) * HALF + (top - HALF);
+    }
+    
+    /**
+     * Highest value that falls into a bucket
+     */
+    private static long bucketUpperBound(int index) {
+        if (index < LINEAR) return index;
+        int k = index - LINEAR;
+        int shift = k / HALF + 1;
+        long top = k % HALF + HALF;
+        return ((top + 1) << shift) - 1;
+    }
+    
+    /**
+     * Consistent-enough copy of the histogram for reporting
+     */
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKETS];
+        long n = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = buckets.get(i);
+            n += copy[i];
+        }
+        return new Snapshot(name, copy, n, total.sum(), max.get());
+    }
+    
+    /**
+     * Point-in-time view of a histogram; values are in nanoseconds
+     */
+    public static class Snapshot {
+        private final String name;
+        private final long[] buckets;
+        private final long count;
+        private final long total;
+        private final long max;
+        
+        Snapshot(String name, long[] buckets, long count, long total, long max) {
+            this.name = name;
+            this.buckets = buckets;
+            this.count = count;
+            this.total = total;
+            this.max = max;
+        }
+        
+        public String getName() { return name; }
+        public long getCount() { return count; }
+        public long getMax() { return max; }
+        
+        public double getMean() {
+            return count == 0 ? 0 : (double) total / count;
+        }
+        
+        /**
+         * Samples recorded between an earlier snapshot of the same histogram and this one.
+         * The max is the upper bound of the highest bucket that received samples.
+         */
+        public Snapshot since(Snapshot earlier) {
+            if (earlier == null) return this;
+            long[] delta = new long[buckets.length];
+            long deltaMax = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                delta[i] = buckets[i] - earlier.buckets[i];
+                if (delta[i] > 0) {
+                    deltaMax = Math.min(bucketUpperBound(i), max);
+                }
+            }
+            return new Snapshot(name, delta, count - earlier.count, total - earlier.total, deltaMax);
+        }
+        
+        /**
+         * Value at a percentile (0-100), as the upper bound of its bucket
+         */
+        public long getPercentile(double percentile) {
+            if (count == 0) return 0;
+            long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+            long seen = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                seen += buckets[i];
+                if (seen >= rank) {
+                    return Math.min(bucketUpperBound(i), max);
+                }
+            }
+            return max;
+        }
+    }
+}
@@ -0,0 +1,310 @@
+package com.bankoftuc.util;
+
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous structured logger for the manager, bridge and command packages.
+ * A log call checks the level, claims a slot in a preallocated ring buffer and returns;
+ * a background thread formats the entries and writes them to the console in batches,
+ * so callers never wait on the console lock. Entries are a message plus key/value
+ * fields, written as one line: time, level, subsystem, thread, message, key=value...
+ *
+ * When the buffer is full, DEBUG and INFO entries are dropped (and counted in the
+ * log.dropped metric); WARN and ERROR entries wait for space.
+ *
+ * Configured with -Dbankoftuc.log.level (default INFO), per subsystem with
+ * -Dbankoftuc.log.SUBSYSTEM (e.g. -Dbankoftuc.log.standingOrders=OFF),
+ * -Dbankoftuc.log.quiet=true (WARN and above only, for batch runs) and
+ * -Dbankoftuc.log.bufferSize (default 8192 entries).
+ */
+public final class Log {
+    
+    public enum Level { DEBUG, INFO, WARN, ERROR, OFF }
+    
+    /**
+     * Areas that can be switched on and off independently
+     */
+    public enum Subsystem {
+        TRANSACTIONS("transactions"),
+        STANDING_ORDERS("standingOrders"),
+        TRANSFERS("transfers"),
+        COMMANDS("commands"),
+        AUTH("auth"),
+        PERSISTENCE("persistence"),
+        SYSTEM("system");
+        
+        private final String key;
+        private volatile Level level;
+        
+        Subsystem(String key) {
+            this.key = key;
+            this.level = parseLevel(System.getProperty("bankoftuc.log." + key),
+                                    parseLevel(System.getProperty("bankoftuc.log.level"), Level.INFO));
+        }
+        
+        public String getKey() {
+            return key;
+        }
+    }
+    
+    private static final int CAPACITY = Integer.highestOneBit(Math.max(64, Integer.getInteger("bankoftuc.log.bufferSize", 8192)));
+    private static final int MASK = CAPACITY - 1;
+    private static final long FLUSH_TIMEOUT_MS = 2000;
+    private static final int BATCH_CHARS = 32 * 1024;
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+    private static final LongAdder DROPPED = Metrics.counter("log.dropped");
+    
+    private static final Slot[] ring = new Slot[CAPACITY];
+    private static final AtomicLong tail = new AtomicLong();  // Next slot to claim
+    private static volatile long head;                       // Next slot to write
+    private static volatile boolean writerParked;
+    private static volatile boolean quiet = Boolean.getBoolean("bankoftuc.log.quiet");
+    private static volatile PrintStream out = System.out;
+    private static volatile Thread writer;
+    
+    static {
+        for (int i = 0; i < CAPACITY; i++) {
+            ring[i] = new Slot(i);
+        }
+    }
+    
+    /**
+     * A ring buffer entry. sequence == position + 1 once published, and
+     * position + CAPACITY once written, which frees it for the next lap.
+     */
+    private static final class Slot {
+        volatile long sequence;
+        long time;
+        Level level;
+        Subsystem subsystem;
+        String thread;
+        String message;
+        Object[] fields;
+        
+        Slot(long sequence) {
+            this.sequence = sequence;
+        }
+    }
+    
+    private Log() {
+    }
+    
+    public static void debug(Subsystem subsystem, String message, Object... fields) {
+        log(Level.DEBUG, subsystem, message, fields);
+    }
+    
+    public static void info(Subsystem subsystem, String message, Object... fields) {
+        log(Level.INFO, subsystem, message, fields);
+    }
+    
+    public static void warn(Subsystem subsystem, String message, Object... fields) {
+        log(Level.WARN, subsystem, message, fields);
+    }
+    
+    public static void error(Subsystem subsystem, String message, Object... fields) {
+        log(Level.ERROR, subsystem, message, fields);
+    }
+    
+    /**
+     * Check if entries of a level would be written; use it to skip building expensive fields
+     */
+    public static boolean isEnabled(Level level, Subsystem subsystem) {
+        Level threshold = subsystem.level;
+        if (quiet && threshold.compareTo(Level.WARN) < 0) {
+            threshold = Level.WARN;
+        }
+        return level != Level.OFF && level.compareTo(threshold) >= 0;
+    }
+    
+    /**
+     * Set the minimum level for one subsystem
+     */
+    public static void setLevel(Subsystem subsystem, Level level) {
+        subsystem.level = level;
+    }
+    
+    /**
+     * Set the minimum level for all subsystems
+     */
+    public static void setLevel(Level level) {
+        for (Subsystem subsystem : Subsystem.values()) {
+            subsystem.level = level;
+        }
+    }
+    
+    /**
+     * Quiet mode: only WARN and ERROR are written, whatever the subsystem levels
+     */
+    public static void setQuiet(boolean enabled) {
+        quiet = enabled;
+    }
+    
+    public static boolean isQuiet() {
+        return quiet;
+    }
+    
+    /**
+     * Redirect output (entries already queued go to the new stream)
+     */
+    public static void setOutput(PrintStream stream) {
+        out = stream;
+    }
+    
+    /**
+     * Log an entry; fields are alternating keys and values
+     */
+    public static void log(Level level, Subsystem subsystem, String message, Object... fields) {
+        if (!isEnabled(level, subsystem)) return;
+        startWriter();
+        
+        while (true) {
+            long position = tail.get();
+            Slot slot = ring[(int) (position & MASK)];
+            long lag = slot.sequence - position;
+            if (lag == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slot.time = System.currentTimeMillis();
+                    slot.level = level;
+                    slot.subsystem = subsystem;
+                    slot.thread = Thread.currentThread().getName();
+                    slot.message = message;
+                    slot.fields = fields;
+                    slot.sequence = position + 1; // Publish
+                    if (writerParked) {
+                        LockSupport.unpark(writer);
+                    }
+                    return;
+                }
+            } else if (lag < 0) {
+                // Full: the writer has not freed this slot from the previous lap yet
+                if (level.compareTo(Level.WARN) < 0) {
+                    DROPPED.increment();
+                    return;
+                }
+                LockSupport.unpark(writer);
+                LockSupport.parkNanos(50_000);
+            }
+            // lag > 0: another thread claimed the slot first; retry
+        }
+    }
+    
+    /**
+     * Wait until everything logged so far has been written (bounded by a timeout)
+     */
+    public static void flush() {
+        Thread current = writer;
+        if (current == null || Thread.currentThread() == current) return;
+        long target = tail.get();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(FLUSH_TIMEOUT_MS);
+        while (head < target && System.nanoTime() < deadline) {
+            LockSupport.unpark(current);
+            LockSupport.parkNanos(100_000);
+        }
+    }
+    
+    /**
+     * Start the writer thread on first use
+     */
+    private static void startWriter() {
+        if (writer != null) return;
+        synchronized (Log.class) {
+            if (writer != null) return;
+            Thread thread = new Thread(Log::drain, "bank-log");
+            thread.setDaemon(true);
+            thread.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(Log::flush, "bank-log-shutdown"));
+            writer = thread;
+        }
+    }
+    
+    /**
+     * Writer loop: format published entries into a batch and print it in one call
+     */
+    private static void drain() {
+        StringBuilder batch = new StringBuilder(BATCH_CHARS + 1024);
+        long position = head;
+        long droppedReported = 0;
+        while (true) {
+            Slot slot = ring[(int) (position & MASK)];
+            if (slot.sequence == position + 1) {
+                format(slot, batch);
+                slot.message = null;
+                slot.fields = null;
+                slot.thread = null;
+                slot.sequence = position + CAPACITY; // Free for the next lap
+                position++;
+                if (batch.length() >= BATCH_CHARS) {
+                    out.print(batch);
+                    batch.setLength(0);
+                    head = position;
+                }
+                continue;
+            }
+            
+            // Caught up: push the batch out, report drops, then sleep until the next entry
+            long dropped = DROPPED.sum();
+            if (dropped > droppedReported) {
+                batch.append(TIME_FORMAT.format(Instant.now())).append(" WARN  log [bank-log] Log buffer full dropped=")
+                    .append(dropped - droppedReported).append(System.lineSeparator());
+                droppedReported = dropped;
+            }
+            if (batch.length() > 0) {
+                out.print(batch);
+                batch.setLength(0);
+            }
+            out.flush();
+            head = position;
+            writerParked = true;
+            if (slot.sequence != position + 1) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(100));
+            }
+            writerParked = false;
+        }
+    }
+    
+    private static void format(Slot slot, StringBuilder line) {
+        line.append(TIME_FORMAT.format(Instant.ofEpochMilli(slot.time))).append(' ');
+        String level = slot.level.name();
+        line.append(level);
+        for (int i = level.length(); i < 5; i++) {
+            line.append(' ');
+        }
+        line.append(' ').append(slot.subsystem.key);
+        line.append(" [").append(slot.thread).append("] ");
+        line.append(slot.message);
+        
+        Object[] fields = slot.fields;
+        for (int i = 0; i + 1 < fields.length; i += 2) {
+            line.append(' ').append(fields[i]).append('=');
+            appendValue(line, fields[i + 1]);
+        }
+        line.append(System.lineSeparator());
+    }
+    
+    private static void appendValue(StringBuilder line, Object value) {
+        String text = value instanceof BigDecimal ? ((BigDecimal) value).toPlainString() : String.valueOf(value);
+        if (text.isEmpty() || text.indexOf(' ') >= 0 || text.indexOf('"') >= 0 || text.indexOf('=') >= 0) {
+            line.append('"').append(text.replace("\"", "\\\"")).append('"');
+        } else {
+            line.append(text);
+        }
+    }
+    
+    private static Level parseLevel(String value, Level fallback) {
+        if (value == null) return fallback;
+        try {
+            return Level.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return fallback;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.bankoftuc.util;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Process-wide registry of counters, latency histograms and gauges.
+ * Instrumented classes look their metrics up once (static fields) and then only
+ * increment them, which does not allocate. snapshot() reads everything for reporting;
+ * the reporter thread writes the latest snapshot to a metrics file periodically.
+ *
+ * The file and interval are set with -Dbankoftuc.metrics.file (default data/metrics.csv)
+ * and -Dbankoftuc.metrics.intervalSec (default 60, 0 disables the reporter).
+ */
+public final class Metrics {
+    
+    private static final String METRICS_FILE = System.getProperty("bankoftuc.metrics.file", "data/metrics.csv");
+    private static final long INTERVAL_SEC = Long.getLong("bankoftuc.metrics.intervalSec", 60);
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    
+    private static final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private static final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private static final Map<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+    private static ScheduledExecutorService reporter;
+    
+    private Metrics() {
+    }
+    
+    /**
+     * Counter with the given name, created on first use
+     */
+    public static LongAdder counter(String name) {
+        return counters.computeIfAbsent(name, k -> new LongAdder());
+    }
+    
+    /**
+     * Latency histogram with the given name, created on first use
+     */
+    public static LatencyHistogram histogram(String name) {
+        return histograms.computeIfAbsent(name, LatencyHistogram::new);
+    }
+    
+    /**
+     * Register a gauge, replacing any gauge with the same name
+     */
+    public static void gauge(String name, LongSupplier value) {
+        gauges.put(name, value);
+    }
+    
+    /**
+     * Read all metrics
+     */
+    public static Snapshot snapshot() {
+        Map<String, Long> counterValues = new TreeMap<>();
+        counters.forEach((name, counter) -> counterValues.put(name, counter.sum()));
+        
+        Map<String, Long> gaugeValues = new TreeMap<>();
+        gauges.forEach((name, gauge) -> {
+            try {
+                gaugeValues.put(name, gauge.getAsLong());
+            } catch (RuntimeException e) {
+                // A gauge over state being replaced; skip it this time
+            }
+        });
+        
+        Map<String, LatencyHistogram.Snapshot> histogramValues = new TreeMap<>();
+        histograms.forEach((name, histogram) -> histogramValues.put(name, histogram.snapshot()));
+        
+        return new Snapshot(LocalDateTime.now(), counterValues, gaugeValues, histogramValues);
+    }
+    
+    /**
+     * Start writing the metrics file periodically (once per process)
+     */
+    public static synchronized void startReporter() {
+        if (reporter != null || INTERVAL_SEC <= 0) return;
+        reporter = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "bank-metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reporter.scheduleAtFixedRate(Metrics::dump, INTERVAL_SEC, INTERVAL_SEC, TimeUnit.SECONDS);
+    }
+    
+    /**
+     * Write the current snapshot to the metrics file, replacing the previous one
+     */
+    public static void dump() {
+        Path file = Paths.get(METRICS_FILE);
+        try {
+            Path dir = file.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            Path temp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+            Files.write(temp, snapshot().toCsv().getBytes(StandardCharsets.UTF_8));
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Error writing metrics: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Point-in-time values of all metrics; latencies are in nanoseconds
+     */
+    public static class Snapshot {
+        private final LocalDateTime time;
+        private final Map<String, Long> counters;
+        private final Map<String, Long> gauges;
+        private final Map<String, LatencyHistogram.Snapshot> histograms;
+        
+        Snapshot(LocalDateTime time, Map<String, Long> counters, Map<String, Long> gauges,
+                 Map<String, LatencyHistogram.Snapshot> histograms) {
+            this.time = time;
+            this.counters = counters;
+            this.gauges = gauges;
+            this.histograms = histograms;
+        }
+        
+        public LocalDateTime getTime() { return time; }
+        public Map<String, Long> getCounters() { return counters; }
+        public Map<String, Long> getGauges() { return gauges; }
+        public Map<String, LatencyHistogram.Snapshot> getHistograms() { return histograms; }
+        
+        public long getCounter(String name) {
+            return counters.getOrDefault(name, 0L);
+        }
+        
+        public long getGauge(String name) {
+            return gauges.getOrDefault(name, 0L);
+        }
+        
+        /**
+         * Histogram by name, or an empty one if nothing was recorded
+         */
+        public LatencyHistogram.Snapshot getHistogram(String name) {
+            LatencyHistogram.Snapshot snapshot = histograms.get(name);
+            return snapshot != null ? snapshot : new LatencyHistogram(name).snapshot();
+        }
+        
+        /**
+         * One row per metric; latencies in microseconds
+         */
+        public String toCsv() {
+            StringBuilder sb = new StringBuilder();
+            String at = time.format(TIME_FORMAT);
+            sb.append("time,name,type,count,value,meanUs,p50Us,p90Us,p99Us,maxUs\n");
+            counters.forEach((name, value) ->
+                sb.append(at).append(',').append(name).append(",counter,,").append(value).append(",,,,,\n"));
+            gauges.forEach((name, value) ->
+                sb.append(at).append(',').append(name).append(",gauge,,").append(value).append(",,,,,\n"));
+            histograms.forEach((name, h) -> sb.append(String.format(Locale.ROOT, "%s,%s,histogram,%d,,%.1f,%.1f,%.1f,%.1f,%.1f\n",
+                at, name, h.getCount(), h.getMean() / 1000.0, h.getPercentile(50) / 1000.0,
+                h.getPercentile(90) / 1000.0, h.getPercentile(99) / 1000.0, h.getMax() / 1000.0)));
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.bankoftuc.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Fixed-scale money arithmetic.
+ * Balances and amounts are kept in cents; accrued interest keeps extra
+ * digits so daily accrual is not lost, but is still bounded.
+ */
+public final class Money {
+    
+    public static final int SCALE = 2;          // Balances, amounts, fees
+    public static final int ACCRUAL_SCALE = 8;  // Accrued (not yet applied) interest
+    public static final int RATE_SCALE = 10;    // Daily interest rates
+    public static final RoundingMode ROUNDING = RoundingMode.HALF_UP;
+    
+    public static final BigDecimal ZERO = BigDecimal.ZERO.setScale(SCALE);
+    public static final BigDecimal ZERO_ACCRUAL = BigDecimal.ZERO.setScale(ACCRUAL_SCALE);
+    
+    private Money() {
+    }
+    
+    /**
+     * Round an amount to the money scale
+     */
+    public static BigDecimal of(BigDecimal amount) {
+        if (amount == null) return null;
+        return amount.scale() == SCALE ? amount : amount.setScale(SCALE, ROUNDING);
+    }
+    
+    /**
+     * Parse an amount and round it to the money scale
+     */
+    public static BigDecimal of(String amount) {
+        return of(new BigDecimal(amount));
+    }
+    
+    /**
+     * Round accrued interest to the accrual scale
+     */
+    public static BigDecimal accrual(BigDecimal amount) {
+        if (amount == null) return null;
+        return amount.scale() == ACCRUAL_SCALE ? amount : amount.setScale(ACCRUAL_SCALE, ROUNDING);
+    }
+    
+    /**
+     * Daily rate for a yearly interest rate
+     */
+    public static BigDecimal dailyRate(BigDecimal yearlyRate) {
+        return yearlyRate.divide(new BigDecimal("365"), RATE_SCALE, ROUNDING);
+    }
+}